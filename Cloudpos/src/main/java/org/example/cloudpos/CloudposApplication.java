@@ -2,8 +2,10 @@ package org.example.cloudpos;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.PropertySource;
 
 @SpringBootApplication
+@PropertySource("classpath:cloudpos-defaults.properties")
 public class CloudposApplication {
 
     public static void main(String[] args) {
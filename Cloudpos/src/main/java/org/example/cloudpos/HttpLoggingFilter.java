@@ -1,19 +1,39 @@
 package org.example.cloudpos;
 
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.WriteListener;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingRequestWrapper;
 import org.springframework.web.util.ContentCachingResponseWrapper;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 
+/**
+ * 요청/응답을 {@code HTTP_LOGGER}로 기록하는 필터.
+ *
+ * <p>일반 응답은 본문을 버퍼링했다가 로그를 남긴 뒤 클라이언트로 복사합니다.
+ * (안쪽 필터가 처리 이후에도 헤더를 추가할 수 있도록)
+ * 비동기 처리(SSE, {@code StreamingResponseBody}, {@code DeferredResult})가 시작되거나
+ * 응답 형식이 {@code text/event-stream}이면 그 시점부터 본문을 버퍼링하지 않고 바로 내보내며,
+ * 응답 로그는 비동기 처리가 끝날 때 남깁니다.</p>
+ */
 @Slf4j(topic = "HTTP_LOGGER")
 @Component
 @Order(1) // 시큐리티 필터 이후/이전에 둘지 필요하면 조정
@@ -28,52 +48,73 @@ public class HttpLoggingFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
 
-        ContentCachingRequestWrapper reqWrapper =
-                new ContentCachingRequestWrapper(request);
-        ContentCachingResponseWrapper resWrapper =
-                new ContentCachingResponseWrapper(response);
+        LoggingResponseWrapper resWrapper =
+                new LoggingResponseWrapper(response);
+        LoggingRequestWrapper reqWrapper =
+                new LoggingRequestWrapper(request, resWrapper);
 
         long start = System.currentTimeMillis();
 
         try {
             filterChain.doFilter(reqWrapper, resWrapper);
         } finally {
-            long took = System.currentTimeMillis() - start;
-
             // 요청 정보
             String method = request.getMethod();
-            String uri = request.getRequestURI();
-            String query = request.getQueryString();
+            String uri = request.getRequestURI() + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
             String ip = request.getRemoteAddr();
-
-            String requestBody = getRequestBody(reqWrapper);
-            int status = resWrapper.getStatus();
-            String responseBody = getResponseBody(resWrapper);
+            String traceId = MDC.get("traceId");
 
             // [요청] 로그
-            log.info("[REQ] ip={} {} {}{} body={}",
+            log.info("[REQ] traceId={} ip={} {} {} body={}",
+                    traceId,
                     "ip 가리기",
                     method,
                     uri,
-                    (query != null ? "?" + query : ""),
-                    requestBody
+                    getRequestBody(reqWrapper)
             );
 
-            // [응답] 로그
-            log.info("[RES] ip={} {} {} -> status={} time={}ms body={}",
-                    "ip 가리기",
-                    method,
-                    uri,
-                    status,
-                    took,
-                    responseBody
-            );
+            if (request.isAsyncStarted()) {
+                // 응답은 비동기 처리가 끝난 뒤 기록 (본문은 이미 클라이언트로 전송 중)
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        logResponse(traceId, method, uri, resWrapper, System.currentTimeMillis() - start);
+                    }
 
-            // response body를 클라이언트로 다시 복사
-            resWrapper.copyBodyToResponse();
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                logResponse(traceId, method, uri, resWrapper, System.currentTimeMillis() - start);
+
+                // response body를 클라이언트로 다시 복사
+                resWrapper.copyBodyToResponse();
+            }
         }
     }
 
+    private void logResponse(String traceId, String method, String uri, LoggingResponseWrapper response, long took) {
+        // [응답] 로그
+        log.info("[RES] traceId={} ip={} {} {} -> status={} time={}ms body={}",
+                traceId,
+                "ip 가리기",
+                method,
+                uri,
+                response.getStatus(),
+                took,
+                getResponseBody(response)
+        );
+    }
+
     private String getRequestBody(ContentCachingRequestWrapper request) {
         byte[] buf = request.getContentAsByteArray();
         if (buf.length == 0) {
@@ -83,8 +124,8 @@ public class HttpLoggingFilter extends OncePerRequestFilter {
         return trimPayload(body);
     }
 
-    private String getResponseBody(ContentCachingResponseWrapper response) {
-        byte[] buf = response.getContentAsByteArray();
+    private String getResponseBody(LoggingResponseWrapper response) {
+        byte[] buf = response.getLoggedContent();
         if (buf.length == 0) {
             return "";
         }
@@ -98,4 +139,138 @@ public class HttpLoggingFilter extends OncePerRequestFilter {
         }
         return body;
     }
-}
\ No newline at end of file
+
+    /**
+     * 비동기 처리가 시작되면 응답 래퍼를 스트리밍 모드로 바꾸는 요청 래퍼.
+     */
+    private static final class LoggingRequestWrapper extends ContentCachingRequestWrapper {
+
+        private final LoggingResponseWrapper response;
+
+        LoggingRequestWrapper(HttpServletRequest request, LoggingResponseWrapper response) {
+            // 로그에는 앞부분만 남기므로 캐시도 그만큼만 유지 (대용량 업로드 스트리밍 시 메모리 보호)
+            super(request, MAX_PAYLOAD_LENGTH);
+            this.response = response;
+        }
+
+        @Override
+        public AsyncContext startAsync() {
+            AsyncContext asyncContext = super.startAsync();
+            response.startStreaming();
+            return asyncContext;
+        }
+
+        @Override
+        public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+            AsyncContext asyncContext = super.startAsync(servletRequest, servletResponse);
+            response.startStreaming();
+            return asyncContext;
+        }
+    }
+
+    /**
+     * 비동기 처리 전에는 본문을 버퍼링하고, 이후에는 클라이언트로 바로 쓰면서 앞부분만 로그용으로 남기는 응답 래퍼.
+     *
+     * <p>비동기 처리 전에 받아 둔 출력 스트림(예: {@code StreamingResponseBody})도 쓰기마다 모드를 확인하므로
+     * 이후의 쓰기는 버퍼에 쌓이지 않습니다.</p>
+     */
+    private static final class LoggingResponseWrapper extends ContentCachingResponseWrapper {
+
+        private final ByteArrayOutputStream streamedHead = new ByteArrayOutputStream();
+        private volatile boolean streaming;
+        private ServletOutputStream outputStream;
+
+        LoggingResponseWrapper(HttpServletResponse response) {
+            super(response);
+        }
+
+        void startStreaming() {
+            try {
+                copyBodyToResponse(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            streaming = true;
+        }
+
+        /**
+         * SSE 는 이벤트마다 바로 전달되어야 하므로 비동기 처리 여부와 관계없이 버퍼링하지 않는다.
+         */
+        @Override
+        public void setContentType(String type) {
+            super.setContentType(type);
+            if (!streaming && type != null && type.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE)) {
+                startStreaming();
+            }
+        }
+
+        byte[] getLoggedContent() {
+            return streaming ? streamedHead.toByteArray() : getContentAsByteArray();
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new RoutingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (streaming) {
+                getResponse().flushBuffer();
+            } else {
+                super.flushBuffer();
+            }
+        }
+
+        private void capture(byte[] b, int off, int len) {
+            int room = MAX_PAYLOAD_LENGTH - streamedHead.size();
+            if (room > 0) {
+                streamedHead.write(b, off, Math.min(room, len));
+            }
+        }
+
+        private final class RoutingOutputStream extends ServletOutputStream {
+
+            private final ServletOutputStream buffered;
+
+            RoutingOutputStream(ServletOutputStream buffered) {
+                this.buffered = buffered;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (streaming) {
+                    getResponse().getOutputStream().write(b, off, len);
+                    capture(b, off, len);
+                } else {
+                    buffered.write(b, off, len);
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (streaming) {
+                    getResponse().getOutputStream().flush();
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return buffered.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                buffered.setWriteListener(writeListener);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.cloudpos.auth.config;
+
+import org.example.cloudpos.auth.jwt.JwtTokenService;
+import org.example.cloudpos.auth.jwt.RedisOAuth2AuthorizationRequestRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * 무상태 JWT 인증 설정. {@code cloudpos.auth.mode=jwt} 일 때만 등록됩니다.
+ *
+ * <ul>
+ *   <li>{@code cloudpos.auth.jwt.secret}: Base64 인코딩된 HMAC 키 (256비트 이상, 필수)</li>
+ *   <li>{@code cloudpos.auth.jwt.ttl-minutes} (기본 60): 토큰 유효기간</li>
+ * </ul>
+ */
+@Configuration
+@ConditionalOnProperty(name = "cloudpos.auth.mode", havingValue = "jwt")
+public class JwtAuthConfig {
+
+    @Bean
+    public JwtTokenService jwtTokenService(
+            @Value("${cloudpos.auth.jwt.secret:}") String secret,
+            @Value("${cloudpos.auth.jwt.ttl-minutes:60}") long ttlMinutes) {
+        return new JwtTokenService(secret, Duration.ofMinutes(ttlMinutes), Clock.systemUTC());
+    }
+
+    @Bean
+    public RedisOAuth2AuthorizationRequestRepository redisOAuth2AuthorizationRequestRepository(
+            RedisTemplate<String, String> redisTemplate) {
+        return new RedisOAuth2AuthorizationRequestRepository(redisTemplate);
+    }
+}
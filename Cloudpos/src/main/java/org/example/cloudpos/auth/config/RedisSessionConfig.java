@@ -0,0 +1,58 @@
+package org.example.cloudpos.auth.config;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.cloudpos.auth.service.UsersPrincipal;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.jackson2.SecurityJackson2Modules;
+import org.springframework.session.data.redis.config.annotation.web.http.EnableRedisHttpSession;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Redis 세션 저장소 설정. {@code cloudpos.auth.mode=redis-session} 일 때만 등록됩니다.
+ *
+ * <p>로그인 세션을 Redis({@code cloudpos:session:sessions:*})에 저장하여 어느 노드로 요청이 가도
+ * 같은 세션을 사용하게 합니다. 세션 값은 JDK 직렬화 대신 Spring Security Jackson 모듈을 사용한
+ * JSON 으로 저장해 크기를 줄이고, 클래스 변경에도 역직렬화가 깨지지 않게 합니다.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "cloudpos.auth.mode", havingValue = "redis-session")
+@EnableRedisHttpSession(redisNamespace = "cloudpos:session", maxInactiveIntervalInSeconds = 1800)
+public class RedisSessionConfig {
+
+    /**
+     * Spring Session 이 세션 속성 직렬화에 사용하는 빈 (이름 고정).
+     */
+    @Bean
+    public RedisSerializer<Object> springSessionDefaultRedisSerializer() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModules(SecurityJackson2Modules.getModules(getClass().getClassLoader()));
+        mapper.addMixIn(UsersPrincipal.class, UsersPrincipalMixin.class);
+        return new GenericJackson2JsonRedisSerializer(mapper);
+    }
+
+    /**
+     * {@link UsersPrincipal} 역직렬화 허용 및 생성자 매핑.
+     */
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    abstract static class UsersPrincipalMixin {
+
+        @JsonCreator
+        UsersPrincipalMixin(@JsonProperty("userId") String userId,
+                            @JsonProperty("name") String name,
+                            @JsonProperty("authorities") Collection<? extends GrantedAuthority> authorities,
+                            @JsonProperty("attributes") Map<String, Object> attributes) {
+        }
+    }
+}
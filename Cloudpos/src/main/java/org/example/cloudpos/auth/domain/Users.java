@@ -3,13 +3,20 @@ package org.example.cloudpos.auth.domain;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(
-        name = "users"
+        name = "users",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_users_provider_user",
+                columnNames = {"provider", "provider_user_id"}
+        )
 )
 @Getter
 @NoArgsConstructor
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 public class Users {
 
     @Id
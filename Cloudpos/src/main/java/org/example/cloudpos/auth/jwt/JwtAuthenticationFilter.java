@@ -0,0 +1,67 @@
+package org.example.cloudpos.auth.jwt;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cloudpos.auth.service.UsersPrincipal;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 요청의 JWT 를 검증해 인증 정보를 설정하는 필터. ({@code cloudpos.auth.mode=jwt})
+ *
+ * <p>{@code Authorization: Bearer ...} 헤더를 우선 사용하고, 없으면 로그인 시 발급한 쿠키를 사용합니다.
+ * 토큰이 없거나 유효하지 않으면 인증 없이 다음 필터로 넘깁니다.</p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE_NAME = "CLOUDPOS_TOKEN";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtTokenService jwtTokenService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String token = resolveToken(request);
+        if (token != null) {
+            try {
+                UsersPrincipal principal = jwtTokenService.verify(token);
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(new OAuth2AuthenticationToken(principal, principal.getAuthorities(), "kakao"));
+                SecurityContextHolder.setContext(context);
+            } catch (IllegalArgumentException e) {
+                log.debug("JWT 검증 실패 - {}", e.getMessage());
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static String resolveToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            return header.substring(BEARER_PREFIX.length());
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE_NAME.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+}
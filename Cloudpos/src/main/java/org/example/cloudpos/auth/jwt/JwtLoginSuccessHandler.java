@@ -0,0 +1,38 @@
+package org.example.cloudpos.auth.jwt;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.cloudpos.auth.service.UsersPrincipal;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
+
+import java.io.IOException;
+
+/**
+ * OAuth2 로그인 성공 시 JWT 를 발급해 HttpOnly 쿠키로 내려주고 프론트엔드로 이동시킵니다.
+ */
+@RequiredArgsConstructor
+public class JwtLoginSuccessHandler implements AuthenticationSuccessHandler {
+
+    private final JwtTokenService jwtTokenService;
+    private final String redirectUrl;
+
+    @Override
+    public void onAuthenticationSuccess(HttpServletRequest request,
+                                        HttpServletResponse response,
+                                        Authentication authentication) throws IOException {
+        UsersPrincipal principal = (UsersPrincipal) authentication.getPrincipal();
+        ResponseCookie cookie = ResponseCookie.from(JwtAuthenticationFilter.COOKIE_NAME, jwtTokenService.issue(principal))
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(jwtTokenService.getTtl())
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        response.sendRedirect(redirectUrl);
+    }
+}
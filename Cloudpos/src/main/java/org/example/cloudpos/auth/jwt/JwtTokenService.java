@@ -0,0 +1,99 @@
+package org.example.cloudpos.auth.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.example.cloudpos.auth.service.UsersPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import javax.crypto.SecretKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link UsersPrincipal}을 서명된 JWT(HS256)로 발급하고 검증합니다.
+ *
+ * <p>토큰에는 사용자 ID(sub), 이름, 권한만 담으며, 검증은 서명과 만료 시각만 확인하므로
+ * DB/Redis 조회가 필요 없습니다. 대신 발급된 토큰은 만료 전까지 회수할 수 없으므로 유효기간을 짧게 둡니다.</p>
+ */
+public class JwtTokenService {
+
+    private static final String CLAIM_NAME = "name";
+    private static final String CLAIM_ROLES = "roles";
+
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final Duration ttl;
+    private final Clock clock;
+
+    /**
+     * @param base64Secret Base64 인코딩된 HMAC 키 (256비트 이상)
+     * @param ttl          토큰 유효기간
+     */
+    public JwtTokenService(String base64Secret, Duration ttl, Clock clock) {
+        if (base64Secret == null || base64Secret.isBlank()) {
+            throw new IllegalStateException("cloudpos.auth.jwt.secret 이 설정되지 않았습니다.");
+        }
+        this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
+        this.ttl = ttl;
+        this.clock = clock;
+        // 파서는 스레드 안전하므로 한 번만 만든다. (검증마다 만들면 키/설정 준비 비용이 반복됨)
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .clock(() -> Date.from(clock.instant()))
+                .build();
+    }
+
+    public String issue(UsersPrincipal principal) {
+        Instant now = clock.instant();
+        List<String> roles = principal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
+        return Jwts.builder()
+                .subject(principal.getUserId())
+                .claim(CLAIM_NAME, principal.getName())
+                .claim(CLAIM_ROLES, roles)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(ttl)))
+                .signWith(key)
+                .compact();
+    }
+
+    /**
+     * 토큰을 검증하고 사용자 정보를 복원합니다.
+     *
+     * @throws IllegalArgumentException 서명이 잘못되었거나 만료된 토큰
+     */
+    public UsersPrincipal verify(String token) {
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException e) {
+            throw new IllegalArgumentException("유효하지 않은 토큰입니다.", e);
+        }
+
+        List<?> roles = claims.get(CLAIM_ROLES, List.class);
+        List<GrantedAuthority> authorities = roles == null
+                ? List.of()
+                : roles.stream().map(r -> (GrantedAuthority) new SimpleGrantedAuthority(r.toString())).toList();
+
+        return new UsersPrincipal(
+                claims.getSubject(),
+                claims.get(CLAIM_NAME, String.class),
+                authorities,
+                Map.of("userId", claims.getSubject()));
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+}
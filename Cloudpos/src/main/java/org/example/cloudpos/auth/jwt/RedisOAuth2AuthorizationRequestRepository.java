@@ -0,0 +1,68 @@
+package org.example.cloudpos.auth.jwt;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.util.SerializationUtils;
+
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * 세션 없이 OAuth2 로그인을 처리하기 위해 인가 요청을 {@code state} 값 기준으로 Redis 에 잠시 보관합니다.
+ *
+ * <p>카카오 로그인 페이지로 이동했다가 돌아오는 사이(최대 5분)에만 사용되며,
+ * 콜백에서 꺼내는 즉시 삭제됩니다. 값은 서버만 기록하는 Redis 에 있으므로 JDK 직렬화를 사용합니다.</p>
+ *
+ * <p>Redis Key: {@code oauth2:authz:{state}} → Base64(직렬화된 {@link OAuth2AuthorizationRequest})</p>
+ */
+@RequiredArgsConstructor
+public class RedisOAuth2AuthorizationRequestRepository implements AuthorizationRequestRepository<OAuth2AuthorizationRequest> {
+
+    private static final String KEY_PREFIX = "oauth2:authz:";
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Override
+    public OAuth2AuthorizationRequest loadAuthorizationRequest(HttpServletRequest request) {
+        String state = request.getParameter(OAuth2ParameterNames.STATE);
+        if (state == null) {
+            return null;
+        }
+        return decode(redisTemplate.opsForValue().get(KEY_PREFIX + state));
+    }
+
+    @Override
+    public void saveAuthorizationRequest(OAuth2AuthorizationRequest authorizationRequest,
+                                         HttpServletRequest request,
+                                         HttpServletResponse response) {
+        if (authorizationRequest == null) {
+            return;
+        }
+        String value = Base64.getEncoder().encodeToString(SerializationUtils.serialize(authorizationRequest));
+        redisTemplate.opsForValue().set(KEY_PREFIX + authorizationRequest.getState(), value, TTL);
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest removeAuthorizationRequest(HttpServletRequest request,
+                                                                 HttpServletResponse response) {
+        String state = request.getParameter(OAuth2ParameterNames.STATE);
+        if (state == null) {
+            return null;
+        }
+        return decode(redisTemplate.opsForValue().getAndDelete(KEY_PREFIX + state));
+    }
+
+    @SuppressWarnings("deprecation")
+    private static OAuth2AuthorizationRequest decode(String value) {
+        if (value == null) {
+            return null;
+        }
+        return (OAuth2AuthorizationRequest) SerializationUtils.deserialize(Base64.getDecoder().decode(value));
+    }
+}
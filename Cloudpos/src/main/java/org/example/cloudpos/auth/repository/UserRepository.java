@@ -1,10 +1,43 @@
 package org.example.cloudpos.auth.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.cloudpos.auth.domain.Users;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<Users, Long> {
+
+    // 로그인마다 호출되므로 쿼리 캐시 사용 (users 테이블 변경 시 자동 무효화)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Users> findByProviderAndProviderUserId(String provider, String providerUserId);
+
+    /**
+     * 사용자가 없으면 등록하고, 이미 있으면(동시 최초 로그인 포함) 아무것도 바꾸지 않는다.
+     * (provider, provider_user_id) 유니크 키로 중복 행 생성을 막는다.
+     *
+     * <p>네이티브 쓰기 쿼리는 영향받는 테이블을 알려주지 않으면 2차 캐시 전체를 비우므로
+     * users 테이블만 무효화되도록 지정한다.</p>
+     *
+     * @return 새로 등록되었으면 1, 이미 있었으면 0
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = """
+            INSERT INTO users (user_id, name, email, provider, provider_user_id)
+            VALUES (:userId, :name, :email, :provider, :providerUserId)
+            ON DUPLICATE KEY UPDATE user_id = user_id
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("userId") String userId,
+                       @Param("name") String name,
+                       @Param("email") String email,
+                       @Param("provider") String provider,
+                       @Param("providerUserId") String providerUserId);
 }
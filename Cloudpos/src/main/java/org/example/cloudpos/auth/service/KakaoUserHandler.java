@@ -14,13 +14,13 @@ import org.springframework.stereotype.Component;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 public class KakaoUserHandler implements ProviderUserHandler {
 
     private final UserRepository usersRepository;
+    private final LoginUserCache loginUserCache;
 
     @Override
     public boolean supports(String registrationId) {
@@ -56,30 +56,41 @@ public class KakaoUserHandler implements ProviderUserHandler {
             throw new OAuth2AuthenticationException("카카오 프로필 닉네임이 없습니다.");
         }
 
-        //  최초 로그인 -> 회원 가입
-        Users user = usersRepository
-                .findByProviderAndProviderUserId(provider, providerUserId)
-                .orElseGet(() -> {
-                    String newUserId = UlidCreator.getUlid().toString();
-                    Users newUser = new Users(
-                            newUserId,
-                            provider,
-                            providerUserId,
-                            name,
-                            email
-                    );
-                    return usersRepository.save(newUser);
-                });
+        LoginUserCache.CachedUser user = resolveUser(provider, providerUserId, name, email);
 
         Collection<GrantedAuthority> authorities =
                 List.of(new SimpleGrantedAuthority("ROLE_USER"));
 
 
+        // 세션/토큰에 카카오 응답 전체를 싣지 않도록 식별자만 남긴다.
         return new UsersPrincipal(
-                user.getUserId(),
-                user.getName(),
+                user.userId(),
+                user.name(),
                 authorities,
-                attributes
+                Map.of("id", providerUserId, "userId", user.userId())
         );
     }
+
+    /**
+     * 캐시 → DB 조회 → 없으면 등록 순으로 내부 사용자를 찾는다.
+     *
+     * <p>등록은 {@code INSERT ... ON DUPLICATE KEY UPDATE} 로 처리하므로 같은 사용자의 최초 로그인이
+     * 동시에 들어와도 한 행만 생기며, 등록 후 다시 조회해 실제로 저장된 사용자를 사용한다.</p>
+     */
+    private LoginUserCache.CachedUser resolveUser(String provider, String providerUserId, String name, String email) {
+        LoginUserCache.CachedUser cached = loginUserCache.get(provider, providerUserId);
+        if (cached != null) {
+            return cached;
+        }
+
+        Users user = usersRepository.findByProviderAndProviderUserId(provider, providerUserId)
+                .orElseGet(() -> {
+                    //  최초 로그인 -> 회원 가입
+                    usersRepository.insertIfAbsent(UlidCreator.getUlid().toString(), name, email, provider, providerUserId);
+                    return usersRepository.findByProviderAndProviderUserId(provider, providerUserId)
+                            .orElseThrow(() -> new OAuth2AuthenticationException("사용자 등록에 실패했습니다."));
+                });
+
+        return loginUserCache.put(provider, providerUserId, user.getUserId(), user.getName());
+    }
 }
\ No newline at end of file
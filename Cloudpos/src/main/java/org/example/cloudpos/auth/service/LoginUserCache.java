@@ -0,0 +1,65 @@
+package org.example.cloudpos.auth.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 소셜 로그인 식별자(provider, providerUserId) → 내부 사용자(userId, name) 캐시.
+ *
+ * <p>오픈 시간대에 계산원들이 동시에 로그인하면 같은 사용자를 반복 조회하게 되므로
+ * 최근 로그인한 사용자를 노드 메모리에 보관합니다. 최대 {@code maxSize}건(LRU),
+ * 항목별 {@code ttlSeconds} 이후 만료되며, 사용자 매핑은 한 번 정해지면 바뀌지 않으므로
+ * 별도 무효화는 하지 않습니다.</p>
+ */
+@Component
+public class LoginUserCache {
+
+    record CachedUser(String userId, String name, long expiresAt) {}
+
+    private final Map<String, CachedUser> entries;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    public LoginUserCache(@Value("${cloudpos.auth.login-cache.max-size:10000}") int maxSize,
+                          @Value("${cloudpos.auth.login-cache.ttl-seconds:600}") long ttlSeconds) {
+        this(maxSize, ttlSeconds, Clock.systemUTC());
+    }
+
+    LoginUserCache(int maxSize, long ttlSeconds, Clock clock) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.ttlMillis = ttlSeconds * 1000;
+        this.clock = clock;
+    }
+
+    public synchronized CachedUser get(String provider, String providerUserId) {
+        String key = key(provider, providerUserId);
+        CachedUser cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt() <= clock.millis()) {
+            entries.remove(key);
+            return null;
+        }
+        return cached;
+    }
+
+    public synchronized CachedUser put(String provider, String providerUserId, String userId, String name) {
+        CachedUser user = new CachedUser(userId, name, clock.millis() + ttlMillis);
+        entries.put(key(provider, providerUserId), user);
+        return user;
+    }
+
+    private static String key(String provider, String providerUserId) {
+        return provider + ":" + providerUserId;
+    }
+}
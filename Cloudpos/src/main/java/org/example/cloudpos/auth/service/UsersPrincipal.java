@@ -4,7 +4,10 @@ package org.example.cloudpos.auth.service;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.oauth2.core.user.OAuth2User;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 
@@ -23,8 +26,9 @@ public class UsersPrincipal implements OAuth2User {
                           Map<String, Object> attributes) {
         this.userId = userId;
         this.name = name;
-        this.authorities = authorities;
-        this.attributes = attributes;
+        // Redis 세션(JSON) 역직렬화 허용 목록에 있는 unmodifiable 컬렉션으로 보관한다.
+        this.authorities = Collections.unmodifiableList(new ArrayList<>(authorities));
+        this.attributes = Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
     }
     
     @Override
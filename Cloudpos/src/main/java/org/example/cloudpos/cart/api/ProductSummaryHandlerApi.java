@@ -2,6 +2,9 @@ package org.example.cloudpos.cart.api;
 
 
 import org.example.cloudpos.cart.dto.ProductSummary;
+
+import java.util.Collection;
+import java.util.Map;
 /**
  * <h2>ProductSummaryHandlerApi</h2>
  *
@@ -15,4 +18,9 @@ import org.example.cloudpos.cart.dto.ProductSummary;
  */
 public interface ProductSummaryHandlerApi {
     ProductSummary getProductSummary(String productId);
+
+    /**
+     * 상품들의 현재 카탈로그 버전을 한 번에 조회합니다. (존재하지 않는 상품은 제외)
+     */
+    Map<String, Long> getProductVersions(Collection<String> productIds);
 }
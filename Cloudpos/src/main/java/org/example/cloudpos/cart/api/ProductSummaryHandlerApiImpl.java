@@ -8,6 +8,9 @@ import org.example.cloudpos.inventory.listener.InventoryListener;
 import org.example.cloudpos.product.dto.ProductSummaryResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Map;
 /**
  * <h2>ProductSummaryHandlerApiImpl</h2>
  *
@@ -36,7 +39,13 @@ public class ProductSummaryHandlerApiImpl implements ProductSummaryHandlerApi {
         return new ProductSummary(
                 pv.productId(),
                 pv.name(),
-                pv.price()
+                pv.price(),
+                pv.version()
         );
     }
+
+    @Override
+    public Map<String, Long> getProductVersions(Collection<String> productIds) {
+        return inventoryListener.getProductVersions(productIds);
+    }
 }
@@ -28,7 +28,7 @@ public class CartCheckoutAppService implements CartCheckoutUseCase {
         if (cartCheckoutService.getState(cartId) != CartState.CHECKOUT_PENDING) {
             cartCheckoutService.beginCheckout(cartId);
         }
-        return cartService.getAll(cartId);
+        return cartService.getAllForCheckout(cartId);
     }
 
     @Override
@@ -0,0 +1,112 @@
+package org.example.cloudpos.cart.config;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.support.caching.CacheAccessor;
+import io.lettuce.core.support.caching.CacheFrontend;
+import io.lettuce.core.support.caching.ClientSideCaching;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * RESP3 클라이언트 트래킹 기반의 로컬 읽기 캐시.
+ *
+ * <p>전용 연결에서 {@code CLIENT TRACKING ON}을 켜고 {@code GET}한 키를 노드 메모리에 보관합니다.
+ * 다른 노드/연결이 키를 바꾸거나 키가 만료되면 Redis 가 무효화 메시지를 보내 로컬 값을 지웁니다.</p>
+ *
+ * <ul>
+ *   <li>무효화는 비동기로 도착하므로 방금 쓴 값을 바로 읽어 상태를 전이하는 경로에는 쓰지 않습니다.
+ *       (읽기 전용 조회만 사용)</li>
+ *   <li>연결이 끊기면 그동안의 무효화를 놓쳤을 수 있으므로 자동 재연결하지 않고 로컬 값을 버린 뒤
+ *       다음 조회 때 새 연결로 트래킹을 다시 켭니다.</li>
+ *   <li>로컬 항목 수는 {@code maxEntries}로 제한합니다. (LRU)</li>
+ * </ul>
+ */
+@Slf4j
+public class RedisClientSideCache implements AutoCloseable {
+
+    private final RedisClient client;
+    private final Map<String, String> entries;
+
+    private volatile StatefulRedisConnection<String, String> connection;
+    private volatile CacheFrontend<String, String> frontend;
+
+    public RedisClientSideCache(ClientResources clientResources, RedisURI redisUri, Duration commandTimeout, int maxEntries) {
+        redisUri.setTimeout(commandTimeout);
+        this.client = RedisClient.create(clientResources, redisUri);
+        this.client.setOptions(ClientOptions.builder()
+                .protocolVersion(ProtocolVersion.RESP3)
+                .autoReconnect(false)
+                .build());
+        this.client.addListener(new RedisConnectionStateListener() {
+            @Override
+            public void onRedisDisconnected(RedisChannelHandler<?, ?> handler) {
+                if (handler == connection) {
+                    reset();
+                    handler.closeAsync();
+                }
+            }
+        });
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * 로컬에 있으면 로컬 값을, 없으면 Redis 에서 읽어 보관한 뒤 반환합니다. 키가 없으면 {@code null}.
+     */
+    public String get(String key) {
+        return frontend().get(key);
+    }
+
+    private CacheFrontend<String, String> frontend() {
+        CacheFrontend<String, String> current = frontend;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (frontend == null) {
+                entries.clear();
+                connection = client.connect();
+                frontend = ClientSideCaching.enable(CacheAccessor.forMap(entries), connection, TrackingArgs.Builder.enabled());
+                log.info("Redis 클라이언트 캐시 트래킹 시작");
+            }
+            return frontend;
+        }
+    }
+
+    /**
+     * 이벤트 루프 스레드에서 호출되므로 잠금 없이 참조만 끊는다. (새 연결은 다음 조회 스레드가 만든다)
+     */
+    private void reset() {
+        log.warn("Redis 클라이언트 캐시 연결 끊김, 로컬 값을 비웁니다.");
+        frontend = null;
+        connection = null;
+        entries.clear();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (frontend != null) {
+            frontend.close();
+        }
+        if (connection != null) {
+            connection.close();
+        }
+        client.shutdown();
+    }
+}
@@ -1,12 +1,35 @@
 package org.example.cloudpos.cart.config;
 
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.metrics.MicrometerCommandLatencyRecorder;
+import io.lettuce.core.metrics.MicrometerOptions;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import io.lettuce.core.resource.Delay;
+import io.lettuce.core.tracing.MicrometerTracing;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.example.cloudpos.monitoring.CommandCountingRedisTemplate;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisPassword;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 /**
 
  * Redis 연결 및 직렬화 설정을 담당하는 구성 클래스입니다.
@@ -16,8 +39,24 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
  * <li>{@link LettuceConnectionFactory}를 사용해 Redis 서버와의 연결을 생성</li>
  * <li>{@link RedisTemplate}을 빈으로 등록하여 문자열 기반 Key-Value 연산을 지원</li>
  * <li>Key와 Value 모두 {@link StringRedisSerializer}로 직렬화 설정</li>
+ * <li>장바구니 연산별 Redis 명령 수 집계를 위해 {@link CommandCountingRedisTemplate} 사용</li>
+ * <li>{@link MicrometerTracing}으로 Redis 명령마다 추적 스팬을 생성</li>
+ * <li>Pub/Sub 구독을 위한 공용 {@link RedisMessageListenerContainer} 등록</li>
+ * </ul>
+ *
+ * <p><b>클라이언트 설정</b> ({@code cloudpos.redis.*})</p>
+ * <ul>
+ * <li>{@code command-timeout-ms}(1000), {@code connect-timeout-ms}(500) — Redis 지연 시 요청 스레드가 무기한 묶이지 않도록 제한</li>
+ * <li>자동 재연결은 {@code reconnect-max-delay-ms}(5000)까지 지수적으로 간격을 늘리며,
+ *     {@code reject-when-disconnected}(true)이면 끊긴 동안의 명령을 쌓지 않고 즉시 실패시킴</li>
+ * <li>{@code read-from} — 지정 시(예: {@code replicaPreferred}) 마스터에서 복제본을 찾는 별도 연결({@link RedisReadReplica})을 등록.
+ *     기본 연결은 항상 마스터를 사용하고, 복제 지연을 견딜 수 있는 읽기 전용 조회만 이 연결을 사용</li>
+ * <li>{@code latency-metrics}(true) — 명령별 지연을 {@code lettuce.command.completion/firstresponse}로 Micrometer 에 기록</li>
+ * <li>{@code client-cache.enabled}(false) — 읽기 위주 키용 RESP3 클라이언트 캐시({@link RedisClientSideCache}) 등록</li>
  * </ul>
  *
+ * <p>모든 연결은 {@code spring.data.redis.username/password/database} 를 함께 사용합니다.</p>
+ *
  * <p><b>비고</b><br>
  * 로컬 환경에서는 기본적으로 {@code localhost:6379}로 연결하며,
  * 운영 환경에서는 호스트와 포트를 환경 설정 파일에서 주입받도록 수정할 수 있습니다.
@@ -33,14 +72,109 @@ public class RedisConfig {
     @Value("${spring.data.redis.port}")
     private int redisPort;
 
+    @Value("${spring.data.redis.username:}")
+    private String redisUsername;
+
+    @Value("${spring.data.redis.password:}")
+    private String redisPassword;
+
+    @Value("${spring.data.redis.database:0}")
+    private int redisDatabase;
+
+    @Value("${cloudpos.redis.command-timeout-ms:1000}")
+    private long commandTimeoutMs;
+
+    @Value("${cloudpos.redis.connect-timeout-ms:500}")
+    private long connectTimeoutMs;
+
+    @Value("${cloudpos.redis.reconnect-max-delay-ms:5000}")
+    private long reconnectMaxDelayMs;
+
+    @Value("${cloudpos.redis.reject-when-disconnected:true}")
+    private boolean rejectWhenDisconnected;
+
+    @Value("${cloudpos.redis.read-from:}")
+    private String readFrom;
+
+    @Value("${cloudpos.redis.latency-metrics:true}")
+    private boolean latencyMetrics;
+
+    @Bean(destroyMethod = "shutdown")
+    public ClientResources lettuceClientResources(ObservationRegistry observationRegistry, MeterRegistry meterRegistry) {
+        DefaultClientResources.Builder builder = DefaultClientResources.builder()
+                .tracing(new MicrometerTracing(observationRegistry, "cloudpos-redis"))
+                .reconnectDelay(Delay.exponential(Duration.ofMillis(100), Duration.ofMillis(reconnectMaxDelayMs),
+                        2, TimeUnit.MILLISECONDS));
+        if (latencyMetrics) {
+            builder.commandLatencyRecorder(new MicrometerCommandLatencyRecorder(meterRegistry, MicrometerOptions.create()));
+        }
+        return builder.build();
+    }
+
+    @Bean
+    public RedisConnectionFactory redisConnectionFactory(ClientResources clientResources) {
+        return new LettuceConnectionFactory(standaloneConfiguration(), clientConfiguration(clientResources).build());
+    }
+
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
-        return new LettuceConnectionFactory(redisHost, redisPort);
+    @ConditionalOnExpression("!'${cloudpos.redis.read-from:}'.isBlank()")
+    public RedisReadReplica redisReadReplica(ClientResources clientResources) {
+        LettuceClientConfiguration clientConfig = clientConfiguration(clientResources)
+                .readFrom(ReadFrom.valueOf(readFrom))
+                .build();
+        return new RedisReadReplica(new LettuceConnectionFactory(standaloneConfiguration(), clientConfig));
+    }
+
+    private RedisStandaloneConfiguration standaloneConfiguration() {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(redisHost, redisPort);
+        configuration.setDatabase(redisDatabase);
+        if (!redisUsername.isBlank()) {
+            configuration.setUsername(redisUsername);
+        }
+        if (!redisPassword.isBlank()) {
+            configuration.setPassword(RedisPassword.of(redisPassword));
+        }
+        return configuration;
+    }
+
+    private LettuceClientConfiguration.LettuceClientConfigurationBuilder clientConfiguration(ClientResources clientResources) {
+        Duration commandTimeout = Duration.ofMillis(commandTimeoutMs);
+        ClientOptions clientOptions = ClientOptions.builder()
+                .autoReconnect(true)
+                .disconnectedBehavior(rejectWhenDisconnected
+                        ? ClientOptions.DisconnectedBehavior.REJECT_COMMANDS
+                        : ClientOptions.DisconnectedBehavior.DEFAULT)
+                .socketOptions(SocketOptions.builder().connectTimeout(Duration.ofMillis(connectTimeoutMs)).keepAlive(true).build())
+                .timeoutOptions(TimeoutOptions.enabled(commandTimeout))
+                .build();
+
+        return LettuceClientConfiguration.builder()
+                .clientResources(clientResources)
+                .clientOptions(clientOptions)
+                .commandTimeout(commandTimeout);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "cloudpos.redis.client-cache.enabled", havingValue = "true")
+    public RedisClientSideCache redisClientSideCache(ClientResources clientResources,
+                                                     @Value("${cloudpos.redis.client-cache.max-entries:10000}") int maxEntries) {
+        RedisURI.Builder uri = RedisURI.builder()
+                .withHost(redisHost)
+                .withPort(redisPort)
+                .withDatabase(redisDatabase);
+        if (!redisPassword.isBlank()) {
+            if (redisUsername.isBlank()) {
+                uri.withPassword(redisPassword.toCharArray());
+            } else {
+                uri.withAuthentication(redisUsername, redisPassword.toCharArray());
+            }
+        }
+        return new RedisClientSideCache(clientResources, uri.build(), Duration.ofMillis(commandTimeoutMs), maxEntries);
     }
 
     @Bean
     public RedisTemplate<String, String> redisTemplate(RedisConnectionFactory connectionFactory) {
-        RedisTemplate<String, String> template = new RedisTemplate<>();
+        RedisTemplate<String, String> template = new CommandCountingRedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
         template.setKeySerializer(new StringRedisSerializer());
@@ -52,4 +186,11 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
 }
@@ -0,0 +1,34 @@
+package org.example.cloudpos.cart.config;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 여러 Redis 명령을 한 번의 왕복으로 보내는 파이프라인 도우미.
+ *
+ * <p>앞 명령의 결과가 다음 명령의 인자가 되지 않는 쓰기 묶음(값 변경 + 상태 저장 + TTL 갱신 등)에 사용합니다.
+ * 파이프라인 안의 연산은 결과로 {@code null}을 반환하며, 실제 결과는 실행 순서대로 반환 목록에 담깁니다.
+ * 원자성은 보장하지 않습니다. (필요하면 Lua 스크립트 사용)</p>
+ */
+public final class RedisPipeline {
+
+    private RedisPipeline() {
+    }
+
+    public static List<Object> execute(RedisTemplate<String, String> redisTemplate,
+                                       Consumer<RedisOperations<String, String>> commands) {
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                commands.accept((RedisOperations<String, String>) operations);
+                return null;
+            }
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.cloudpos.cart.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+/**
+ * 복제본 우선 읽기 전용 Redis 연결.
+ *
+ * <p>{@code cloudpos.redis.read-from} 을 지정했을 때만 등록되며, 기본 연결({@code redisTemplate})과 별도의
+ * 연결 팩토리를 사용합니다. 복제본은 마스터보다 늦을 수 있으므로 방금 쓴 값을 읽거나,
+ * 읽은 결과로 상태를 바꾸거나 키를 지우는 경로에는 쓰지 않고 명시적인 읽기 전용 조회에서만 사용합니다.</p>
+ */
+public class RedisReadReplica implements DisposableBean {
+
+    private final LettuceConnectionFactory connectionFactory;
+    private final RedisTemplate<String, String> template;
+
+    public RedisReadReplica(LettuceConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        this.template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new StringRedisSerializer());
+        template.setHashKeySerializer(new StringRedisSerializer());
+        template.setHashValueSerializer(new StringRedisSerializer());
+        template.afterPropertiesSet();
+    }
+
+    public RedisTemplate<String, String> template() {
+        return template;
+    }
+
+    @Override
+    public void destroy() {
+        connectionFactory.destroy();
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.cloudpos.cart.domain;
+
+import org.example.cloudpos.cart.dto.ProductSummary;
+
+/**
+ * 장바구니에 상품을 담을 때 기록하는 상품 정보 스냅샷입니다.
+ *
+ * <p>장바구니 조회는 스냅샷만으로 응답하여 상품을 다시 조회하지 않습니다.
+ * 결제 시작 시에는 {@link #version()}을 현재 카탈로그 버전과 비교해 바뀐 상품만 다시 조회합니다.</p>
+ *
+ * <p>Redis Hash {@code cart:{id}:lines}에 {@code productId → "버전|가격|이름"} 형식으로 저장됩니다.</p>
+ *
+ * @param name    담을 때의 상품명
+ * @param price   담을 때의 가격
+ * @param version 담을 때의 상품 카탈로그 버전
+ */
+public record CartLineSnapshot(String name, int price, long version) {
+
+    public static CartLineSnapshot of(ProductSummary product) {
+        return new CartLineSnapshot(product.getName(), product.getPrice(), product.getVersion());
+    }
+
+    public String encode() {
+        return version + "|" + price + "|" + name;
+    }
+
+    /**
+     * @return 형식이 맞지 않으면 {@code null} (다시 조회 대상)
+     */
+    public static CartLineSnapshot decode(String value) {
+        if (value == null) {
+            return null;
+        }
+        String[] parts = value.split("\\|", 3);
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            return new CartLineSnapshot(parts[2], Integer.parseInt(parts[1]), Long.parseLong(parts[0]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public ProductSummary toSummary(String productId) {
+        return new ProductSummary(productId, name, price, version);
+    }
+}
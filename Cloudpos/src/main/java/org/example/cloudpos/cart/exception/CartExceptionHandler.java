@@ -1,5 +1,6 @@
 package org.example.cloudpos.cart.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -27,6 +28,22 @@ public class CartExceptionHandler {
     }
 
 
+    /**
+     * Redis 장애로 장애 이전 장바구니에 접근할 수 없음
+     * → 503 Service Unavailable
+     */
+    @ExceptionHandler(CartUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleCartUnavailable(CartUnavailableException ex) {
+        ErrorResponse body = new ErrorResponse(
+                "CART_UNAVAILABLE",
+                "장바구니를 일시적으로 불러올 수 없습니다. 잠시 후 다시 시도하거나 새 장바구니를 만들어주세요."
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(body); // 503
+    }
+
+
     /**
      * 카트에 담으려는 상품이 없거나 ProductSummary 조회 실패
      * → 404 Not Found
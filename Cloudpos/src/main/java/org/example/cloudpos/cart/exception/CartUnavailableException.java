@@ -0,0 +1,19 @@
+package org.example.cloudpos.cart.exception;
+/**
+ * 장바구니 저장소(Redis)에 접근할 수 없어 기존 장바구니를 처리하지 못할 때 발생하는 예외.
+ *
+ * <p>
+ * - 장애 중에는 새 장바구니만 노드 로컬 저장소에 만들 수 있으므로, 장애 이전 장바구니 요청에서 던져진다.<br>
+ * - ControllerAdvice 에서 HTTP 503(Service Unavailable)으로 매핑한다.
+ * </p>
+ */
+public class CartUnavailableException extends RuntimeException {
+
+    public CartUnavailableException(String cartId, Throwable cause) {
+        super("Cart storage unavailable: cartId=" + cartId, cause);
+    }
+
+    public CartUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.cloudpos.cart.failover;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * 장바구니 장애 모드를 {@code /actuator/health}의 {@code cartFailover} 항목으로 노출합니다.
+ *
+ * <p>장애 모드에서도 노드는 새 장바구니를 받을 수 있으므로 DOWN 대신 {@code DEGRADED}로 표시합니다.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class CartFailoverHealthIndicator implements HealthIndicator {
+
+    static final Status DEGRADED = new Status("DEGRADED", "Redis 장애로 새 장바구니를 노드 로컬에 보관 중");
+
+    private final CartFailoverManager cartFailoverManager;
+    private final LocalCartStore localCartStore;
+
+    @Override
+    public Health health() {
+        if (!cartFailoverManager.isDegraded()) {
+            return Health.up()
+                    .withDetail("localCarts", localCartStore.size())
+                    .build();
+        }
+        return Health.status(DEGRADED)
+                .withDetail("since", String.valueOf(cartFailoverManager.getSince()))
+                .withDetail("reason", String.valueOf(cartFailoverManager.getReason()))
+                .withDetail("localCarts", localCartStore.size())
+                .build();
+    }
+}
@@ -0,0 +1,213 @@
+package org.example.cloudpos.cart.failover;
+
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisConnectionException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cloudpos.cart.exception.CartUnavailableException;
+import org.example.cloudpos.cart.service.CartServiceImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * <h2>CartFailoverManager</h2>
+ *
+ * 장바구니 저장소(Redis)의 상태를 감시하여 장애 모드 진입/해제를 결정하고, 복구 시 로컬 장바구니를 Redis 로 옮깁니다.
+ *
+ * <p><b>진입</b> — {@code cloudpos.cart.failover.check-ms}(기본 1000) 주기의 PING 과 실제 장바구니 요청에서
+ * 연결 실패/타임아웃이 연속 {@code failure-threshold}(기본 2)회 나면 장애 모드로 들어갑니다.
+ * 장애 모드에서는 새 장바구니를 {@link LocalCartStore}에 만듭니다.</p>
+ *
+ * <p><b>해제</b> — PING 이 연속 {@code recovery-threshold}(기본 3)회 성공하면 해제하고,
+ * 로컬 장바구니를 하나씩 Redis 에 기록한 뒤 로컬에서 지웁니다.
+ * 옮기기 전까지는 해당 장바구니 요청이 계속 로컬로 처리됩니다. (cartId 기준 고정)
+ * 도중에 다시 실패하면 남은 장바구니는 다음 복구 때 옮깁니다.</p>
+ *
+ * <p>로컬 장바구니는 만든 노드에만 있으므로, 여러 노드 환경에서는 로드 밸런서가 cartId(경로) 기준으로
+ * 같은 노드에 요청을 보내야 합니다.</p>
+ *
+ * <p>메트릭: {@code cloudpos.cart.failover.transitions{direction=enter|exit}},
+ * {@code cloudpos.cart.failover.degraded}, {@code cloudpos.cart.failover.local.carts},
+ * {@code cloudpos.cart.failover.reconciled{result}}</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CartFailoverManager {
+
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final LocalCartStore localCartStore;
+    private final CartServiceImpl redisCartService;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicBoolean degraded = new AtomicBoolean();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger successes = new AtomicInteger();
+    private volatile Instant since;
+    private volatile String reason;
+
+    @Value("${cloudpos.cart.failover.failure-threshold:2}")
+    private int failureThreshold;
+
+    @Value("${cloudpos.cart.failover.recovery-threshold:3}")
+    private int recoveryThreshold;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("cloudpos.cart.failover.degraded", degraded, d -> d.get() ? 1 : 0)
+                .description("장바구니 장애 모드 여부")
+                .register(meterRegistry);
+        Gauge.builder("cloudpos.cart.failover.local.carts", localCartStore, LocalCartStore::size)
+                .description("노드 로컬에 보관 중인 장바구니 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isDegraded() {
+        return degraded.get();
+    }
+
+    public Instant getSince() {
+        return since;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * 로컬에 있는 장바구니는 로컬 저장소로, 나머지는 Redis 로 보냅니다.
+     * 처리 도중 복구 작업이 장바구니를 Redis 로 옮겼으면 Redis 로 다시 보냅니다.
+     */
+    public <T> T route(String cartId, Supplier<T> redis, Supplier<T> local) {
+        if (localCartStore.contains(cartId)) {
+            try {
+                return local.get();
+            } catch (CartMovedException e) {
+                log.debug("복구 중 Redis 로 옮겨진 장바구니 - cartId: {}", cartId);
+            }
+        }
+        return callRedis(cartId, redis);
+    }
+
+    /**
+     * Redis 장바구니 연산을 실행합니다. 연결 장애로 실패하면 장애로 집계하고 {@link CartUnavailableException}을 던집니다.
+     */
+    public <T> T callRedis(String cartId, Supplier<T> call) {
+        try {
+            T result = call.get();
+            failures.set(0);
+            return result;
+        } catch (RuntimeException e) {
+            if (!isOutage(e)) {
+                throw e;
+            }
+            reportFailure(e);
+            throw new CartUnavailableException(cartId, e);
+        }
+    }
+
+    /**
+     * Redis 장애로 판단되는 예외인지 여부. (명령 자체의 오류 응답은 제외)
+     */
+    public static boolean isOutage(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof RedisCommandExecutionException) {
+                return false;
+            }
+            if (t instanceof RedisConnectionFailureException
+                    || t instanceof QueryTimeoutException
+                    || t instanceof RedisConnectionException
+                    || t instanceof RedisSystemException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void reportFailure(Throwable cause) {
+        successes.set(0);
+        if (failures.incrementAndGet() >= failureThreshold) {
+            enter(cause.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cloudpos.cart.failover.check-ms:1000}")
+    public void check() {
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.ping();
+        } catch (RuntimeException e) {
+            reportFailure(e);
+            return;
+        }
+
+        failures.set(0);
+        if (degraded.get() && successes.incrementAndGet() >= recoveryThreshold) {
+            exit();
+        }
+        if (!degraded.get() && localCartStore.size() > 0) {
+            reconcile();
+        }
+    }
+
+    private void enter(String cause) {
+        if (degraded.compareAndSet(false, true)) {
+            since = Instant.now();
+            reason = cause;
+            successes.set(0);
+            log.warn("[장바구니 장애 모드 진입] 새 장바구니를 노드 로컬에 보관합니다. reason={}", cause);
+            meterRegistry.counter("cloudpos.cart.failover.transitions", "direction", "enter").increment();
+        }
+    }
+
+    private void exit() {
+        if (degraded.compareAndSet(true, false)) {
+            log.info("[장바구니 장애 모드 해제] since={}, localCarts={}", since, localCartStore.size());
+            since = null;
+            reason = null;
+            meterRegistry.counter("cloudpos.cart.failover.transitions", "direction", "exit").increment();
+        }
+    }
+
+    /**
+     * 로컬 장바구니를 Redis 로 옮깁니다.
+     *
+     * @return 옮긴 장바구니 수
+     */
+    int reconcile() {
+        int moved = 0;
+        for (String cartId : localCartStore.cartIds()) {
+            try {
+                if (localCartStore.moveOut(cartId, (state, items) -> redisCartService.restore(cartId, state, items))) {
+                    moved++;
+                    meterRegistry.counter("cloudpos.cart.failover.reconciled", "result", "moved").increment();
+                }
+            } catch (RuntimeException e) {
+                meterRegistry.counter("cloudpos.cart.failover.reconciled", "result", "failed").increment();
+                if (isOutage(e)) {
+                    log.warn("[장바구니 복구 중단] Redis 장애 재발, 남은 장바구니 {}건", localCartStore.size());
+                    reportFailure(e);
+                    break;
+                }
+                log.error("[장바구니 복구 실패] cartId={}", cartId, e);
+            }
+        }
+        if (moved > 0) {
+            log.info("[장바구니 복구] Redis 로 옮김 {}건, 남은 로컬 장바구니 {}건", moved, localCartStore.size());
+        }
+        return moved;
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.cloudpos.cart.failover;
+
+/**
+ * 로컬 장바구니가 처리 도중 Redis 로 옮겨졌음을 알리는 예외. 호출자는 같은 요청을 Redis 로 다시 보낸다.
+ */
+class CartMovedException extends RuntimeException {
+
+    CartMovedException(String cartId) {
+        super("Cart moved to Redis: cartId=" + cartId, null, false, false);
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.cloudpos.cart.failover;
+
+import lombok.RequiredArgsConstructor;
+import org.example.cloudpos.cart.domain.CartState;
+import org.example.cloudpos.cart.service.CartCheckoutService;
+import org.example.cloudpos.cart.service.CartCheckoutServiceImpl;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+
+/**
+ * {@link CartCheckoutService}의 장애 대응 구현체.
+ *
+ * <p>장애 중 로컬에 만든 장바구니의 결제 시작/성공/취소는 {@link LocalCartStore}에서,
+ * 나머지는 Redis 구현({@link CartCheckoutServiceImpl})에서 처리합니다. (see {@link FailoverCartService})</p>
+ */
+@Primary
+@Service
+@RequiredArgsConstructor
+public class FailoverCartCheckoutService implements CartCheckoutService {
+
+    private final CartCheckoutServiceImpl redisCartCheckoutService;
+    private final LocalCartStore localCartStore;
+    private final CartFailoverManager cartFailoverManager;
+
+    @Override
+    public CartState getState(String cartId) {
+        return cartFailoverManager.route(cartId, () -> redisCartCheckoutService.getState(cartId), () -> localCartStore.getState(cartId));
+    }
+
+    @Override
+    public void beginCheckout(String cartId) {
+        cartFailoverManager.route(cartId, () -> run(() -> redisCartCheckoutService.beginCheckout(cartId)),
+                () -> run(() -> localCartStore.beginCheckout(cartId)));
+    }
+
+    @Override
+    public void paymentSuccess(String cartId) {
+        cartFailoverManager.route(cartId, () -> run(() -> redisCartCheckoutService.paymentSuccess(cartId)),
+                () -> run(() -> localCartStore.paymentSuccess(cartId)));
+    }
+
+    @Override
+    public void cancelCheckout(String cartId) {
+        cartFailoverManager.route(cartId, () -> run(() -> redisCartCheckoutService.cancelCheckout(cartId)),
+                () -> run(() -> localCartStore.cancelCheckout(cartId)));
+    }
+
+    @Override
+    public void clear(String cartId) {
+        cartFailoverManager.route(cartId, () -> run(() -> redisCartCheckoutService.clear(cartId)),
+                () -> run(() -> localCartStore.clear(cartId)));
+    }
+
+
+    private static Void run(Runnable action) {
+        action.run();
+        return null;
+    }
+}
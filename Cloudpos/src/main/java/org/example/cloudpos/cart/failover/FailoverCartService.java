@@ -0,0 +1,99 @@
+package org.example.cloudpos.cart.failover;
+
+import lombok.RequiredArgsConstructor;
+import org.example.cloudpos.cart.domain.CartState;
+import org.example.cloudpos.cart.dto.CartItemResponse;
+import org.example.cloudpos.cart.dto.CreateCartResponse;
+import org.example.cloudpos.cart.exception.CartUnavailableException;
+import org.example.cloudpos.cart.service.CartService;
+import org.example.cloudpos.cart.service.CartServiceImpl;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * {@link CartService}의 장애 대응 구현체.
+ *
+ * <p>로컬에 있는 장바구니는 {@link LocalCartStore}로, 나머지는 Redis 구현({@link CartServiceImpl})으로 보냅니다.
+ * 장애 모드이거나 Redis 에 연결할 수 없으면 새 장바구니를 로컬에 만듭니다.
+ * 장애 이전 장바구니는 Redis 없이 처리할 수 없으므로 {@link CartUnavailableException}(503)으로 응답합니다.</p>
+ */
+@Primary
+@Service
+@RequiredArgsConstructor
+public class FailoverCartService implements CartService {
+
+    private final CartServiceImpl redisCartService;
+    private final LocalCartStore localCartStore;
+    private final CartFailoverManager cartFailoverManager;
+
+    @Override
+    public CreateCartResponse createCart() {
+        if (cartFailoverManager.isDegraded()) {
+            return localCartStore.createCart();
+        }
+        try {
+            return cartFailoverManager.callRedis("new", redisCartService::createCart);
+        } catch (CartUnavailableException e) {
+            return localCartStore.createCart();
+        }
+    }
+
+    @Override
+    public CartState getState(String cartId) {
+        return cartFailoverManager.route(cartId, () -> redisCartService.getState(cartId), () -> localCartStore.getState(cartId));
+    }
+
+    @Override
+    public void addFirstTime(String cartId, String productId) {
+        cartFailoverManager.route(cartId, () -> run(() -> redisCartService.addFirstTime(cartId, productId)),
+                () -> run(() -> localCartStore.addFirstTime(cartId, productId)));
+    }
+
+    @Override
+    public int changeQuantity(String cartId, String productId, int delta) {
+        return cartFailoverManager.route(cartId, () -> redisCartService.changeQuantity(cartId, productId, delta),
+                () -> localCartStore.changeQuantity(cartId, productId, delta));
+    }
+
+    @Override
+    public void removeItem(String cartId, String productId) {
+        cartFailoverManager.route(cartId, () -> run(() -> redisCartService.removeItem(cartId, productId)),
+                () -> run(() -> localCartStore.removeItem(cartId, productId)));
+    }
+
+    @Override
+    public void clear(String cartId) {
+        cartFailoverManager.route(cartId, () -> run(() -> redisCartService.clear(cartId)),
+                () -> run(() -> localCartStore.clear(cartId)));
+    }
+
+    @Override
+    public List<CartItemResponse> getAll(String cartId) {
+        return cartFailoverManager.route(cartId, () -> redisCartService.getAll(cartId), () -> localCartStore.getAll(cartId));
+    }
+
+    @Override
+    public List<CartItemResponse> getAllForCheckout(String cartId) {
+        return cartFailoverManager.route(cartId, () -> redisCartService.getAllForCheckout(cartId),
+                () -> localCartStore.getAll(cartId));
+    }
+
+    @Override
+    public int getQuantity(String cartId, String productId) {
+        return cartFailoverManager.route(cartId, () -> redisCartService.getQuantity(cartId, productId),
+                () -> localCartStore.getQuantity(cartId, productId));
+    }
+
+    @Override
+    public long getVersion(String cartId) {
+        return cartFailoverManager.route(cartId, () -> redisCartService.getVersion(cartId),
+                () -> localCartStore.getVersion(cartId));
+    }
+
+    private static Void run(Runnable action) {
+        action.run();
+        return null;
+    }
+}
@@ -0,0 +1,277 @@
+package org.example.cloudpos.cart.failover;
+
+import lombok.RequiredArgsConstructor;
+import org.example.cloudpos.cart.api.ProductSummaryHandlerApi;
+import org.example.cloudpos.cart.domain.CartState;
+import org.example.cloudpos.cart.domain.UlidGenerator;
+import org.example.cloudpos.cart.dto.CartItemResponse;
+import org.example.cloudpos.cart.dto.CreateCartResponse;
+import org.example.cloudpos.cart.dto.ProductSummary;
+import org.example.cloudpos.cart.exception.CartExpiredException;
+import org.example.cloudpos.cart.exception.CartUnavailableException;
+import org.example.cloudpos.cart.fsm.CartEvent;
+import org.example.cloudpos.cart.fsm.CartStateMachine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Redis 장애 동안 새 장바구니를 보관하는 노드 로컬 저장소.
+ *
+ * <p>Redis 구현({@code CartServiceImpl}, {@code CartCheckoutServiceImpl})과 같은 상태 전이/검증 규칙을 따르며,
+ * 상품 순서는 담은 순서대로 유지합니다.</p>
+ *
+ * <ul>
+ *   <li>보관 수는 {@code cloudpos.cart.failover.max-carts}(기본 10000)로 제한합니다.
+ *       가득 차면 유휴 장바구니를 먼저 정리하고, 그래도 자리가 없으면 새 장바구니를 만들지 않습니다.</li>
+ *   <li>{@code idle-minutes}(기본 60) 동안 사용하지 않은 장바구니는 만료로 처리합니다.</li>
+ *   <li>장바구니마다 잠금을 걸어 처리하며, Redis 로 옮겨진 뒤 도착한 요청에는 {@link CartMovedException}을 던져
+ *       호출자가 Redis 로 다시 보내게 합니다.</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class LocalCartStore {
+
+    private final ProductSummaryHandlerApi productSummaryHandlerApi;
+
+    private final Map<String, LocalCart> carts = new ConcurrentHashMap<>();
+
+    @Value("${cloudpos.cart.failover.max-carts:10000}")
+    private int maxCarts;
+
+    @Value("${cloudpos.cart.failover.idle-minutes:60}")
+    private long idleMinutes;
+
+    public boolean contains(String cartId) {
+        return carts.containsKey(cartId);
+    }
+
+    public int size() {
+        return carts.size();
+    }
+
+    public Set<String> cartIds() {
+        return Set.copyOf(carts.keySet());
+    }
+
+    public CreateCartResponse createCart() {
+        if (carts.size() >= maxCarts) {
+            evictIdle();
+            if (carts.size() >= maxCarts) {
+                throw new CartUnavailableException("Local cart store is full: maxCarts=" + maxCarts);
+            }
+        }
+        String cartId = UlidGenerator.generate();
+        carts.put(cartId, new LocalCart());
+        return new CreateCartResponse(cartId);
+    }
+
+    public CartState getState(String cartId) {
+        LocalCart cart = carts.get(cartId);
+        if (cart == null) {
+            return CartState.EMPTY;
+        }
+        synchronized (cart) {
+            return cart.state;
+        }
+    }
+
+    public void addFirstTime(String cartId, String productId) {
+        withCart(cartId, cart -> {
+            requireMutable(cart);
+            cart.items.merge(productId, 1, Integer::sum);
+            cart.transition(CartEvent.ADD_ITEM);
+            return null;
+        });
+    }
+
+    public int changeQuantity(String cartId, String productId, int delta) {
+        return withCart(cartId, cart -> {
+            requireMutable(cart);
+            int next = cart.items.getOrDefault(productId, 0) + delta;
+            if (next < 1) {
+                throw new IllegalStateException("상품의 최소 수량은 1개입니다.");
+            }
+            cart.items.put(productId, next);
+            cart.transition(delta > 0 ? CartEvent.ADD_ITEM : CartEvent.REMOVE_ITEM);
+            return next;
+        });
+    }
+
+    public void removeItem(String cartId, String productId) {
+        withCart(cartId, cart -> {
+            requireMutable(cart);
+            cart.items.remove(productId);
+            cart.transition(CartEvent.REMOVE_ITEM);
+            return null;
+        });
+    }
+
+    public void clear(String cartId) {
+        carts.remove(cartId);
+    }
+
+    public List<CartItemResponse> getAll(String cartId) {
+        Map<String, Integer> items = withCart(cartId, cart -> new LinkedHashMap<>(cart.items));
+        List<CartItemResponse> result = new ArrayList<>(items.size());
+        items.forEach((productId, qty) -> {
+            if (qty < 1) {
+                return;
+            }
+            ProductSummary p = productSummaryHandlerApi.getProductSummary(productId);
+            if (p != null) {
+                result.add(new CartItemResponse(p, qty));
+            }
+        });
+        return result;
+    }
+
+    public int getQuantity(String cartId, String productId) {
+        LocalCart cart = carts.get(cartId);
+        if (cart == null) {
+            return 0;
+        }
+        synchronized (cart) {
+            return cart.items.getOrDefault(productId, 0);
+        }
+    }
+
+    public long getVersion(String cartId) {
+        LocalCart cart = carts.get(cartId);
+        if (cart == null) {
+            return 0L;
+        }
+        synchronized (cart) {
+            return cart.version;
+        }
+    }
+
+    public void beginCheckout(String cartId) {
+        withCart(cartId, cart -> {
+            if (cart.items.isEmpty()) {
+                throw new IllegalStateException("빈 장바구니는 결제를 시작 할 수 없음");
+            }
+            cart.transition(CartEvent.CHECKOUT);
+            return null;
+        });
+    }
+
+    public void paymentSuccess(String cartId) {
+        withCart(cartId, cart -> {
+            requireCheckoutPending(cart, "결제 성공");
+            cart.moved = true;
+            carts.remove(cartId, cart);
+            return null;
+        });
+    }
+
+    public void cancelCheckout(String cartId) {
+        withCart(cartId, cart -> {
+            requireCheckoutPending(cart, "결제 취소");
+            cart.transition(CartEvent.CANCEL);
+            return null;
+        });
+    }
+
+    /**
+     * 장바구니를 {@code writer}로 내보낸 뒤 로컬에서 지웁니다. 내보내기에 실패하면 로컬에 그대로 남습니다.
+     *
+     * @return 옮겼으면 {@code true}, 이미 없거나 만료되었으면 {@code false}
+     */
+    public boolean moveOut(String cartId, BiConsumer<CartState, Map<String, Integer>> writer) {
+        LocalCart cart = carts.get(cartId);
+        if (cart == null) {
+            return false;
+        }
+        synchronized (cart) {
+            if (cart.moved) {
+                return false;
+            }
+            if (cart.isIdle(idleTimeout())) {
+                carts.remove(cartId, cart);
+                return false;
+            }
+            writer.accept(cart.state, new LinkedHashMap<>(cart.items));
+            cart.moved = true;
+            carts.remove(cartId, cart);
+            return true;
+        }
+    }
+
+    private <T> T withCart(String cartId, Function<LocalCart, T> action) {
+        LocalCart cart = carts.get(cartId);
+        if (cart == null) {
+            throw new CartExpiredException(cartId);
+        }
+        synchronized (cart) {
+            if (cart.moved) {
+                throw new CartMovedException(cartId);
+            }
+            if (cart.isIdle(idleTimeout())) {
+                carts.remove(cartId, cart);
+                throw new CartExpiredException(cartId);
+            }
+            cart.touch();
+            return action.apply(cart);
+        }
+    }
+
+    private void evictIdle() {
+        Duration timeout = idleTimeout();
+        carts.entrySet().removeIf(e -> e.getValue().isIdle(timeout));
+    }
+
+    private Duration idleTimeout() {
+        return Duration.ofMinutes(idleMinutes);
+    }
+
+    private static void requireMutable(LocalCart cart) {
+        if (cart.state == CartState.CHECKOUT_PENDING || cart.state == CartState.CLOSED) {
+            throw new IllegalStateException("현재 상태에서는 장바구니를 수정할 수 없습니다: " + cart.state);
+        }
+    }
+
+    private static void requireCheckoutPending(LocalCart cart, String action) {
+        if (cart.state != CartState.CHECKOUT_PENDING) {
+            throw new IllegalStateException(action + "은(는) CHECKOUT_PENDING에서만 가능합니다.");
+        }
+    }
+
+    /**
+     * 로컬 장바구니 1개. 필드는 장바구니 잠금 안에서만 읽고 쓴다.
+     */
+    private static final class LocalCart {
+
+        private CartState state = CartState.EMPTY;
+        private final Map<String, Integer> items = new LinkedHashMap<>();
+        private volatile long lastAccessNanos = System.nanoTime();
+        private boolean moved;
+        private long version;
+
+        /**
+         * 상태를 전이하고 변경 버전을 올린다. (결제 시작/취소도 포함하므로 Redis 구현보다 자주 오를 수 있다)
+         */
+        void transition(CartEvent event) {
+            state = CartStateMachine.next(state, event).orElse(state);
+            version++;
+        }
+
+        void touch() {
+            lastAccessNanos = System.nanoTime();
+        }
+
+        boolean isIdle(Duration timeout) {
+            return System.nanoTime() - lastAccessNanos > timeout.toNanos();
+        }
+    }
+}
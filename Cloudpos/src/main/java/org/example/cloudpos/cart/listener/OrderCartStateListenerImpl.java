@@ -5,7 +5,7 @@ import org.example.cloudpos.cart.domain.CartState;
 import org.example.cloudpos.cart.dto.CartItemResponse;
 import org.example.cloudpos.cart.exception.InvalidCartStateException;
 import org.example.cloudpos.cart.service.CartCheckoutService;
-import org.example.cloudpos.cart.service.CartServiceImpl;
+import org.example.cloudpos.cart.service.CartService;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -25,7 +25,7 @@ import java.util.List;
 public class OrderCartStateListenerImpl implements OrderCartStateListener {
 
     private final CartCheckoutService cartCheckoutService;
-    private final CartServiceImpl cartService;
+    private final CartService cartService;
 
     @Override
     public void onClose(String cartId) {
@@ -44,7 +44,7 @@ public class OrderCartStateListenerImpl implements OrderCartStateListener {
 
         }
         cartCheckoutService.beginCheckout(cartId);
-        return cartService.getAll(cartId);
+        return cartService.getAllForCheckout(cartId);
     }
 
 
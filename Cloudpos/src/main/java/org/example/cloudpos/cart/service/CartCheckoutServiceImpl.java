@@ -19,6 +19,8 @@ public class CartCheckoutServiceImpl implements CartCheckoutService{
     private String itemsHashKey(String cartId) { return "cart:" + cartId + ":items"; }
     private String itemSetKey(String cartId) { return "cart:" + cartId + ":itemset"; }
     private String stateKey(String cartId) { return "cart:" + cartId + ":state"; }
+    private String linesKey(String cartId) { return "cart:" + cartId + ":lines"; }
+    private String versionKey(String cartId) { return "cart:" + cartId + ":version"; }
 
 
     private final RedisTemplate<String, String> redisTemplate;
@@ -37,6 +39,8 @@ public class CartCheckoutServiceImpl implements CartCheckoutService{
         redisTemplate.expire(stateKey(cartId), TTL);
         redisTemplate.expire(itemsHashKey(cartId), TTL);
         redisTemplate.expire(itemSetKey(cartId), TTL);
+        redisTemplate.expire(linesKey(cartId), TTL);
+        redisTemplate.expire(versionKey(cartId), TTL);
     }
 
 
@@ -113,6 +117,8 @@ public class CartCheckoutServiceImpl implements CartCheckoutService{
     public void clear(String cartId) {
         redisTemplate.delete(itemSetKey(cartId));
         redisTemplate.delete(itemsHashKey(cartId));
+        redisTemplate.delete(linesKey(cartId));
+        redisTemplate.delete(versionKey(cartId));
         redisTemplate.delete(stateKey(cartId));
     }
 
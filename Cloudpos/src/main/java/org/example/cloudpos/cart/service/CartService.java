@@ -28,5 +28,15 @@ public interface CartService {
 
     List<CartItemResponse> getAll(String cartId);
 
+    /**
+     * 결제 시작용 조회. 담은 뒤 상품 정보가 바뀐 항목만 다시 조회해 현재 가격으로 반환한다.
+     */
+    List<CartItemResponse> getAllForCheckout(String cartId);
+
     int getQuantity(String cartId, String productId);
+
+    /**
+     * 장바구니 내용이 바뀔 때마다 증가하는 변경 버전. 같은 버전이면 담긴 상품·수량·가격이 같다.
+     */
+    long getVersion(String cartId);
 }
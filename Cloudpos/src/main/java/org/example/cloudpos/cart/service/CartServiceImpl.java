@@ -1,15 +1,23 @@
 package org.example.cloudpos.cart.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.example.cloudpos.cart.api.ProductSummaryHandlerApi;
+import org.example.cloudpos.cart.config.RedisClientSideCache;
+import org.example.cloudpos.cart.config.RedisPipeline;
+import org.example.cloudpos.cart.config.RedisReadReplica;
+import org.example.cloudpos.cart.domain.CartLineSnapshot;
 import org.example.cloudpos.cart.domain.CartState;
 import org.example.cloudpos.cart.domain.UlidGenerator;
 import org.example.cloudpos.cart.dto.CartItemResponse;
 import org.example.cloudpos.cart.dto.CreateCartResponse;
 import org.example.cloudpos.cart.dto.ProductSummary;
 import org.example.cloudpos.cart.exception.CartExpiredException;
+import org.example.cloudpos.cart.exception.CartProductNotFoundException;
 import org.example.cloudpos.cart.fsm.CartEvent;
 import org.example.cloudpos.cart.fsm.CartStateMachine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
@@ -42,6 +50,26 @@ import java.util.*;
  *  * <p>각 Redis 키(cart:{id}:state/order/items)는
  *  * 쓰기 연산 시마다 TTL이 갱신되어, 사용자 활동이 있을 때마다 만료 시점이 연장됩니다.</p>
  *
+ * <h3>Redis 왕복</h3>
+ * <p>상태 확인 후의 쓰기(값 변경 + 상태 저장 + TTL 갱신)는 {@link RedisPipeline}으로 한 번에 보냅니다.
+ * 클라이언트 캐시({@code cloudpos.redis.client-cache.enabled})가 켜져 있으면
+ * 읽기 전용 조회({@link #getAll})의 만료 확인은 로컬 캐시로 처리합니다.</p>
+ *
+ * <h3>복제본 읽기</h3>
+ * <p>복제본 연결({@code cloudpos.redis.read-from})이 있으면 화면 표시용 조회({@link #getAll})의 상품 목록만 복제본에서 읽습니다.
+ * 복제 지연으로 방금 담은 상품이 잠시 보이지 않을 수 있지만, 만료 확인과 상태 전이, 결제용 조회는 항상 마스터를 사용하므로
+ * 복제본에 키가 없다는 이유로 장바구니를 지우거나 상태를 잘못 판단하지 않습니다.
+ * 스냅샷 재기록과 변경 버전 증가도 마스터에서 읽은 상품으로만 합니다.</p>
+ *
+ * <h3>상품 스냅샷</h3>
+ * <p>상품을 처음 담을 때 이름·가격·카탈로그 버전을 {@link CartLineSnapshot}으로 {@code cart:{id}:lines}에 기록합니다.
+ * {@link #getAll}은 스냅샷으로만 응답하고, {@link #getAllForCheckout}은 버전을 한 번에 비교해
+ * 담은 뒤 바뀐 상품만 다시 조회하여 스냅샷을 갱신합니다.</p>
+ *
+ * <h3>변경 버전</h3>
+ * <p>상품 추가·수량 변경·삭제와 스냅샷 재기록마다 {@code cart:{id}:version}을 1씩 올립니다.
+ * 견적처럼 장바구니 내용으로 계산한 결과를 이 버전 기준으로 재사용할 수 있습니다. ({@link #getVersion})</p>
+ *
  * <h3>예외 처리</h3>
  * <ul>
  *   <li>{@link CartExpiredException} – 만료된 장바구니 접근 시</li>
@@ -49,32 +77,53 @@ import java.util.*;
  * </ul>
  */
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CartServiceImpl implements CartService {
     private final RedisTemplate<String, String> redisTemplate;
     private final ProductSummaryHandlerApi productSummaryHandlerApi;
+    private final ObjectProvider<RedisClientSideCache> clientSideCache;
+    private final ObjectProvider<RedisReadReplica> readReplica;
     private static final Duration TTL=Duration.ofMinutes(5);
+    private static final Duration CHECKOUT_TTL=Duration.ofMinutes(60);
 
     private String itemsHashKey(String cartId) { return "cart:" + cartId + ":items"; }
     private String itemSetKey(String cartId) { return "cart:" + cartId + ":itemset"; }
     private String stateKey(String cartId) { return "cart:" + cartId + ":state"; }
+    private String linesKey(String cartId) { return "cart:" + cartId + ":lines"; }
+    private String versionKey(String cartId) { return "cart:" + cartId + ":version"; }
 
 
 
-    private void refreshTtl(String cartId) {
-        redisTemplate.expire(stateKey(cartId), TTL);
-        redisTemplate.expire(itemsHashKey(cartId), TTL);
-        redisTemplate.expire(itemSetKey(cartId), TTL);
+    /**
+     * 파이프라인 안에서 상태를 전이하고 변경 버전을 올린 뒤 TTL 을 갱신한다. (상태 키는 SET 시 TTL 을 함께 지정)
+     */
+    private void transitionAndRefreshTtl(RedisOperations<String, String> ops, String cartId, CartState cur, CartEvent event) {
+        CartState next = CartStateMachine.next(cur, event).orElse(cur);
+        ops.opsForValue().set(stateKey(cartId), next.name(), TTL);
+        ops.expire(itemsHashKey(cartId), TTL);
+        ops.expire(itemSetKey(cartId), TTL);
+        ops.expire(linesKey(cartId), TTL);
+        ops.opsForValue().increment(versionKey(cartId));
+        ops.expire(versionKey(cartId), TTL);
     }
 
 
-    private void requireMutableCart(String cartId){
-        ensureAlive(cartId);
-        CartState state = getState(cartId);
+    /**
+     * 만료 확인과 상태 조회를 GET 한 번으로 처리한다.
+     */
+    private CartState requireMutableCart(String cartId){
+        String s = redisTemplate.opsForValue().get(stateKey(cartId));
+        if (s == null) {
+            clear(cartId);
+            throw new CartExpiredException(cartId);
+        }
+        CartState state = CartState.valueOf(s);
         if(state == CartState.CHECKOUT_PENDING || state == CartState.CLOSED){
             throw new IllegalStateException("현재 상태에서는 장바구니를 수정할 수 없습니다: " + state);
         }
+        return state;
     }
 
     /**
@@ -101,22 +150,25 @@ public class CartServiceImpl implements CartService {
     /**
      * 장바구니에 상품을 처음 추가할 때 호출된다.
      * itemset/items/qty 초기 등록 및 TTL 갱신을 수행한다.
+     * 새 상품이면 상품 정보를 한 번 조회해 스냅샷으로 함께 기록한다.
      */
     public void addFirstTime(String cartId, String productId) {
-        requireMutableCart(cartId);
+        CartState state = requireMutableCart(cartId);
 
         boolean exists = Boolean.TRUE.equals(
                 redisTemplate.opsForHash().hasKey(itemsHashKey(cartId), productId)
         );
-        if(!exists){
-            redisTemplate.opsForList().rightPush(itemSetKey(cartId), productId);
-            redisTemplate.opsForHash().put(itemsHashKey(cartId), productId, "1");
-        }else{
-            redisTemplate.opsForHash().increment(itemsHashKey(cartId), productId, 1);
-        }
-
-        transition(cartId, CartEvent.ADD_ITEM);
-        refreshTtl(cartId);
+        CartLineSnapshot snapshot = exists ? null : CartLineSnapshot.of(productSummaryHandlerApi.getProductSummary(productId));
+        RedisPipeline.execute(redisTemplate, ops -> {
+            if(!exists){
+                ops.opsForList().rightPush(itemSetKey(cartId), productId);
+                ops.opsForHash().put(itemsHashKey(cartId), productId, "1");
+                ops.opsForHash().put(linesKey(cartId), productId, snapshot.encode());
+            }else{
+                ops.opsForHash().increment(itemsHashKey(cartId), productId, 1);
+            }
+            transitionAndRefreshTtl(ops, cartId, state, CartEvent.ADD_ITEM);
+        });
 
     }
 
@@ -125,7 +177,7 @@ public class CartServiceImpl implements CartService {
      * 수량이 1 미만이 되면 변경하지 않고 false를 반환한다.
      */
     public int changeQuantity(String cartId, String productId, int delta) {
-        requireMutableCart(cartId);
+        CartState state = requireMutableCart(cartId);
 
         int cur=getQuantity(cartId, productId);
         int next=cur+delta;
@@ -133,12 +185,11 @@ public class CartServiceImpl implements CartService {
             throw new IllegalStateException("상품의 최소 수량은 1개입니다.");
         }
 
-        redisTemplate.opsForHash().increment(itemsHashKey(cartId), productId, delta);
-
         CartEvent event = (delta > 0) ? CartEvent.ADD_ITEM : CartEvent.REMOVE_ITEM;
-        transition(cartId, event);
-
-        refreshTtl(cartId);
+        RedisPipeline.execute(redisTemplate, ops -> {
+            ops.opsForHash().increment(itemsHashKey(cartId), productId, delta);
+            transitionAndRefreshTtl(ops, cartId, state, event);
+        });
 
         return next;
 
@@ -150,72 +201,160 @@ public class CartServiceImpl implements CartService {
      */
 
     public void removeItem(String cartId, String productId) {
-        requireMutableCart(cartId);
-
-        redisTemplate.opsForHash().delete(itemsHashKey(cartId), productId);
-        redisTemplate.opsForList().remove(itemSetKey(cartId),0,productId);
-
-        transition(cartId, CartEvent.REMOVE_ITEM);
+        CartState state = requireMutableCart(cartId);
 
-        refreshTtl(cartId);
+        RedisPipeline.execute(redisTemplate, ops -> {
+            ops.opsForHash().delete(itemsHashKey(cartId), productId);
+            ops.opsForHash().delete(linesKey(cartId), productId);
+            ops.opsForList().remove(itemSetKey(cartId),0,productId);
+            transitionAndRefreshTtl(ops, cartId, state, CartEvent.REMOVE_ITEM);
+        });
 
     }
 
 
     /**
      * 장바구니에 속한 모든 Redis 키를 삭제한다.
-     * (state, itemHash, itemset)
+     * (state, itemHash, itemset, lines, version)
      */
     public void clear(String cartId) {
-        redisTemplate.delete(itemSetKey(cartId));
-        redisTemplate.delete(itemsHashKey(cartId));
-        redisTemplate.delete(stateKey(cartId));
+        redisTemplate.delete(List.of(itemSetKey(cartId), itemsHashKey(cartId), linesKey(cartId), versionKey(cartId), stateKey(cartId)));
     }
 
     /**
      * 장바구니의 모든 상품과 수량을 조회하여 DTO로 반환한다.
-     * ProductSummaryHandlerApi를 통해 상품 정보를 조회한다.
+     * 담을 때 기록한 스냅샷으로 응답하며, 스냅샷이 없는 상품만 조회해 채워 넣는다.
+     *
+     * <p>복제본에서 읽은 상품 중 스냅샷이 없는 상품이 있으면 복제 지연일 수 있으므로 마스터에서 다시 읽는다.
+     * 복제본에서 읽은 값으로는 스냅샷을 기록하거나 변경 버전을 올리지 않는다. (이미 계산된 견적이 무효화되지 않도록)</p>
      */
     public List<CartItemResponse> getAll(String cartId) {
         ensureAlive(cartId);
+        RedisReadReplica replica = readReplica.getIfAvailable();
+        if (replica == null) {
+            return toResponses(cartId, loadLines(redisTemplate, cartId));
+        }
+        List<CartLine> lines = loadLines(replica.template(), cartId);
+        if (lines.stream().anyMatch(line -> line.snapshot() == null)) {
+            lines = loadLines(redisTemplate, cartId);
+        }
+        return toResponses(cartId, lines);
+    }
 
-        //productid
-        List<String> ids = redisTemplate.opsForList().range(itemSetKey(cartId), 0, -1);
-        if (ids == null || ids.isEmpty()) return List.of();
+    /**
+     * 결제 시작용 조회. 담긴 상품의 현재 카탈로그 버전을 한 번에 조회해
+     * 스냅샷 이후 바뀐 상품만 다시 조회하고 스냅샷을 갱신한다.
+     *
+     * @throws CartProductNotFoundException 담은 뒤 삭제된 상품이 있는 경우
+     */
+    public List<CartItemResponse> getAllForCheckout(String cartId) {
+        ensureAlive(cartId);
+        List<CartLine> lines = loadLines(redisTemplate, cartId);
+        if (lines.isEmpty()) {
+            return List.of();
+        }
 
-        List<Object> quantities = redisTemplate.opsForHash().multiGet(itemsHashKey(cartId), new ArrayList<>(ids));
+        Map<String, Long> versions = productSummaryHandlerApi.getProductVersions(
+                lines.stream().map(CartLine::productId).toList());
+        List<CartLine> checked = new ArrayList<>(lines.size());
+        for (CartLine line : lines) {
+            Long current = versions.get(line.productId());
+            if (current == null) {
+                throw new CartProductNotFoundException(line.productId());
+            }
+            if (line.snapshot() != null && line.snapshot().version() != current) {
+                log.info("[장바구니 재가격] cartId={}, productId={}, version {} -> {}, price {}",
+                        cartId, line.productId(), line.snapshot().version(), current, line.snapshot().price());
+                line = new CartLine(line.productId(), line.qty(), null);
+            }
+            checked.add(line);
+        }
+        return toResponses(cartId, checked);
+    }
 
-        List<CartItemResponse> result = new ArrayList<>(ids.size());
-        for (int i = 0; i < ids.size(); i++) {
-            String pid = ids.get(i);
-            Object qObj= (quantities == null) ? null : quantities.get(i);
-            String qStr=(qObj == null) ? null : qObj.toString();
-            int qty = (qStr == null) ? 0 : Integer.parseInt(qStr);
+    /**
+     * itemset/items/lines 를 한 번의 왕복으로 읽는다. (수량이 1 미만인 항목은 제외)
+     */
+    private List<CartLine> loadLines(RedisTemplate<String, String> source, String cartId) {
+        List<Object> results = RedisPipeline.execute(source, ops -> {
+            ops.opsForList().range(itemSetKey(cartId), 0, -1);
+            ops.opsForHash().entries(itemsHashKey(cartId));
+            ops.opsForHash().entries(linesKey(cartId));
+        });
+
+        @SuppressWarnings("unchecked")
+        List<String> ids = (List<String>) results.get(0);
+        if (ids == null || ids.isEmpty()) return List.of();
+        Map<?, ?> quantities = (Map<?, ?>) results.get(1);
+        Map<?, ?> snapshots = (Map<?, ?>) results.get(2);
+
+        List<CartLine> lines = new ArrayList<>(ids.size());
+        for (String pid : ids) {
+            Object qObj = (quantities == null) ? null : quantities.get(pid);
+            String qStr = (qObj == null) ? null : qObj.toString();
+            int qty = (qStr == null || qStr.isEmpty()) ? 0 : Integer.parseInt(qStr);
             if (qty < 1) continue;
 
-            ProductSummary p = productSummaryHandlerApi.getProductSummary(pid);
-            if (p == null) {
-                continue;
+            Object snap = (snapshots == null) ? null : snapshots.get(pid);
+            lines.add(new CartLine(pid, qty, CartLineSnapshot.decode(snap == null ? null : snap.toString())));
+        }
+        return lines;
+    }
+
+    /**
+     * 스냅샷이 없는 상품(이전 버전에서 담았거나 재가격 대상)은 조회 후 스냅샷을 다시 기록하고 변경 버전을 올린다.
+     */
+    private List<CartItemResponse> toResponses(String cartId, List<CartLine> lines) {
+        Map<String, String> refreshed = new LinkedHashMap<>();
+        List<CartItemResponse> result = new ArrayList<>(lines.size());
+        for (CartLine line : lines) {
+            CartLineSnapshot snapshot = line.snapshot();
+            if (snapshot == null) {
+                snapshot = CartLineSnapshot.of(productSummaryHandlerApi.getProductSummary(line.productId()));
+                refreshed.put(line.productId(), snapshot.encode());
             }
-            result.add(new CartItemResponse(p, qty));
+            result.add(new CartItemResponse(snapshot.toSummary(line.productId()), line.qty()));
+        }
+        if (!refreshed.isEmpty()) {
+            Duration ttl = ttlOf(cartId);
+            RedisPipeline.execute(redisTemplate, ops -> {
+                ops.opsForHash().putAll(linesKey(cartId), refreshed);
+                ops.expire(linesKey(cartId), ttl);
+                ops.opsForValue().increment(versionKey(cartId));
+                ops.expire(versionKey(cartId), ttl);
+            });
         }
         return result;
     }
 
+    /**
+     * 스냅샷을 다시 기록할 때 다른 키와 만료 시점을 맞추기 위해 상태 키의 남은 TTL 을 따른다.
+     */
+    private Duration ttlOf(String cartId) {
+        Long seconds = redisTemplate.getExpire(stateKey(cartId));
+        return (seconds == null || seconds <= 0) ? TTL : Duration.ofSeconds(seconds);
+    }
+
+    /**
+     * 만료 확인은 마스터(또는 마스터를 추적하는 클라이언트 캐시)로만 한다. 없으면 장바구니 키를 지우므로 복제본을 쓰면 안 된다.
+     */
     private void ensureAlive(String cartId) {
-        if (!Boolean.TRUE.equals(redisTemplate.hasKey(stateKey(cartId)))) {
+        RedisClientSideCache cache = clientSideCache.getIfAvailable();
+        boolean alive = (cache != null)
+                ? cache.get(stateKey(cartId)) != null
+                : Boolean.TRUE.equals(redisTemplate.hasKey(stateKey(cartId)));
+        if (!alive) {
             clear(cartId);
             throw new CartExpiredException(cartId); // 404/410 등으로 매핑
         }
     }
 
-
-    //상태전이, ttl 동기화?
-    private void transition(String cartId, CartEvent event) {
-        CartState cur = getState(cartId);
-        CartState next = CartStateMachine.next(cur, event).orElse(cur);
-        redisTemplate.opsForValue().set(stateKey(cartId), next.name());
-
+    /**
+     * 장바구니 변경 버전. 한 번도 변경되지 않았거나 만료되었으면 0.
+     */
+    public long getVersion(String cartId) {
+        String v = redisTemplate.opsForValue().get(versionKey(cartId));
+        return (v == null) ? 0L : Long.parseLong(v);
     }
 
     public int getQuantity(String cartId, String productId) {
@@ -228,4 +367,32 @@ public class CartServiceImpl implements CartService {
         return Integer.parseInt(s);
     }
 
-}
\ No newline at end of file
+    /**
+     * 장애 중 노드 로컬에 보관했던 장바구니를 Redis 에 다시 기록한다. (복구 시)
+     * 상품 순서와 수량, 상태를 그대로 옮기며 결제 대기 중인 장바구니는 결제용 TTL 을 적용한다.
+     * 스냅샷은 옮기지 않으며 다음 조회 때 다시 기록된다.
+     */
+    public void restore(String cartId, CartState state, Map<String, Integer> items) {
+        Duration ttl = (state == CartState.CHECKOUT_PENDING) ? CHECKOUT_TTL : TTL;
+        RedisPipeline.execute(redisTemplate, ops -> {
+            ops.delete(List.of(itemSetKey(cartId), itemsHashKey(cartId), linesKey(cartId)));
+            if (!items.isEmpty()) {
+                ops.opsForList().rightPushAll(itemSetKey(cartId), items.keySet());
+                Map<String, String> quantities = new LinkedHashMap<>();
+                items.forEach((productId, qty) -> quantities.put(productId, String.valueOf(qty)));
+                ops.opsForHash().putAll(itemsHashKey(cartId), quantities);
+                ops.expire(itemSetKey(cartId), ttl);
+                ops.expire(itemsHashKey(cartId), ttl);
+            }
+            ops.opsForValue().set(stateKey(cartId), state.name(), ttl);
+            ops.opsForValue().increment(versionKey(cartId));
+            ops.expire(versionKey(cartId), ttl);
+        });
+    }
+
+    /**
+     * 조회 중인 장바구니 한 줄. 스냅샷이 없거나 재가격 대상이면 {@code snapshot}이 {@code null}이다.
+     */
+    private record CartLine(String productId, int qty, CartLineSnapshot snapshot) {
+    }
+}
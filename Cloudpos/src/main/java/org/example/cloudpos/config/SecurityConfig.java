@@ -2,7 +2,12 @@ package org.example.cloudpos.config;
 
 
 import lombok.RequiredArgsConstructor;
+import org.example.cloudpos.auth.jwt.JwtAuthenticationFilter;
+import org.example.cloudpos.auth.jwt.JwtLoginSuccessHandler;
+import org.example.cloudpos.auth.jwt.JwtTokenService;
+import org.example.cloudpos.auth.jwt.RedisOAuth2AuthorizationRequestRepository;
 import org.example.cloudpos.auth.service.CustomOAuth2UserService;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,7 +15,9 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.client.web.OAuth2LoginAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.logout.CookieClearingLogoutHandler;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -18,36 +25,69 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import java.util.List;
 
 
+/**
+ * 보안 설정.
+ *
+ * <p>{@code cloudpos.auth.mode} 로 로그인 상태 저장 방식을 선택합니다.</p>
+ * <ul>
+ *   <li>{@code session} (기본): 노드 메모리 세션</li>
+ *   <li>{@code redis-session}: Redis 세션 ({@link org.example.cloudpos.auth.config.RedisSessionConfig}),
+ *       필터 체인 설정은 session 과 같습니다.</li>
+ *   <li>{@code jwt}: 세션 없이 로그인 성공 시 JWT 쿠키를 발급하고 요청마다 서명만 검증
+ *       ({@link org.example.cloudpos.auth.config.JwtAuthConfig})</li>
+ * </ul>
+ */
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
     private final CustomOAuth2UserService customOAuth2UserService;
+    private final ObjectProvider<JwtTokenService> jwtTokenService;
+    private final ObjectProvider<RedisOAuth2AuthorizationRequestRepository> authorizationRequestRepository;
 
     @Value("${app.frontend-url}")
     private String frontendUrl;
 
+    @Value("${cloudpos.auth.mode:session}")
+    private String authMode;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        boolean jwt = "jwt".equals(authMode);
+
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
-                .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
+                .sessionManagement(sm -> sm.sessionCreationPolicy(
+                        jwt ? SessionCreationPolicy.STATELESS : SessionCreationPolicy.IF_REQUIRED))
                 .authorizeHttpRequests(auth -> auth
                         .anyRequest().permitAll()
                 )
-                .oauth2Login(oauth -> oauth
-                        .loginPage("/login")
-                        .defaultSuccessUrl(frontendUrl + "/", true)
-                        .userInfoEndpoint(userInfo -> userInfo
-                                .userService(customOAuth2UserService)
-                        )
-                )
+                .oauth2Login(oauth -> {
+                    oauth
+                            .loginPage("/login")
+                            .userInfoEndpoint(userInfo -> userInfo
+                                    .userService(customOAuth2UserService)
+                            );
+                    if (jwt) {
+                        oauth
+                                .authorizationEndpoint(endpoint -> endpoint
+                                        .authorizationRequestRepository(authorizationRequestRepository.getObject()))
+                                .successHandler(new JwtLoginSuccessHandler(jwtTokenService.getObject(), frontendUrl + "/"));
+                    } else {
+                        oauth.defaultSuccessUrl(frontendUrl + "/", true);
+                    }
+                })
                 .logout(logout -> logout
                         .logoutUrl("/logout")
                         .logoutSuccessUrl(frontendUrl + "/")
+                        .addLogoutHandler(new CookieClearingLogoutHandler(JwtAuthenticationFilter.COOKIE_NAME))
                 );
 
+        if (jwt) {
+            http.addFilterBefore(new JwtAuthenticationFilter(jwtTokenService.getObject()), OAuth2LoginAuthenticationFilter.class);
+        }
+
         return http.build();
     }
 
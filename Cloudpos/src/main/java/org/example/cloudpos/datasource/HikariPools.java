@@ -0,0 +1,28 @@
+package org.example.cloudpos.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+/**
+ * {@code spring.datasource.*} 계정/드라이버와 {@code spring.datasource.hikari.*} 풀 설정을 그대로 사용하되
+ * 접속 URL 만 다른 Hikari 풀을 생성합니다. (replica, shard 풀 생성용)
+ */
+public final class HikariPools {
+
+    private HikariPools() {
+    }
+
+    public static HikariDataSource create(DataSourceProperties properties, Environment environment,
+                                          String url, String poolName) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(poolName);
+        return pool;
+    }
+}
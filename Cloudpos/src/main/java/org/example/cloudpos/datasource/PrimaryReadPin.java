@@ -0,0 +1,61 @@
+package org.example.cloudpos.datasource;
+
+import org.example.cloudpos.monitoring.StoreContext;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 쓰기 직후의 읽기를 일정 시간 primary 로 고정하기 위한 기록.
+ *
+ * <p>읽기 전용이 아닌 트랜잭션이 커밋되면 현재 매장({@link StoreContext}) 기준으로 커밋 시각을 남기고,
+ * {@code pinMillis} 동안 같은 매장의 읽기 전용 트랜잭션은 replica 대신 primary 를 사용합니다.
+ * (replica 복제 지연으로 방금 저장한 데이터가 보이지 않는 문제 방지)</p>
+ *
+ * <p>매장 정보가 없는 요청은 하나의 공용 키로 묶어 처리합니다. 기록은 노드 단위입니다.</p>
+ */
+public class PrimaryReadPin implements TransactionExecutionListener {
+
+    private static final String NO_STORE = "_";
+
+    private final long pinMillis;
+    private final Map<String, Long> lastWriteAt = new ConcurrentHashMap<>();
+
+    public PrimaryReadPin(long pinMillis) {
+        this.pinMillis = pinMillis;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (pinMillis <= 0 || commitFailure != null || transaction.isReadOnly()) {
+            return;
+        }
+        lastWriteAt.put(key(), System.currentTimeMillis());
+    }
+
+    /**
+     * 현재 매장에서 최근 {@code pinMillis} 이내에 쓰기가 있었는지 여부.
+     */
+    public boolean isPinned() {
+        if (pinMillis <= 0) {
+            return false;
+        }
+        String key = key();
+        Long writtenAt = lastWriteAt.get(key);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - writtenAt < pinMillis) {
+            return true;
+        }
+        lastWriteAt.remove(key, writtenAt);
+        return false;
+    }
+
+    private static String key() {
+        String store = StoreContext.get();
+        return store != null ? store : NO_STORE;
+    }
+}
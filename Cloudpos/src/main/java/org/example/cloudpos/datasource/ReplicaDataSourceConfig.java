@@ -0,0 +1,101 @@
+package org.example.cloudpos.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기/쓰기 DataSource 라우팅 설정.
+ *
+ * <p>{@code cloudpos.datasource.replica-urls} 가 설정된 경우에만 등록되며, 설정하지 않으면
+ * 기존처럼 Spring Boot 가 만든 단일 DataSource(primary)를 사용합니다.</p>
+ *
+ * <h2>동작</h2>
+ * <ul>
+ *   <li>DataSource 빈은 {@link LazyConnectionDataSourceProxy} 입니다. 실제 커넥션은 첫 SQL 실행 시점에 결정되며,
+ *       {@code @Transactional(readOnly = true)} 로 read-only 가 지정된 커넥션은
+ *       {@link ReplicaRoutingDataSource} 를 통해 replica 에서, 그 외에는 primary 에서 가져옵니다.</li>
+ *   <li>replica 상태는 {@code cloudpos.datasource.replica-health-interval-ms} 주기로 검사합니다.</li>
+ *   <li>{@code cloudpos.datasource.read-after-write-pin-ms} 가 0보다 크면 쓰기 트랜잭션 커밋 후 해당 시간 동안
+ *       같은 매장의 읽기를 primary 로 보냅니다. ({@link PrimaryReadPin})</li>
+ * </ul>
+ *
+ * <p>replica 는 primary 와 같은 계정과 {@code spring.datasource.hikari.*} 풀 설정을 사용합니다.</p>
+ */
+@Slf4j
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "cloudpos.datasource.replica-urls")
+public class ReplicaDataSourceConfig implements DisposableBean {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Bean
+    public PrimaryReadPin primaryReadPin(
+            @Value("${cloudpos.datasource.read-after-write-pin-ms:0}") long pinMillis) {
+        return new PrimaryReadPin(pinMillis);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties,
+                                 Environment environment,
+                                 PrimaryReadPin primaryReadPin,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${cloudpos.datasource.replica-urls}") List<String> replicaUrls) {
+        HikariDataSource primary = createPool(properties, environment, meterRegistry, properties.determineUrl(), "primary");
+
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            HikariDataSource pool = createPool(properties, environment, meterRegistry, replicaUrls.get(i).trim(), name);
+            pool.setReadOnly(true);
+            replicas.add(new ReplicaRoutingDataSource.Replica(name, pool));
+        }
+        log.info("읽기 전용 트랜잭션을 replica {}개로 라우팅합니다.", replicas.size());
+
+        replicaRoutingDataSource = new ReplicaRoutingDataSource(primary, replicas, primaryReadPin, meterRegistry);
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(replicaRoutingDataSource);
+        return proxy;
+    }
+
+    @Scheduled(fixedDelayString = "${cloudpos.datasource.replica-health-interval-ms:5000}")
+    void checkReplicaHealth() {
+        if (replicaRoutingDataSource != null) {
+            replicaRoutingDataSource.checkHealth();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private HikariDataSource createPool(DataSourceProperties properties, Environment environment,
+                                        MeterRegistry meterRegistry, String url, String poolName) {
+        HikariDataSource pool = HikariPools.create(properties, environment, url, poolName);
+        // replica 풀은 빈으로 노출되지 않아 Boot 의 Hikari 메트릭 설정이 적용되지 않으므로, primary 를 포함한 모든 풀에 직접 지정한다.
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        pools.add(pool);
+        return pool;
+    }
+}
@@ -0,0 +1,156 @@
+package org.example.cloudpos.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 읽기 전용 커넥션을 replica 들에 분배하는 DataSource.
+ *
+ * <p>{@code LazyConnectionDataSourceProxy}의 read-only DataSource 로 사용되며,
+ * {@code @Transactional(readOnly = true)} 트랜잭션의 커넥션 요청만 이곳으로 들어옵니다.</p>
+ *
+ * <ul>
+ *   <li>정상(healthy) replica 를 라운드로빈으로 선택합니다.</li>
+ *   <li>커넥션 획득에 실패한 replica 는 비정상으로 표시하고 다음 replica 를 시도합니다.
+ *       비정상 replica 는 {@link #checkHealth()} 에서 다시 살아나면 복귀합니다.</li>
+ *   <li>사용 가능한 replica 가 없거나 {@link PrimaryReadPin} 에 의해 고정된 경우 primary 를 사용합니다.</li>
+ * </ul>
+ *
+ * <p>메트릭: {@code cloudpos.datasource.reads{target=replica|primary, reason=...}}</p>
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final PrimaryReadPin readPin;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    private final Counter replicaReads;
+    private final Counter pinnedReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas,
+                                    PrimaryReadPin readPin, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readPin = readPin;
+        this.replicaReads = readCounter(meterRegistry, "replica", "routed");
+        this.pinnedReads = readCounter(meterRegistry, "primary", "pinned");
+        this.fallbackReads = readCounter(meterRegistry, "primary", "fallback");
+        meterRegistry.gauge("cloudpos.datasource.replicas.healthy", this.replicas,
+                list -> list.stream().filter(Replica::isHealthy).count());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(ds -> ds.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionOpener opener) throws SQLException {
+        if (readPin.isPinned()) {
+            pinnedReads.increment();
+            return opener.open(primary);
+        }
+
+        int size = replicas.size();
+        int start = Math.floorMod(cursor.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.isHealthy()) {
+                continue;
+            }
+            try {
+                Connection connection = opener.open(replica.dataSource());
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+
+        fallbackReads.increment();
+        return opener.open(primary);
+    }
+
+    /**
+     * 모든 replica 의 커넥션 유효성을 검사해 상태를 갱신합니다.
+     */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource().getConnection()) {
+                if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    replica.markUp();
+                } else {
+                    replica.markDown(null);
+                }
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+    }
+
+    private static Counter readCounter(MeterRegistry registry, String target, String reason) {
+        return Counter.builder("cloudpos.datasource.reads")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    /**
+     * replica 1개와 그 상태.
+     */
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        DataSource dataSource() {
+            return dataSource;
+        }
+
+        boolean isHealthy() {
+            return healthy;
+        }
+
+        void markUp() {
+            if (!healthy) {
+                log.info("replica 복구 - {}", name);
+            }
+            healthy = true;
+        }
+
+        void markDown(Exception cause) {
+            if (healthy) {
+                log.warn("replica 제외 - {} ({})", name, cause != null ? cause.getMessage() : "validation failed");
+            }
+            healthy = false;
+        }
+    }
+}
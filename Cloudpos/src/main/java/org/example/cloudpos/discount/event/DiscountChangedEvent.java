@@ -0,0 +1,12 @@
+package org.example.cloudpos.discount.event;
+
+/**
+ * 할인이 등록·수정·삭제되었음을 알리는 이벤트.
+ *
+ * <p>할인 금액으로 계산해 둔 결과(장바구니 견적 등)를 다시 계산하게 하는 데 사용합니다.</p>
+ *
+ * @param inventoryId 매장 ID
+ * @param productId   할인 대상 상품 ID
+ */
+public record DiscountChangedEvent(String inventoryId, String productId) {
+}
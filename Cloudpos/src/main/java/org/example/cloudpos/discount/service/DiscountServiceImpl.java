@@ -9,7 +9,9 @@ import org.example.cloudpos.discount.dto.kiosk.select.DiscountSelectResponse;
 import org.example.cloudpos.discount.dto.owner.DiscountOwnerResponse;
 import org.example.cloudpos.discount.dto.owner.delete.DiscountDeleteRequest;
 import org.example.cloudpos.discount.dto.owner.update.DiscountUpdateRequest;
+import org.example.cloudpos.discount.event.DiscountChangedEvent;
 import org.example.cloudpos.discount.repository.DiscountRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,6 +28,9 @@ public class DiscountServiceImpl implements DiscountService {
      */
     private final DiscountRepository discountRepository;
 
+    /** 할인 변경 알림({@link DiscountChangedEvent}) 발행 */
+    private final ApplicationEventPublisher eventPublisher;
+
     @Transactional(readOnly = true)
     public List<DiscountKioskResponse> kioskFindAll(String inventoryId) {
         LocalDateTime now = LocalDateTime.now();
@@ -57,6 +62,7 @@ public class DiscountServiceImpl implements DiscountService {
                 req.discountEnd()
         );
         discountRepository.save(discount);
+        eventPublisher.publishEvent(new DiscountChangedEvent(discount.getInventoryId(), discount.getProductId()));
         return ulid;
     }
     public DiscountSelectResponse discountSelect(String productId,String inventoryId, String customerDiscountId) {
@@ -95,6 +101,7 @@ public class DiscountServiceImpl implements DiscountService {
         }
 
         discountRepository.save(discount);
+        eventPublisher.publishEvent(new DiscountChangedEvent(discount.getInventoryId(), discount.getProductId()));
     }
 
     // 삭제
@@ -103,5 +110,6 @@ public class DiscountServiceImpl implements DiscountService {
                 .orElseThrow(() -> new IllegalArgumentException("해당 할인 정보가 존재하지 않음"));
 
         discountRepository.delete(discount);
+        eventPublisher.publishEvent(new DiscountChangedEvent(discount.getInventoryId(), discount.getProductId()));
     }
 }
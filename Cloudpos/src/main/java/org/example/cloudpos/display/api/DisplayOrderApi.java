@@ -0,0 +1,17 @@
+package org.example.cloudpos.display.api;
+
+import org.example.cloudpos.display.dto.DisplayOrderEvent;
+
+/**
+ * 디스플레이 모듈이 주문/상품 모듈에서 화면 표시용 주문 정보를 조회하기 위한 API.
+ */
+public interface DisplayOrderApi {
+
+    /**
+     * 주문 정보를 디스플레이 이벤트 형태로 조회한다. 이벤트 ID 는 발행 시 부여된다.
+     *
+     * @param orderId 주문 ID (ULID)
+     * @return 디스플레이 이벤트, 매장 정보가 없는 주문이면 null
+     */
+    DisplayOrderEvent getPaidOrder(String orderId);
+}
@@ -0,0 +1,51 @@
+package org.example.cloudpos.display.api;
+
+import lombok.RequiredArgsConstructor;
+import org.example.cloudpos.display.dto.DisplayOrderEvent;
+import org.example.cloudpos.inventory.listener.InventoryListener;
+import org.example.cloudpos.order.domain.Order;
+import org.example.cloudpos.order.domain.OrderItem;
+import org.example.cloudpos.order.listener.OrderListener;
+import org.example.cloudpos.product.dto.ProductSummaryResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class DisplayOrderApiImpl implements DisplayOrderApi {
+    private final OrderListener orderListener;
+    private final InventoryListener inventoryListener;
+
+    @Override
+    public DisplayOrderEvent getPaidOrder(String orderId) {
+        Order order = orderListener.getOrderById(orderId);
+        if (order.getInventoryId() == null) {
+            return null;
+        }
+
+        List<OrderItem> orderItems = orderListener.getOrderItems(orderId);
+        Map<String, ProductSummaryResponse> products = inventoryListener.getProducts(
+                orderItems.stream().map(OrderItem::getProductId).collect(Collectors.toSet()));
+
+        List<DisplayOrderEvent.Item> items = orderItems.stream()
+                .map(oi -> {
+                    ProductSummaryResponse product = products.get(oi.getProductId());
+                    return new DisplayOrderEvent.Item(
+                            oi.getProductId(),
+                            product != null ? product.name() : null,
+                            oi.getQuantity());
+                })
+                .toList();
+
+        return new DisplayOrderEvent(
+                null,
+                order.getInventoryId(),
+                order.getOrderId(),
+                order.getTotalAmount(),
+                order.getPaidAt(),
+                items);
+    }
+}
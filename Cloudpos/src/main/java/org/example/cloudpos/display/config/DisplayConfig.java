@@ -0,0 +1,30 @@
+package org.example.cloudpos.display.config;
+
+import org.example.cloudpos.order.config.OrderEventExecutors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 주문 디스플레이(주방/카운터 화면) 스트림 설정.
+ *
+ * <ul>
+ *   <li>{@code displayExecutor}: 결제 완료 이벤트를 디스플레이 이벤트로 변환해 발행
+ *       ({@code cloudpos.events.display.concurrency}, {@code queue-capacity})</li>
+ *   <li>SSE 연결 유지를 위한 heartbeat 스케줄링</li>
+ * </ul>
+ */
+@Configuration
+@EnableScheduling
+public class DisplayConfig {
+
+    @Bean(name = "displayExecutor")
+    public ThreadPoolTaskExecutor displayExecutor(
+            OrderEventExecutors executors,
+            @Value("${cloudpos.events.display.concurrency:2}") int concurrency,
+            @Value("${cloudpos.events.display.queue-capacity:1000}") int queueCapacity) {
+        return executors.create("display", concurrency, queueCapacity);
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.cloudpos.display.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.example.cloudpos.display.service.DisplayStreamService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 주방/카운터 화면용 결제 완료 주문 스트림 API.
+ */
+@RestController
+@RequestMapping("/api/display")
+@RequiredArgsConstructor
+public class DisplayController {
+
+    private final DisplayStreamService displayStreamService;
+
+    @Operation(
+            summary = "매장 주문 디스플레이 스트림 (SSE)",
+            description = """
+                    매장의 결제 완료 주문을 Server-Sent Events 로 전달합니다. 이벤트 이름은 order-paid 입니다.
+                    재연결 시 Last-Event-ID 헤더를 보내면 최근 버퍼에 남아 있는 이후 이벤트를 먼저 전달합니다.
+                    """
+    )
+    @GetMapping(value = "/{inventoryId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @PathVariable String inventoryId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return displayStreamService.subscribe(inventoryId, lastEventId);
+    }
+}
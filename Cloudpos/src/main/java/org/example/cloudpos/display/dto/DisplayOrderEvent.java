@@ -0,0 +1,38 @@
+package org.example.cloudpos.display.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 주방/카운터 화면으로 전달되는 결제 완료 주문 이벤트.
+ *
+ * <p>{@code eventId}는 매장별 Redis Stream 의 엔트리 ID({@code <ms>-<seq>})로, 발행 시 부여됩니다.
+ * 모든 노드가 같은 스트림에서 ID 를 받으므로 매장 안에서 발생 순서를 나타내며,
+ * 재연결 시 {@code Last-Event-ID} 헤더로 전달되어 이후 이벤트만 재전송하는 데 사용됩니다.</p>
+ *
+ * @param eventId     이벤트 ID (Redis Stream 엔트리 ID, 발행 전에는 null)
+ * @param inventoryId 매장 ID
+ * @param orderId     주문 ID
+ * @param totalAmount 결제 금액
+ * @param paidAt      결제 시각
+ * @param items       주문 상품 목록
+ */
+public record DisplayOrderEvent(
+        String eventId,
+        String inventoryId,
+        String orderId,
+        int totalAmount,
+        LocalDateTime paidAt,
+        List<Item> items
+) {
+
+    public DisplayOrderEvent withEventId(String eventId) {
+        return new DisplayOrderEvent(eventId, inventoryId, orderId, totalAmount, paidAt, items);
+    }
+
+    public record Item(
+            String productId,
+            String name,
+            int quantity
+    ) {}
+}
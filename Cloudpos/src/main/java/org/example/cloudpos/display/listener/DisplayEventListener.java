@@ -0,0 +1,42 @@
+package org.example.cloudpos.display.listener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cloudpos.display.api.DisplayOrderApi;
+import org.example.cloudpos.display.dto.DisplayOrderEvent;
+import org.example.cloudpos.display.service.DisplayStreamService;
+import org.example.cloudpos.order.task.PaymentSuccessEvent;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 결제 성공 이벤트를 받아 매장 디스플레이 스트림으로 발행하는 리스너.
+ *
+ * <p>이벤트 ID 는 발행 시 매장 스트림에서 부여됩니다. ({@link DisplayStreamService#publish})
+ * 발행 실패가 결제 흐름에 영향을 주지 않도록 예외는 로그로만 남깁니다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DisplayEventListener {
+
+    private final DisplayOrderApi displayOrderApi;
+    private final DisplayStreamService displayStreamService;
+
+    @Async("displayExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPaymentSuccess(PaymentSuccessEvent event) {
+        try {
+            DisplayOrderEvent displayEvent = displayOrderApi.getPaidOrder(event.orderId());
+            if (displayEvent == null) {
+                log.debug("매장 정보가 없는 주문은 디스플레이에 발행하지 않음 - orderId: {}", event.orderId());
+                return;
+            }
+            displayStreamService.publish(displayEvent);
+        } catch (Exception e) {
+            log.error("디스플레이 이벤트 발행 실패 - orderId: {}", event.orderId(), e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.cloudpos.display.service;
+
+import org.example.cloudpos.display.dto.DisplayOrderEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface DisplayStreamService {
+
+    SseEmitter subscribe(String inventoryId, String lastEventId);
+
+    void publish(DisplayOrderEvent event);
+}
@@ -0,0 +1,255 @@
+package org.example.cloudpos.display.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cloudpos.display.dto.DisplayOrderEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 매장별 주문 디스플레이 SSE 스트림을 관리하는 서비스.
+ *
+ * <h2>구조</h2>
+ * <ul>
+ *   <li>발행: 이벤트를 매장별 Redis Stream(최근 약 {@code replaySize}건)에 추가하고,
+ *       같은 스크립트 안에서 부여된 엔트리 ID 와 함께 {@code display:channel:{inventoryId}} 채널로 PUBLISH 합니다.
+ *       이벤트 ID 는 모든 노드가 같은 스트림에서 받고 추가 순서대로 PUBLISH 되므로, 채널 수신 순서와 ID 순서가 같습니다.</li>
+ *   <li>구독: 모든 노드가 {@code display:channel:*} 패턴을 구독하고,
+ *       자신에게 연결된 해당 매장 화면에만 전송합니다. (노드 간 fan-out)</li>
+ *   <li>재연결: {@code Last-Event-ID} 이후의 이벤트를 스트림에서 읽어 먼저 전송합니다.
+ *       재전송 중에 도착한 실시간 이벤트는 보관했다가 재전송이 끝난 뒤 보내며,
+ *       화면마다 마지막으로 보낸 ID 를 기억하여 재전송과 실시간 이벤트가 겹쳐도 중복 전송하지 않습니다.</li>
+ * </ul>
+ *
+ * <p>Redis Key 구조</p>
+ * <pre>
+ * display:{inventoryId}:stream  -> Stream (field: event, JSON)
+ * display:channel:{inventoryId} -> Pub/Sub 채널 ("{엔트리 ID}\n{JSON}")
+ * </pre>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DisplayStreamServiceImpl implements DisplayStreamService {
+
+    private static final String CHANNEL_PREFIX = "display:channel:";
+    private static final String FIELD = "event";
+    private static final Duration STREAM_TTL = Duration.ofHours(12);
+    private static final Pattern EVENT_ID = Pattern.compile("\\d+-\\d+");
+
+    /**
+     * 스트림 추가와 PUBLISH 를 한 번에 실행한다. 반환값은 부여된 엔트리 ID.
+     */
+    private static final RedisScript<String> APPEND = new DefaultRedisScript<>("""
+            local id = redis.call('XADD', KEYS[1], 'MAXLEN', '~', ARGV[1], '*', 'event', ARGV[2])
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            redis.call('PUBLISH', ARGV[4], id .. '\\n' .. ARGV[2])
+            return id
+            """, String.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    @Value("${cloudpos.display.replay-size:50}")
+    private int replaySize;
+
+    @Value("${cloudpos.display.emitter-timeout-minutes:30}")
+    private long emitterTimeoutMinutes;
+
+    @PostConstruct
+    void subscribeChannel() {
+        listenerContainer.addMessageListener(this::onMessage, new PatternTopic(CHANNEL_PREFIX + "*"));
+    }
+
+    /**
+     * 매장 스트림을 구독합니다.
+     *
+     * @param inventoryId 매장 ID
+     * @param lastEventId 마지막으로 받은 이벤트 ID (없거나 형식이 다르면 재전송 없음)
+     */
+    @Override
+    public SseEmitter subscribe(String inventoryId, String lastEventId) {
+        boolean resume = lastEventId != null && EVENT_ID.matcher(lastEventId).matches();
+        SseEmitter emitter = new SseEmitter(Duration.ofMinutes(emitterTimeoutMinutes).toMillis());
+        Subscriber subscriber = new Subscriber(emitter, resume ? lastEventId : null, resume);
+
+        Set<Subscriber> storeSubscribers = subscribers.computeIfAbsent(inventoryId, k -> ConcurrentHashMap.newKeySet());
+        storeSubscribers.add(subscriber);
+        Runnable remove = () -> storeSubscribers.remove(subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        // 먼저 등록한 뒤 재전송해야 그 사이에 발행된 이벤트를 놓치지 않는다. (재전송이 끝날 때까지 보관)
+        if (resume) {
+            try {
+                for (MapRecord<String, Object, Object> entry : replay(inventoryId, lastEventId)) {
+                    subscriber.replayed(entry.getId().getValue(), (String) entry.getValue().get(FIELD));
+                }
+            } catch (RuntimeException e) {
+                log.warn("디스플레이 이벤트 재전송 실패 - inventoryId: {}", inventoryId, e);
+            } finally {
+                subscriber.goLive();
+            }
+        } else {
+            subscriber.sendComment("connected");
+        }
+        return emitter;
+    }
+
+    /**
+     * 이벤트를 매장 스트림에 추가하고 구독 노드에 전달합니다. 이벤트 ID 는 이때 부여됩니다.
+     */
+    @Override
+    public void publish(DisplayOrderEvent event) {
+        String json = toJson(event.withEventId(null));
+        redisTemplate.execute(APPEND, List.of(streamKey(event.inventoryId())),
+                String.valueOf(replaySize), json, String.valueOf(STREAM_TTL.toMillis()),
+                CHANNEL_PREFIX + event.inventoryId());
+    }
+
+    /**
+     * 연결 유지를 위해 주기적으로 주석 이벤트를 보낸다. (프록시/LB 유휴 타임아웃 방지)
+     */
+    @Scheduled(fixedDelayString = "${cloudpos.display.heartbeat-ms:15000}")
+    void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(s -> s.sendComment("ping")));
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        String inventoryId = channel.substring(CHANNEL_PREFIX.length());
+        Set<Subscriber> storeSubscribers = subscribers.get(inventoryId);
+        if (storeSubscribers == null || storeSubscribers.isEmpty()) {
+            return;
+        }
+
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf('\n');
+        String eventId = body.substring(0, separator);
+        String data = withId(eventId, body.substring(separator + 1));
+        storeSubscribers.forEach(s -> s.live(eventId, data));
+    }
+
+    private List<MapRecord<String, Object, Object>> replay(String inventoryId, String lastEventId) {
+        // 시작 ID 는 포함되므로 마지막으로 받은 이벤트는 Subscriber 에서 걸러진다.
+        // 스트림은 MAXLEN ~ 으로 잘리므로 길이가 replaySize 보다 조금 길 수 있어 개수는 제한하지 않는다.
+        List<MapRecord<String, Object, Object>> entries = redisTemplate.opsForStream().range(
+                streamKey(inventoryId), Range.rightUnbounded(Range.Bound.inclusive(lastEventId)));
+        return (entries == null) ? List.of() : entries;
+    }
+
+    private String withId(String eventId, String json) {
+        try {
+            return toJson(objectMapper.readValue(json, DisplayOrderEvent.class).withEventId(eventId));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("디스플레이 이벤트 역직렬화 실패", e);
+        }
+    }
+
+    private String toJson(DisplayOrderEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("디스플레이 이벤트 직렬화 실패", e);
+        }
+    }
+
+    private static String streamKey(String inventoryId) {
+        return "display:" + inventoryId + ":stream";
+    }
+
+    /**
+     * 스트림 엔트리 ID({@code <ms>-<seq>}) 비교. 문자열 비교는 자릿수가 다르면 틀린다.
+     */
+    static int compareIds(String a, String b) {
+        int da = a.indexOf('-');
+        int db = b.indexOf('-');
+        int c = Long.compare(Long.parseLong(a, 0, da, 10), Long.parseLong(b, 0, db, 10));
+        return (c != 0) ? c : Long.compare(Long.parseLong(a, da + 1, a.length(), 10),
+                Long.parseLong(b, db + 1, b.length(), 10));
+    }
+
+    /**
+     * 화면 1개 연결. 마지막으로 보낸 이벤트 ID 이하의 이벤트는 다시 보내지 않는다.
+     * 재전송 중에는 실시간 이벤트를 보관했다가 {@link #goLive()}에서 ID 순으로 보낸다.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private String lastSentId;
+        private List<String[]> held;
+
+        Subscriber(SseEmitter emitter, String lastSentId, boolean replaying) {
+            this.emitter = emitter;
+            this.lastSentId = lastSentId;
+            this.held = replaying ? new ArrayList<>() : null;
+        }
+
+        synchronized void replayed(String eventId, String json) {
+            send(eventId, withId(eventId, json));
+        }
+
+        synchronized void live(String eventId, String data) {
+            if (held != null) {
+                held.add(new String[]{eventId, data});
+                return;
+            }
+            send(eventId, data);
+        }
+
+        synchronized void goLive() {
+            held.sort(Comparator.comparing((String[] e) -> e[0], DisplayStreamServiceImpl::compareIds));
+            held.forEach(e -> send(e[0], e[1]));
+            held = null;
+        }
+
+        private void send(String eventId, String data) {
+            if (lastSentId != null && compareIds(eventId, lastSentId) <= 0) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().id(eventId).name("order-paid").data(data, MediaType.APPLICATION_JSON));
+                lastSentId = eventId;
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+
+        synchronized void sendComment(String comment) {
+            try {
+                emitter.send(SseEmitter.event().comment(comment));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
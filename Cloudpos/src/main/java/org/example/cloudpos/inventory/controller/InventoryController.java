@@ -4,13 +4,17 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.example.cloudpos.inventory.dto.InventoryCreateRequest;
 import org.example.cloudpos.inventory.dto.InventoryProductResponse;
+import org.example.cloudpos.inventory.dto.ProductImportResult;
 import org.example.cloudpos.inventory.service.InventoryService;
+import org.example.cloudpos.inventory.service.ProductImportService;
 import org.example.cloudpos.product.dto.ProductCreateRequest;
 import org.example.cloudpos.product.dto.ProductResponse;
 import org.example.cloudpos.product.dto.ProductUpdateRequest;
@@ -42,6 +46,7 @@ public class InventoryController {
 
     private final InventoryService inventoryService;
     private final ProductService productService;
+    private final ProductImportService productImportService;
 
     // ---------- Inventory ----------
 
@@ -86,6 +91,32 @@ public class InventoryController {
                 .body(body);
     }
 
+    @Operation(
+            summary = "매장에 상품 일괄 등록",
+            description = """
+                    요청 본문(text/csv 또는 application/x-ndjson)을 스트리밍으로 읽어 청크 단위로 일괄 등록합니다.
+                    CSV 는 첫 줄에 name,price,imageUrl 헤더가 필요합니다.
+                    검증에 실패한 행은 건너뛰고 errors 에 기록합니다.
+                    중간에 실패하면 응답의 lastCommittedRow 를 resumeFrom 으로 전달해 같은 파일을 다시 올리면 이어서 등록합니다.
+                    """
+    )
+    @ApiResponse(responseCode = "200", description = "처리 완료(부분 실패 포함)",
+            content = @Content(schema = @Schema(implementation = ProductImportResult.class)))
+    @PostMapping(
+            value = "/inventories/{inventoryId}/products/import",
+            consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE}
+    )
+    public ResponseEntity<ProductImportResult> importProducts(
+            @PathVariable String inventoryId,
+            @RequestParam(value = "resumeFrom", defaultValue = "0") long resumeFrom,
+            HttpServletRequest request
+    ) throws IOException {
+
+        ProductImportResult result = productImportService.importProducts(
+                inventoryId, request.getInputStream(), request.getContentType(), resumeFrom);
+        return ResponseEntity.ok(result);
+    }
+
     @Operation(
             summary = "매장 상품 목록 조회",
             description = "inventoryId 로 등록된 모든 상품을 InventoryProductResponse 리스트로 반환합니다."
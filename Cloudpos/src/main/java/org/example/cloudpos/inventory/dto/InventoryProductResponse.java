@@ -2,6 +2,9 @@ package org.example.cloudpos.inventory.dto;
 
 import org.example.cloudpos.product.domain.Product;
 import org.example.cloudpos.product.domain.ProductStatus;
+import org.example.cloudpos.product.s3.ImageDerivativeKeys;
+
+import java.util.Map;
 
 /**
  * 매장(Inventory)에 등록된 상품 정보를 클라이언트에 반환하는 응답 DTO.
@@ -18,7 +21,12 @@ import org.example.cloudpos.product.domain.ProductStatus;
  *   "productId": "PRD_01HXXXXXX",
  *   "name": "아메리카노",
  *   "price": 3000,
- *   "imageUrl": "https://example.com/images/americano.jpg"
+ *   "imageUrl": "https://bucket.s3.ap-northeast-2.amazonaws.com/products/uuid_americano.png",
+ *   "thumbnailUrls": {
+ *     "w160": "https://bucket.s3.ap-northeast-2.amazonaws.com/products/uuid_americano_w160.jpg",
+ *     "w320": "https://bucket.s3.ap-northeast-2.amazonaws.com/products/uuid_americano_w320.jpg",
+ *     "w640": "https://bucket.s3.ap-northeast-2.amazonaws.com/products/uuid_americano_w640.jpg"
+ *   }
  * }
  * }</pre>
  *
@@ -26,12 +34,14 @@ import org.example.cloudpos.product.domain.ProductStatus;
  * @param name 상품명
  * @param price 상품 가격
  * @param imageUrl 상품 이미지 URL (선택)
+ * @param thumbnailUrls 키오스크 목록용 폭별 썸네일 URL (S3 업로드 이미지가 아니거나 아직 생성되지 않았으면 빈 맵)
  */
 public record InventoryProductResponse(
         String productId,
         String name,
         int price,
-        String imageUrl
+        String imageUrl,
+        Map<String, String> thumbnailUrls
 )
  {
     /**
@@ -45,7 +55,8 @@ public record InventoryProductResponse(
                 p.getProductId(),
                 p.getName(),
                 p.getPrice(),
-                p.getImageUrl()
+                p.getImageUrl(),
+                p.hasThumbnails() ? ImageDerivativeKeys.urlsOf(p.getImageUrl()) : Map.of()
         );
     }
 }
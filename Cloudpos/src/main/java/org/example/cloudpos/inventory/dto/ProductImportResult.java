@@ -0,0 +1,52 @@
+package org.example.cloudpos.inventory.dto;
+
+import java.util.List;
+
+/**
+ * 상품 일괄 등록(import) 결과 응답 DTO.
+ *
+ * <p>업로드가 중간에 실패하더라도 이미 커밋된 청크는 유지되며,
+ * 클라이언트는 {@code lastCommittedRow}를 {@code resumeFrom} 파라미터로 다시 전달해
+ * 나머지 행부터 이어서 등록할 수 있습니다.</p>
+ *
+ * <h2>예시 응답(JSON)</h2>
+ * <pre>{@code
+ * {
+ *   "processedRows": 20000,
+ *   "importedRows": 19998,
+ *   "failedRows": 2,
+ *   "lastCommittedRow": 20000,
+ *   "completed": true,
+ *   "errors": [
+ *     { "row": 17, "message": "price: 0 이상이어야 합니다" }
+ *   ]
+ * }
+ * }</pre>
+ *
+ * @param processedRows    이번 요청에서 읽은 데이터 행 수 (건너뛴 행 제외)
+ * @param importedRows     실제로 등록된 상품 수
+ * @param failedRows       검증에 실패해 제외된 행 수
+ * @param lastCommittedRow 커밋이 완료된 마지막 행 번호 (헤더 제외, 1부터 시작)
+ * @param completed        파일 끝까지 처리했는지 여부
+ * @param errors           행별 오류 목록 (최대 {@link #MAX_ERRORS}건)
+ */
+public record ProductImportResult(
+        long processedRows,
+        long importedRows,
+        long failedRows,
+        long lastCommittedRow,
+        boolean completed,
+        List<RowError> errors
+) {
+
+    /** 응답에 포함할 최대 오류 건수 */
+    public static final int MAX_ERRORS = 100;
+
+    /**
+     * 행 단위 오류 정보.
+     *
+     * @param row     행 번호 (헤더 제외, 1부터 시작)
+     * @param message 오류 메시지
+     */
+    public record RowError(long row, String message) {}
+}
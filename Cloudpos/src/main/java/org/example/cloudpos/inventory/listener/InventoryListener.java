@@ -2,6 +2,9 @@ package org.example.cloudpos.inventory.listener;
 
 import org.example.cloudpos.product.dto.ProductSummaryResponse;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface InventoryListener {
 
     /**
@@ -11,4 +14,28 @@ public interface InventoryListener {
      * @return ProductSummaryDto (Inventory → Cart 전달용)
      */
     ProductSummaryResponse getProduct(String productId);
+
+    /**
+     * 여러 상품의 요약 정보를 한 번에 조회한다.
+     *
+     * @param productIds Product 식별자 목록 (ULID)
+     * @return productId → 요약 정보 (존재하지 않는 상품은 제외)
+     */
+    Map<String, ProductSummaryResponse> getProducts(Collection<String> productIds);
+
+    /**
+     * 여러 상품의 카탈로그 버전을 한 번에 조회한다.
+     *
+     * @param productIds Product 식별자 목록 (ULID)
+     * @return productId → 버전 (존재하지 않는 상품은 제외)
+     */
+    Map<String, Long> getProductVersions(Collection<String> productIds);
+
+    /**
+     * 상품이 등록된 매장 ID를 조회한다.
+     *
+     * @param productId Product 식별자 (ULID)
+     * @return 매장 식별자 (ULID), 등록된 매장이 없으면 null
+     */
+    String getInventoryId(String productId);
 }
@@ -1,10 +1,16 @@
 package org.example.cloudpos.inventory.listener;
 
 import lombok.RequiredArgsConstructor;
+import org.example.cloudpos.inventory.repository.InventoryRepository;
 import org.example.cloudpos.product.dto.ProductSummaryResponse;
+import org.example.cloudpos.product.dto.ProductVersionResponse;
 import org.example.cloudpos.product.repository.ProductRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
 /**
  * <h2>InventoryListenerImpl</h2>
  *
@@ -21,6 +27,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class InventoryListenerImpl implements InventoryListener {
 
     private final ProductRepository productRepository;
+    private final InventoryRepository inventoryRepository;
 
     @Override
     @Transactional(readOnly = true)
@@ -30,8 +37,36 @@ public class InventoryListenerImpl implements InventoryListener {
                 .map(p -> new ProductSummaryResponse(
                         p.getProductId(),
                         p.getName(),
-                        p.getPrice()
+                        p.getPrice(),
+                        p.getVersion()
                 ))
                 .orElse(null);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, ProductSummaryResponse> getProducts(Collection<String> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        return productRepository.findSummariesByProductIdIn(productIds).stream()
+                .collect(Collectors.toMap(ProductSummaryResponse::productId, p -> p));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Long> getProductVersions(Collection<String> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        return productRepository.findVersionsByProductIdIn(productIds).stream()
+                .collect(Collectors.toMap(ProductVersionResponse::productId, ProductVersionResponse::version));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getInventoryId(String productId) {
+        return inventoryRepository.findInventoryIdByProductId(productId)
+                .orElse(null);
+    }
 }
@@ -57,6 +57,15 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
     @Query("select i from Inventory i join fetch i.product p where i.inventoryId = :inventoryId")
     List<Inventory> findAllWithProductByInventoryId(String inventoryId);
 
+    /**
+     * 상품이 등록된 매장의 ULID를 조회합니다.
+     *
+     * @param productId 상품 외부 식별자 (ULID)
+     * @return 매장 외부 식별자 (등록된 매장이 없으면 빈 Optional)
+     */
+    @Query("select i.inventoryId from Inventory i where i.product.productId = :productId")
+    Optional<String> findInventoryIdByProductId(String productId);
+
     /**
      * 지정된 매장에서 특정 상품을 제거합니다.
      *
@@ -112,12 +112,7 @@ public class InventoryServiceImpl implements InventoryService {
         }
 
         // 4. 응답 DTO 생성
-        return new ProductResponse(
-                product.getProductId(),
-                product.getName(),
-                product.getPrice(),
-                product.getImageUrl()
-        );
+        return ProductResponse.from(product);
     }
 
     /**
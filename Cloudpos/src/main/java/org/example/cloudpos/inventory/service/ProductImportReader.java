@@ -0,0 +1,180 @@
+package org.example.cloudpos.inventory.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.cloudpos.product.dto.ProductCreateRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 상품 일괄 등록 파일을 한 줄씩 읽어 {@link ProductCreateRequest}로 변환하는 리더.
+ *
+ * <p>전체 파일을 메모리에 올리지 않고 {@link BufferedReader}로 스트리밍하므로
+ * 파일 크기와 관계없이 일정한 메모리만 사용합니다.</p>
+ *
+ * <ul>
+ *   <li>CSV: 첫 줄은 헤더({@code name,price,imageUrl})이며 큰따옴표 이스케이프를 지원합니다.</li>
+ *   <li>NDJSON: 한 줄에 하나의 JSON 객체({@code {"name":..,"price":..,"imageUrl":..}})입니다.</li>
+ * </ul>
+ */
+class ProductImportReader implements AutoCloseable {
+
+    enum Format { CSV, NDJSON }
+
+    /**
+     * 읽어 들인 한 행. 변환에 실패한 경우 {@code request}는 null이고 {@code error}에 사유가 담깁니다.
+     */
+    record Row(long number, ProductCreateRequest request, String error) {}
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private int nameIdx = -1;
+    private int priceIdx = -1;
+    private int imageUrlIdx = -1;
+    private long rowNumber = 0;
+
+    ProductImportReader(InputStream in, Format format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+        if (format == Format.CSV) {
+            readHeader();
+        }
+    }
+
+    /**
+     * 다음 행을 읽는다. 빈 줄은 건너뛰며 파일 끝이면 null을 반환한다.
+     */
+    Row next() {
+        String line;
+        try {
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        rowNumber++;
+        try {
+            return new Row(rowNumber, format == Format.CSV ? fromCsv(line) : fromJson(line), null);
+        } catch (IllegalArgumentException | IOException e) {
+            return new Row(rowNumber, null, e.getMessage());
+        }
+    }
+
+    private void readHeader() {
+        try {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV 헤더가 없습니다.");
+            }
+            // UTF-8 BOM 제거
+            if (header.startsWith("\uFEFF")) {
+                header = header.substring(1);
+            }
+            List<String> columns = splitCsv(header);
+            for (int i = 0; i < columns.size(); i++) {
+                switch (columns.get(i).trim()) {
+                    case "name" -> nameIdx = i;
+                    case "price" -> priceIdx = i;
+                    case "imageUrl" -> imageUrlIdx = i;
+                    default -> { }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (nameIdx < 0 || priceIdx < 0) {
+            throw new IllegalArgumentException("CSV 헤더에 name, price 컬럼이 필요합니다.");
+        }
+    }
+
+    private ProductCreateRequest fromCsv(String line) {
+        List<String> cols = splitCsv(line);
+        return new ProductCreateRequest(
+                column(cols, nameIdx),
+                parsePrice(column(cols, priceIdx)),
+                blankToNull(column(cols, imageUrlIdx))
+        );
+    }
+
+    private ProductCreateRequest fromJson(String line) throws IOException {
+        JsonNode node = objectMapper.readTree(line);
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("JSON 객체가 아닙니다.");
+        }
+        JsonNode price = node.get("price");
+        return new ProductCreateRequest(
+                node.hasNonNull("name") ? node.get("name").asText() : null,
+                price == null || price.isNull() ? parsePrice(null) : parsePrice(price.asText()),
+                node.hasNonNull("imageUrl") ? blankToNull(node.get("imageUrl").asText()) : null
+        );
+    }
+
+    private static int parsePrice(String raw) {
+        if (raw == null || raw.isBlank()) {
+            throw new IllegalArgumentException("price: 값이 없습니다.");
+        }
+        try {
+            return Integer.parseInt(raw.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("price: 숫자가 아닙니다. value=" + raw);
+        }
+    }
+
+    private static String column(List<String> cols, int idx) {
+        return (idx >= 0 && idx < cols.size()) ? cols.get(idx) : null;
+    }
+
+    private static String blankToNull(String s) {
+        return (s == null || s.isBlank()) ? null : s;
+    }
+
+    /** RFC 4180 형식의 한 줄을 컬럼 목록으로 분리한다. (줄 내부 개행은 지원하지 않음) */
+    static List<String> splitCsv(String line) {
+        List<String> cols = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        cur.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    cur.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cols.add(cur.toString());
+                cur.setLength(0);
+            } else {
+                cur.append(c);
+            }
+        }
+        cols.add(cur.toString());
+        return cols;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
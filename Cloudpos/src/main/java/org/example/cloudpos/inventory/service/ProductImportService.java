@@ -0,0 +1,10 @@
+package org.example.cloudpos.inventory.service;
+
+import org.example.cloudpos.inventory.dto.ProductImportResult;
+
+import java.io.InputStream;
+
+public interface ProductImportService {
+
+    ProductImportResult importProducts(String inventoryId, InputStream in, String contentType, long resumeFrom);
+}
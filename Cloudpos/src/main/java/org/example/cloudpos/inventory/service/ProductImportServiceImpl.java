@@ -0,0 +1,206 @@
+package org.example.cloudpos.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.f4b6a3.ulid.UlidCreator;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cloudpos.inventory.domain.Inventory;
+import org.example.cloudpos.inventory.dto.ProductImportResult;
+import org.example.cloudpos.inventory.exception.InventoryNotFoundException;
+import org.example.cloudpos.inventory.repository.InventoryRepository;
+import org.example.cloudpos.product.domain.ProductStatus;
+import org.example.cloudpos.product.dto.ProductCreateRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 본사 카탈로그를 매장에 일괄 등록하는 서비스.
+ *
+ * <p>{@link InventoryServiceImpl#addProduct}는 상품 1건마다 IDENTITY insert 2회를 수행하므로
+ * 수만 건 등록 시 매우 느립니다. 이 서비스는 업로드 본문을 스트리밍으로 읽으면서
+ * 일정 크기의 청크 단위로 JDBC 배치 insert를 수행합니다.</p>
+ *
+ * <h2>처리 흐름</h2>
+ * <ol>
+ *   <li>행을 하나씩 읽어 Bean Validation으로 검증하고, 실패한 행은 오류 목록에 기록 후 건너뜁니다.</li>
+ *   <li>유효한 행이 {@code chunkSize}만큼 모이면 하나의 트랜잭션에서
+ *       {@code products} 배치 insert → {@code inventories} {@code INSERT ... SELECT}를 수행합니다.</li>
+ *   <li>청크가 커밋될 때마다 {@code lastCommittedRow}가 갱신됩니다.</li>
+ * </ol>
+ *
+ * <h2>재개(resume)</h2>
+ * <p>DB 오류로 청크가 실패하거나 업로드 스트림 읽기가 끊기면 진행 중인 청크만 롤백(또는 폐기)되고 처리가 중단됩니다.
+ * 클라이언트는 응답의 {@code lastCommittedRow}를 {@code resumeFrom}으로 전달해
+ * 같은 파일을 다시 업로드하면 커밋된 행은 건너뛰고 이어서 등록됩니다.</p>
+ *
+ * <p>MySQL 배치 insert 효과를 보려면 JDBC URL에 {@code rewriteBatchedStatements=true}가 필요합니다.</p>
+ */
+@Slf4j
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final String INSERT_PRODUCT =
+            "INSERT INTO products (product_id, name, price, status, image_url, version) VALUES (?, ?, ?, ?, ?, 0)";
+
+    private static final String INSERT_INVENTORY =
+            "INSERT INTO inventories (inventory_id, name, product_id) " +
+            "SELECT :inventoryId, :name, p.id FROM products p WHERE p.product_id IN (:productIds)";
+
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_IMAGE_URL_LENGTH = 500;
+
+    private final InventoryRepository inventoryRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate txTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${inventory.import.chunk-size:500}")
+    private int chunkSize;
+
+    public ProductImportServiceImpl(InventoryRepository inventoryRepo,
+                                    JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager txManager,
+                                    Validator validator,
+                                    ObjectMapper objectMapper) {
+        this.inventoryRepo = inventoryRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.txTemplate = new TransactionTemplate(txManager);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 업로드 본문을 스트리밍으로 읽어 매장에 상품을 일괄 등록합니다.
+     *
+     * @param inventoryId 매장 외부 식별자 (ULID)
+     * @param in          업로드 본문 스트림
+     * @param contentType {@code text/csv} 또는 {@code application/x-ndjson}
+     * @param resumeFrom  이미 커밋된 마지막 행 번호 (처음이면 0)
+     * @return 처리 결과
+     * @throws InventoryNotFoundException 매장이 존재하지 않을 경우
+     * @throws IllegalArgumentException   지원하지 않는 형식이거나 CSV 헤더가 잘못된 경우
+     */
+    @Override
+    public ProductImportResult importProducts(String inventoryId, InputStream in, String contentType, long resumeFrom) {
+        Inventory inventory = inventoryRepo.findFirstByInventoryId(inventoryId)
+                .orElseThrow(() -> new InventoryNotFoundException(inventoryId));
+
+        ProductImportReader.Format format = resolveFormat(contentType);
+
+        long processed = 0;
+        long imported = 0;
+        long failed = 0;
+        long lastCommitted = resumeFrom;
+        long lastRead = resumeFrom;
+        List<ProductImportResult.RowError> errors = new ArrayList<>();
+        List<ProductCreateRequest> chunk = new ArrayList<>(chunkSize);
+
+        try (ProductImportReader reader = new ProductImportReader(in, format, objectMapper)) {
+            ProductImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                if (row.number() <= resumeFrom) {
+                    continue;
+                }
+                processed++;
+                lastRead = row.number();
+
+                String error = row.error() != null ? row.error() : validate(row.request());
+                if (error != null) {
+                    failed++;
+                    if (errors.size() < ProductImportResult.MAX_ERRORS) {
+                        errors.add(new ProductImportResult.RowError(row.number(), error));
+                    }
+                } else {
+                    chunk.add(row.request());
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    imported += flush(inventory, chunk);
+                    lastCommitted = lastRead;
+                }
+            }
+
+            imported += flush(inventory, chunk);
+            lastCommitted = lastRead;
+        } catch (DataAccessException | UncheckedIOException e) {
+            log.warn("상품 일괄 등록 중단 - inventoryId: {}, lastCommittedRow: {}", inventoryId, lastCommitted, e);
+            return new ProductImportResult(processed, imported, failed, lastCommitted, false, errors);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("상품 일괄 등록 완료 - inventoryId: {}, imported: {}, failed: {}", inventoryId, imported, failed);
+        return new ProductImportResult(processed, imported, failed, lastCommitted, true, errors);
+    }
+
+    private int flush(Inventory inventory, List<ProductCreateRequest> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        List<String> productIds = new ArrayList<>(chunk.size());
+        List<Object[]> args = new ArrayList<>(chunk.size());
+        for (ProductCreateRequest req : chunk) {
+            String productId = UlidCreator.getUlid().toString();
+            productIds.add(productId);
+            args.add(new Object[]{productId, req.name(), req.price(), ProductStatus.ACTIVE.name(), req.imageUrl()});
+        }
+
+        txTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_PRODUCT, args);
+            namedJdbcTemplate.update(INSERT_INVENTORY, new MapSqlParameterSource()
+                    .addValue("inventoryId", inventory.getInventoryId())
+                    .addValue("name", inventory.getName())
+                    .addValue("productIds", productIds));
+        });
+
+        int size = chunk.size();
+        chunk.clear();
+        return size;
+    }
+
+    private String validate(ProductCreateRequest req) {
+        var violations = validator.validate(req);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (req.name().length() > MAX_NAME_LENGTH) {
+            return "name: " + MAX_NAME_LENGTH + "자를 초과할 수 없습니다.";
+        }
+        if (req.imageUrl() != null && req.imageUrl().length() > MAX_IMAGE_URL_LENGTH) {
+            return "imageUrl: " + MAX_IMAGE_URL_LENGTH + "자를 초과할 수 없습니다.";
+        }
+        return null;
+    }
+
+    private ProductImportReader.Format resolveFormat(String contentType) {
+        if (contentType != null) {
+            if (contentType.startsWith("text/csv")) {
+                return ProductImportReader.Format.CSV;
+            }
+            if (contentType.startsWith("application/x-ndjson")) {
+                return ProductImportReader.Format.NDJSON;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 형식입니다. (text/csv, application/x-ndjson) contentType=" + contentType);
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.cloudpos.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * 장바구니 연산별 처리 시간과 Redis 명령 수를 기록하는 애스펙트.
+ *
+ * <ul>
+ *   <li>{@value #TIMER}: 연산 처리 시간 (태그 {@code op}, {@code outcome})</li>
+ *   <li>{@value #COMMANDS}: 연산 1회당 실행한 Redis 명령 수 (태그 {@code op})</li>
+ * </ul>
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class CartOperationMetricsAspect {
+
+    static final String TIMER = "cloudpos.cart.operation";
+    static final String COMMANDS = "cloudpos.cart.redis.commands";
+
+    private final MeterRegistry meterRegistry;
+
+    // 장애 대응 구현체(cart.failover)는 제외하여 op 태그가 실제 저장소 구현체 기준으로 유지되게 한다.
+    @Around("(execution(public * org.example.cloudpos.cart.service.CartService+.*(..))"
+            + " || execution(public * org.example.cloudpos.cart.service.CartCheckoutService+.*(..)))"
+            + " && !within(org.example.cloudpos.cart.failover..*)")
+    public Object record(ProceedingJoinPoint pjp) throws Throwable {
+        if (!RedisCommandCounter.start()) {
+            // 다른 장바구니 연산 내부에서 호출된 경우 바깥 연산에 합산
+            return pjp.proceed();
+        }
+
+        String op = pjp.getSignature().getDeclaringType().getSimpleName() + "." + pjp.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return pjp.proceed();
+        } catch (Throwable t) {
+            outcome = "error";
+            throw t;
+        } finally {
+            int commands = RedisCommandCounter.stop();
+            sample.stop(Timer.builder(TIMER)
+                    .description("장바구니 연산 처리 시간")
+                    .tag("op", op)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            DistributionSummary.builder(COMMANDS)
+                    .description("장바구니 연산당 Redis 명령 수")
+                    .tag("op", op)
+                    .register(meterRegistry)
+                    .record(commands);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.cloudpos.monitoring;
+
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * Redis 호출 횟수를 {@link RedisCommandCounter}에 기록하는 {@link RedisTemplate}.
+ *
+ * <p>{@code opsForHash()}, {@code expire()} 등 모든 연산은 내부적으로
+ * {@link #execute(RedisCallback, boolean, boolean)}를 거치므로 여기서 한 번씩 셉니다.
+ * 파이프라인은 한 번의 왕복(round trip)으로 계산됩니다.</p>
+ */
+public class CommandCountingRedisTemplate<K, V> extends RedisTemplate<K, V> {
+
+    @Override
+    public <T> T execute(RedisCallback<T> action, boolean exposeConnection, boolean pipeline) {
+        RedisCommandCounter.increment();
+        return super.execute(action, exposeConnection, pipeline);
+    }
+}
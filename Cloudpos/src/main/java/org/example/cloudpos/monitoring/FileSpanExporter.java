@@ -0,0 +1,101 @@
+package org.example.cloudpos.monitoring;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 수집기(collector) 없이 로컬에서 추적을 확인하기 위한 파일 스팬 익스포터.
+ *
+ * <p>스팬 1개를 JSON 한 줄로 기록합니다. (traceId, spanId, parentSpanId, name, kind, 시작 시각, 소요 시간, 속성)
+ * 배치 단위로 호출되므로 요청 스레드에는 영향을 주지 않습니다.</p>
+ */
+@Slf4j
+public class FileSpanExporter implements SpanExporter {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final BufferedWriter writer;
+
+    public FileSpanExporter(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            for (SpanData span : spans) {
+                writer.write(toJson(span));
+                writer.newLine();
+            }
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("스팬 파일 기록 실패", e);
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    private String toJson(SpanData span) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator g = jsonFactory.createGenerator(out)) {
+            g.writeStartObject();
+            g.writeStringField("traceId", span.getTraceId());
+            g.writeStringField("spanId", span.getSpanId());
+            g.writeStringField("parentSpanId", span.getParentSpanId());
+            g.writeStringField("name", span.getName());
+            g.writeStringField("kind", span.getKind().name());
+            g.writeNumberField("startEpochMicros", TimeUnit.NANOSECONDS.toMicros(span.getStartEpochNanos()));
+            g.writeNumberField("durationMicros",
+                    TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - span.getStartEpochNanos()));
+            g.writeStringField("status", span.getStatus().getStatusCode().name());
+            g.writeObjectFieldStart("attributes");
+            span.getAttributes().forEach((key, value) -> {
+                try {
+                    g.writeStringField(key.getKey(), String.valueOf(value));
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            g.writeEndObject();
+            g.writeEndObject();
+        }
+        return out.toString();
+    }
+
+    @Override
+    public synchronized CompletableResultCode flush() {
+        try {
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        try {
+            writer.close();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.cloudpos.monitoring;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * 애플리케이션 메트릭 공통 설정.
+ *
+ * <ul>
+ *   <li>{@code cloudpos.metrics.slo-timers}에 지정한 타이머에만 Prometheus 히스토그램 버킷을 활성화합니다.
+ *       버킷은 태그 조합마다 시계열을 만들므로 대시보드가 분위수를 보는 타이머로 한정합니다.</li>
+ *   <li>요청별 매장 식별을 위해 {@link StoreContextInterceptor}를 등록합니다.</li>
+ * </ul>
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    @Bean
+    public MeterFilter cloudposDistributionFilter(
+            @Value("${cloudpos.metrics.slo-timers:cloudpos.module.api,cloudpos.cart.operation}") Set<String> sloTimers) {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() != Meter.Type.TIMER || !sloTimers.contains(id.getName())) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+                        .maximumExpectedValue((double) Duration.ofSeconds(10).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new StoreContextInterceptor()).addPathPatterns("/api/**", "/payments/**");
+    }
+}
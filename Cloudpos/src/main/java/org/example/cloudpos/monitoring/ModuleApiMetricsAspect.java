@@ -0,0 +1,61 @@
+package org.example.cloudpos.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * 모듈 간 호출 API의 지연 시간과 결과를 기록하는 애스펙트.
+ *
+ * <p>대상 인터페이스:
+ * {@code CartStateHandlerApi}, {@code DiscountApi}, {@code InventoryListener},
+ * {@code OrderApi}, {@code PaymentOutApi}</p>
+ *
+ * <p>메트릭 {@value #METRIC} (Timer) 태그:</p>
+ * <ul>
+ *   <li>{@code api}: 구현 클래스 이름</li>
+ *   <li>{@code method}: 메서드 이름</li>
+ *   <li>{@code outcome}: {@code success} / {@code error}</li>
+ *   <li>{@code exception}: 예외 클래스 이름 (성공 시 {@code none})</li>
+ *   <li>{@code store}: {@link StoreTagResolver}로 제한된 매장 태그</li>
+ * </ul>
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ModuleApiMetricsAspect {
+
+    static final String METRIC = "cloudpos.module.api";
+
+    private final MeterRegistry meterRegistry;
+    private final StoreTagResolver storeTagResolver;
+
+    @Around("execution(* org.example.cloudpos.order.api.CartStateHandlerApi+.*(..))"
+            + " || execution(* org.example.cloudpos.order.api.DiscountApi+.*(..))"
+            + " || execution(* org.example.cloudpos.inventory.listener.InventoryListener+.*(..))"
+            + " || execution(* org.example.cloudpos.payment.api.OrderApi+.*(..))"
+            + " || execution(* org.example.cloudpos.payment.api.PaymentOutApi+.*(..))")
+    public Object record(ProceedingJoinPoint pjp) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return pjp.proceed();
+        } catch (Throwable t) {
+            exception = t.getClass().getSimpleName();
+            throw t;
+        } finally {
+            sample.stop(Timer.builder(METRIC)
+                    .description("모듈 간 API 호출 시간")
+                    .tag("api", pjp.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", pjp.getSignature().getName())
+                    .tag("outcome", "none".equals(exception) ? "success" : "error")
+                    .tag("exception", exception)
+                    .tag("store", storeTagResolver.current())
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.cloudpos.monitoring;
+
+/**
+ * 현재 스레드에서 실행된 Redis 명령 수를 세는 카운터.
+ *
+ * <p>{@link CommandCountingRedisTemplate}가 명령 실행마다 {@link #increment()}를 호출하고,
+ * {@link CartOperationMetricsAspect}가 장바구니 연산 단위로 시작/종료하여 집계합니다.
+ * 중첩 호출 시에는 가장 바깥 연산에만 합산됩니다.</p>
+ */
+public final class RedisCommandCounter {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    private RedisCommandCounter() {
+    }
+
+    /**
+     * 집계를 시작한다. 이미 집계 중이면 false 를 반환한다.
+     */
+    static boolean start() {
+        if (COUNT.get() != null) {
+            return false;
+        }
+        COUNT.set(new int[1]);
+        return true;
+    }
+
+    /**
+     * 집계를 종료하고 누적된 명령 수를 반환한다.
+     */
+    static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    public static void increment() {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+}
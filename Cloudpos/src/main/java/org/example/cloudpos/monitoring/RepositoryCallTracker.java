@@ -0,0 +1,46 @@
+package org.example.cloudpos.monitoring;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+
+/**
+ * 현재 실행 중인 Spring Data 리포지토리 메서드를 추적하는 애스펙트.
+ *
+ * <p>느린 쿼리/N+1 로그에 "어느 리포지토리 메서드가 실행한 SQL 인지"를 남기기 위해 사용되며,
+ * SQL 진단이 활성화된 경우에만 {@link SqlDiagnosticsConfig}에서 등록됩니다.</p>
+ */
+@Aspect
+public class RepositoryCallTracker {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    static String current() {
+        return CURRENT.get();
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object track(ProceedingJoinPoint pjp) throws Throwable {
+        String previous = CURRENT.get();
+        CURRENT.set(repositoryName(pjp) + "." + pjp.getSignature().getName());
+        try {
+            return pjp.proceed();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    private static String repositoryName(ProceedingJoinPoint pjp) {
+        for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(pjp.getThis())) {
+            if (type.getName().startsWith("org.example.cloudpos.")) {
+                return type.getSimpleName();
+            }
+        }
+        return pjp.getSignature().getDeclaringType().getSimpleName();
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.cloudpos.monitoring;
+
+import com.p6spy.engine.spy.P6DataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+import javax.sql.DataSource;
+
+/**
+ * p6spy 기반 SQL 진단 기능 설정.
+ *
+ * <p>{@code cloudpos.sql-diagnostics.enabled=true} 일 때만 등록됩니다.
+ * 비활성화 상태에서는 DataSource 를 감싸지 않고 필터/애스펙트도 등록하지 않으므로
+ * 오버헤드가 전혀 없습니다.</p>
+ *
+ * <h2>설정</h2>
+ * <ul>
+ *   <li>{@code cloudpos.sql-diagnostics.slow-threshold-ms} (기본 200): 느린 쿼리 기준</li>
+ *   <li>{@code cloudpos.sql-diagnostics.n-plus-one-threshold} (기본 10): 한 요청에서 같은 형태의 SQL 반복 허용 횟수</li>
+ *   <li>{@code cloudpos.sql-diagnostics.response-header} (기본 true): 응답 헤더 노출 여부 (prod 프로필에서는 항상 비활성)</li>
+ * </ul>
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "cloudpos.sql-diagnostics.enabled", havingValue = "true")
+public class SqlDiagnosticsConfig {
+
+    @Bean
+    public SqlDiagnosticsListener sqlDiagnosticsListener(
+            MeterRegistry meterRegistry,
+            @Value("${cloudpos.sql-diagnostics.slow-threshold-ms:200}") long slowThresholdMs,
+            @Value("${cloudpos.sql-diagnostics.n-plus-one-threshold:10}") int nPlusOneThreshold) {
+        return new SqlDiagnosticsListener(meterRegistry, slowThresholdMs, nPlusOneThreshold);
+    }
+
+    @Bean
+    public static BeanPostProcessor p6spyDataSourceWrapper(ObjectProvider<SqlDiagnosticsListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof P6DataSource)) {
+                    P6DataSource p6 = new P6DataSource(dataSource);
+                    p6.setJdbcEventListenerFactory(listener::getObject);
+                    log.info("SQL 진단 활성화 - DataSource '{}' 를 p6spy 로 감쌉니다.", beanName);
+                    return p6;
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlDiagnosticsFilter> sqlDiagnosticsFilter(
+            MeterRegistry meterRegistry,
+            Environment environment,
+            @Value("${cloudpos.sql-diagnostics.response-header:true}") boolean responseHeader) {
+        boolean expose = responseHeader && !environment.acceptsProfiles(Profiles.of("prod"));
+        FilterRegistrationBean<SqlDiagnosticsFilter> registration =
+                new FilterRegistrationBean<>(new SqlDiagnosticsFilter(meterRegistry, expose));
+        // HttpLoggingFilter(@Order(1)) 안쪽에서 실행
+        registration.setOrder(2);
+        return registration;
+    }
+
+    @Bean
+    public RepositoryCallTracker repositoryCallTracker() {
+        return new RepositoryCallTracker();
+    }
+}
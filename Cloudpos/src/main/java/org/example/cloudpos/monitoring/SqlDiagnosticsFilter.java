@@ -0,0 +1,76 @@
+package org.example.cloudpos.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 단위 SQL 실행 횟수와 DB 시간을 집계하는 필터.
+ *
+ * <ul>
+ *   <li>{@code cloudpos.sql.request.statements}: 요청당 SQL 실행 횟수 (태그 {@code uri})</li>
+ *   <li>{@code cloudpos.sql.request.time}: 요청당 DB 시간 합계 (태그 {@code uri})</li>
+ *   <li>운영(prod) 프로필이 아니면 {@code X-SQL-Count}, {@code X-SQL-Time-Ms} 응답 헤더를 추가합니다.</li>
+ * </ul>
+ *
+ * <p>{@code HttpLoggingFilter} 안쪽에서 실행되므로 응답 본문이 버퍼링되어 있어
+ * 처리 이후에도 헤더를 추가할 수 있습니다. (스트리밍 응답처럼 이미 커밋된 경우는 생략)</p>
+ */
+public class SqlDiagnosticsFilter extends OncePerRequestFilter {
+
+    static final String COUNT_HEADER = "X-SQL-Count";
+    static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean exposeHeaders;
+
+    public SqlDiagnosticsFilter(MeterRegistry meterRegistry, boolean exposeHeaders) {
+        this.meterRegistry = meterRegistry;
+        this.exposeHeaders = exposeHeaders;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        SqlRequestStats stats = SqlRequestStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestStats.end();
+
+            String uri = uriTag(request);
+            DistributionSummary.builder("cloudpos.sql.request.statements")
+                    .description("요청당 SQL 실행 횟수")
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(stats.count());
+            Timer.builder("cloudpos.sql.request.time")
+                    .description("요청당 DB 시간 합계")
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(stats.nanos(), TimeUnit.NANOSECONDS);
+
+            if (exposeHeaders && !response.isCommitted()) {
+                response.setHeader(COUNT_HEADER, String.valueOf(stats.count()));
+                response.setHeader(TIME_HEADER, String.valueOf(TimeUnit.NANOSECONDS.toMillis(stats.nanos())));
+            }
+        }
+    }
+
+    private static String uriTag(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.cloudpos.monitoring;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * p6spy 이벤트를 받아 SQL 통계, 느린 쿼리, N+1 의심 패턴을 기록하는 리스너.
+ *
+ * <ul>
+ *   <li>{@code cloudpos.sql.statement}: 문장 실행 시간 (태그 {@code type}: select/insert/update/delete/other)</li>
+ *   <li>{@code cloudpos.sql.slow}: 임계값을 넘은 느린 쿼리 수</li>
+ *   <li>{@code cloudpos.sql.n_plus_one}: 한 요청에서 같은 형태의 문장이 임계 횟수에 도달한 횟수</li>
+ * </ul>
+ *
+ * <p>로그에는 바인딩 값을 제외한 SQL 과 호출한 리포지토리 메서드(없으면 애플리케이션 코드 위치)를 남깁니다.</p>
+ */
+@Slf4j(topic = "SQL_DIAGNOSTICS")
+public class SqlDiagnosticsListener extends SimpleJdbcEventListener {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_LOGGED_SQL = 500;
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final int nPlusOneThreshold;
+    private final Counter slowCounter;
+    private final Counter nPlusOneCounter;
+
+    public SqlDiagnosticsListener(MeterRegistry meterRegistry, long slowThresholdMs, int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.slowCounter = Counter.builder("cloudpos.sql.slow")
+                .description("임계값을 넘은 느린 쿼리 수")
+                .register(meterRegistry);
+        this.nPlusOneCounter = Counter.builder("cloudpos.sql.n_plus_one")
+                .description("N+1 의심 패턴 감지 횟수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation info, long timeElapsedNanos, SQLException e) {
+        String sql = info.getSql();
+        if (sql == null || sql.isBlank()) {
+            return;
+        }
+
+        Timer.builder("cloudpos.sql.statement")
+                .description("SQL 문장 실행 시간")
+                .tag("type", statementType(sql))
+                .register(meterRegistry)
+                .record(timeElapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (timeElapsedNanos >= slowThresholdNanos) {
+            slowCounter.increment();
+            log.warn("[SLOW SQL] {}ms caller={} sql={}",
+                    TimeUnit.NANOSECONDS.toMillis(timeElapsedNanos), caller(), truncate(sql));
+        }
+
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats == null) {
+            return;
+        }
+        String shape = shapeOf(sql);
+        if (stats.record(shape, timeElapsedNanos) == nPlusOneThreshold) {
+            nPlusOneCounter.increment();
+            log.warn("[N+1 의심] 같은 형태의 SQL 이 한 요청에서 {}회 이상 실행됨 caller={} sql={}",
+                    nPlusOneThreshold, caller(), truncate(shape));
+        }
+    }
+
+    /**
+     * 리터럴과 IN 목록 길이를 제거한 SQL 형태. 같은 형태면 같은 쿼리로 본다.
+     */
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    private static String statementType(String sql) {
+        String head = sql.stripLeading();
+        int end = 0;
+        while (end < head.length() && Character.isLetter(head.charAt(end))) {
+            end++;
+        }
+        return switch (head.substring(0, end).toLowerCase(Locale.ROOT)) {
+            case "select", "insert", "update", "delete" -> head.substring(0, end).toLowerCase(Locale.ROOT);
+            default -> "other";
+        };
+    }
+
+    private static String caller() {
+        String repository = RepositoryCallTracker.current();
+        if (repository != null) {
+            return repository;
+        }
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith("org.example.cloudpos.")
+                        && !f.getClassName().startsWith("org.example.cloudpos.monitoring.")
+                        && !f.getClassName().contains("$$"))
+                .findFirst()
+                .map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1)
+                        + "." + f.getMethodName() + ":" + f.getLineNumber())
+                .orElse("unknown"));
+    }
+
+    private static String truncate(String sql) {
+        String oneLine = WHITESPACE.matcher(sql).replaceAll(" ").trim();
+        return oneLine.length() > MAX_LOGGED_SQL ? oneLine.substring(0, MAX_LOGGED_SQL) + "..." : oneLine;
+    }
+}
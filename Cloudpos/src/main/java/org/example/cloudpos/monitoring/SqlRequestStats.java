@@ -0,0 +1,50 @@
+package org.example.cloudpos.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * HTTP 요청 1건 동안 실행된 SQL 통계.
+ *
+ * <p>{@link SqlDiagnosticsFilter}가 요청 시작 시 현재 스레드에 바인딩하고,
+ * {@link SqlDiagnosticsListener}가 문장이 실행될 때마다 누적합니다.</p>
+ */
+final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int count;
+    private long nanos;
+    private final Map<String, Integer> shapes = new HashMap<>();
+
+    static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 실행된 문장을 누적하고, 같은 형태의 문장이 이번 요청에서 몇 번째로 실행되었는지 반환한다.
+     */
+    int record(String shape, long elapsedNanos) {
+        count++;
+        nanos += elapsedNanos;
+        return shapes.merge(shape, 1, Integer::sum);
+    }
+
+    int count() {
+        return count;
+    }
+
+    long nanos() {
+        return nanos;
+    }
+}
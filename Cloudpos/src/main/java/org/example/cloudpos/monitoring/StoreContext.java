@@ -0,0 +1,27 @@
+package org.example.cloudpos.monitoring;
+
+/**
+ * 현재 요청이 어느 매장(inventoryId)에서 발생했는지를 스레드 단위로 보관합니다.
+ *
+ * <p>{@link StoreContextInterceptor}가 요청 시작 시 채우고 종료 시 비웁니다.
+ * 모듈 API 메트릭의 {@code store} 태그를 만들 때 사용됩니다.</p>
+ */
+public final class StoreContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private StoreContext() {
+    }
+
+    public static void set(String inventoryId) {
+        CURRENT.set(inventoryId);
+    }
+
+    public static String get() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.cloudpos.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * 요청의 매장 식별자를 {@link StoreContext}에 설정하는 인터셉터.
+ *
+ * <p>로그인한 사용자의 요청에서만 경로 변수 {@code inventoryId}를 사용합니다.
+ * 클라이언트가 임의로 넣을 수 있는 헤더나 비로그인 요청의 값은 메트릭 태그로 쓰지 않습니다.</p>
+ */
+public class StoreContextInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Spring Security 요청 래퍼는 익명 사용자에 대해 null 을 반환한다.
+        if (request.getUserPrincipal() == null) {
+            return true;
+        }
+        Object vars = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (vars instanceof Map<?, ?> map && map.get("inventoryId") instanceof String id) {
+            StoreContext.set(id);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        StoreContext.clear();
+    }
+}
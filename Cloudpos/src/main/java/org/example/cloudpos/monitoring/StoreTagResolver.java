@@ -0,0 +1,48 @@
+package org.example.cloudpos.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메트릭 {@code store} 태그 값을 결정하는 컴포넌트.
+ *
+ * <p>매장 수가 늘어나면 태그 조합(시계열) 수가 폭증하므로,
+ * 처음 관측된 순서대로 최대 {@code maxStores}개 매장만 개별 태그로 기록하고
+ * 나머지는 {@code other}로 묶습니다. 매장 정보가 없으면 {@code none}입니다.</p>
+ */
+@Component
+public class StoreTagResolver {
+
+    static final String NONE = "none";
+    static final String OTHER = "other";
+
+    private final Set<String> tracked = ConcurrentHashMap.newKeySet();
+    private final int maxStores;
+
+    public StoreTagResolver(@Value("${cloudpos.metrics.max-store-tags:50}") int maxStores) {
+        this.maxStores = maxStores;
+    }
+
+    public String resolve(String inventoryId) {
+        if (inventoryId == null || inventoryId.isBlank()) {
+            return NONE;
+        }
+        if (tracked.contains(inventoryId)) {
+            return inventoryId;
+        }
+        synchronized (tracked) {
+            if (tracked.size() < maxStores) {
+                tracked.add(inventoryId);
+                return inventoryId;
+            }
+        }
+        return OTHER;
+    }
+
+    public String current() {
+        return resolve(StoreContext.get());
+    }
+}
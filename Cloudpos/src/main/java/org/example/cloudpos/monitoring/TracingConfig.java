@@ -0,0 +1,42 @@
+package org.example.cloudpos.monitoring;
+
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 분산 추적 설정.
+ *
+ * <ul>
+ *   <li>웹 요청, RestTemplate(토스 API), JDBC 는 Spring Boot 자동 구성으로 관측(observation)됩니다.</li>
+ *   <li>Redis 는 {@code RedisConfig}에서 Lettuce 에 관측 레지스트리를 연결합니다.</li>
+ *   <li>{@link ContextPropagatingTaskDecorator}로 비동기 작업에도 추적 컨텍스트를 전달합니다.</li>
+ * </ul>
+ *
+ * <h2>익스포터</h2>
+ * <ul>
+ *   <li>OTLP: {@code management.otlp.tracing.endpoint=http://localhost:4318/v1/traces}</li>
+ *   <li>파일: {@code cloudpos.tracing.file-exporter.path=logs/spans.jsonl}</li>
+ * </ul>
+ * <p>샘플링 비율은 {@code management.tracing.sampling.probability}로 조정합니다.</p>
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public ContextPropagatingTaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cloudpos.tracing.file-exporter.path")
+    public SpanExporter fileSpanExporter(@Value("${cloudpos.tracing.file-exporter.path}") String path) throws IOException {
+        return new FileSpanExporter(Path.of(path));
+    }
+}
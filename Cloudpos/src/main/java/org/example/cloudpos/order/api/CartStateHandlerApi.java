@@ -43,4 +43,22 @@ public interface CartStateHandlerApi {
      * @return 체크아웃 과정에서 사용할 장바구니 상품 목록
      */
     List<CartDto> statePayment(String orderId);
+
+
+    /**
+     * 상태를 바꾸지 않고 장바구니 상품 목록을 조회한다. (견적 계산용)
+     *
+     * @param cartId 장바구니 ID
+     * @return 장바구니 상품 목록
+     */
+    List<CartDto> cartItems(String cartId);
+
+
+    /**
+     * 장바구니 내용이 바뀔 때마다 증가하는 변경 버전을 조회한다.
+     *
+     * @param cartId 장바구니 ID
+     * @return 변경 버전
+     */
+    long cartVersion(String cartId);
 }
@@ -1,10 +1,13 @@
 package org.example.cloudpos.order.api;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.example.cloudpos.cart.application.CartCheckoutUseCase;
 import org.example.cloudpos.cart.dto.CartItemResponse;
+import org.example.cloudpos.cart.exception.CartExpiredException;
+import org.example.cloudpos.cart.service.CartService;
 import org.example.cloudpos.order.dto.CartDto;
-import org.example.cloudpos.order.repository.OrderRepository;
+import org.example.cloudpos.order.service.OrderCartMappingService;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,31 +26,60 @@ import java.util.List;
  * <p>장바구니 상태 관리 로직은 {@link CartCheckoutUseCase} 가 속한
  * 장바구니 도메인의 책임이며, 이 클래스는 그 도메인으로의
  * 진입점을 감싸는 어댑터 역할만 수행한다.</p>
+ *
+ * <p>웹훅·대사 작업처럼 장바구니가 이미 만료된 뒤 결제 결과가 확정될 수 있으므로,
+ * 열기/닫기에서 만료된 장바구니는 건너뛴다. (결제 상태 반영 트랜잭션이 롤백되지 않도록 여기서 처리)</p>
+ *
+ * <p>주문의 장바구니는 {@link OrderCartMappingService}로 Redis 에서 찾으므로 결제 결과 처리 경로에서 DB 를 조회하지 않는다.
+ * 장바구니를 다시 열면 진행 중 주문 연결도 해제해 새 주문을 만들 수 있게 한다.</p>
  */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class CartStateHandlerApiImpl implements CartStateHandlerApi {
-    private final OrderRepository orderRepository;
+    private final OrderCartMappingService orderCartMappingService;
     private final CartCheckoutUseCase cartCheckoutUseCase;
+    private final CartService cartService;
 
 
     @Override
-    @Transactional(readOnly = true)
     public void stateOpen(String orderId) {
-        cartCheckoutUseCase.cancelCheckout(orderRepository.findCartIdByOrderId(orderId));
+        String cartId = orderCartMappingService.findCartId(orderId);
+        try {
+            cartCheckoutUseCase.cancelCheckout(cartId);
+        } catch (CartExpiredException e) {
+            log.info("만료된 장바구니는 다시 열지 않습니다 - orderId: {}", orderId);
+        } finally {
+            orderCartMappingService.release(orderId, cartId);
+        }
     }
 
     @Override
-    @Transactional(readOnly = true)
     public void stateClose(String orderId) {
-        cartCheckoutUseCase.paymentSuccess(orderRepository.findCartIdByOrderId(orderId));
+        try {
+            cartCheckoutUseCase.paymentSuccess(orderCartMappingService.findCartId(orderId));
+        } catch (CartExpiredException e) {
+            log.info("만료된 장바구니는 닫을 필요가 없습니다 - orderId: {}", orderId);
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<CartDto> statePayment(String cartId) {
-        List<CartItemResponse> cartItemResponseList = cartCheckoutUseCase.beginCheckout(cartId);
+        return toCartDtoList(cartCheckoutUseCase.beginCheckout(cartId));
+    }
+
+    @Override
+    public List<CartDto> cartItems(String cartId) {
+        return toCartDtoList(cartService.getAll(cartId));
+    }
+
+    @Override
+    public long cartVersion(String cartId) {
+        return cartService.getVersion(cartId);
+    }
 
+    private static List<CartDto> toCartDtoList(List<CartItemResponse> cartItemResponseList) {
         return cartItemResponseList.stream()
                 .map(item -> CartDto.builder()
                         .productId(item.getProduct().getProductId())
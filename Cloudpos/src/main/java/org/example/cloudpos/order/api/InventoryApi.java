@@ -0,0 +1,15 @@
+package org.example.cloudpos.order.api;
+
+/**
+ * 주문 모듈이 매장(Inventory) 모듈에 매장 정보를 요청하기 위한 API.
+ */
+public interface InventoryApi {
+
+    /**
+     * 상품이 등록된 매장 ID를 조회한다.
+     *
+     * @param productId 상품 ID (ULID)
+     * @return 매장 ID (ULID), 등록된 매장이 없으면 null
+     */
+    String getInventoryId(String productId);
+}
@@ -0,0 +1,16 @@
+package org.example.cloudpos.order.api;
+
+import lombok.RequiredArgsConstructor;
+import org.example.cloudpos.inventory.listener.InventoryListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class InventoryApiImpl implements InventoryApi {
+    private final InventoryListener inventoryListener;
+
+    @Override
+    public String getInventoryId(String productId) {
+        return inventoryListener.getInventoryId(productId);
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.cloudpos.order.api;
+
+/**
+ * 주문 ID로 결제 모듈에 결제 상태 변경을 요청하기 위한 API.
+ *
+ * <p>주문 모듈은 결제 엔티티를 직접 다루지 않고, 결제 상태 전이는 결제 모듈이 판단한다.</p>
+ */
+public interface PaymentStateApi {
+
+    /**
+     * 제한 시간 안에 승인 요청이 없는 결제를 포기 처리해달라고 요청한다.
+     *
+     * @param orderId 주문의 문자열 주문 ID
+     * @return 결제가 포기 처리되었거나 아직 생성되지 않아 장바구니를 다시 열어도 되면 {@code true},
+     *         승인 요청이 진행 중이거나 이미 결과가 나온 결제면 {@code false}
+     */
+    boolean abandon(String orderId);
+
+    /**
+     * 주문의 결제가 아직 끝나지 않았는지 조회한다.
+     *
+     * @param orderId 주문의 문자열 주문 ID
+     * @return 결제가 생성되기 전이거나 승인 전, 결과 미확인이면 {@code true},
+     *         승인·실패·취소·포기로 끝난 결제면 {@code false}
+     */
+    boolean isInProgress(String orderId);
+}
@@ -0,0 +1,24 @@
+package org.example.cloudpos.order.api;
+
+import lombok.RequiredArgsConstructor;
+import org.example.cloudpos.payment.service.PaymentService;
+import org.springframework.stereotype.Component;
+
+/**
+ * 결제 상태 변경 요청을 결제 모듈의 {@link PaymentService}로 위임하는 어댑터.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentStateApiImpl implements PaymentStateApi {
+    private final PaymentService paymentService;
+
+    @Override
+    public boolean abandon(String orderId) {
+        return paymentService.abandon(orderId);
+    }
+
+    @Override
+    public boolean isInProgress(String orderId) {
+        return paymentService.isInProgress(orderId);
+    }
+}
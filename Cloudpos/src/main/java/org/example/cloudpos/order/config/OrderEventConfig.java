@@ -0,0 +1,33 @@
+package org.example.cloudpos.order.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 주문 이벤트(결제 성공/실패/취소) 비동기 처리 설정.
+ *
+ * <p>{@code OrderPaymentHub}가 발행한 이벤트는 결제 트랜잭션 커밋 이후
+ * 리스너별 전용 실행기에서 처리됩니다. 리스너는
+ * {@code @Async("실행기 이름")} + {@code @TransactionalEventListener(phase = AFTER_COMMIT)} 조합으로 선언합니다.</p>
+ *
+ * <h2>실행기</h2>
+ * <ul>
+ *   <li>{@code salesRollupExecutor}: 매출 롤업 갱신
+ *       ({@code cloudpos.events.sales-rollup.concurrency}, {@code queue-capacity})</li>
+ * </ul>
+ */
+@Configuration
+@EnableAsync
+public class OrderEventConfig {
+
+    @Bean(name = "salesRollupExecutor")
+    public ThreadPoolTaskExecutor salesRollupExecutor(
+            OrderEventExecutors executors,
+            @Value("${cloudpos.events.sales-rollup.concurrency:2}") int concurrency,
+            @Value("${cloudpos.events.sales-rollup.queue-capacity:2000}") int queueCapacity) {
+        return executors.create("sales-rollup", concurrency, queueCapacity);
+    }
+}
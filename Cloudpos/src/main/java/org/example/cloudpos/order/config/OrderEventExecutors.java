@@ -0,0 +1,67 @@
+package org.example.cloudpos.order.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 주문 이벤트 리스너용 전용 실행기(executor)를 만드는 팩토리.
+ *
+ * <p>리스너마다 별도 실행기를 두어 동시성과 큐 크기를 각자 조절하며,
+ * 한 리스너가 느려져도 다른 리스너나 결제 응답에는 영향을 주지 않습니다.</p>
+ *
+ * <ul>
+ *   <li>큐 용량을 제한하고, 가득 차면 {@code cloudpos.events.rejected} 카운터를 올린 뒤 작업을 버립니다.
+ *       리스너 작업을 호출 스레드에서 실행하지 않으므로 적체되어도 이벤트를 발행한 요청(결제 응답 등)은 늦어지지 않습니다.
+ *       버려진 이벤트는 리스너 쪽에서 다시 맞춥니다. (매출 롤업은 {@code SalesRollupReplayService}가 원장과 결제 상태를 대조해 재반영,
+ *       매장 디스플레이 알림은 실시간 표시용이라 다시 보내지 않음)</li>
+ *   <li>{@code cloudpos.events.*} 실행기 메트릭(대기/활성/완료 작업 수, 큐 잔여 용량)으로 적체 상황을 관측합니다.</li>
+ *   <li>종료 시 큐에 남은 작업을 최대 {@code awaitTerminationSeconds} 동안 처리한 뒤 종료합니다.</li>
+ *   <li>추적 컨텍스트를 비동기 작업에 전달합니다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderEventExecutors {
+
+    static final String METRIC_PREFIX = "cloudpos.events";
+
+    private final MeterRegistry meterRegistry;
+
+    public ThreadPoolTaskExecutor create(String name, int concurrency, int queueCapacity) {
+        Counter rejected = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("큐가 가득 차 버려진 이벤트 처리 작업 수")
+                .tag("name", name)
+                .register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(name + "-");
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            if (pool.isShutdown()) {
+                log.error("종료 중인 실행기에 제출된 이벤트 처리 작업을 버립니다. executor={}", name);
+                return;
+            }
+            // 호출 스레드(결제 승인 요청 등)에서 리스너 작업을 실행하지 않는다.
+            log.error("이벤트 처리 큐가 가득 차 작업을 버립니다. executor={}, queued={}", name, pool.getQueue().size());
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), name, METRIC_PREFIX, Tags.empty())
+                .bindTo(meterRegistry);
+        return executor;
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.cloudpos.order.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.example.cloudpos.order.dto.CartQuoteResponse;
+import org.example.cloudpos.order.service.CartQuoteService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 장바구니 견적(결제 예정 금액) API.
+ */
+@RestController
+@RequestMapping("/api/carts")
+@RequiredArgsConstructor
+public class CartQuoteController {
+
+    private final CartQuoteService cartQuoteService;
+
+    @Operation(
+            summary = "장바구니 견적 조회",
+            description = """
+                    장바구니의 소계, 할인, 합계를 계산합니다.
+                    장바구니와 할인이 바뀌지 않았으면 이전에 계산한 견적을 반환하며, 결제 시작 시에도 같은 견적을 사용합니다.
+                    할인 등록·수정·삭제는 바로 반영되고, 할인 기간의 시작·종료는 최대 60초(cloudpos.order.quote.ttl-seconds) 뒤에 반영됩니다.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "조회 성공",
+                    content = @Content(schema = @Schema(implementation = CartQuoteResponse.class))),
+            @ApiResponse(responseCode = "410", description = "만료된 장바구니")
+    })
+    @GetMapping("/{cartId}/quote")
+    public ResponseEntity<CartQuoteResponse> getQuote(@PathVariable String cartId) {
+        return ResponseEntity.ok(cartQuoteService.quote(cartId));
+    }
+}
@@ -5,6 +5,7 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import lombok.RequiredArgsConstructor;
+import org.example.cloudpos.order.dto.OrderHistoryResponse;
 import org.example.cloudpos.order.dto.OrderResponse;
 import org.example.cloudpos.order.service.OrderService;
 import org.springframework.http.HttpStatus;
@@ -37,4 +38,26 @@ public class OrderController {
         return ResponseEntity.status(HttpStatus.CREATED).body(res);
     }
 
+    @Operation(
+            summary = "매장 주문 이력 조회",
+            description = """
+                    매장의 주문을 최신순으로 조회합니다.
+                    첫 페이지는 cursor 없이 요청하고, 이후에는 응답의 nextCursor 를 cursor 로 전달합니다.
+                    nextCursor 가 null 이면 마지막 페이지입니다.
+                    """
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "조회 성공",
+            content = @Content(schema = @Schema(implementation = OrderHistoryResponse.class))
+    )
+    @GetMapping("/stores/{inventoryId}")
+    public ResponseEntity<OrderHistoryResponse> getStoreOrders(
+            @PathVariable String inventoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(orderService.getStoreOrders(inventoryId, cursor, size));
+    }
+
 }
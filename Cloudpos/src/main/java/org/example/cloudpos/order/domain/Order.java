@@ -19,6 +19,7 @@ import java.time.LocalDateTime;
  *     <li>{@code id} : 데이터베이스 내부용 기본 키</li>
  *     <li>{@code orderId} : 외부 노출 및 다른 모듈/시스템 연동에 사용하는 문자열 주문 ID (예: ULID)</li>
  *     <li>{@code cartId} : 이 주문이 생성될 당시 기준이 된 장바구니 식별자</li>
+ *     <li>{@code inventoryId} : 주문이 발생한 매장 식별자, 매장별 주문 이력 조회의 기준이 됨</li>
  *     <li>{@code totalAmount} : 주문 시점에 확정된 총 결제 금액</li>
  *     <li>{@code paidAt} : 결제가 발생한 시각</li>
  *     <li>{@code paymentMethod} : 결제 수단 (카드/현금 등), 할인 정책 및 정산 로직의 기준이 됨</li>
@@ -35,7 +36,14 @@ import java.time.LocalDateTime;
 @Getter
 @Entity
 @NoArgsConstructor
-@Table(name = "orders")
+@Table(
+        name = "orders",
+        indexes = {
+                @Index(name = "idx_orders_inventory_order", columnList = "inventory_id, order_id"),
+                @Index(name = "idx_orders_cart", columnList = "cart_id"),
+                @Index(name = "idx_orders_inventory_paid", columnList = "inventory_id, paid_at")
+        }
+)
 public class Order{
 
     @Id
@@ -48,6 +56,9 @@ public class Order{
     @Column(name = "cart_id", length = 26, nullable = false)
     private String cartId;
 
+    @Column(name = "inventory_id", length = 26)
+    private String inventoryId;
+
     @Column(name = "total_amount", nullable = false)
     private Integer totalAmount;
 
@@ -55,9 +66,10 @@ public class Order{
     private LocalDateTime paidAt;
 
 
-    public Order(String orderId, String cartId, LocalDateTime paidAt) {
+    public Order(String orderId, String cartId, String inventoryId, LocalDateTime paidAt) {
         this.orderId = orderId;
         this.cartId = cartId;
+        this.inventoryId = inventoryId;
         this.totalAmount = 0;
         this.paidAt = paidAt;
     }
@@ -23,6 +23,12 @@ import static jakarta.persistence.FetchType.LAZY;
  * </ul>
  */
 @Entity
+@Table(
+        name = "order_item",
+        indexes = {
+                @Index(name = "idx_order_item_order", columnList = "order_fk")
+        }
+)
 @Getter
 @NoArgsConstructor
 public class OrderItem {
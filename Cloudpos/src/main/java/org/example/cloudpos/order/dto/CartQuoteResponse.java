@@ -0,0 +1,31 @@
+package org.example.cloudpos.order.dto;
+
+import java.util.List;
+
+/**
+ * 장바구니 견적(소계·할인·합계) 응답.
+ *
+ * @param cartId   장바구니 ID
+ * @param version  견적을 계산한 장바구니 변경 버전
+ * @param lines    상품별 금액
+ * @param subtotal 할인 전 금액 합계
+ * @param discount 할인 금액 합계
+ * @param total    결제할 금액 (subtotal - discount)
+ */
+public record CartQuoteResponse(
+        String cartId,
+        long version,
+        List<LineEntry> lines,
+        int subtotal,
+        int discount,
+        int total
+) {
+
+    public record LineEntry(
+            String productId,
+            int price,
+            int quantity,
+            int discount,
+            int amount
+    ) {}
+}
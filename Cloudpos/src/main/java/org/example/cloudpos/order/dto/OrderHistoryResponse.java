@@ -0,0 +1,30 @@
+package org.example.cloudpos.order.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 매장 주문 이력 페이지 응답.
+ *
+ * @param orders     주문 목록 (최신순)
+ * @param nextCursor 다음 페이지 요청 시 전달할 커서, 마지막 페이지면 null
+ */
+public record OrderHistoryResponse(
+        List<OrderEntry> orders,
+        String nextCursor
+) {
+
+    public record OrderEntry(
+            String orderId,
+            String cartId,
+            int totalAmount,
+            LocalDateTime paidAt,
+            List<ItemEntry> items
+    ) {}
+
+    public record ItemEntry(
+            String productId,
+            int quantity,
+            int price
+    ) {}
+}
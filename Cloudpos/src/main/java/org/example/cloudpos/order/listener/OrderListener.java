@@ -1,7 +1,11 @@
 package org.example.cloudpos.order.listener;
 
 import org.example.cloudpos.order.domain.Order;
+import org.example.cloudpos.order.domain.OrderItem;
+
+import java.util.List;
 
 public interface OrderListener {
     Order getOrderById(String orderId);
+    List<OrderItem> getOrderItems(String orderId);
 }
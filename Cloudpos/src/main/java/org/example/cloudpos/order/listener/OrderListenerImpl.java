@@ -2,9 +2,12 @@ package org.example.cloudpos.order.listener;
 
 import lombok.RequiredArgsConstructor;
 import org.example.cloudpos.order.domain.Order;
+import org.example.cloudpos.order.domain.OrderItem;
 import org.example.cloudpos.order.service.OrderService;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 
 @Component
 @RequiredArgsConstructor
@@ -15,4 +18,9 @@ public class OrderListenerImpl implements OrderListener{
     public Order getOrderById(String orderId) {
         return orderService.getOrderById(orderId);
     }
+
+    @Override
+    public List<OrderItem> getOrderItems(String orderId) {
+        return orderService.getOrderItems(orderId);
+    }
 }
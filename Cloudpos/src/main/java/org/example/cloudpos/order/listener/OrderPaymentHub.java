@@ -2,6 +2,9 @@ package org.example.cloudpos.order.listener;
 
 import lombok.RequiredArgsConstructor;
 import org.example.cloudpos.order.api.CartStateHandlerApi;
+import org.example.cloudpos.order.service.CheckoutTimeoutService;
+import org.example.cloudpos.order.task.PaymentCanceledEvent;
+import org.example.cloudpos.order.task.PaymentFailedEvent;
 import org.example.cloudpos.order.task.PaymentSuccessEvent;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
@@ -15,6 +18,10 @@ import org.springframework.stereotype.Service;
  * 장바구니 모듈 등에 "열림/닫힘" 신호를 전달하고
  * 필요 시 도메인 이벤트를 발행한다.</p>
  *
+ * <p>발행된 이벤트({@link PaymentSuccessEvent}, {@link PaymentFailedEvent}, {@link PaymentCanceledEvent})는
+ * 결제 트랜잭션 커밋 이후 각 리스너의 전용 실행기에서 비동기로 처리되므로
+ * 결제 응답 시간에 영향을 주지 않는다. (see {@code OrderEventConfig})</p>
+ *
  * <p>실제 장바구니 상태 변경에 대한 책임은 각 도메인 모듈에 있으며,
  * 이 클래스는 결제 결과를 브로드캐스트하는 용도의 내부 계층이다.</p>
  */
@@ -23,6 +30,7 @@ import org.springframework.stereotype.Service;
 public class OrderPaymentHub implements PaymentResultListener {
     private final ApplicationEventPublisher publisher;
     private final CartStateHandlerApi cartStateHandlerApi;
+    private final CheckoutTimeoutService checkoutTimeoutService;
 
 
     /**
@@ -32,6 +40,7 @@ public class OrderPaymentHub implements PaymentResultListener {
      */
     @Override
     public void onPaymentSuccess(String orderId) {
+        checkoutTimeoutService.untrack(orderId);
         cartStateHandlerApi.stateClose(orderId);
         publisher.publishEvent(new PaymentSuccessEvent(orderId));
     }
@@ -43,7 +52,9 @@ public class OrderPaymentHub implements PaymentResultListener {
      */
     @Override
     public void onPaymentFailure(String orderId) {
+        checkoutTimeoutService.untrack(orderId);
         cartStateHandlerApi.stateOpen(orderId);
+        publisher.publishEvent(new PaymentFailedEvent(orderId));
     }
 
     /**
@@ -54,5 +65,6 @@ public class OrderPaymentHub implements PaymentResultListener {
     @Override
     public void onPaymentCanceled(String orderId) {
         cartStateHandlerApi.stateOpen(orderId);
+        publisher.publishEvent(new PaymentCanceledEvent(orderId));
     }
 }
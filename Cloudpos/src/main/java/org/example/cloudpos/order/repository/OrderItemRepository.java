@@ -1,7 +1,18 @@
 package org.example.cloudpos.order.repository;
 
+import org.example.cloudpos.order.domain.Order;
 import org.example.cloudpos.order.domain.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    @Query("select oi from OrderItem oi where oi.order in :orders order by oi.id")
+    List<OrderItem> findByOrderIn(@Param("orders") Collection<Order> orders);
+
+    List<OrderItem> findByOrder_OrderIdOrderById(String orderId);
 }
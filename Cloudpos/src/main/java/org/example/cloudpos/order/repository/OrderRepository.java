@@ -1,9 +1,11 @@
 package org.example.cloudpos.order.repository;
 
 import org.example.cloudpos.order.domain.Order;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.util.List;
 import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
@@ -12,4 +14,17 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     @Query("select o.cartId from Order o where o.orderId = :orderId")
     String findCartIdByOrderId(@Param("orderId") String orderId);
+
+    boolean existsByOrderId(String orderId);
+
+    /**
+     * 매장의 최신 주문부터 조회한다. (첫 페이지)
+     */
+    List<Order> findByInventoryIdOrderByOrderIdDesc(String inventoryId, Pageable pageable);
+
+    /**
+     * 커서(orderId)보다 이전 주문을 최신순으로 조회한다.
+     * ULID 는 생성 시각 순으로 정렬되므로 {@code (inventory_id, order_id)} 인덱스만으로 페이지를 찾는다.
+     */
+    List<Order> findByInventoryIdAndOrderIdLessThanOrderByOrderIdDesc(String inventoryId, String cursor, Pageable pageable);
 }
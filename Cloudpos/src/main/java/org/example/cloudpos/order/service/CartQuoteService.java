@@ -0,0 +1,26 @@
+package org.example.cloudpos.order.service;
+
+import org.example.cloudpos.order.dto.CartDto;
+import org.example.cloudpos.order.dto.CartQuoteResponse;
+
+import java.util.List;
+
+/**
+ * 장바구니의 소계·할인·합계를 계산하고, 장바구니 변경 버전과 할인 버전 기준으로 결과를 재사용한다.
+ */
+public interface CartQuoteService {
+
+    /**
+     * 장바구니 견적을 조회한다. 같은 변경 버전으로 계산한 견적이 있으면 그대로 반환한다.
+     */
+    CartQuoteResponse quote(String cartId);
+
+    /**
+     * 결제 시작용 견적. 캐시된 견적의 버전이 {@code version}과 같으면 재사용하고, 아니면 {@code items}로 계산한다.
+     *
+     * @param cartId  장바구니 ID
+     * @param version 결제를 시작한 시점의 장바구니 변경 버전
+     * @param items   결제할 장바구니 상품 목록
+     */
+    CartQuoteResponse quoteForPayment(String cartId, long version, List<CartDto> items);
+}
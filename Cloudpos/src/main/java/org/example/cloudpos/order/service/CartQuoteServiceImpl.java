@@ -0,0 +1,147 @@
+package org.example.cloudpos.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cloudpos.discount.event.DiscountChangedEvent;
+import org.example.cloudpos.order.api.CartStateHandlerApi;
+import org.example.cloudpos.order.api.DiscountApi;
+import org.example.cloudpos.order.dto.CartDto;
+import org.example.cloudpos.order.dto.CartQuoteResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 장바구니 견적 계산 구현체.
+ *
+ * <p>견적은 {@code quote:{cartId}}에 JSON 으로 보관하며, 계산에 쓴 장바구니 변경 버전과 할인 버전을 함께 저장합니다.
+ * 장바구니가 바뀌거나(상품·수량 변경, 가격이 바뀐 상품의 재가격) 할인이 등록·수정·삭제되면 다시 계산합니다.</p>
+ *
+ * <p>할인 버전({@code quote:discount-version})은 할인 변경 이벤트({@link DiscountChangedEvent})마다 1씩 올리며,
+ * 견적과 한 번의 MGET 으로 함께 읽습니다. 할인 기간의 시작·종료처럼 변경 없이 바뀌는 할인은 보관 시간
+ * {@code cloudpos.order.quote.ttl-seconds}(기본 60)가 지난 뒤의 견적·결제에 반영됩니다.</p>
+ *
+ * <p>캐시 조회/저장 실패는 계산 결과에 영향을 주지 않도록 기록만 하고 직접 계산합니다.
+ * 메트릭: {@code cloudpos.order.quote.cache{result=hit|miss}}</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CartQuoteServiceImpl implements CartQuoteService {
+
+    private static final String DISCOUNT_VERSION_KEY = "quote:discount-version";
+
+    private final CartStateHandlerApi cartStateHandlerApi;
+    private final DiscountApi discountApi;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${cloudpos.order.quote.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private String quoteKey(String cartId) { return "quote:" + cartId; }
+
+    @Override
+    public CartQuoteResponse quote(String cartId) {
+        // 버전을 먼저 읽는다. 사이에 장바구니나 할인이 바뀌면 더 새로운 내용이 옛 버전으로 저장될 뿐, 새 버전과는 맞지 않는다.
+        long version = cartStateHandlerApi.cartVersion(cartId);
+        Lookup lookup = lookup(cartId, version);
+        if (lookup.hit() != null) {
+            return lookup.hit();
+        }
+
+        CartQuoteResponse quote = calculate(cartId, version, cartStateHandlerApi.cartItems(cartId));
+        if (lookup.discountVersion() != null) {
+            store(quote, lookup.discountVersion());
+        }
+        return quote;
+    }
+
+    @Override
+    public CartQuoteResponse quoteForPayment(String cartId, long version, List<CartDto> items) {
+        CartQuoteResponse cached = lookup(cartId, version).hit();
+        return (cached != null) ? cached : calculate(cartId, version, items);
+    }
+
+    /**
+     * 할인이 바뀌면 할인 버전을 올려 이전에 계산한 견적을 모두 쓰지 않게 한다.
+     * 실패하면 보관 시간이 지난 뒤에 반영된다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDiscountChanged(DiscountChangedEvent event) {
+        try {
+            redisTemplate.opsForValue().increment(DISCOUNT_VERSION_KEY);
+        } catch (RuntimeException e) {
+            log.warn("할인 버전 갱신 실패 - inventoryId: {}, productId: {}", event.inventoryId(), event.productId(), e);
+        }
+    }
+
+    /**
+     * 상품별 금액은 {@code 가격 × 수량 - 할인}이며, 할인은 상품당 한 번 적용한다.
+     */
+    private CartQuoteResponse calculate(String cartId, long version, List<CartDto> items) {
+        Map<String, Integer> discountMap = items.isEmpty() ? Map.of() : discountApi.getDiscountMap(items);
+
+        List<CartQuoteResponse.LineEntry> lines = new ArrayList<>(items.size());
+        int subtotal = 0;
+        int discount = 0;
+        for (CartDto ci : items) {
+            int lineSubtotal = ci.price() * ci.quantity();
+            int lineDiscount = discountMap.getOrDefault(ci.productId(), 0);
+            subtotal += lineSubtotal;
+            discount += lineDiscount;
+            lines.add(new CartQuoteResponse.LineEntry(
+                    ci.productId(), ci.price(), ci.quantity(), lineDiscount, lineSubtotal - lineDiscount));
+        }
+        return new CartQuoteResponse(cartId, version, lines, subtotal, discount, subtotal - discount);
+    }
+
+    /**
+     * 견적과 현재 할인 버전을 한 번에 읽는다. 조회에 실패하면 할인 버전을 알 수 없으므로 {@code null}로 두어 저장하지 않는다.
+     */
+    private Lookup lookup(String cartId, long version) {
+        CachedQuote cached = null;
+        Long discountVersion = null;
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(List.of(quoteKey(cartId), DISCOUNT_VERSION_KEY));
+            String json = values.get(0);
+            discountVersion = (values.get(1) == null) ? 0L : Long.parseLong(values.get(1));
+            cached = (json == null) ? null : objectMapper.readValue(json, CachedQuote.class);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("견적 캐시 조회 실패 - cartId: {}", cartId, e);
+        }
+
+        boolean hit = cached != null && cached.quote().version() == version
+                && discountVersion != null && cached.discountVersion() == discountVersion;
+        meterRegistry.counter("cloudpos.order.quote.cache", "result", hit ? "hit" : "miss").increment();
+        return new Lookup(hit ? cached.quote() : null, discountVersion);
+    }
+
+    private void store(CartQuoteResponse quote, long discountVersion) {
+        try {
+            redisTemplate.opsForValue().set(quoteKey(quote.cartId()),
+                    objectMapper.writeValueAsString(new CachedQuote(discountVersion, quote)), Duration.ofSeconds(ttlSeconds));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("견적 캐시 저장 실패 - cartId: {}", quote.cartId(), e);
+        }
+    }
+
+    /** 캐시 조회 결과. 일치하는 견적({@code hit})과 조회 시점의 할인 버전 */
+    private record Lookup(CartQuoteResponse hit, Long discountVersion) {
+    }
+
+    /** {@code quote:{cartId}}에 저장하는 형식 */
+    record CachedQuote(long discountVersion, CartQuoteResponse quote) {
+    }
+}
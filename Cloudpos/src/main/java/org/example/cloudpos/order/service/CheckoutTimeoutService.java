@@ -0,0 +1,25 @@
+package org.example.cloudpos.order.service;
+
+/**
+ * 결제를 시작한 뒤 제한 시간 안에 결과가 나지 않은 주문(체크아웃)을 정리한다.
+ */
+public interface CheckoutTimeoutService {
+
+    /**
+     * 결제를 시작한 주문을 제한 시간 추적 대상에 넣는다.
+     * 저장소 장애로 기록하지 못해도 예외를 던지지 않고 나중에 다시 기록한다.
+     */
+    void track(String orderId);
+
+    /**
+     * 결제 결과가 나온 주문을 추적 대상에서 뺀다.
+     */
+    void untrack(String orderId);
+
+    /**
+     * 제한 시간이 지난 주문을 한 번에 최대 배치 크기만큼 정리한다.
+     *
+     * @return 정리한 주문 수
+     */
+    int sweep();
+}
@@ -0,0 +1,161 @@
+package org.example.cloudpos.order.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cloudpos.order.api.CartStateHandlerApi;
+import org.example.cloudpos.order.api.PaymentStateApi;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis Sorted Set 으로 체크아웃 제한 시간을 추적하는 구현체.
+ *
+ * <h2>저장 구조</h2>
+ * <ul>
+ *   <li>{@code checkout:deadlines} — member: 주문 ID, score: 제한 시각(epoch ms)</li>
+ *   <li>결제 시작 시 {@code ZADD}, 결제 결과가 나오면 {@code ZREM} 합니다.</li>
+ * </ul>
+ *
+ * <h2>정리</h2>
+ * <ul>
+ *   <li>Lua 스크립트 한 번으로 만료된 주문을 배치 크기만큼 꺼내면서 score 를 "지금 + 임대 시간"으로 미룹니다.
+ *       여러 노드가 동시에 실행해도 같은 주문을 두 노드가 가져가지 않으며,
+ *       처리 중 노드가 죽으면 임대 시간 후 다른 노드가 다시 가져갑니다.</li>
+ *   <li>비용은 {@code O(log N + 만료 건수)}이며 DB 를 훑지 않습니다.</li>
+ *   <li>결제 모듈에 포기 처리를 요청하고, 포기되었거나 결제가 생성되지 않은 주문만 장바구니를 다시 엽니다.
+ *       승인 요청이 진행 중(결과 미확인)인 결제는 웹훅/대사 작업이 확정하므로 장바구니를 건드리지 않습니다.</li>
+ * </ul>
+ *
+ * <p>추적 기록은 주문 저장 뒤에 하므로, Redis 장애로 기록하지 못해도 결제 시작 요청을 실패시키지 않습니다.
+ * 기록하지 못한 주문은 노드 메모리에 보관했다가 다음 정리 주기에 다시 기록합니다.
+ * (그 사이 노드가 종료되면 해당 주문은 제한 시간으로 정리되지 않고, 결제 결과나 대사 작업으로만 정리됩니다)</p>
+ *
+ * <p>제한 시간({@code cloudpos.checkout.timeout-minutes}, 기본 15분)은 장바구니 TTL(60분)보다 짧아야
+ * 장바구니가 만료되기 전에 다시 열 수 있습니다.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CheckoutTimeoutServiceImpl implements CheckoutTimeoutService {
+
+    private static final String DEADLINES_KEY = "checkout:deadlines";
+
+    /** KEYS[1]=deadlines / ARGV[1]=현재(ms), ARGV[2]=배치 크기, ARGV[3]=임대 만료 시각(ms) */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM_EXPIRED = new DefaultRedisScript<>("""
+            local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2]))
+            for _, orderId in ipairs(due) do
+                redis.call('ZADD', KEYS[1], 'XX', ARGV[3], orderId)
+            end
+            return due
+            """, List.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final PaymentStateApi paymentStateApi;
+    private final CartStateHandlerApi cartStateHandlerApi;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${cloudpos.checkout.timeout-minutes:15}")
+    private long timeoutMinutes;
+
+    @Value("${cloudpos.checkout.sweep-batch-size:100}")
+    private int batchSize;
+
+    @Value("${cloudpos.checkout.claim-lease-seconds:60}")
+    private long leaseSeconds;
+
+    /** Redis 에 기록하지 못한 주문 ID → 제한 시각(epoch ms) */
+    private final Map<String, Long> untracked = new ConcurrentHashMap<>();
+
+    @Override
+    public void track(String orderId) {
+        long deadline = System.currentTimeMillis() + Duration.ofMinutes(timeoutMinutes).toMillis();
+        try {
+            redisTemplate.opsForZSet().add(DEADLINES_KEY, orderId, deadline);
+        } catch (RuntimeException e) {
+            log.warn("체크아웃 제한 시간 기록 실패, 다음 정리 주기에 다시 기록 - orderId: {}", orderId, e);
+            untracked.put(orderId, deadline);
+            record("track_failed");
+        }
+    }
+
+    @Override
+    public void untrack(String orderId) {
+        untracked.remove(orderId);
+        redisTemplate.opsForZSet().remove(DEADLINES_KEY, orderId);
+    }
+
+    @Scheduled(fixedDelayString = "${cloudpos.checkout.sweep-ms:5000}")
+    public void sweepExpired() {
+        retryUntracked();
+        while (sweep() == batchSize) {
+            // 밀린 만료 건이 있으면 다음 주기를 기다리지 않고 이어서 정리한다.
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int sweep() {
+        long now = System.currentTimeMillis();
+        List<String> expired = redisTemplate.execute(CLAIM_EXPIRED, List.of(DEADLINES_KEY),
+                String.valueOf(now), String.valueOf(batchSize),
+                String.valueOf(now + Duration.ofSeconds(leaseSeconds).toMillis()));
+        if (expired == null || expired.isEmpty()) {
+            return 0;
+        }
+
+        for (String orderId : expired) {
+            try {
+                expire(orderId);
+                untrack(orderId);
+            } catch (RuntimeException e) {
+                // 임대 시간이 지나면 다시 정리 대상이 된다.
+                log.warn("체크아웃 시간 초과 처리 실패 - orderId: {}", orderId, e);
+                record("failed");
+            }
+        }
+        return expired.size();
+    }
+
+    private void retryUntracked() {
+        for (Map.Entry<String, Long> entry : untracked.entrySet()) {
+            try {
+                redisTemplate.opsForZSet().add(DEADLINES_KEY, entry.getKey(), entry.getValue());
+                untracked.remove(entry.getKey(), entry.getValue());
+            } catch (RuntimeException e) {
+                log.debug("체크아웃 제한 시간 재기록 실패 - 남은 주문: {}건", untracked.size());
+                return;
+            }
+        }
+    }
+
+    private void expire(String orderId) {
+        if (!paymentStateApi.abandon(orderId)) {
+            log.info("결제 진행 중이거나 완료된 주문은 정리하지 않습니다 - orderId: {}", orderId);
+            record("skipped");
+            return;
+        }
+        try {
+            cartStateHandlerApi.stateOpen(orderId);
+        } catch (IllegalStateException e) {
+            // 장바구니가 이미 다른 경로로 열렸거나 닫힌 경우
+            log.info("장바구니를 다시 열 수 없습니다 - orderId: {}, reason: {}", orderId, e.getMessage());
+        }
+        log.info("체크아웃 시간 초과로 주문을 정리했습니다 - orderId: {}", orderId);
+        record("abandoned");
+    }
+
+    private void record(String result) {
+        meterRegistry.counter("cloudpos.checkout.timeouts", "result", result).increment();
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.cloudpos.order.service;
+
+/**
+ * 주문과 장바구니의 연결(주문 → 장바구니, 장바구니 → 진행 중 주문)을 관리한다.
+ *
+ * <p>결제 결과 처리 경로가 DB 를 거치지 않도록 Redis 에 보관하며, 주문 → 장바구니 조회는 DB 로 대체할 수 있다.
+ * Redis 장애 중 장바구니 → 주문 연결은 노드 메모리에 기록한다.</p>
+ */
+public interface OrderCartMappingService {
+
+    /**
+     * 새 주문과 장바구니의 연결을 기록한다.
+     *
+     * @return 장바구니에 이미 진행 중인 주문이 있으면 그 주문 ID (기록하지 않음), 없으면 {@code null}
+     */
+    String register(String orderId, String cartId);
+
+    /**
+     * 장바구니에서 진행 중인 주문 ID를 조회한다. 없거나 조회할 수 없으면 {@code null}.
+     * 연결만 조회하므로 주문이 저장되었는지, 결제가 끝나지 않았는지는 호출자가 확인한다.
+     */
+    String findOrderId(String cartId);
+
+    /**
+     * 주문의 장바구니 ID를 조회한다. Redis 에 없으면 DB 에서 조회한다.
+     */
+    String findCartId(String orderId);
+
+    /**
+     * 장바구니가 다시 열렸거나 주문 저장에 실패했을 때 장바구니 → 주문 연결을 해제한다.
+     * 그 사이 다른 주문이 연결되었으면 그대로 둔다.
+     */
+    void release(String orderId, String cartId);
+}
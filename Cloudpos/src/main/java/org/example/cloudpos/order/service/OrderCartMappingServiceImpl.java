@@ -0,0 +1,134 @@
+package org.example.cloudpos.order.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cloudpos.order.repository.OrderRepository;
+import org.example.cloudpos.shard.ShardKey;
+import org.example.cloudpos.shard.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 주문 ↔ 장바구니 연결을 Redis 에 보관하는 구현체.
+ *
+ * <ul>
+ *   <li>{@code order:{orderId}:cart} — 주문의 장바구니 ID. 결제 결과로 장바구니를 열고 닫을 때 사용하며,
+ *       없으면(만료, 장애) 샤드 DB 에서 조회합니다.</li>
+ *   <li>{@code cart:{cartId}:order} — 장바구니에서 진행 중인 주문 ID. 같은 장바구니로 주문이 중복 생성되지 않도록
+ *       {@link #register}에서 없을 때만 기록하며, 장바구니가 다시 열리면 해제합니다.</li>
+ * </ul>
+ *
+ * <p>두 키는 결제 대기 장바구니와 같은 {@code cloudpos.order.cart-mapping.ttl-minutes}(기본 60) 동안 유지됩니다.</p>
+ *
+ * <p>Redis 장애 중에는 장바구니 → 주문 연결을 노드 메모리에 같은 시간 동안 기록하고, 주문 → 장바구니 조회는 DB 를 사용합니다.
+ * 장애 중 만든 장바구니는 만든 노드에서만 처리되므로({@code CartFailoverManager}) 같은 노드 안의 확인으로 중복 주문을 막을 수 있습니다.
+ * Redis 에 있던 장바구니는 장애 중 결제를 시작할 수 없으므로 노드 간 확인은 필요하지 않습니다.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderCartMappingServiceImpl implements OrderCartMappingService {
+
+    /** KEYS[1]=cart→order, KEYS[2]=order→cart / ARGV[1]=orderId, ARGV[2]=cartId, ARGV[3]=TTL(초) */
+    private static final RedisScript<String> REGISTER = new DefaultRedisScript<>("""
+            local current = redis.call('GET', KEYS[1])
+            if current then
+                return current
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[3])
+            redis.call('SET', KEYS[2], ARGV[2], 'EX', ARGV[3])
+            return false
+            """, String.class);
+
+    /** KEYS[1]=cart→order / ARGV[1]=orderId */
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final OrderRepository orderRepository;
+    private final ShardRouter shardRouter;
+
+    /** Redis 에 기록하지 못한 장바구니 → 진행 중 주문 연결 (cartId 기준) */
+    private final Map<String, Pending> localPending = new ConcurrentHashMap<>();
+
+    @Value("${cloudpos.order.cart-mapping.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    private String cartOrderKey(String cartId) { return "cart:" + cartId + ":order"; }
+    private String orderCartKey(String orderId) { return "order:" + orderId + ":cart"; }
+
+    @Override
+    public String register(String orderId, String cartId) {
+        try {
+            return redisTemplate.execute(REGISTER, List.of(cartOrderKey(cartId), orderCartKey(orderId)),
+                    orderId, cartId, String.valueOf(Duration.ofMinutes(ttlMinutes).toSeconds()));
+        } catch (RuntimeException e) {
+            log.warn("주문-장바구니 연결 기록 실패, 노드 메모리에 기록합니다 - orderId: {}, cartId: {}", orderId, cartId, e);
+            return registerLocally(orderId, cartId);
+        }
+    }
+
+    @Override
+    public String findOrderId(String cartId) {
+        try {
+            String orderId = redisTemplate.opsForValue().get(cartOrderKey(cartId));
+            if (orderId != null) {
+                return orderId;
+            }
+        } catch (RuntimeException e) {
+            log.warn("장바구니의 진행 중 주문 조회 실패 - cartId: {}", cartId, e);
+        }
+        Pending pending = localPending.get(cartId);
+        return (pending == null || pending.isExpired(System.currentTimeMillis())) ? null : pending.orderId();
+    }
+
+    @Override
+    public String findCartId(String orderId) {
+        try {
+            String cartId = redisTemplate.opsForValue().get(orderCartKey(orderId));
+            if (cartId != null) {
+                return cartId;
+            }
+        } catch (RuntimeException e) {
+            log.warn("주문의 장바구니 조회 실패, DB 에서 조회합니다 - orderId: {}", orderId, e);
+        }
+        return shardRouter.callIn(ShardKey.Type.ORDER, orderId, () -> orderRepository.findCartIdByOrderId(orderId));
+    }
+
+    @Override
+    public void release(String orderId, String cartId) {
+        localPending.computeIfPresent(cartId, (key, pending) -> pending.orderId().equals(orderId) ? null : pending);
+        try {
+            redisTemplate.execute(RELEASE, List.of(cartOrderKey(cartId)), orderId);
+        } catch (RuntimeException e) {
+            log.warn("주문-장바구니 연결 해제 실패 - orderId: {}, cartId: {}", orderId, cartId, e);
+        }
+    }
+
+    private String registerLocally(String orderId, String cartId) {
+        long now = System.currentTimeMillis();
+        localPending.values().removeIf(pending -> pending.isExpired(now));
+
+        Pending mine = new Pending(orderId, now + Duration.ofMinutes(ttlMinutes).toMillis());
+        Pending current = localPending.merge(cartId, mine, (existing, added) -> existing.isExpired(now) ? added : existing);
+        return (current == mine) ? null : current.orderId();
+    }
+
+    private record Pending(String orderId, long expiresAt) {
+        boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+}
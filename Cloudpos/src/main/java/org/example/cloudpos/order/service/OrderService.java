@@ -1,9 +1,15 @@
 package org.example.cloudpos.order.service;
 
 import org.example.cloudpos.order.domain.Order;
+import org.example.cloudpos.order.domain.OrderItem;
+import org.example.cloudpos.order.dto.OrderHistoryResponse;
 import org.example.cloudpos.order.dto.OrderResponse;
 
+import java.util.List;
+
 public interface OrderService {
     OrderResponse startPayment(String cartId);
     Order getOrderById(String orderId);
+    List<OrderItem> getOrderItems(String orderId);
+    OrderHistoryResponse getStoreOrders(String inventoryId, String cursor, int size);
 }
@@ -3,19 +3,27 @@ package org.example.cloudpos.order.service;
 import com.github.f4b6a3.ulid.UlidCreator;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.example.cloudpos.order.api.CartStateHandlerApi;
-import org.example.cloudpos.order.api.DiscountApi;
+import org.example.cloudpos.order.api.InventoryApi;
+import org.example.cloudpos.order.api.PaymentStateApi;
 import org.example.cloudpos.order.domain.Order;
 import org.example.cloudpos.order.domain.OrderItem;
 import org.example.cloudpos.order.dto.CartDto;
+import org.example.cloudpos.order.dto.CartQuoteResponse;
+import org.example.cloudpos.order.dto.OrderHistoryResponse;
 import org.example.cloudpos.order.dto.OrderResponse;
 import org.example.cloudpos.order.repository.OrderItemRepository;
 import org.example.cloudpos.order.repository.OrderRepository;
+import org.example.cloudpos.shard.ShardKey;
+import org.example.cloudpos.shard.ShardRouter;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 
 /**
@@ -27,44 +35,76 @@ import java.util.Map;
  * 외부에서 사용할 주문 식별자를 반환한다.
  * </p>
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService{
     private final CartStateHandlerApi cartStateHandlerApi;
-    private final DiscountApi discountApi;
+    private final CartQuoteService cartQuoteService;
+    private final InventoryApi inventoryApi;
     private final OrderItemRepository orderItemRepository;
     private final OrderRepository orderRepository;
+    private final ShardRouter shardRouter;
+    private final CheckoutTimeoutService checkoutTimeoutService;
+    private final OrderCartMappingService orderCartMappingService;
+    private final PaymentStateApi paymentStateApi;
 
 
     /**
      * 장바구니를 기반으로 주문을 생성하고 결제를 시작한다.
      *
      * <p>장바구니의 상품 목록을 조회하여 주문 및 주문 상품을 생성하고,
-     * 총 결제 금액을 계산한 뒤 저장한다. 생성된 주문의 문자열 주문 ID
+     * 총 결제 금액을 계산한 뒤 저장한다. 결제 금액은 {@link CartQuoteService}로 계산하며,
+     * 결제 시작 시점의 장바구니 버전으로 계산해 둔 견적이 있으면 재사용한다. 생성된 주문의 문자열 주문 ID
      * (예: ULID)를 응답으로 반환한다.</p>
      *
+     * <p>장바구니에 이미 결제 진행 중인 주문이 있으면 새 주문을 만들지 않고 그 주문 ID를 반환한다.
+     * (중복 요청 확인은 {@link OrderCartMappingService}의 Redis 조회 한 번으로 처리)
+     * 재사용 전에 주문이 저장되어 있고 결제가 끝나지 않았는지 확인하며, 아니면(저장 실패나 장바구니 재오픈 후 연결 해제 실패)
+     * 연결을 해제하고 새 주문을 만든다.</p>
+     *
+     * <p>Redis 장애 중에도 노드 로컬 장바구니로 결제를 시작할 수 있다. 진행 중 주문 연결은 노드 메모리에,
+     * 견적은 캐시 없이 계산하고, 제한 시간 기록은 Redis 가 돌아온 뒤 다시 시도한다.
+     * 연결이 끊긴 동안의 Redis 명령은 쌓이지 않고 바로 실패한다. ({@code cloudpos.redis.reject-when-disconnected})</p>
+     *
+     * <p>주문과 주문 상품은 {@link ShardRouter#inNewOrder}가 매장의 샤드에서 연 하나의 트랜잭션으로 저장한다.
+     * 메서드 전체를 트랜잭션으로 묶으면 매장을 알기 전에 기본 샤드의 커넥션이 잡히므로 메서드에는 두지 않는다.</p>
+     *
      * @param cartId 결제를 시작할 장바구니 ID
      * @return 생성된 주문의 문자열 주문 ID를 담은 {@link OrderResponse}
      */
-    @Transactional
     public OrderResponse startPayment(String cartId) {
 
+        String pending = orderCartMappingService.findOrderId(cartId);
+        if (pending != null) {
+            if (isInProgress(pending)) {
+                log.info("결제 진행 중인 주문 재사용 - cartId: {}, orderId: {}", cartId, pending);
+                return new OrderResponse(pending);
+            }
+            log.info("진행 중이 아닌 주문 연결 해제 - cartId: {}, orderId: {}", cartId, pending);
+            orderCartMappingService.release(pending, cartId);
+        }
+
+        List<CartDto> cartDtoList = cartStateHandlerApi.statePayment(cartId);
+        // 결제 대기 상태에서는 장바구니가 바뀌지 않으므로 재가격 반영 후의 버전을 읽는다.
+        CartQuoteResponse quote = cartQuoteService.quoteForPayment(
+                cartId, cartStateHandlerApi.cartVersion(cartId), cartDtoList);
+
+        // 장바구니는 한 매장의 상품으로 구성되므로 첫 상품의 매장을 주문 매장으로 기록한다.
+        String inventoryId = cartDtoList.isEmpty()
+                ? null
+                : inventoryApi.getInventoryId(cartDtoList.get(0).productId());
+
         Order order = new Order(
                 UlidCreator.getUlid().toString(),
                 cartId,
+                inventoryId,
                 LocalDateTime.now()
         );
 
         List<OrderItem> orderItems = new ArrayList<>();
-        int total = 0;
-
-        List<CartDto> cartDtoList = cartStateHandlerApi.statePayment(cartId);
-        Map<String, Integer> discountMap = discountApi.getDiscountMap(cartDtoList);
 
         for (CartDto ci : cartDtoList) {
-
-            total += ci.price() * ci.quantity() - discountMap.getOrDefault(ci.productId(), 0);
-
             orderItems.add(new OrderItem(
                     order,
                     ci.productId(),
@@ -73,19 +113,99 @@ public class OrderServiceImpl implements OrderService{
             ));
         }
 
-        order.applyTotalAmount(total);
+        order.applyTotalAmount(quote.total());
 
-        orderRepository.save(order);
-        orderItemRepository.saveAll(orderItems);
+        // 동시에 들어온 요청끼리는 먼저 연결을 기록한 주문만 저장한다.
+        String concurrent = orderCartMappingService.register(order.getOrderId(), cartId);
+        if (concurrent != null) {
+            log.info("결제 진행 중인 주문 재사용 - cartId: {}, orderId: {}", cartId, concurrent);
+            return new OrderResponse(concurrent);
+        }
 
-        return new OrderResponse(order.getOrderId());
+        // 주문은 매장의 샤드에 저장한다. (샤딩 비활성화 시 단일 DB)
+        OrderResponse response;
+        try {
+            response = shardRouter.inNewOrder(order.getOrderId(), inventoryId, () -> {
+                orderRepository.save(order);
+                orderItemRepository.saveAll(orderItems);
+                return new OrderResponse(order.getOrderId());
+            });
+        } catch (RuntimeException e) {
+            orderCartMappingService.release(order.getOrderId(), cartId);
+            throw e;
+        }
+
+        // 제한 시간 안에 결제 결과가 나지 않으면 장바구니를 다시 연다.
+        // 주문은 이미 저장되었으므로 기록 실패로 요청을 실패시키지 않는다. (track 은 예외를 던지지 않고 나중에 다시 기록)
+        checkoutTimeoutService.track(order.getOrderId());
+        return response;
+    }
+
+    /**
+     * 주문이 저장되어 있고 결제가 끝나지 않았는지 확인한다. (중복 요청일 때만 호출)
+     */
+    private boolean isInProgress(String orderId) {
+        return shardRouter.callIn(ShardKey.Type.ORDER, orderId, () -> orderRepository.existsByOrderId(orderId))
+                && paymentStateApi.isInProgress(orderId);
     }
 
     @Transactional()
-    public Order getOrderById(String orderId){
+    public Order getOrderById(@ShardKey(ShardKey.Type.ORDER) String orderId){
         return orderRepository.findOrderByOrderId(orderId)
                 .orElseThrow(() -> new RuntimeException());
     }
 
+    @Transactional
+    public List<OrderItem> getOrderItems(@ShardKey(ShardKey.Type.ORDER) String orderId) {
+        return orderItemRepository.findByOrder_OrderIdOrderById(orderId);
+    }
+
+    /**
+     * 매장의 주문 이력을 최신순으로 한 페이지 조회한다.
+     *
+     * <p>{@code order_id < cursor} 조건의 키셋 페이징을 사용하므로
+     * 이력이 길어져도 페이지 위치와 관계없이 일정한 비용으로 조회된다.
+     * 페이지에 포함된 주문들의 상품은 한 번의 {@code IN} 쿼리로 함께 조회한다.</p>
+     *
+     * @param inventoryId 매장 ID
+     * @param cursor      이전 페이지의 {@code nextCursor} (첫 페이지면 null)
+     * @param size        페이지 크기 (1~100)
+     * @return 주문 목록과 다음 커서
+     */
+    @Transactional
+    public OrderHistoryResponse getStoreOrders(@ShardKey(ShardKey.Type.STORE) String inventoryId, String cursor, int size) {
+        if (size < 1 || size > 100) {
+            throw new IllegalArgumentException("size 는 1 이상 100 이하여야 합니다.");
+        }
+
+        PageRequest page = PageRequest.of(0, size);
+        List<Order> orders = (cursor == null || cursor.isBlank())
+                ? orderRepository.findByInventoryIdOrderByOrderIdDesc(inventoryId, page)
+                : orderRepository.findByInventoryIdAndOrderIdLessThanOrderByOrderIdDesc(inventoryId, cursor, page);
+
+        if (orders.isEmpty()) {
+            return new OrderHistoryResponse(List.of(), null);
+        }
+
+        Map<Long, List<OrderHistoryResponse.ItemEntry>> itemsByOrder = orderItemRepository.findByOrderIn(orders).stream()
+                .collect(Collectors.groupingBy(
+                        oi -> oi.getOrder().getId(),
+                        Collectors.mapping(
+                                oi -> new OrderHistoryResponse.ItemEntry(oi.getProductId(), oi.getQuantity(), oi.getPrice()),
+                                Collectors.toList())));
+
+        List<OrderHistoryResponse.OrderEntry> entries = orders.stream()
+                .map(o -> new OrderHistoryResponse.OrderEntry(
+                        o.getOrderId(),
+                        o.getCartId(),
+                        o.getTotalAmount(),
+                        o.getPaidAt(),
+                        itemsByOrder.getOrDefault(o.getId(), List.of())))
+                .toList();
+
+        String nextCursor = orders.size() < size ? null : orders.get(orders.size() - 1).getOrderId();
+        return new OrderHistoryResponse(entries, nextCursor);
+    }
+
 }
 
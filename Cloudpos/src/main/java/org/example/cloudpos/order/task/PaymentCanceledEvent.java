@@ -0,0 +1,4 @@
+package org.example.cloudpos.order.task;
+
+
+public record PaymentCanceledEvent(String orderId) {}
@@ -0,0 +1,159 @@
+package org.example.cloudpos.payment.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cloudpos.payment.dto.TossPaymentRequest;
+import org.example.cloudpos.payment.dto.TossPaymentResponse;
+import org.example.cloudpos.payment.exception.TossPaymentException;
+import org.example.cloudpos.payment.exception.TossPaymentException.Outcome;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.net.http.HttpConnectTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Toss Payments 승인/취소/조회 API 클라이언트.
+ *
+ * <p>모든 호출은 서킷 브레이커 → 벌크헤드 순으로 감싸서 실행합니다.</p>
+ * <ul>
+ *   <li>벌크헤드: 동시에 진행 중인 Toss 호출 수를 제한해 결제사 지연 시 웹 스레드가 모두 묶이지 않게 합니다.
+ *       한도를 넘으면 기다리지 않고 즉시 {@link Outcome#UNAVAILABLE}로 실패합니다.</li>
+ *   <li>서킷 브레이커: 타임아웃/연결 실패/5xx 가 일정 비율을 넘으면 일정 시간 호출하지 않고 즉시 실패합니다.
+ *       카드 거절 등 4xx 는 결제사가 정상 동작한 것이므로 실패로 집계하지 않습니다.</li>
+ * </ul>
+ *
+ * <p>실패는 결제 여부가 확정되었는지에 따라 {@link TossPaymentException}의 {@link Outcome}으로 분류됩니다.
+ * 응답 타임아웃처럼 요청이 전달된 뒤 결과를 모르는 경우는 {@link Outcome#UNKNOWN}이며,
+ * 호출자는 이를 결제 실패로 처리하면 안 됩니다.</p>
+ *
+ * <p>메트릭: {@code cloudpos.toss.calls{operation, outcome}},
+ * {@code resilience4j.circuitbreaker.*}, {@code resilience4j.bulkhead.*}</p>
+ */
+@Slf4j
+public class TossPaymentClient {
+
+    private final RestTemplate restTemplate;
+    private final String baseUrl;
+    private final String authorization;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final MeterRegistry meterRegistry;
+
+    public TossPaymentClient(RestTemplate restTemplate, String baseUrl, String secretKey,
+                             CircuitBreaker circuitBreaker, Bulkhead bulkhead, MeterRegistry meterRegistry) {
+        this.restTemplate = restTemplate;
+        this.baseUrl = baseUrl;
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((secretKey + ":").getBytes(StandardCharsets.UTF_8));
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public TossPaymentResponse confirm(TossPaymentRequest request) {
+        return call("confirm", () -> exchange(baseUrl + "/confirm", HttpMethod.POST, request));
+    }
+
+    public TossPaymentResponse cancel(String paymentKey, String cancelReason) {
+        return call("cancel", () -> exchange(baseUrl + "/" + paymentKey + "/cancel", HttpMethod.POST,
+                Map.of("cancelReason", cancelReason)));
+    }
+
+    /**
+     * 결제 키로 Toss 에 기록된 현재 결제 상태를 조회합니다.
+     */
+    public TossPaymentResponse find(String paymentKey) {
+        return call("find", () -> exchange(baseUrl + "/" + paymentKey, HttpMethod.GET, null));
+    }
+
+    /**
+     * 주문 ID로 Toss 결제를 조회합니다. 승인 전이라 결제 키를 모르는 결제의 대사에 사용합니다.
+     * Toss 에 결제가 없으면 {@link TossPaymentException#isNotFound()}인 예외가 발생합니다.
+     */
+    public TossPaymentResponse findByOrderId(String orderId) {
+        return call("find", () -> exchange(baseUrl + "/orders/" + orderId, HttpMethod.GET, null));
+    }
+
+    private TossPaymentResponse call(String operation, Supplier<TossPaymentResponse> httpCall) {
+        Supplier<TossPaymentResponse> guarded = CircuitBreaker.decorateSupplier(circuitBreaker,
+                Bulkhead.decorateSupplier(bulkhead, () -> classified(httpCall)));
+        try {
+            TossPaymentResponse body = guarded.get();
+            record(operation, "success");
+            return body;
+        } catch (CallNotPermittedException e) {
+            record(operation, "circuit_open");
+            throw new TossPaymentException(Outcome.UNAVAILABLE, "Toss 호출 차단(서킷 오픈)", e);
+        } catch (BulkheadFullException e) {
+            record(operation, "bulkhead_full");
+            throw new TossPaymentException(Outcome.UNAVAILABLE, "Toss 동시 호출 한도 초과", e);
+        } catch (TossPaymentException e) {
+            record(operation, e.getOutcome().name().toLowerCase());
+            throw e;
+        }
+    }
+
+    private static TossPaymentResponse classified(Supplier<TossPaymentResponse> httpCall) {
+        try {
+            TossPaymentResponse body = httpCall.get();
+            if (body == null) {
+                throw new TossPaymentException(Outcome.UNKNOWN, "Toss 응답이 비어있습니다.", null);
+            }
+            return body;
+        } catch (HttpClientErrorException e) {
+            throw new TossPaymentException(Outcome.DECLINED, e.getResponseBodyAsString(), e);
+        } catch (HttpServerErrorException e) {
+            throw new TossPaymentException(Outcome.UNKNOWN, "Toss 서버 오류: " + e.getStatusCode(), e);
+        } catch (ResourceAccessException e) {
+            Outcome outcome = isNotSent(e.getCause()) ? Outcome.UNAVAILABLE : Outcome.UNKNOWN;
+            throw new TossPaymentException(outcome, "Toss 통신 실패: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 연결 단계에서 실패해 요청 자체가 전달되지 않았는지 여부.
+     */
+    private static boolean isNotSent(Throwable cause) {
+        if (cause instanceof ConnectException
+                || cause instanceof HttpConnectTimeoutException
+                || cause instanceof UnknownHostException
+                || cause instanceof NoRouteToHostException) {
+            return true;
+        }
+        return cause instanceof SocketTimeoutException
+                && cause.getMessage() != null
+                && cause.getMessage().toLowerCase().contains("connect");
+    }
+
+    private TossPaymentResponse exchange(String url, HttpMethod method, Object body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, authorization);
+        if (body != null) {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+        }
+        return restTemplate.exchange(url, method, new HttpEntity<>(body, headers), TossPaymentResponse.class)
+                .getBody();
+    }
+
+    private void record(String operation, String outcome) {
+        meterRegistry.counter("cloudpos.toss.calls", "operation", operation, "outcome", outcome).increment();
+    }
+}
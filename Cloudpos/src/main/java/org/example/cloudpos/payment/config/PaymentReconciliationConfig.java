@@ -0,0 +1,56 @@
+package org.example.cloudpos.payment.config;
+
+import io.github.resilience4j.micrometer.tagged.TaggedRateLimiterMetrics;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+
+/**
+ * 결제 대사 작업 설정.
+ *
+ * <ul>
+ *   <li>{@code cloudpos.payment.reconcile.concurrency} (기본 8): 동시에 진행하는 PG 조회 수</li>
+ *   <li>{@code cloudpos.payment.reconcile.rate-per-second} (기본 300): 초당 PG 조회 한도.
+ *       대사 조회가 승인/취소 호출의 서킷·벌크헤드 여유를 다 쓰지 않도록 낮게 유지합니다.
+ *       (100만 건 기준 약 1시간)</li>
+ * </ul>
+ */
+@Configuration
+@EnableScheduling
+public class PaymentReconciliationConfig {
+
+    @Bean
+    public RateLimiter tossReconcileRateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${cloudpos.payment.reconcile.rate-per-second:300}") int ratePerSecond) {
+        RateLimiterRegistry registry = RateLimiterRegistry.of(RateLimiterConfig.custom()
+                .limitForPeriod(ratePerSecond)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ofMinutes(1))
+                .build());
+        TaggedRateLimiterMetrics.ofRateLimiterRegistry(registry).bindTo(meterRegistry);
+        return registry.rateLimiter("toss-reconcile");
+    }
+
+    /**
+     * 한 페이지의 조회 작업을 모두 넣은 뒤 끝날 때까지 기다리므로 큐는 페이지 크기만큼만 찬다.
+     */
+    @Bean(name = "reconcileExecutor")
+    public ThreadPoolTaskExecutor reconcileExecutor(
+            @Value("${cloudpos.payment.reconcile.concurrency:8}") int concurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setThreadNamePrefix("reconcile-");
+        executor.initialize();
+        return executor;
+    }
+}
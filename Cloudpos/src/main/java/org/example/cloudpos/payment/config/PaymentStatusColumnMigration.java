@@ -0,0 +1,50 @@
+package org.example.cloudpos.payment.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cloudpos.shard.ShardRouter;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code payment.payment_status} 컬럼을 MySQL {@code enum} 에서 {@code varchar(32)} 로 바꿉니다.
+ *
+ * <p>이전 매핑({@code @Enumerated(EnumType.STRING)}만 지정)으로 Hibernate 가 만든 컬럼은
+ * 당시 상태 목록의 {@code enum(...)} 이고, {@code ddl-auto=update} 는 기존 컬럼 타입을 바꾸지 않으므로
+ * 새 상태({@code UNKNOWN}, {@code ABANDONED})를 저장하면 오류가 납니다.
+ * 기동 시 샤드마다 컬럼 타입을 확인해 {@code enum} 인 경우에만 변경하므로 여러 번 실행해도 안전합니다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentStatusColumnMigration implements SmartInitializingSingleton {
+
+    private static final String FIND_TYPE = """
+            SELECT LOWER(DATA_TYPE) FROM information_schema.COLUMNS
+             WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'payment' AND COLUMN_NAME = 'payment_status'
+            """;
+
+    private static final String ALTER = "ALTER TABLE payment MODIFY payment_status VARCHAR(32)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        shardRouter.eachShard(this::migrate);
+    }
+
+    private void migrate(String shard) {
+        try {
+            if (!jdbcTemplate.queryForList(FIND_TYPE, String.class).contains("enum")) {
+                return;
+            }
+            jdbcTemplate.execute(ALTER);
+            log.info("payment.payment_status 컬럼을 varchar(32)로 변경 - {}", shard);
+        } catch (DataAccessException e) {
+            log.error("payment.payment_status 컬럼 변경 실패 - {} (수동 변경 필요: {})", shard, ALTER, e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.cloudpos.payment.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.cloudpos.payment.client.TossPaymentClient;
+import org.example.cloudpos.payment.exception.TossPaymentException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Toss API 클라이언트와 장애 격리(서킷 브레이커, 벌크헤드) 설정.
+ *
+ * <ul>
+ *   <li>{@code cloudpos.toss.connect-timeout-ms} (기본 2000), {@code read-timeout-ms} (기본 15000)</li>
+ *   <li>{@code cloudpos.toss.max-concurrent-calls} (기본 20): 동시 Toss 호출 한도</li>
+ *   <li>{@code cloudpos.toss.breaker.failure-rate} (기본 50): 최근 20건 중 실패/지연 비율(%)이 넘으면 오픈</li>
+ *   <li>{@code cloudpos.toss.breaker.open-seconds} (기본 30): 오픈 유지 시간, 이후 3건으로 회복 여부 확인</li>
+ * </ul>
+ */
+@Configuration
+public class TossClientConfig {
+
+    @Bean
+    public CircuitBreaker tossCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${cloudpos.toss.breaker.failure-rate:50}") float failureRate,
+            @Value("${cloudpos.toss.breaker.open-seconds:30}") long openSeconds,
+            @Value("${cloudpos.toss.breaker.slow-call-ms:5000}") long slowCallMillis) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(20)
+                .minimumNumberOfCalls(10)
+                .failureRateThreshold(failureRate)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallMillis))
+                .slowCallRateThreshold(80)
+                .waitDurationInOpenState(Duration.ofSeconds(openSeconds))
+                .permittedNumberOfCallsInHalfOpenState(3)
+                // 거절(4xx)은 결제사가 정상 응답한 것이므로 실패로 집계하지 않는다.
+                .recordException(e -> e instanceof TossPaymentException t
+                        && t.getOutcome() != TossPaymentException.Outcome.DECLINED)
+                .ignoreExceptions(BulkheadFullException.class)
+                .build();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker("toss");
+    }
+
+    @Bean
+    public Bulkhead tossBulkhead(
+            MeterRegistry meterRegistry,
+            @Value("${cloudpos.toss.max-concurrent-calls:20}") int maxConcurrentCalls) {
+        BulkheadConfig config = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+
+        BulkheadRegistry registry = BulkheadRegistry.of(config);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead("toss");
+    }
+
+    @Bean
+    public TossPaymentClient tossPaymentClient(
+            RestTemplateBuilder builder,
+            CircuitBreaker tossCircuitBreaker,
+            Bulkhead tossBulkhead,
+            MeterRegistry meterRegistry,
+            @Value("${toss.base-url}") String baseUrl,
+            @Value("${toss.secret-key}") String secretKey,
+            @Value("${cloudpos.toss.connect-timeout-ms:2000}") long connectTimeoutMillis,
+            @Value("${cloudpos.toss.read-timeout-ms:15000}") long readTimeoutMillis) {
+        // RestTemplateBuilder 로 생성해야 http.client.requests 메트릭과 추적 헤더가 적용된다.
+        return new TossPaymentClient(
+                builder.connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                        .readTimeout(Duration.ofMillis(readTimeoutMillis))
+                        .build(),
+                baseUrl, secretKey, tossCircuitBreaker, tossBulkhead, meterRegistry);
+    }
+}
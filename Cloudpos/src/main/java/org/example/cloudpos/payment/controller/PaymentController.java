@@ -11,16 +11,21 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.cloudpos.order.domain.Order;
 import org.example.cloudpos.payment.api.OrderApi;
+import org.example.cloudpos.payment.domain.PaymentStatus;
 import org.example.cloudpos.payment.dto.PaymentRequest;
 import org.example.cloudpos.payment.dto.PaymentResponse;
+import org.example.cloudpos.payment.dto.PaymentStatusResponse;
 import org.example.cloudpos.payment.service.PaymentService;
+import org.example.cloudpos.payment.service.PaymentStatusWatchService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
 /**
  * PaymentController exposes CRUD-style APIs for {@link PaymentService}.
@@ -35,6 +40,7 @@ public class PaymentController {
 
     private final PaymentService paymentService;
     private final OrderApi orderApi;
+    private final PaymentStatusWatchService paymentStatusWatchService;
 
     @Operation(
             summary = "결제 정보 생성",
@@ -68,7 +74,7 @@ public class PaymentController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "조회 성공",
                     content = @Content(schema = @Schema(implementation = PaymentResponse.class))),
-            @ApiResponse(responseCode = "404", description = "해당 orderId 로 생성된 결제가 없음")
+            @ApiResponse(responseCode = "400", description = "해당 orderId 로 생성된 결제가 없음")
     })
     @GetMapping("/{orderId}")
     public ResponseEntity<PaymentResponse> getPayment(
@@ -80,4 +86,25 @@ public class PaymentController {
         PaymentResponse response = paymentService.getPaymentByOrderId(orderId);
         return ResponseEntity.ok(response);
     }
+
+    @Operation(
+        summary = "결제 상태 변경 대기 (롱 폴링)",
+        description = "결제 상태가 after 와 달라질 때까지 응답을 보류합니다. 제한 시간 안에 변경이 없으면 204 를 반환하며, 클라이언트는 같은 요청을 다시 보냅니다."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "상태 변경됨",
+                    content = @Content(schema = @Schema(implementation = PaymentStatusResponse.class))),
+            @ApiResponse(responseCode = "204", description = "제한 시간 동안 변경 없음"),
+            @ApiResponse(responseCode = "400", description = "해당 orderId 로 생성된 결제가 없음")
+    })
+    @GetMapping("/{orderId}/status")
+    public DeferredResult<ResponseEntity<PaymentStatusResponse>> watchPaymentStatus(
+            @Parameter(required = true)
+            @PathVariable String orderId,
+            @Parameter(description = "클라이언트가 마지막으로 본 결제 상태")
+            @RequestParam(defaultValue = "BEFORE_PAYMENT") PaymentStatus after
+    ){
+
+        return paymentStatusWatchService.watch(orderId, after);
+    }
 }
@@ -0,0 +1,81 @@
+package org.example.cloudpos.payment.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cloudpos.payment.domain.PaymentStatus;
+import org.example.cloudpos.payment.dto.PaymentSettlementResponse;
+import org.example.cloudpos.payment.service.PaymentReconciliationService;
+import org.example.cloudpos.payment.service.PaymentSettlementService;
+import org.example.cloudpos.shard.ShardRouter;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 결제 대사 실행 및 정산 합계 조회 엔드포인트.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/payments")
+@RequiredArgsConstructor
+@Tag(name = "Payment Reconciliation API", description = "PG 결제 대사 실행 및 일자별 정산 조회 API")
+public class PaymentReconciliationController {
+
+    private final PaymentReconciliationService paymentReconciliationService;
+    private final PaymentSettlementService paymentSettlementService;
+    private final ShardRouter shardRouter;
+
+    @Operation(
+            summary = "결제 대사 실행",
+            description = """
+                    해당 일자에 생성된 결제를 PG 와 대조해 상태를 바로잡고 정산 합계를 다시 만듭니다.
+                    오래 걸리는 작업이므로 바로 202 를 응답하고 백그라운드에서 실행합니다.
+                    결제 대기/결과 미확인 결제는 일자와 관계없이 일정 시간 이상 지난 결제를 모두 대조합니다.
+                    status 를 지정하면 해당 상태의 결제만 대조합니다.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "대사 시작"),
+            @ApiResponse(responseCode = "409", description = "이미 대사가 실행 중 (다른 노드 포함)")
+    })
+    @PostMapping("/reconciliations")
+    public ResponseEntity<Void> reconcile(
+            @Parameter(required = true, example = "2025-11-03")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Parameter
+            @RequestParam(required = false) Set<PaymentStatus> status
+    ) {
+        log.info("[POST] /payments/reconciliations date={}, status={}", date, status);
+        boolean started = paymentReconciliationService.startAsync(date,
+                status == null || status.isEmpty() ? PaymentReconciliationService.ALL_STATUSES : status);
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT).build();
+    }
+
+    @Operation(summary = "정산 합계 조회", description = "일자별 매장·결제수단 정산 합계를 조회합니다.")
+    @GetMapping("/settlements")
+    public ResponseEntity<List<PaymentSettlementResponse>> settlements(
+            @Parameter(required = true, example = "2025-11-03")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        List<PaymentSettlementResponse> response = shardRouter.acrossShards(() -> paymentSettlementService.find(date))
+                .values().stream()
+                .flatMap(List::stream)
+                .map(PaymentSettlementResponse::from)
+                .toList();
+        return ResponseEntity.ok(response);
+    }
+}
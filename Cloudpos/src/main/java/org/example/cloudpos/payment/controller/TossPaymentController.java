@@ -11,7 +11,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.cloudpos.payment.dto.TossPaymentRequest;
 import org.example.cloudpos.payment.dto.TossPaymentResponse;
+import org.example.cloudpos.payment.dto.TossWebhookRequest;
 import org.example.cloudpos.payment.service.TossPaymentService;
+import org.example.cloudpos.payment.service.TossWebhookService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -21,7 +23,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
- * Toss 결제 승인/취소 엔드포인트를 담당합니다.
+ * Toss 결제 승인/취소 및 결제 상태 웹훅 엔드포인트를 담당합니다.
  */
 @Slf4j
 @RestController
@@ -31,6 +33,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class TossPaymentController {
 
     private final TossPaymentService tossPaymentService;
+    private final TossWebhookService tossWebhookService;
 
     @Operation(
             summary = "Toss 결제 승인",
@@ -88,4 +91,21 @@ public class TossPaymentController {
         TossPaymentResponse response = tossPaymentService.cancelPayment(paymentKey, cancelReason, orderId);
         return ResponseEntity.ok(response);
     }
+
+    @Operation(
+            summary = "Toss 결제 상태 웹훅",
+            description = """
+                    Toss 결제 상태 변경(PAYMENT_STATUS_CHANGED) 웹훅을 접수합니다.
+                    중복 여부만 확인해 대기열에 넣고 바로 200 을 응답하며, 실제 반영은 비동기로 처리됩니다.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "접수 완료 (중복 포함)")
+    })
+    @PostMapping("/webhook")
+    public ResponseEntity<Void> webhook(@RequestBody TossWebhookRequest request) {
+        boolean accepted = tossWebhookService.accept(request);
+        log.debug("[POST] /payments/toss/webhook eventType={}, accepted={}", request.eventType(), accepted);
+        return ResponseEntity.ok().build();
+    }
 }
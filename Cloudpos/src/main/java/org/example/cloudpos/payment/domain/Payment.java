@@ -24,7 +24,13 @@ import java.util.UUID;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "payment")
+@Table(
+        name = "payment",
+        indexes = {
+                // 대사 작업이 상태·생성시각 구간을 (created_at, id) 순서로 훑는다.
+                @Index(name = "idx_payment_status_created", columnList = "payment_status, created_at, id")
+        }
+)
 public class Payment {
 
     @Id
@@ -41,8 +47,9 @@ public class Payment {
     @JoinColumn(name = "payment_method_id")
     private PaymentMethod paymentMethod;
 
+    // 이름으로 저장한다. 네이티브 enum 컬럼은 상태를 추가할 때마다 컬럼 변경이 필요하므로 varchar 로 고정한다.
     @Enumerated(EnumType.STRING)
-    @Column(name = "payment_status")
+    @Column(name = "payment_status", columnDefinition = "varchar(32)")
     private PaymentStatus paymentStatus;
 
     @Column(name = "amount_final")
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -14,6 +16,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Table(name = "payment_method")
+// 거의 변경되지 않는 참조 데이터 - 결제마다 반복되는 조회를 2차 캐시로 처리 (영역 설정: ehcache.xml)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "payment_method")
 public class PaymentMethod {
 
     @Id
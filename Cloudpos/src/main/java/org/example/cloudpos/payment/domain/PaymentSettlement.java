@@ -0,0 +1,72 @@
+package org.example.cloudpos.payment.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 일자·매장·결제수단별 정산 합계 엔티티
+ *
+ * 대사 작업이 결제 상태를 PG 와 맞춘 뒤 해당 일자의 결제를 집계해 기록합니다.
+ * 같은 일자를 다시 정산하면 그 일자의 행을 모두 다시 만듭니다.
+ *
+ *  - approvedCount/approvedAmount: 승인된 결제 (이후 취소된 결제 포함)
+ *  - canceledCount/canceledAmount: 그중 취소된 결제
+ *  - netAmount: 승인 금액 - 취소 금액
+ */
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Table(
+        name = "payment_settlement",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_payment_settlement_day_store_method",
+                columnNames = {"settlement_date", "inventory_id", "method"}
+        )
+)
+public class PaymentSettlement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "settlement_date", nullable = false)
+    private LocalDate settlementDate;
+
+    @Column(name = "inventory_id", nullable = false)
+    private String inventoryId; // 매장
+
+    @Column(nullable = false)
+    private String method; // 결제수단 코드 (없으면 Toss 결제수단명)
+
+    @Column(name = "approved_count", nullable = false)
+    private long approvedCount;
+
+    @Column(name = "approved_amount", nullable = false)
+    private long approvedAmount;
+
+    @Column(name = "canceled_count", nullable = false)
+    private long canceledCount;
+
+    @Column(name = "canceled_amount", nullable = false)
+    private long canceledAmount;
+
+    @Column(name = "net_amount", nullable = false)
+    private long netAmount;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
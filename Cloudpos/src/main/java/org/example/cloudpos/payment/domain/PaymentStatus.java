@@ -10,10 +10,16 @@ package org.example.cloudpos.payment.domain;
  * COMPLETED      : 결제 성공 및 완료된 상태
  * FAILED         : 결제 실패 (예: 카드 승인 거절 등)
  * CANCELED       : 결제 취소 (사용자 또는 관리자에 의한 취소)
+ * UNKNOWN        : 승인 요청을 보냈고 결과가 아직 확정되지 않음 (진행 중, 응답 타임아웃 등). 결제사 조회로 확정해야 함
+ * ABANDONED      : 제한 시간 안에 승인 요청이 없어 포기된 결제 (장바구니는 다시 열림)
+ *
+ * 상태 이름(문자열)으로 저장되므로 순서를 바꾸거나 중간에 추가해도 되지만, 이름은 바꾸지 않는다.
  */
 public enum PaymentStatus {
     BEFORE_PAYMENT, // 결제 전 상태
     COMPLETED,      // 결제 완료
     FAILED,         // 결제 실패
-    CANCELED        // 결제 취소
+    CANCELED,       // 결제 취소
+    UNKNOWN,        // 결과 미확인
+    ABANDONED       // 결제 시간 초과
 }
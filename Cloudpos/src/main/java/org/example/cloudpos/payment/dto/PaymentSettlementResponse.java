@@ -0,0 +1,29 @@
+package org.example.cloudpos.payment.dto;
+
+import org.example.cloudpos.payment.domain.PaymentSettlement;
+
+import java.time.LocalDate;
+
+public record PaymentSettlementResponse(
+        LocalDate settlementDate,
+        String inventoryId,
+        String method,
+        long approvedCount,
+        long approvedAmount,
+        long canceledCount,
+        long canceledAmount,
+        long netAmount
+) {
+    public static PaymentSettlementResponse from(PaymentSettlement settlement) {
+        return new PaymentSettlementResponse(
+                settlement.getSettlementDate(),
+                settlement.getInventoryId(),
+                settlement.getMethod(),
+                settlement.getApprovedCount(),
+                settlement.getApprovedAmount(),
+                settlement.getCanceledCount(),
+                settlement.getCanceledAmount(),
+                settlement.getNetAmount()
+        );
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.cloudpos.payment.dto;
+
+import org.example.cloudpos.payment.domain.PaymentStatus;
+
+/**
+ * 결제 상태 대기 API 응답. 노드 간 Pub/Sub 메시지로도 그대로 사용합니다.
+ */
+public record PaymentStatusResponse(
+        String orderId,
+        PaymentStatus status
+) {}
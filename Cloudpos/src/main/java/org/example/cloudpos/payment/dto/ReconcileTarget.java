@@ -0,0 +1,17 @@
+package org.example.cloudpos.payment.dto;
+
+import org.example.cloudpos.payment.domain.PaymentStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 대사 대상 결제의 요약 (엔티티를 영속성 컨텍스트에 올리지 않고 필요한 열만 조회).
+ */
+public record ReconcileTarget(
+        Long id,
+        String orderId,
+        PaymentStatus paymentStatus,
+        int amountFinal,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,27 @@
+package org.example.cloudpos.payment.dto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 대사 작업 결과 요약.
+ * {@code from}/{@code to}는 확정된 결제의 조회 구간입니다. (미확정 결제는 구간과 관계없이 조회)
+ *
+ * @param scanned    조회한 결제 수
+ * @param matched    PG 와 상태가 일치한 결제 수
+ * @param fixed      PG 기준으로 상태를 바로잡은 결제 수
+ * @param unresolved 자동으로 맞출 수 없어 확인이 필요한 결제 수 (금액 불일치, 실패 처리 후 승인 등)
+ * @param failed     PG 조회/반영 중 오류가 난 결제 수. 결제 대기/결과 미확인 결제는 다음 실행에서 다시 확인되고,
+ *                   확정된 결제는 해당 일자를 다시 실행해야 확인됩니다.
+ */
+public record ReconciliationResult(
+        LocalDateTime from,
+        LocalDateTime to,
+        long scanned,
+        long matched,
+        long fixed,
+        long unresolved,
+        long failed,
+        Duration elapsed
+) {
+}
@@ -0,0 +1,20 @@
+package org.example.cloudpos.payment.dto;
+
+/**
+ * 처리 대기열에 들어가는 웹훅 이벤트.
+ *
+ * @param paymentKey Toss 결제 키
+ * @param orderId    웹훅에 담긴 주문 ID (참고용, 반영 시에는 Toss 조회 결과를 사용)
+ * @param status     웹훅에 담긴 결제 상태
+ * @param attempts   처리 실패로 다시 넣은 횟수
+ */
+public record TossWebhookEvent(
+        String paymentKey,
+        String orderId,
+        String status,
+        int attempts
+) {
+    public TossWebhookEvent retried() {
+        return new TossWebhookEvent(paymentKey, orderId, status, attempts + 1);
+    }
+}
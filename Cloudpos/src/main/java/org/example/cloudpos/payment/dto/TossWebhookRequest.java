@@ -0,0 +1,22 @@
+package org.example.cloudpos.payment.dto;
+
+/**
+ * Toss 결제 상태 변경 웹훅 본문.
+ *
+ * <pre>
+ * {
+ *   "eventType": "PAYMENT_STATUS_CHANGED",
+ *   "createdAt": "2025-11-03T12:00:00.000000",
+ *   "data": { "paymentKey": "...", "orderId": "...", "status": "DONE", ... }
+ * }
+ * </pre>
+ *
+ * <p>{@code data}는 결제 조회 응답과 같은 형식이지만 위조될 수 있으므로 결제 키만 사용하고,
+ * 실제 상태는 처리 시점에 Toss 에서 다시 조회합니다.</p>
+ */
+public record TossWebhookRequest(
+        String eventType,
+        String createdAt,
+        TossPaymentResponse data
+) {
+}
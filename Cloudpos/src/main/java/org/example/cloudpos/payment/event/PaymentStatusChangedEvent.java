@@ -0,0 +1,15 @@
+package org.example.cloudpos.payment.event;
+
+import org.example.cloudpos.payment.domain.PaymentStatus;
+
+/**
+ * 결제 상태가 확정 상태(승인/실패/취소/시간 초과)로 바뀌었음을 알리는 결제 모듈 내부 이벤트.
+ *
+ * <p>상태를 바꾼 트랜잭션 안에서 발행되며, 주문 모듈 통보({@code PaymentOutApi})와 별개로
+ * 결제 모듈의 후속 처리(상태 대기 요청 깨우기 등)에 사용합니다.</p>
+ *
+ * @param orderId 주문 ID
+ * @param status  바뀐 결제 상태
+ */
+public record PaymentStatusChangedEvent(String orderId, PaymentStatus status) {
+}
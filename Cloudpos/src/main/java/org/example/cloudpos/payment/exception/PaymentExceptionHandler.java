@@ -0,0 +1,33 @@
+package org.example.cloudpos.payment.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice(basePackages = "org.example.cloudpos.payment")
+public class PaymentExceptionHandler {
+
+    public record ErrorResponse(
+            String code,
+            String message
+    ) {}
+
+    /**
+     * Toss 거절 → 400, 호출 불가 → 503 (잠시 후 재시도),
+     * 결과 미확인 → 202 (결제 상태는 대사 후 확정되므로 재결제하지 말고 상태를 조회해야 함)
+     */
+    @ExceptionHandler(TossPaymentException.class)
+    public ResponseEntity<ErrorResponse> handleToss(TossPaymentException ex) {
+        return switch (ex.getOutcome()) {
+            case DECLINED -> ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("TOSS_DECLINED", ex.getMessage()));
+            case UNAVAILABLE -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(new ErrorResponse("TOSS_UNAVAILABLE", "결제사 응답이 지연되고 있습니다. 잠시 후 다시 시도해주세요."));
+            case UNKNOWN -> ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(new ErrorResponse("PAYMENT_RESULT_UNKNOWN", "결제 결과를 확인 중입니다. 다시 결제하지 말고 결제 상태를 조회해주세요."));
+        };
+    }
+}
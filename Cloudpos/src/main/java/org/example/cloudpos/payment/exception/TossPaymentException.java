@@ -0,0 +1,34 @@
+package org.example.cloudpos.payment.exception;
+
+import lombok.Getter;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Toss API 호출 실패를 결과 확정 여부에 따라 분류한 예외.
+ */
+@Getter
+public class TossPaymentException extends RuntimeException {
+
+    public enum Outcome {
+        /** Toss 가 요청을 거절함 (4xx). 결제되지 않았음이 확실하다. */
+        DECLINED,
+        /** 요청을 보내지 못함 (서킷 오픈, 동시 호출 한도 초과, 연결 실패). 결제되지 않았음이 확실하다. */
+        UNAVAILABLE,
+        /** 요청은 보냈으나 결과를 받지 못함 (응답 타임아웃, 5xx 등). 결제되었을 수도 있다. */
+        UNKNOWN
+    }
+
+    private final Outcome outcome;
+
+    public TossPaymentException(Outcome outcome, String message, Throwable cause) {
+        super(message, cause);
+        this.outcome = outcome;
+    }
+
+    /**
+     * Toss 에 해당 결제가 없다는 응답(404)인지 여부.
+     */
+    public boolean isNotFound() {
+        return getCause() instanceof HttpClientErrorException.NotFound;
+    }
+}
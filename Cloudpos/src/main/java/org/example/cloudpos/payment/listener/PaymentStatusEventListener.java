@@ -0,0 +1,38 @@
+package org.example.cloudpos.payment.listener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cloudpos.payment.domain.PaymentStatus;
+import org.example.cloudpos.payment.event.PaymentStatusChangedEvent;
+import org.example.cloudpos.payment.service.PaymentStatusWatchService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 결제 상태 변경 이벤트({@link PaymentStatusChangedEvent})를 받아 결제 상태를 기다리는 요청을 깨우는 리스너.
+ *
+ * <p>커밋 이후에 발행해야 깨어난 클라이언트가 다시 조회해도 바뀐 상태를 봅니다.
+ * PUBLISH 한 번이라 별도 실행기 없이 커밋한 스레드에서 보내며,
+ * 발행 실패는 대기 요청이 제한 시간 후 다시 조회하므로 로그로만 남깁니다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentStatusEventListener {
+
+    private final PaymentStatusWatchService paymentStatusWatchService;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPaymentStatusChanged(PaymentStatusChangedEvent event) {
+        publish(event.orderId(), event.status());
+    }
+
+    private void publish(String orderId, PaymentStatus status) {
+        try {
+            paymentStatusWatchService.publish(orderId, status);
+        } catch (Exception e) {
+            log.error("결제 상태 발행 실패 - orderId: {}, status: {}", orderId, status, e);
+        }
+    }
+}
@@ -1,17 +1,31 @@
 package org.example.cloudpos.payment.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.cloudpos.payment.domain.PaymentMethod;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * 결제수단 조회 쿼리는 쿼리 캐시를 사용한다.
+ * payment_method 테이블이 변경되면 Hibernate 가 변경한 노드의 관련 쿼리 결과를 무효화하고,
+ * 다른 노드에는 캐시 만료(ehcache.xml, 60초) 후 반영된다.
+ */
 public interface PaymentMethodRepository extends JpaRepository<PaymentMethod, Long> {
 
     // 코드로 조회 (중복 등록 방지용)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<PaymentMethod> findByCode(String code);
 
     // 활성화된 결제수단만 조회
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<PaymentMethod> findByActiveTrue();
 
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<PaymentMethod> findAll();
+
 }
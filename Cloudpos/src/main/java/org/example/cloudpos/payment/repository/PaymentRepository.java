@@ -1,9 +1,18 @@
 package org.example.cloudpos.payment.repository;
 
 import org.example.cloudpos.payment.domain.Payment;
+import org.example.cloudpos.payment.domain.PaymentStatus;
+import org.example.cloudpos.payment.dto.ReconcileTarget;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -21,4 +30,48 @@ import java.util.Optional;
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Optional<Payment> findByOrderId(String  orderId);
 
+    /**
+     * 결제 상태만 조회합니다. (상태 대기 API 용, 결제수단 등 연관 엔티티를 읽지 않음)
+     */
+    @Query("select p.paymentStatus from Payment p where p.orderId = :orderId")
+    Optional<PaymentStatus> findStatusByOrderId(@Param("orderId") String orderId);
+
+    /**
+     * 현재 상태가 {@code from} 중 하나일 때만 {@code to}로 바꿉니다.
+     *
+     * <p>동기 승인 응답과 웹훅이 같은 결제를 동시에 처리해도 상태 전이와 주문 통보가 한 번만 일어나도록,
+     * 호출자는 반환값이 1일 때만 후속 처리를 합니다.</p>
+     *
+     * @return 변경된 행 수 (0 또는 1)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            update Payment p set p.paymentStatus = :to, p.updatedAt = local datetime
+             where p.orderId = :orderId and p.paymentStatus in :from
+            """)
+    int transition(@Param("orderId") String orderId,
+                   @Param("from") Collection<PaymentStatus> from,
+                   @Param("to") PaymentStatus to);
+
+    /**
+     * 상태·생성시각 구간의 결제를 (createdAt, id) 순으로 {@code after} 다음부터 조회합니다.
+     *
+     * <p>OFFSET 없이 마지막 행 위치로 다음 페이지를 찾으므로 {@code idx_payment_status_created}
+     * 인덱스만 따라 읽고, 뒤쪽 페이지도 앞쪽과 같은 비용으로 조회됩니다.</p>
+     */
+    @Query("""
+            select new org.example.cloudpos.payment.dto.ReconcileTarget(
+                       p.id, p.orderId, p.paymentStatus, p.amountFinal, p.createdAt)
+              from Payment p
+             where p.paymentStatus = :status
+               and p.createdAt < :to
+               and (p.createdAt > :afterCreatedAt or (p.createdAt = :afterCreatedAt and p.id > :afterId))
+             order by p.createdAt, p.id
+            """)
+    List<ReconcileTarget> findReconcileTargets(@Param("status") PaymentStatus status,
+                                               @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                               @Param("afterId") long afterId,
+                                               @Param("to") LocalDateTime to,
+                                               Limit limit);
+
 }
@@ -0,0 +1,21 @@
+package org.example.cloudpos.payment.repository;
+
+import org.example.cloudpos.payment.domain.PaymentSettlement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PaymentSettlementRepository extends JpaRepository<PaymentSettlement, Long> {
+
+    List<PaymentSettlement> findBySettlementDateOrderByInventoryIdAscMethodAsc(LocalDate settlementDate);
+
+    @Modifying
+    @Query("delete from PaymentSettlement s where s.settlementDate = :date")
+    int deleteBySettlementDate(@Param("date") LocalDate date);
+}
@@ -0,0 +1,333 @@
+package org.example.cloudpos.payment.service;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cloudpos.payment.client.TossPaymentClient;
+import org.example.cloudpos.payment.domain.PaymentStatus;
+import org.example.cloudpos.payment.dto.ReconcileTarget;
+import org.example.cloudpos.payment.dto.ReconciliationResult;
+import org.example.cloudpos.payment.dto.TossPaymentResponse;
+import org.example.cloudpos.payment.exception.TossPaymentException;
+import org.example.cloudpos.payment.repository.PaymentRepository;
+import org.example.cloudpos.shard.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h2>PaymentReconciliationService</h2>
+ *
+ * 내부 결제 상태를 PG(Toss) 기록과 대조해 바로잡고, 대조가 끝난 일자의 정산 합계를 만듭니다.
+ *
+ * <p><b>조회</b> — 상태별로 {@code idx_payment_status_created} 인덱스를 따라 (createdAt, id) 키셋 페이징합니다.
+ * 샤딩 환경에서는 샤드마다 차례로 훑습니다.</p>
+ * <ul>
+ *   <li>확정된 결제(승인/취소/실패/시간 초과)는 지정한 일자(생성 시각)의 결제만 조회합니다.</li>
+ *   <li>결제 대기/결과 미확인 결제는 일자와 관계없이 {@code stale-minutes} 보다 오래된 결제를 모두 조회합니다.
+ *       따라서 조회 실패 등으로 남은 결제는 다음 실행에서 다시 확인됩니다.</li>
+ * </ul>
+ *
+ * <p><b>PG 대조</b> — 한 페이지의 결제를 {@code reconcileExecutor}에서 병렬로 조회하되,
+ * {@code tossReconcileRateLimiter}로 초당 조회 수를 제한합니다. 페이지가 끝나야 다음 페이지를 읽으므로
+ * 메모리에는 한 페이지만 올라갑니다.</p>
+ * <ul>
+ *   <li>PG 상태와 다르면 {@link TossPaymentService#syncStatus}로 PG 기준으로 맞춥니다. (승인/취소/실패 통보 포함)</li>
+ *   <li>PG 에 기록이 없고 {@code stale-minutes} 이상 지난 결제 대기/결과 미확인 결제는 실패로 닫습니다.</li>
+ *   <li>금액 불일치, 실패 처리 후 PG 승인 등 자동으로 맞출 수 없는 경우는 오류 로그를 남기고 {@code unresolved}로 집계합니다.</li>
+ * </ul>
+ *
+ * <p><b>실행</b> — 매일 {@code cloudpos.payment.reconcile.cron}(기본 03:00)에 전날 결제를 대사/정산합니다.
+ * 관리 API 로 특정 일자를 다시 실행할 수 있습니다. 예약 실행과 관리 API 실행 모두 Redis 실행 잠금
+ * ({@code payment:reconcile:lock})을 얻은 한 노드에서만 실행되고, 예약 실행은 일자마다 한 번만 실행됩니다.</p>
+ *
+ * <p>메트릭: {@code cloudpos.payment.reconcile{result}}</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentReconciliationService {
+
+    /** 기본 대사 대상 상태 (FAILED 는 PG 에서 승인된 경우를 찾기 위해 포함) */
+    public static final Collection<PaymentStatus> ALL_STATUSES = EnumSet.allOf(PaymentStatus.class);
+
+    private static final EnumSet<PaymentStatus> PENDING = EnumSet.of(PaymentStatus.BEFORE_PAYMENT, PaymentStatus.UNKNOWN);
+    /** 미확정 결제 조회의 시작 시각 (일자와 관계없이 전부) */
+    private static final LocalDateTime PENDING_SINCE = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final String LOCK_KEY = "payment:reconcile:lock";
+    private static final String DAILY_KEY_PREFIX = "payment:reconcile:daily:";
+    private static final Duration LOCK_TTL = Duration.ofHours(12);
+
+    /** 잠금을 얻은 실행만 잠금을 푼다. (TTL 만료 후 다른 노드가 얻은 잠금은 지우지 않음) */
+    private static final RedisScript<Long> UNLOCK = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final PaymentRepository paymentRepository;
+    private final TossPaymentClient tossPaymentClient;
+    private final TossPaymentService tossPaymentService;
+    private final PaymentSettlementService paymentSettlementService;
+    private final ShardRouter shardRouter;
+    private final RateLimiter tossReconcileRateLimiter;
+    private final ThreadPoolTaskExecutor reconcileExecutor;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${cloudpos.payment.reconcile.page-size:500}")
+    private int pageSize;
+
+    @Value("${cloudpos.payment.reconcile.stale-minutes:30}")
+    private long staleMinutes;
+
+    /**
+     * 전날 결제를 대사하고 정산합니다.
+     */
+    @Scheduled(cron = "${cloudpos.payment.reconcile.cron:0 0 3 * * *}")
+    public void reconcileYesterday() {
+        LocalDate date = LocalDate.now().minusDays(1);
+        String token = lock();
+        if (token == null) {
+            log.warn("[대사 생략] 다른 실행이 진행 중, 관리 API 로 다시 실행 필요 date={}", date);
+            return;
+        }
+        Boolean first = redisTemplate.opsForValue().setIfAbsent(DAILY_KEY_PREFIX + date, "1", LOCK_TTL);
+        if (!Boolean.TRUE.equals(first)) {
+            log.info("[대사 생략] 다른 노드에서 완료됨 date={}", date);
+            unlock(token);
+            return;
+        }
+        runAndRelease(date, ALL_STATUSES, token);
+    }
+
+    /**
+     * 일자 단위 대사 후 정산을 이 노드의 별도 스레드에서 시작합니다. (관리 API)
+     *
+     * @return 이 노드나 다른 노드에서 이미 실행 중이면 {@code false}
+     */
+    public boolean startAsync(LocalDate date, Collection<PaymentStatus> statuses) {
+        String token = lock();
+        if (token == null) {
+            return false;
+        }
+        Thread.ofPlatform().name("payment-reconcile-" + date).start(() -> runAndRelease(date, statuses, token));
+        return true;
+    }
+
+    /**
+     * @return 잠금 토큰, 이미 실행 중이면 {@code null}
+     */
+    private String lock() {
+        if (!running.compareAndSet(false, true)) {
+            return null;
+        }
+        String token = UUID.randomUUID().toString();
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, LOCK_TTL))) {
+                return token;
+            }
+        } catch (RuntimeException e) {
+            log.warn("[대사 생략] 실행 잠금 확인 실패", e);
+        }
+        running.set(false);
+        return null;
+    }
+
+    private void unlock(String token) {
+        try {
+            redisTemplate.execute(UNLOCK, List.of(LOCK_KEY), token);
+        } catch (RuntimeException e) {
+            log.warn("[대사] 실행 잠금 해제 실패 (TTL 만료 후 해제됨)", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void runAndRelease(LocalDate date, Collection<PaymentStatus> statuses, String token) {
+        try {
+            ReconciliationResult result = reconcile(date.atStartOfDay(), date.plusDays(1).atStartOfDay(), statuses);
+            log.info("[대사 완료] {}", result);
+            shardRouter.eachShard(shard -> paymentSettlementService.settle(date));
+        } catch (RuntimeException e) {
+            log.error("[대사 실패] date={}", date, e);
+        } finally {
+            unlock(token);
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * 지정한 상태의 결제를 PG 와 대조합니다.
+     * 확정된 결제는 생성 시각이 {@code [from, to)}인 결제만, 미확정 결제는 {@code stale-minutes} 보다 오래된 결제를 모두 대조합니다.
+     */
+    public ReconciliationResult reconcile(LocalDateTime from, LocalDateTime to, Collection<PaymentStatus> statuses) {
+        long start = System.nanoTime();
+        Tally tally = new Tally();
+        LocalDateTime staleBefore = LocalDateTime.now().minusMinutes(staleMinutes);
+
+        shardRouter.eachShard(shard -> {
+            for (PaymentStatus status : statuses) {
+                if (PENDING.contains(status)) {
+                    reconcileStatus(status, PENDING_SINCE, staleBefore, staleBefore, tally);
+                } else {
+                    reconcileStatus(status, from, to, staleBefore, tally);
+                }
+            }
+        });
+
+        return new ReconciliationResult(from, to,
+                tally.scanned.sum(), tally.matched.sum(), tally.fixed.sum(), tally.unresolved.sum(), tally.failed.sum(),
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private void reconcileStatus(PaymentStatus status, LocalDateTime from, LocalDateTime to,
+                                 LocalDateTime staleBefore, Tally tally) {
+        LocalDateTime afterCreatedAt = from;
+        long afterId = 0;
+        while (true) {
+            List<ReconcileTarget> page = paymentRepository.findReconcileTargets(
+                    status, afterCreatedAt, afterId, to, Limit.of(pageSize));
+            if (page.isEmpty()) {
+                return;
+            }
+
+            CompletableFuture.allOf(page.stream()
+                    .map(target -> CompletableFuture.runAsync(() -> reconcileOne(target, staleBefore, tally), reconcileExecutor))
+                    .toArray(CompletableFuture[]::new)).join();
+
+            ReconcileTarget last = page.get(page.size() - 1);
+            afterCreatedAt = last.createdAt();
+            afterId = last.id();
+            if (page.size() < pageSize) {
+                return;
+            }
+        }
+    }
+
+    private void reconcileOne(ReconcileTarget target, LocalDateTime staleBefore, Tally tally) {
+        tally.scanned.increment();
+        try {
+            if (!tossReconcileRateLimiter.acquirePermission()) {
+                count(tally.failed, "failed");
+                return;
+            }
+
+            TossPaymentResponse toss;
+            try {
+                toss = tossPaymentClient.findByOrderId(target.orderId());
+            } catch (TossPaymentException e) {
+                if (e.isNotFound()) {
+                    reconcileMissing(target, staleBefore, tally);
+                    return;
+                }
+                log.warn("[대사 조회 실패] orderId={}, outcome={}, reason={}", target.orderId(), e.getOutcome(), e.getMessage());
+                count(tally.failed, "failed");
+                return;
+            }
+
+            PaymentStatus expected = expectedStatus(toss.getStatus());
+            if (expected == null || expected == settled(target.paymentStatus())) {
+                // PG 에서 아직 진행 중이거나 상태가 같다.
+                if (expected == PaymentStatus.COMPLETED && "DONE".equals(toss.getStatus())
+                        && toss.getTotalAmount() != target.amountFinal()) {
+                    log.error("[대사 불일치] 금액 다름 orderId={}, amount={}, pgAmount={}",
+                            target.orderId(), target.amountFinal(), toss.getTotalAmount());
+                    count(tally.unresolved, "unresolved");
+                    return;
+                }
+                count(tally.matched, "matched");
+                return;
+            }
+
+            if (tossPaymentService.syncStatus(target.orderId(), toss)) {
+                log.info("[대사 반영] orderId={}, {} -> {}", target.orderId(), target.paymentStatus(), expected);
+                count(tally.fixed, "fixed");
+            } else {
+                log.error("[대사 불일치] 자동 반영 불가 orderId={}, status={}, pgStatus={}",
+                        target.orderId(), target.paymentStatus(), toss.getStatus());
+                count(tally.unresolved, "unresolved");
+            }
+        } catch (RuntimeException e) {
+            log.warn("[대사 실패] orderId={}", target.orderId(), e);
+            count(tally.failed, "failed");
+        }
+    }
+
+    private void reconcileMissing(ReconcileTarget target, LocalDateTime staleBefore, Tally tally) {
+        if (settled(target.paymentStatus()) == PaymentStatus.FAILED) {
+            count(tally.matched, "matched");
+            return;
+        }
+        if (!PENDING.contains(target.paymentStatus())) {
+            log.error("[대사 불일치] PG 기록 없음 orderId={}, status={}", target.orderId(), target.paymentStatus());
+            count(tally.unresolved, "unresolved");
+            return;
+        }
+        if (target.createdAt().isAfter(staleBefore)) {
+            // 아직 결제 진행 중일 수 있다.
+            count(tally.matched, "matched");
+            return;
+        }
+        if (tossPaymentService.expireUnpaid(target.orderId())) {
+            count(tally.fixed, "fixed");
+        } else {
+            count(tally.matched, "matched");
+        }
+    }
+
+    /**
+     * Toss 결제 상태에 대응하는 내부 결제 상태. 진행 중인 상태는 {@code null}.
+     */
+    private static PaymentStatus expectedStatus(String tossStatus) {
+        return switch (tossStatus) {
+            case "DONE", "PARTIAL_CANCELED" -> PaymentStatus.COMPLETED;
+            case "CANCELED" -> PaymentStatus.CANCELED;
+            case "ABORTED", "EXPIRED" -> PaymentStatus.FAILED;
+            default -> null;
+        };
+    }
+
+    /**
+     * 결제되지 않은 채 끝난 상태(시간 초과 포함)는 PG 기준으로 실패와 같다.
+     */
+    private static PaymentStatus settled(PaymentStatus status) {
+        return status == PaymentStatus.ABANDONED ? PaymentStatus.FAILED : status;
+    }
+
+    private void count(LongAdder adder, String result) {
+        adder.increment();
+        meterRegistry.counter("cloudpos.payment.reconcile", "result", result).increment();
+    }
+
+    private static final class Tally {
+        final LongAdder scanned = new LongAdder();
+        final LongAdder matched = new LongAdder();
+        final LongAdder fixed = new LongAdder();
+        final LongAdder unresolved = new LongAdder();
+        final LongAdder failed = new LongAdder();
+    }
+}
@@ -10,11 +10,16 @@ import org.example.cloudpos.payment.domain.PaymentMethod;
 import org.example.cloudpos.payment.domain.PaymentStatus;
 import org.example.cloudpos.payment.dto.PaymentRequest;
 import org.example.cloudpos.payment.dto.PaymentResponse;
+import org.example.cloudpos.payment.event.PaymentStatusChangedEvent;
 import org.example.cloudpos.payment.repository.PaymentMethodRepository;
 import org.example.cloudpos.payment.repository.PaymentRepository;
+import org.example.cloudpos.shard.ShardKey;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.EnumSet;
+
 /**
  * <h2>PaymentService</h2>
  *
@@ -31,12 +36,16 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional(readOnly = true)
 public class PaymentService {
 
+    private static final EnumSet<PaymentStatus> IN_PROGRESS = EnumSet.of(PaymentStatus.BEFORE_PAYMENT, PaymentStatus.UNKNOWN);
+
     private final PaymentRepository paymentRepository;
     private final PaymentMethodRepository paymentMethodRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     //결제 생성, 주문생성시 함께 호출되어 Payment엔티티 생성
     @Transactional
-    public PaymentResponse createPayment(Order order, PaymentRequest request) {
+    public PaymentResponse createPayment(@ShardKey(value = ShardKey.Type.STORE, property = "inventoryId") Order order,
+                                         PaymentRequest request) {
         //결제 중복 방지
         if (paymentRepository.findByOrderId(order.getOrderId()).isPresent()) {
             throw new IllegalStateException("이미 결제가 생성된 주문입니다. orderId=" + order.getOrderId());
@@ -65,11 +74,46 @@ public class PaymentService {
         return PaymentResponse.from(payment);
     }
 
+    /**
+     * 제한 시간 안에 승인 요청이 없는 결제를 포기(ABANDONED) 처리합니다.
+     *
+     * @return 장바구니를 다시 열어도 되면 {@code true} (포기 처리했거나 결제가 생성되지 않음),
+     *         승인 요청이 진행 중이거나 이미 결과가 나온 결제면 {@code false}
+     */
+    @Transactional
+    public boolean abandon(@ShardKey(ShardKey.Type.ORDER) String orderId) {
+        if (paymentRepository.findByOrderId(orderId).isEmpty()) {
+            return true;
+        }
+        boolean abandoned = paymentRepository.transition(orderId,
+                EnumSet.of(PaymentStatus.BEFORE_PAYMENT), PaymentStatus.ABANDONED) == 1;
+        if (abandoned) {
+            log.info("[결제 시간 초과] orderId={}", orderId);
+            eventPublisher.publishEvent(new PaymentStatusChangedEvent(orderId, PaymentStatus.ABANDONED));
+        }
+        return abandoned;
+    }
+
+    /**
+     * 결제가 아직 끝나지 않았는지 여부. 결제가 생성되기 전이거나 승인 전, 결과 미확인이면 {@code true}.
+     */
+    public boolean isInProgress(@ShardKey(ShardKey.Type.ORDER) String orderId) {
+        return paymentRepository.findStatusByOrderId(orderId)
+                .map(IN_PROGRESS::contains)
+                .orElse(true);
+    }
+
     // 주문아이디로 결제조회
-    public PaymentResponse getPaymentByOrderId(String orderId) {
+    public PaymentResponse getPaymentByOrderId(@ShardKey(ShardKey.Type.ORDER) String orderId) {
         Payment payment = paymentRepository.findByOrderId(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 주문의 결제 정보를 찾을 수 없습니다. orderId=" + orderId));
 
         return PaymentResponse.from(payment);
     }
+
+    // 주문아이디로 결제 상태만 조회
+    public PaymentStatus getPaymentStatus(@ShardKey(ShardKey.Type.ORDER) String orderId) {
+        return paymentRepository.findStatusByOrderId(orderId)
+                .orElseThrow(() -> new IllegalArgumentException("해당 주문의 결제 정보를 찾을 수 없습니다. orderId=" + orderId));
+    }
 }
@@ -0,0 +1,81 @@
+package org.example.cloudpos.payment.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cloudpos.payment.domain.PaymentSettlement;
+import org.example.cloudpos.payment.repository.PaymentSettlementRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * <h2>PaymentSettlementService</h2>
+ *
+ * 하루 동안 생성된 결제를 매장·결제수단별로 집계해 {@link PaymentSettlement}로 기록합니다.
+ *
+ * <p>집계는 DB 에서 한 번의 GROUP BY 로 수행하며 {@code idx_payment_status_created} 인덱스 구간만 읽습니다.
+ * 결제수단은 등록된 결제수단 코드를 우선하고, 없으면 Toss 결제수단명을 사용합니다.</p>
+ *
+ * <p>현재 샤드의 결제만 집계하므로 샤딩 환경에서는 샤드마다 호출합니다.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentSettlementService {
+
+    private static final String AGGREGATE = """
+            SELECT o.inventory_id,
+                   COALESCE(pm.code, tp.method, 'UNKNOWN') AS method,
+                   COUNT(*),
+                   SUM(p.amount_final),
+                   SUM(CASE WHEN p.payment_status = 'CANCELED' THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN p.payment_status = 'CANCELED' THEN p.amount_final ELSE 0 END)
+              FROM payment p
+              JOIN orders o ON o.order_id = p.order_id
+              LEFT JOIN payment_method pm ON pm.id = p.payment_method_id
+              LEFT JOIN toss_payment tp ON tp.payment_id = p.id
+             WHERE p.payment_status IN ('COMPLETED', 'CANCELED')
+               AND p.created_at >= ? AND p.created_at < ?
+             GROUP BY o.inventory_id, method
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PaymentSettlementRepository paymentSettlementRepository;
+
+    /**
+     * 해당 일자의 정산 합계를 다시 계산해 저장합니다.
+     *
+     * @return 저장된 (매장, 결제수단) 행
+     */
+    @Transactional
+    public List<PaymentSettlement> settle(LocalDate date) {
+        List<PaymentSettlement> rows = jdbcTemplate.query(AGGREGATE, (rs, rowNum) -> {
+            long approvedAmount = rs.getLong(4);
+            long canceledAmount = rs.getLong(6);
+            return PaymentSettlement.builder()
+                    .settlementDate(date)
+                    .inventoryId(rs.getString(1))
+                    .method(rs.getString(2))
+                    .approvedCount(rs.getLong(3))
+                    .approvedAmount(approvedAmount)
+                    .canceledCount(rs.getLong(5))
+                    .canceledAmount(canceledAmount)
+                    .netAmount(approvedAmount - canceledAmount)
+                    .build();
+        }, Timestamp.valueOf(date.atStartOfDay()), Timestamp.valueOf(date.plusDays(1).atStartOfDay()));
+
+        paymentSettlementRepository.deleteBySettlementDate(date);
+        List<PaymentSettlement> saved = paymentSettlementRepository.saveAll(rows);
+        log.info("[정산 완료] date={}, rows={}", date, saved.size());
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public List<PaymentSettlement> find(LocalDate date) {
+        return paymentSettlementRepository.findBySettlementDateOrderByInventoryIdAscMethodAsc(date);
+    }
+}
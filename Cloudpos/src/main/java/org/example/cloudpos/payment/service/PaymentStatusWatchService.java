@@ -0,0 +1,161 @@
+package org.example.cloudpos.payment.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cloudpos.payment.domain.PaymentStatus;
+import org.example.cloudpos.payment.dto.PaymentStatusResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <h2>PaymentStatusWatchService</h2>
+ *
+ * 키오스크가 결제 결과를 기다리는 동안 요청을 {@link DeferredResult}로 보류했다가,
+ * 결제 상태가 바뀌면 바로 응답하는 롱 폴링 서비스입니다.
+ *
+ * <p><b>대기</b> ({@link #watch}) — 요청 스레드는 바로 반환되고 응답은 나중에 채워집니다.</p>
+ * <ul>
+ *   <li>대기자를 먼저 등록한 뒤 현재 상태를 확인해야 그 사이의 상태 변경을 놓치지 않습니다.</li>
+ *   <li>현재 상태는 Redis 의 최근 상태({@code payment:status:{orderId}})를 먼저 보고, 없을 때만 DB 를 조회합니다.
+ *       클라이언트가 이미 알고 있는 상태({@code after})와 다르면 즉시 응답합니다.</li>
+ *   <li>제한 시간({@code cloudpos.payment.watch.timeout-seconds}, 기본 25초) 안에 변경이 없으면 204 로 응답하고,
+ *       클라이언트는 같은 요청을 다시 보냅니다.</li>
+ * </ul>
+ *
+ * <p><b>깨우기</b> ({@link #publish}) — 결제 상태 변경({@code PaymentStatusChangedEvent})이 커밋된 뒤 호출됩니다.
+ * 최근 상태를 Redis 에 저장하고 {@code payment:status:channel} 로 PUBLISH 하면,
+ * 모든 노드가 구독 메시지를 받아 자신에게 보류된 해당 주문의 요청만 완료합니다. (노드 간 fan-out)</p>
+ *
+ * <p>메트릭: {@code cloudpos.payment.watchers} (보류 중인 요청 수)</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PaymentStatusWatchService {
+
+    private static final String CHANNEL = "payment:status:channel";
+    private static final String STATUS_KEY_PREFIX = "payment:status:";
+
+    private final PaymentService paymentService;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Set<Watcher>> watchers = new ConcurrentHashMap<>();
+
+    @Value("${cloudpos.payment.watch.timeout-seconds:25}")
+    private long timeoutSeconds;
+
+    @Value("${cloudpos.payment.watch.status-ttl-minutes:30}")
+    private long statusTtlMinutes;
+
+    @PostConstruct
+    void subscribeChannel() {
+        listenerContainer.addMessageListener(this::onMessage, new ChannelTopic(CHANNEL));
+        Gauge.builder("cloudpos.payment.watchers", watchers, w -> w.values().stream().mapToInt(Set::size).sum())
+                .register(meterRegistry);
+    }
+
+    /**
+     * 결제 상태가 {@code after}와 달라질 때까지 응답을 보류합니다.
+     *
+     * @param orderId 주문 ID
+     * @param after   클라이언트가 마지막으로 본 결제 상태
+     * @return 상태가 바뀌면 200(새 상태), 제한 시간이 지나면 204
+     */
+    public DeferredResult<ResponseEntity<PaymentStatusResponse>> watch(String orderId, PaymentStatus after) {
+        DeferredResult<ResponseEntity<PaymentStatusResponse>> result =
+                new DeferredResult<>(Duration.ofSeconds(timeoutSeconds).toMillis(), ResponseEntity.noContent().build());
+        Watcher watcher = new Watcher(after, result);
+
+        Set<Watcher> orderWatchers = watchers.computeIfAbsent(orderId, k -> ConcurrentHashMap.newKeySet());
+        orderWatchers.add(watcher);
+        result.onCompletion(() -> remove(orderId, watcher));
+
+        try {
+            watcher.offer(new PaymentStatusResponse(orderId, currentStatus(orderId)));
+        } catch (RuntimeException e) {
+            remove(orderId, watcher);
+            throw e;
+        }
+        return result;
+    }
+
+    /**
+     * 결제 상태 변경을 모든 노드의 대기 요청에 알립니다.
+     */
+    public void publish(String orderId, PaymentStatus status) {
+        redisTemplate.opsForValue().set(STATUS_KEY_PREFIX + orderId, status.name(), Duration.ofMinutes(statusTtlMinutes));
+        redisTemplate.convertAndSend(CHANNEL, write(new PaymentStatusResponse(orderId, status)));
+    }
+
+    private PaymentStatus currentStatus(String orderId) {
+        String cached = redisTemplate.opsForValue().get(STATUS_KEY_PREFIX + orderId);
+        return cached != null ? PaymentStatus.valueOf(cached) : paymentService.getPaymentStatus(orderId);
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        PaymentStatusResponse changed = read(new String(message.getBody(), StandardCharsets.UTF_8));
+        if (changed == null) {
+            return;
+        }
+        Set<Watcher> orderWatchers = watchers.get(changed.orderId());
+        if (orderWatchers != null) {
+            orderWatchers.forEach(w -> w.offer(changed));
+        }
+    }
+
+    private void remove(String orderId, Watcher watcher) {
+        watchers.computeIfPresent(orderId, (k, set) -> {
+            set.remove(watcher);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private String write(PaymentStatusResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("결제 상태 메시지 직렬화 실패", e);
+        }
+    }
+
+    private PaymentStatusResponse read(String json) {
+        try {
+            return objectMapper.readValue(json, PaymentStatusResponse.class);
+        } catch (JsonProcessingException e) {
+            log.error("결제 상태 메시지 역직렬화 실패 json={}", json, e);
+            return null;
+        }
+    }
+
+    /**
+     * 보류된 요청 1개. 클라이언트가 알고 있는 상태와 다른 상태가 오면 응답을 완료한다.
+     */
+    private record Watcher(PaymentStatus after, DeferredResult<ResponseEntity<PaymentStatusResponse>> result) {
+
+        void offer(PaymentStatusResponse current) {
+            if (current.status() != after) {
+                result.setResult(ResponseEntity.ok(current));
+            }
+        }
+    }
+}
@@ -4,22 +4,25 @@ package org.example.cloudpos.payment.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.cloudpos.payment.api.PaymentOutApi;
+import org.example.cloudpos.payment.client.TossPaymentClient;
 import org.example.cloudpos.payment.domain.Payment;
 import org.example.cloudpos.payment.domain.PaymentStatus;
 import org.example.cloudpos.payment.domain.TossPayment;
 import org.example.cloudpos.payment.dto.TossPaymentRequest;
 import org.example.cloudpos.payment.dto.TossPaymentResponse;
+import org.example.cloudpos.payment.event.PaymentStatusChangedEvent;
+import org.example.cloudpos.payment.exception.TossPaymentException;
 import org.example.cloudpos.payment.repository.PaymentRepository;
 import org.example.cloudpos.payment.repository.TossPaymentRepository;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
+import org.example.cloudpos.shard.ShardKey;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
-import java.nio.charset.StandardCharsets;
+
 import java.time.LocalDateTime;
-import java.util.Base64;
+import java.time.OffsetDateTime;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * <h2>TossPaymentService</h2>
@@ -37,150 +40,184 @@ import java.util.Base64;
 @Transactional(readOnly = true)
 public class TossPaymentService {
 
-    @Value("${toss.base-url}")
-    private String tossBaseUrl;
-
-    @Value("${toss.secret-key}")
-    private String secretKey;
-
-    private final RestTemplate restTemplate;
+    private final TossPaymentClient tossPaymentClient;
     private final TossPaymentRepository tossPaymentRepository;
     private final PaymentRepository paymentRepository;
     private final PaymentOutApi paymentOutApi;
+    private final ApplicationEventPublisher eventPublisher;
 
 
+    /** 아직 결과가 확정되지 않아 승인/실패로 전이할 수 있는 상태 */
+    private static final Set<PaymentStatus> PENDING = EnumSet.of(PaymentStatus.BEFORE_PAYMENT, PaymentStatus.UNKNOWN);
+
     //토스 결제 승인 요청
-    @Transactional
-    public TossPaymentResponse confirmPayment(TossPaymentRequest request) {
+    // 결과 미확인(UNKNOWN)으로 예외를 던질 때도 결제 상태 기록은 커밋되어야 한다.
+    @Transactional(noRollbackFor = TossPaymentException.class)
+    public TossPaymentResponse confirmPayment(@ShardKey(value = ShardKey.Type.ORDER, property = "orderId") TossPaymentRequest request) {
         log.info("[TOSS 결제 승인 요청] paymentKey={}, orderId={}, amount={}",
                 request.getPaymentKey(), request.getOrderId(), request.getAmount());
 
+        Payment payment = paymentRepository.findByOrderId(request.getOrderId())
+                .orElseThrow(() -> new IllegalArgumentException("해당 주문을 찾을 수 없습니다. orderId=" + request.getOrderId()));
+
+        // 승인 요청 중(결과 미확인)으로 표시한다. 행 잠금이 커밋까지 유지되므로
+        // 결제 시간 초과 정리나 같은 주문의 중복 승인 요청과 겹치지 않는다.
+        if (paymentRepository.transition(request.getOrderId(),
+                EnumSet.of(PaymentStatus.BEFORE_PAYMENT), PaymentStatus.UNKNOWN) == 0) {
+            throw new IllegalStateException("승인할 수 없는 결제 상태입니다. orderId=" + request.getOrderId()
+                    + ", status=" + payment.getPaymentStatus());
+        }
+
+        TossPaymentResponse body;
         try {
-            // 인증 헤더 생성
-            String encodedAuth = Base64.getEncoder()
-                    .encodeToString((secretKey + ":").getBytes(StandardCharsets.UTF_8));
+            body = tossPaymentClient.confirm(request);
+        } catch (TossPaymentException e) {
+            if (e.getOutcome() == TossPaymentException.Outcome.UNKNOWN) {
+                // 결제되었을 수 있으므로 장바구니를 되돌리지 않고 결과 확인 대상으로 남긴다.
+                log.warn("[TOSS 결제 승인 결과 미확인] orderId={}, reason={}", request.getOrderId(), e.getMessage());
+            } else if (e.getOutcome() == TossPaymentException.Outcome.UNAVAILABLE) {
+                // 요청이 결제사에 전달되지 않았고 클라이언트는 재시도(503)하므로, 실패 처리(장바구니 복구) 없이
+                // 결제 대기 상태로 되돌려 같은 주문으로 다시 승인할 수 있게 한다. 재시도가 없으면 결제 시간 초과 정리가 처리한다.
+                log.warn("[TOSS 결제 승인 보류] orderId={}, reason={}", request.getOrderId(), e.getMessage());
+                paymentRepository.transition(request.getOrderId(),
+                        EnumSet.of(PaymentStatus.UNKNOWN), PaymentStatus.BEFORE_PAYMENT);
+            } else {
+                log.error("[TOSS 결제 승인 실패] orderId={}, outcome={}, reason={}",
+                        request.getOrderId(), e.getOutcome(), e.getMessage());
+                markFailed(request.getOrderId());
+            }
+            throw e;
+        }
+
+        log.info("[TOSS 결제 승인 성공] paymentKey={}, status={}, totalAmount={}",
+                body.getPaymentKey(), body.getStatus(), body.getTotalAmount());
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", "Basic " + encodedAuth);
-            headers.setContentType(MediaType.APPLICATION_JSON);
+        // 여기부터의 오류는 결제가 이미 승인된 뒤이므로 실패 통보(장바구니 복구)를 하지 않는다.
+        markCompleted(payment, body);
 
-            HttpEntity<TossPaymentRequest> entity = new HttpEntity<>(request, headers);
+        return body;
+    }
 
-            // Toss 서버 결제 승인 API 호출
-            String confirmUrl = tossBaseUrl + "/confirm";
+    //결제 취소처리
+    @Transactional
+    public  TossPaymentResponse cancelPayment(String paymentKey, String cancelReason,
+                                             @ShardKey(ShardKey.Type.ORDER) String orderId){
+        log.info("[TOSS 결제 취소 요청] orderId={}, paymentKey={}, reason={}", orderId, paymentKey, cancelReason);
 
-            ResponseEntity<TossPaymentResponse> response = restTemplate.exchange(
-                    confirmUrl, HttpMethod.POST, entity, TossPaymentResponse.class
-            );
+        TossPayment tossPayment = tossPaymentRepository.findById(paymentKey)
+                .orElseThrow(() -> new IllegalArgumentException("해당 결제 정보를 찾을 수 없습니다. paymentKey=" + paymentKey));
 
-            TossPaymentResponse body = response.getBody();
-            if (body == null) {
-                throw new RuntimeException("Toss 결제 승인 응답이 비어있습니다.");
-            }
+        TossPaymentResponse body;
+        try {
+            body = tossPaymentClient.cancel(paymentKey, cancelReason);
+        } catch (TossPaymentException e) {
+            log.error("[TOSS 결제 취소 실패] orderId={}, outcome={}, reason={}", orderId, e.getOutcome(), e.getMessage());
+            throw e;
+        }
 
-            log.info("[TOSS 결제 승인 성공] paymentKey={}, status={}, totalAmount={}",
-                    body.getPaymentKey(), body.getStatus(), body.getTotalAmount());
+        log.info("[TOSS 결제 취소 성공] paymentKey={}, status={}", paymentKey, body.getStatus());
 
+        markCanceled(tossPayment, orderId);
 
+        return body;
+    }
 
-            //  Payment 조회
-            String orderId = body.getOrderId();
-            log.info("[Order ID 조회] 외부 orderId={}", orderId);
+    /**
+     * Toss 에서 조회한 결제 상태를 내부 결제에 반영합니다. (웹훅, 결과 미확인 결제 확인)
+     *
+     * <p>이미 같은 상태로 반영된 결제는 아무것도 하지 않으므로 같은 상태를 여러 번 반영해도 안전합니다.</p>
+     *
+     * @param orderId 주문 ID
+     * @param toss    Toss 결제 조회 결과
+     * @return 내부 결제 상태가 바뀌었으면 {@code true}
+     */
+    @Transactional
+    public boolean syncStatus(@ShardKey(ShardKey.Type.ORDER) String orderId, TossPaymentResponse toss) {
+        Payment payment = paymentRepository.findByOrderId(orderId).orElse(null);
+        if (payment == null) {
+            log.warn("[TOSS 상태 반영 생략] 결제 정보 없음 orderId={}, paymentKey={}", orderId, toss.getPaymentKey());
+            return false;
+        }
+        log.info("[TOSS 상태 반영] orderId={}, paymentKey={}, tossStatus={}, paymentStatus={}",
+                orderId, toss.getPaymentKey(), toss.getStatus(), payment.getPaymentStatus());
+
+        return switch (toss.getStatus()) {
+            case "DONE" -> markCompleted(payment, toss);
+            case "CANCELED" -> tossPaymentRepository.findById(toss.getPaymentKey())
+                    .map(tossPayment -> markCanceled(tossPayment, orderId))
+                    .orElseGet(() -> markFailed(orderId));
+            case "ABORTED", "EXPIRED" -> markFailed(orderId);
+            default -> {
+                tossPaymentRepository.findById(toss.getPaymentKey())
+                        .ifPresent(tossPayment -> tossPayment.updateStatus(toss.getStatus()));
+                yield false;
+            }
+        };
+    }
 
-            Payment payment = paymentRepository.findByOrderId(orderId)
-                    .orElseThrow(() -> new IllegalArgumentException("해당 주문을 찾을 수 없습니다. orderId=" + orderId));
+    /**
+     * PG 에 결제 기록이 없는 채로 오래 남은 결제를 실패로 닫습니다. (대사 작업)
+     *
+     * @return 내부 결제 상태가 바뀌었으면 {@code true}
+     */
+    @Transactional
+    public boolean expireUnpaid(@ShardKey(ShardKey.Type.ORDER) String orderId) {
+        log.info("[결제 만료] PG 결제 기록 없음 orderId={}", orderId);
+        return markFailed(orderId);
+    }
 
-            //  TossPayment 엔티티 생성 및 저장
-            TossPayment tossPayment = TossPayment.builder()
+    private boolean markCompleted(Payment payment, TossPaymentResponse body) {
+        TossPayment tossPayment = tossPaymentRepository.findById(body.getPaymentKey()).orElse(null);
+        if (tossPayment == null) {
+            tossPayment = tossPaymentRepository.save(TossPayment.builder()
                     .paymentKey(body.getPaymentKey())
                     .payment(payment)
                     .totalAmount(body.getTotalAmount())
                     .method(body.getMethod())
                     .status(body.getStatus())
                     .requestedAt(LocalDateTime.now())
-                    .approvedAt(LocalDateTime.parse(body.getApprovedAt()))
+                    .approvedAt(body.getApprovedAt() != null ? OffsetDateTime.parse(body.getApprovedAt()).toLocalDateTime() : null)
                     .isCancelable(true)
-                    .build();
-
-            tossPaymentRepository.save(tossPayment);
-            payment.updateStatus(PaymentStatus.COMPLETED);
-            log.info("[DB 저장 완료] paymentKey={}, totalAmount={}",
-                    tossPayment.getPaymentKey(), tossPayment.getTotalAmount());
-
-            paymentOutApi.onPaymentSuccess(request.getOrderId());
-
-            return body;
-
-        } catch (HttpClientErrorException e) {
-            String msg = e.getResponseBodyAsString() != null ? e.getResponseBodyAsString() : e.getMessage();
-            log.error("[TOSS 결제 승인 실패] {}", msg);
-            paymentOutApi.onPaymentFailure(request.getOrderId()); // 실패 통보
-            throw new RuntimeException("Toss 결제 승인 실패: " + msg);
-        } catch (Exception e) {
-            log.error("[서버 내부 오류] {}", e.getMessage(), e);
-            paymentOutApi.onPaymentFailure(request.getOrderId()); // 실패 통보
-            throw new RuntimeException("서버 내부 오류 발생: " + e.getMessage());
+                    .build());
+        } else {
+            tossPayment.updateStatus(body.getStatus());
         }
-    }
-
-    //결제 취소처리
-    @Transactional
-    public  TossPaymentResponse cancelPayment(String paymentKey, String cancelReason, String orderId){
-        log.info("[TOSS 결제 취소 요청] orderId={}, paymentKey={}, reason={}", orderId, paymentKey, cancelReason);
-
-        try{
-            //인증 헤더 생성
-            String encodedAuth = Base64.getEncoder()
-                    .encodeToString((secretKey + ":").getBytes(StandardCharsets.UTF_8));
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", "Basic " + encodedAuth);
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            String requestBody = String.format("{\"cancelReason\":\"%s\"}", cancelReason);
-            HttpEntity<String> entity = new HttpEntity<>(requestBody, headers);
-
-            //토스 결제 취소 API 호출
-            String cancelUrl = tossBaseUrl + "/" + paymentKey + "/cancel";
-
-            ResponseEntity<TossPaymentResponse> response = restTemplate.exchange(
-                    cancelUrl, HttpMethod.POST, entity, TossPaymentResponse.class
-            );
-
-            TossPaymentResponse body = response.getBody();
-            if (body == null) throw new RuntimeException("Toss 결제 취소 응답이 비어있습니다.");
 
-            log.info("[TOSS 결제 취소 성공] paymentKey={}, status={}", paymentKey, body.getStatus());
-
-            // DB 업데이트
-            TossPayment tossPayment = tossPaymentRepository.findById(paymentKey)
-                    .orElseThrow(() -> new IllegalArgumentException("해당 결제 정보를 찾을 수 없습니다. paymentKey=" + paymentKey));
+        if (paymentRepository.transition(payment.getOrderId(), PENDING, PaymentStatus.COMPLETED) == 0) {
+            log.info("[TOSS 승인 반영 생략] 이미 처리된 결제 orderId={}, paymentStatus={}",
+                    payment.getOrderId(), payment.getPaymentStatus());
+            return false;
+        }
+        log.info("[DB 저장 완료] paymentKey={}, totalAmount={}",
+                tossPayment.getPaymentKey(), tossPayment.getTotalAmount());
 
-            tossPayment.updateStatus("CANCELED");
-            tossPayment.updateCancelable(false);
+        paymentOutApi.onPaymentSuccess(payment.getOrderId());
+        eventPublisher.publishEvent(new PaymentStatusChangedEvent(payment.getOrderId(), PaymentStatus.COMPLETED));
+        return true;
+    }
 
-            Payment payment = tossPayment.getPayment();
-            payment.updateStatus(PaymentStatus.CANCELED);
+    private boolean markFailed(String orderId) {
+        if (paymentRepository.transition(orderId, PENDING, PaymentStatus.FAILED) == 0) {
+            return false;
+        }
+        paymentOutApi.onPaymentFailure(orderId); // 실패 통보
+        eventPublisher.publishEvent(new PaymentStatusChangedEvent(orderId, PaymentStatus.FAILED));
+        return true;
+    }
 
-            log.info("[DB 반영 완료] paymentKey={}, paymentStatus={}", paymentKey, payment.getPaymentStatus());
+    private boolean markCanceled(TossPayment tossPayment, String orderId) {
+        // DB 업데이트
+        tossPayment.updateStatus("CANCELED");
+        tossPayment.updateCancelable(false);
 
+        if (paymentRepository.transition(orderId, EnumSet.of(PaymentStatus.COMPLETED), PaymentStatus.CANCELED) == 1) {
+            log.info("[DB 반영 완료] paymentKey={}, paymentStatus={}", tossPayment.getPaymentKey(), PaymentStatus.CANCELED);
             // 주문 서비스에 결제 취소 통보
             paymentOutApi.onPaymentCanceled(orderId);
-
-            return body;
-
-
-
-        }catch (HttpClientErrorException e) {
-            String msg = e.getResponseBodyAsString() != null ? e.getResponseBodyAsString() : e.getMessage();
-            log.error("[TOSS 결제 취소 실패] {}", msg);
-            throw new RuntimeException("Toss 결제 취소 실패: " + msg);
-        } catch (Exception e) {
-            log.error("[서버 내부 오류] {}", e.getMessage(), e);
-            throw new RuntimeException("서버 내부 오류 발생: " + e.getMessage());
+            eventPublisher.publishEvent(new PaymentStatusChangedEvent(orderId, PaymentStatus.CANCELED));
+            return true;
         }
+        // 승인 통보 전에 취소된 결제(결과 미확인 등)는 결제 실패로 처리한다.
+        return markFailed(orderId);
     }
-
-
-
 }
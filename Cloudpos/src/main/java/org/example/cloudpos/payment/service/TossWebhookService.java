@@ -0,0 +1,292 @@
+package org.example.cloudpos.payment.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cloudpos.payment.client.TossPaymentClient;
+import org.example.cloudpos.payment.dto.TossPaymentResponse;
+import org.example.cloudpos.payment.dto.TossWebhookEvent;
+import org.example.cloudpos.payment.dto.TossWebhookRequest;
+import org.example.cloudpos.payment.exception.TossPaymentException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * <h2>TossWebhookService</h2>
+ *
+ * Toss 결제 상태 변경 웹훅을 접수하고 모아서 반영하는 서비스입니다.
+ *
+ * <p><b>접수</b> ({@link #accept}) — 요청 스레드에서는 Redis 스크립트 한 번만 실행하고 바로 응답합니다.</p>
+ * <ul>
+ *   <li>이미 반영한 (결제 키, 상태)의 기록({@code toss:webhook:seen:{paymentKey}:{status}})이 있으면 결제사 재전송으로 보고 버립니다.</li>
+ *   <li>처음 보는 이벤트만 {@code toss:webhook:queue} 리스트에 넣습니다. 확인과 추가는 하나의 Lua 스크립트로 실행됩니다.</li>
+ *   <li>웹훅 엔드포인트는 인증이 없으므로 접수 시점에는 중복 기록을 만들지 않습니다.
+ *       기록은 반영 단계에서 Toss 조회로 실제 결제임을 확인한 뒤에만 남깁니다.</li>
+ * </ul>
+ *
+ * <p><b>반영</b> ({@link #drain}) — 주기적으로 대기열에서 여러 건을 꺼내 처리합니다.</p>
+ * <ul>
+ *   <li>꺼낸 이벤트는 노드별 처리 중 리스트({@code toss:webhook:processing:{node}})로 옮기고({@code RPOPLPUSH}, {@code LMOVE RIGHT LEFT} 와 같음),
+ *       반영·재시도·폐기가 끝난 이벤트만 지웁니다(ack). 대기열은 왼쪽에 넣고 오른쪽에서 꺼냅니다.
+ *       노드가 처리 중에 종료되면 임대 키({@code toss:webhook:lease:{node}})가 만료된 뒤 다른 노드가 남은 이벤트를 대기열로 되돌립니다.</li>
+ *   <li>웹훅 본문은 위조될 수 있으므로 결제 키만 믿고, 현재 상태는 Toss 결제 조회 API 로 다시 확인합니다.</li>
+ *   <li>같은 배치 안의 같은 결제 키는 한 번만 조회하고, 이미 반영한 (결제 키, 상태)는 조회하지 않습니다. (재전송 폭주 시 Toss 호출 수 절감)</li>
+ *   <li>Toss 를 호출할 수 없으면 남은 이벤트를 그대로 되돌리고 다음 주기에 다시 시도합니다.
+ *       그 밖의 실패는 {@code max-attempts} 회까지 재시도하고, 이후에는 버립니다. (중복 기록이 없으므로 결제사 재전송은 다시 접수됩니다)</li>
+ * </ul>
+ *
+ * <p>설정: {@code cloudpos.toss.webhook.poll-ms}(1000), {@code batch-size}(100),
+ * {@code max-attempts}(5), {@code dedupe-ttl-hours}(96, Toss 재전송 기간보다 길게),
+ * {@code lease-seconds}(60, 처리 중인 노드의 생존 판단), {@code recover-ms}(60000)</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TossWebhookService {
+
+    private static final String QUEUE_KEY = "toss:webhook:queue";
+    private static final String SEEN_KEY_PREFIX = "toss:webhook:seen:";
+    private static final String PROCESSING_KEY_PREFIX = "toss:webhook:processing:";
+    private static final String LEASE_KEY_PREFIX = "toss:webhook:lease:";
+
+    /** KEYS[1]=중복 확인 키, KEYS[2]=대기열 / ARGV[1]=이벤트 JSON */
+    private static final RedisScript<Long> ENQUEUE_UNSEEN = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            redis.call('LPUSH', KEYS[2], ARGV[1])
+            return 1
+            """, Long.class);
+
+    /** KEYS[1]=대기열, KEYS[2]=처리 중 리스트 / ARGV[1]=최대 개수 */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM = new DefaultRedisScript<>("""
+            local claimed = {}
+            for i = 1, tonumber(ARGV[1]) do
+                local item = redis.call('RPOPLPUSH', KEYS[1], KEYS[2])
+                if not item then
+                    break
+                end
+                claimed[i] = item
+            end
+            return claimed
+            """, List.class);
+
+    /** KEYS[1]=처리 중 리스트, KEYS[2]=임대 키, KEYS[3]=대기열. 임대가 만료된 노드의 이벤트만 되돌린다. */
+    private static final RedisScript<Long> RECOVER = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[2]) == 1 then
+                return 0
+            end
+            local moved = 0
+            while redis.call('RPOPLPUSH', KEYS[1], KEYS[3]) do
+                moved = moved + 1
+            end
+            return moved
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final TossPaymentClient tossPaymentClient;
+    private final TossPaymentService tossPaymentService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${cloudpos.toss.webhook.batch-size:100}")
+    private int batchSize;
+
+    @Value("${cloudpos.toss.webhook.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${cloudpos.toss.webhook.dedupe-ttl-hours:96}")
+    private long dedupeTtlHours;
+
+    @Value("${cloudpos.toss.webhook.lease-seconds:60}")
+    private long leaseSeconds;
+
+    private final String node = UUID.randomUUID().toString();
+
+    /**
+     * 웹훅을 대기열에 넣습니다. 이미 반영한 (결제 키, 상태) 조합이면 무시합니다.
+     *
+     * @return 새로 접수했으면 {@code true}, 중복이면 {@code false}
+     */
+    public boolean accept(TossWebhookRequest request) {
+        TossPaymentResponse data = request.data();
+        if (data == null || data.getPaymentKey() == null || data.getStatus() == null) {
+            log.warn("[TOSS 웹훅 무시] 결제 키/상태 없음 eventType={}", request.eventType());
+            record("ignored");
+            return false;
+        }
+
+        TossWebhookEvent event = new TossWebhookEvent(data.getPaymentKey(), data.getOrderId(), data.getStatus(), 0);
+        Long added = redisTemplate.execute(ENQUEUE_UNSEEN,
+                List.of(seenKey(event.paymentKey(), event.status()), QUEUE_KEY), write(event));
+
+        boolean accepted = added != null && added == 1L;
+        record(accepted ? "accepted" : "duplicate");
+        return accepted;
+    }
+
+    /**
+     * 대기열의 웹훅을 배치 단위로 꺼내 결제 상태에 반영합니다.
+     */
+    @Scheduled(fixedDelayString = "${cloudpos.toss.webhook.poll-ms:1000}")
+    public void drain() {
+        redisTemplate.opsForValue().set(LEASE_KEY_PREFIX + node, "1", Duration.ofSeconds(leaseSeconds));
+        List<String> batch;
+        do {
+            batch = claim();
+            if (batch.isEmpty()) {
+                return;
+            }
+            if (!process(batch)) {
+                return;
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    /**
+     * 임대가 만료된(종료된) 노드가 처리하던 이벤트를 대기열로 되돌립니다.
+     */
+    @Scheduled(fixedDelayString = "${cloudpos.toss.webhook.recover-ms:60000}")
+    public void recover() {
+        ScanOptions options = ScanOptions.scanOptions().match(PROCESSING_KEY_PREFIX + "*").count(100).build();
+        List<String> keys = new ArrayList<>();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            cursor.forEachRemaining(keys::add);
+        }
+        for (String key : keys) {
+            String owner = key.substring(PROCESSING_KEY_PREFIX.length());
+            Long moved = redisTemplate.execute(RECOVER, List.of(key, LEASE_KEY_PREFIX + owner, QUEUE_KEY));
+            if (moved != null && moved > 0) {
+                log.warn("[TOSS 웹훅 복구] 종료된 노드 {}의 처리 중 이벤트 {}건을 대기열로 되돌림", owner, moved);
+                meterRegistry.counter("cloudpos.toss.webhooks", "result", "recovered").increment(moved);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> claim() {
+        List<String> claimed = redisTemplate.execute(CLAIM, List.of(QUEUE_KEY, processingKey()), String.valueOf(batchSize));
+        return (claimed == null) ? List.of() : claimed;
+    }
+
+    /**
+     * @return 다음 배치를 계속 처리해도 되면 {@code true}, Toss 를 호출할 수 없어 중단했으면 {@code false}
+     */
+    private boolean process(List<String> batch) {
+        Map<String, TossWebhookEvent> latest = new LinkedHashMap<>();
+        Map<String, List<String>> claimed = new LinkedHashMap<>();
+        for (String json : batch) {
+            TossWebhookEvent event = read(json);
+            if (event == null) {
+                ack(List.of(json));
+                continue;
+            }
+            latest.put(event.paymentKey(), event);
+            claimed.computeIfAbsent(event.paymentKey(), k -> new ArrayList<>()).add(json);
+        }
+
+        List<TossWebhookEvent> events = new ArrayList<>(latest.values());
+        for (int i = 0; i < events.size(); i++) {
+            TossWebhookEvent event = events.get(i);
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(seenKey(event.paymentKey(), event.status())))) {
+                record("duplicate");
+                ack(claimed.get(event.paymentKey()));
+                continue;
+            }
+            try {
+                TossPaymentResponse current = tossPaymentClient.find(event.paymentKey());
+                tossPaymentService.syncStatus(current.getOrderId(), current);
+                // Toss 에 있는 결제로 확인된 상태만 기록하므로 위조 웹훅은 키를 남기지 않는다.
+                redisTemplate.opsForValue().set(seenKey(current.getPaymentKey(), current.getStatus()), "1",
+                        Duration.ofHours(dedupeTtlHours));
+                record("applied");
+            } catch (TossPaymentException e) {
+                if (e.getOutcome() == TossPaymentException.Outcome.UNAVAILABLE) {
+                    log.warn("[TOSS 웹훅 보류] Toss 호출 불가, {}건을 다음 주기로 미룸: {}", events.size() - i, e.getMessage());
+                    events.subList(i, events.size()).forEach(pending -> {
+                        requeue(pending);
+                        ack(claimed.get(pending.paymentKey()));
+                    });
+                    return false;
+                }
+                if (e.getOutcome() == TossPaymentException.Outcome.DECLINED) {
+                    log.warn("[TOSS 웹훅 폐기] Toss 에서 결제를 찾을 수 없음 paymentKey={}, reason={}",
+                            event.paymentKey(), e.getMessage());
+                    record("rejected");
+                } else {
+                    retryOrDrop(event, e);
+                }
+            } catch (RuntimeException e) {
+                retryOrDrop(event, e);
+            }
+            ack(claimed.get(event.paymentKey()));
+        }
+        return true;
+    }
+
+    private void retryOrDrop(TossWebhookEvent event, RuntimeException cause) {
+        if (event.attempts() + 1 < maxAttempts) {
+            log.warn("[TOSS 웹훅 재시도] paymentKey={}, attempts={}, reason={}",
+                    event.paymentKey(), event.attempts() + 1, cause.getMessage());
+            requeue(event.retried());
+            record("retried");
+            return;
+        }
+        log.error("[TOSS 웹훅 처리 실패] paymentKey={}, orderId={}, status={}",
+                event.paymentKey(), event.orderId(), event.status(), cause);
+        record("dropped");
+    }
+
+    private void requeue(TossWebhookEvent event) {
+        redisTemplate.opsForList().leftPush(QUEUE_KEY, write(event));
+    }
+
+    private void ack(List<String> jsons) {
+        jsons.forEach(json -> redisTemplate.opsForList().remove(processingKey(), 1, json));
+    }
+
+    private void record(String result) {
+        meterRegistry.counter("cloudpos.toss.webhooks", "result", result).increment();
+    }
+
+    private static String seenKey(String paymentKey, String status) {
+        return SEEN_KEY_PREFIX + paymentKey + ":" + status;
+    }
+
+    private String processingKey() {
+        return PROCESSING_KEY_PREFIX + node;
+    }
+
+    private String write(TossWebhookEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("웹훅 이벤트 직렬화 실패", e);
+        }
+    }
+
+    private TossWebhookEvent read(String json) {
+        try {
+            return objectMapper.readValue(json, TossWebhookEvent.class);
+        } catch (JsonProcessingException e) {
+            log.error("[TOSS 웹훅 폐기] 역직렬화 실패 json={}", json, e);
+            return null;
+        }
+    }
+}
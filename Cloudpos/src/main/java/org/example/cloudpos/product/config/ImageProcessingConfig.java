@@ -0,0 +1,50 @@
+package org.example.cloudpos.product.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 상품 이미지 파생본(썸네일) 생성을 위한 전용 워커 풀 설정입니다.
+ *
+ * <p><b>설계</b></p>
+ * <ul>
+ * <li>요청 스레드(Tomcat)와 분리된 고정 크기 풀에서만 리사이즈/업로드를 수행합니다.</li>
+ * <li>큐 용량을 제한하여 대량 업로드 시에도 힙 사용량이 무한히 늘어나지 않습니다.</li>
+ * <li>큐가 가득 차면 호출 스레드에서 실행하지 않고 작업을 거절합니다.
+ *     거절되거나 실패한 이미지는 백필 작업이 나중에 다시 생성하며,
+ *     그때까지 응답에는 썸네일 URL 이 없어 클라이언트는 원본 {@code imageUrl}을 사용합니다.</li>
+ * </ul>
+ */
+@Configuration
+@EnableScheduling
+public class ImageProcessingConfig {
+
+    @Value("${cloud.aws.s3.derivatives.pool-size:2}")
+    private int poolSize;
+
+    @Value("${cloud.aws.s3.derivatives.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Bean(name = "imageDerivativeExecutor")
+    public ThreadPoolTaskExecutor imageDerivativeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-derivative-");
+        executor.setThreadPriority(Thread.MIN_PRIORITY);
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.setDaemon(true);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
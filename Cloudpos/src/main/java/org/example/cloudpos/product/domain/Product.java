@@ -5,6 +5,7 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 /**
  * 상품 정보를 나타내는 도메인 엔티티 클래스입니다.
@@ -29,11 +30,19 @@ import lombok.Setter;
  *   <li>{@link #status} — {@link ProductStatus} enum 저장 (기본값: ACTIVE)</li>
  * </ul>
  *
+ * <h3>버전</h3>
+ * <ul>
+ *   <li>{@link #version} — 수정될 때마다 JPA 가 증가시키는 카탈로그 버전 ({@link Version})</li>
+ *   <li>장바구니는 담을 때의 버전을 가격 스냅샷과 함께 보관하고, 결제 시작 시 버전만 비교해 바뀐 상품만 다시 조회합니다.</li>
+ * </ul>
+ *
  * <h3>이미지 관리</h3>
  *  * <ul>
  *  *   <li>{@link #imageUrl} — 상품의 대표 이미지 URL. 선택 입력 필드</li>
  *  *   <li>서버는 URL 존재 여부를 검증하지 않으며, 문자열만 저장합니다.</li>
  *  *   <li>예: {@code https://cdn.example.com/images/americano.jpg}</li>
+ *  *   <li>{@link #thumbnailSource} — 썸네일 생성이 끝난 이미지 URL. {@link #imageUrl}과 같을 때만 썸네일 URL 을 응답합니다.</li>
+ *  *   <li>{@link #thumbnailFailedSource} — 썸네일을 만들 수 없는 형식으로 확인된 이미지 URL. 백필에서 제외합니다.</li>
  *  * </ul>
  *
  * @author Esther
@@ -86,4 +95,25 @@ public class Product {
      */
     @Column(name = "image_url", length = 500)
     private String imageUrl;
+
+    /** 썸네일이 생성된 원본 이미지 URL (생성 전이거나 실패하면 null 또는 이전 이미지 URL) */
+    @Column(name = "thumbnail_source", length = 500)
+    private String thumbnailSource;
+
+    /** 디코딩할 수 없어 썸네일을 만들 수 없었던 이미지 URL (이미지가 바뀌면 다시 생성 대상이 됨) */
+    @Column(name = "thumbnail_failed_source", length = 500)
+    private String thumbnailFailedSource;
+
+    /**
+     * 현재 대표 이미지의 썸네일이 S3 에 생성되어 있는지 여부.
+     */
+    public boolean hasThumbnails() {
+        return imageUrl != null && imageUrl.equals(thumbnailSource);
+    }
+
+    /** 카탈로그 버전 (수정 시 자동 증가, JPA 를 거치지 않고 넣은 행은 0) */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
 }
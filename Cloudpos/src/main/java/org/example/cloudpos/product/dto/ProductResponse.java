@@ -2,6 +2,9 @@ package org.example.cloudpos.product.dto;
 
 import org.example.cloudpos.product.domain.ProductStatus;
 import org.example.cloudpos.product.domain.Product;
+import org.example.cloudpos.product.s3.ImageDerivativeKeys;
+
+import java.util.Map;
 
 /**
  * 상품 조회 또는 생성 결과를 반환하는 응답 DTO입니다.
@@ -16,6 +19,8 @@ import org.example.cloudpos.product.domain.Product;
  * @param name      상품명
  * @param price     가격(원 단위)
  * @param imageUrl  대표 이미지 URL (없을 수 있음)
+ * @param thumbnailUrls 폭별 썸네일 URL ({@code w160}, {@code w320}, {@code w640}).
+ *                      생성이 끝난 뒤에만 채워지며, 비어 있으면 원본 {@code imageUrl}을 사용합니다.
  *
  * @author Esther
  * @since 1.0
@@ -24,5 +29,16 @@ public record ProductResponse(
         String productId,
         String name,
         int price,
-        String imageUrl
-) {}
+        String imageUrl,
+        Map<String, String> thumbnailUrls
+) {
+    public static ProductResponse from(Product p) {
+        return new ProductResponse(
+                p.getProductId(),
+                p.getName(),
+                p.getPrice(),
+                p.getImageUrl(),
+                p.hasThumbnails() ? ImageDerivativeKeys.urlsOf(p.getImageUrl()) : Map.of()
+        );
+    }
+}
@@ -9,10 +9,12 @@ package org.example.cloudpos.product.dto;
  * @param productId 상품 식별자 (비즈니스용 ID)
  * @param name 상품명
  * @param price 상품 가격
+ * @param version 상품 카탈로그 버전 (수정 시 증가)
  * @since 1.0
  */
 public record ProductSummaryResponse(
         String productId,
         String name,
-        int price
+        int price,
+        long version
 ) {}
@@ -0,0 +1,14 @@
+package org.example.cloudpos.product.dto;
+
+/**
+ * 상품의 카탈로그 버전만 담은 데이터 전송 객체(DTO)입니다.
+ *
+ * <p>장바구니가 보관한 가격 스냅샷이 최신인지 확인할 때, 상품 전체 대신 버전만 한 번에 조회하는 용도로 사용됩니다.</p>
+ *
+ * @param productId 상품 식별자 (비즈니스용 ID)
+ * @param version 상품 카탈로그 버전
+ */
+public record ProductVersionResponse(
+        String productId,
+        long version
+) {}
@@ -2,10 +2,18 @@ package org.example.cloudpos.product.repository;
 
 import org.example.cloudpos.product.domain.ProductStatus;
 import org.example.cloudpos.product.domain.Product;
+import org.example.cloudpos.product.dto.ProductSummaryResponse;
+import org.example.cloudpos.product.dto.ProductVersionResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -26,6 +34,9 @@ import java.util.Optional;
  * <h3>커스텀 조회 메서드</h3>
  * <ul>
  *     <li>{@link #findByStatusNot(ProductStatus, Pageable)} — 특정 상태를 제외한 상품 목록 조회 (페이징)</li>
+ *     <li>{@link #findVersionsByProductIdIn(Collection)} — 여러 상품의 카탈로그 버전 일괄 조회</li>
+ *     <li>{@link #findSummariesByProductIdIn(Collection)} — 여러 상품의 요약 정보 일괄 조회</li>
+ *     <li>{@link #markThumbnailsReady(String)} / {@link #markThumbnailsUnsupported(String)} / {@link #findThumbnailPending} — 썸네일 생성 완료·불가 기록 및 미생성 상품 조회</li>
  * </ul>
  *
  * @author Esther
@@ -69,6 +80,65 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      */
     Optional<Product> findByProductId(String productId);
 
+    /**
+     * 여러 상품의 카탈로그 버전을 한 번에 조회합니다.
+     *
+     * <p>상품 전체를 읽지 않고 {@code productId}(UNIQUE 인덱스)와 버전만 가져오므로,
+     * 장바구니 가격 스냅샷의 최신 여부를 확인하는 용도로 사용합니다.</p>
+     *
+     * @param productIds 조회할 상품 식별자 목록
+     * @return 존재하는 상품의 (식별자, 버전) 목록
+     */
+    @Query("select new org.example.cloudpos.product.dto.ProductVersionResponse(p.productId, p.version)"
+            + " from Product p where p.productId in :productIds")
+    List<ProductVersionResponse> findVersionsByProductIdIn(@Param("productIds") Collection<String> productIds);
+
+    /**
+     * 여러 상품의 요약 정보를 한 번에 조회합니다.
+     *
+     * @param productIds 조회할 상품 식별자 목록
+     * @return 존재하는 상품의 요약 정보 목록
+     */
+    @Query("select new org.example.cloudpos.product.dto.ProductSummaryResponse(p.productId, p.name, p.price, p.version)"
+            + " from Product p where p.productId in :productIds")
+    List<ProductSummaryResponse> findSummariesByProductIdIn(@Param("productIds") Collection<String> productIds);
+
+    /**
+     * 이미지 URL 의 썸네일 생성이 끝났음을 기록합니다. (카탈로그 버전은 올리지 않음)
+     *
+     * @param imageUrl 썸네일을 생성한 원본 이미지 URL
+     * @return 갱신된 상품 수 (그 사이 이미지가 바뀌었으면 0)
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Product p set p.thumbnailSource = p.imageUrl where p.imageUrl = :imageUrl")
+    int markThumbnailsReady(@Param("imageUrl") String imageUrl);
+
+    /**
+     * 이미지 URL 이 썸네일을 만들 수 없는 형식임을 기록해 백필 대상에서 제외합니다. (카탈로그 버전은 올리지 않음)
+     *
+     * @param imageUrl 디코딩에 실패한 원본 이미지 URL
+     * @return 갱신된 상품 수 (그 사이 이미지가 바뀌었으면 0)
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Product p set p.thumbnailFailedSource = p.imageUrl where p.imageUrl = :imageUrl")
+    int markThumbnailsUnsupported(@Param("imageUrl") String imageUrl);
+
+    /**
+     * {@code afterId} 다음부터 썸네일이 아직 없는 업로드 이미지 상품을 PK 순으로 조회합니다. (백필용)
+     * 썸네일을 만들 수 없는 형식으로 기록된 이미지는 제외합니다.
+     *
+     * @param afterId   이전 배치의 마지막 PK
+     * @param urlPrefix 업로드 이미지 URL 접두사 ({@code like} 패턴)
+     */
+    @Query("select p from Product p where p.id > :afterId and p.imageUrl like :urlPrefix"
+            + " and (p.thumbnailSource is null or p.thumbnailSource <> p.imageUrl)"
+            + " and (p.thumbnailFailedSource is null or p.thumbnailFailedSource <> p.imageUrl) order by p.id")
+    List<Product> findThumbnailPending(@Param("afterId") long afterId,
+                                       @Param("urlPrefix") String urlPrefix,
+                                       Pageable pageable);
+
 
 
 }
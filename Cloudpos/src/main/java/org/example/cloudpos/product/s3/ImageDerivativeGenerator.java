@@ -0,0 +1,225 @@
+package org.example.cloudpos.product.s3;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.cloudpos.product.domain.Product;
+import org.example.cloudpos.product.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 업로드된 상품 이미지로부터 키오스크용 썸네일을 생성해 S3에 저장하는 컴포넌트입니다.
+ *
+ * <p>{@link S3Uploader#upload}가 원본 업로드 직후 {@link #submit(String, byte[])}를 호출하며,
+ * 실제 작업은 {@code imageDerivativeExecutor} 풀에서 비동기로 수행됩니다.
+ * 트랜잭션 안에서 호출되면 상품의 이미지 URL 이 커밋된 뒤에 등록합니다.</p>
+ *
+ * <ul>
+ * <li>{@link ImageDerivativeKeys#WIDTHS}의 각 폭으로 축소한 JPEG를 생성합니다. (원본보다 크게 확대하지 않음)</li>
+ * <li>투명 배경은 흰색으로 채웁니다.</li>
+ * <li>모든 폭을 올린 뒤 상품에 생성 완료를 기록합니다. ({@link ProductRepository#markThumbnailsReady})
+ *     응답은 기록된 뒤에만 썸네일 URL 을 포함합니다.</li>
+ * <li>디코딩할 수 없는 형식이면 상품에 기록하고 건너뜁니다. ({@link ProductRepository#markThumbnailsUnsupported})
+ *     백필은 이미지가 바뀔 때까지 다시 시도하지 않습니다.</li>
+ * <li>큐가 가득 차 거절되었거나 실패한 이미지는 {@link #backfill()}이
+ *     {@code cloud.aws.s3.derivatives.backfill-ms}(기본 10분)마다 S3 원본을 다시 읽어 생성합니다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class ImageDerivativeGenerator {
+
+    private static final float JPEG_QUALITY = 0.8f;
+
+    private final S3Client s3Client;
+    private final TaskExecutor executor;
+    private final ProductRepository productRepository;
+
+    /** 큐에 있거나 처리 중인 원본 키 (중복 등록 방지) */
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    /** 백필이 마지막으로 확인한 상품 PK. 끝까지 확인하면 처음부터 다시 확인한다. */
+    private volatile long backfillCursor;
+
+    @Value("${cloud.aws.s3.bucket}")
+    private String bucket;
+
+    @Value("${cloud.aws.s3.derivatives.backfill-batch-size:20}")
+    private int backfillBatchSize;
+
+    public ImageDerivativeGenerator(S3Client s3Client,
+                                    @Qualifier("imageDerivativeExecutor") TaskExecutor executor,
+                                    ProductRepository productRepository) {
+        this.s3Client = s3Client;
+        this.executor = executor;
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * 원본 이미지의 파생본 생성을 워커 풀에 등록한다.
+     *
+     * @param originalKey 원본 오브젝트 키
+     * @param original    원본 이미지 바이트 (요청 종료 후에도 사용할 수 있도록 미리 읽어 둔 값)
+     */
+    public void submit(String originalKey, byte[] original) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(originalKey, () -> original);
+                }
+            });
+        } else {
+            enqueue(originalKey, () -> original);
+        }
+    }
+
+    /**
+     * 썸네일이 없는 업로드 이미지 상품을 한 배치씩 찾아 S3 원본으로 다시 생성한다.
+     */
+    @Scheduled(initialDelayString = "${cloud.aws.s3.derivatives.backfill-ms:600000}",
+            fixedDelayString = "${cloud.aws.s3.derivatives.backfill-ms:600000}")
+    public void backfill() {
+        List<Product> pending = productRepository.findThumbnailPending(backfillCursor, urlPrefix() + "%",
+                PageRequest.of(0, backfillBatchSize));
+        backfillCursor = (pending.size() < backfillBatchSize) ? 0 : pending.get(pending.size() - 1).getId();
+
+        for (Product p : pending) {
+            String key = ImageDerivativeKeys.keyOf(p.getImageUrl());
+            if (!enqueue(key, () -> s3Client.getObjectAsBytes(b -> b.bucket(bucket).key(key)).asByteArray())) {
+                break;
+            }
+        }
+        if (!pending.isEmpty()) {
+            log.info("썸네일 백필 등록 - {}건", pending.size());
+        }
+    }
+
+    /**
+     * @return 큐가 가득 차 거절되었으면 {@code false}
+     */
+    private boolean enqueue(String originalKey, ImageSource source) {
+        if (!inFlight.add(originalKey)) {
+            return true;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(originalKey, source);
+                } finally {
+                    inFlight.remove(originalKey);
+                }
+            });
+            return true;
+        } catch (TaskRejectedException e) {
+            inFlight.remove(originalKey);
+            log.warn("이미지 파생본 작업 큐가 가득 차 건너뜁니다. 백필에서 다시 생성합니다. key={}", originalKey);
+            return false;
+        }
+    }
+
+    private String urlPrefix() {
+        return "https://" + bucket + ImageDerivativeKeys.S3_HOST_SUFFIX;
+    }
+
+    @FunctionalInterface
+    private interface ImageSource {
+        byte[] read();
+    }
+
+    /**
+     * 원본 키에 해당하는 모든 파생본을 삭제한다.
+     */
+    public void deleteAll(String originalKey) {
+        for (int width : ImageDerivativeKeys.WIDTHS) {
+            String key = ImageDerivativeKeys.derivativeKey(originalKey, width);
+            s3Client.deleteObject(b -> b.bucket(bucket).key(key));
+        }
+    }
+
+    private void generate(String originalKey, ImageSource original) {
+        long start = System.currentTimeMillis();
+        try {
+            BufferedImage source = ImageIO.read(new ByteArrayInputStream(original.read()));
+            if (source == null) {
+                log.warn("썸네일 생성 건너뜀 - 지원하지 않는 이미지 형식: {}", originalKey);
+                productRepository.markThumbnailsUnsupported(urlPrefix() + originalKey);
+                return;
+            }
+
+            for (int width : ImageDerivativeKeys.WIDTHS) {
+                byte[] jpeg = toJpeg(resize(source, width));
+                PutObjectRequest request = PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(ImageDerivativeKeys.derivativeKey(originalKey, width))
+                        .contentType("image/jpeg")
+                        .cacheControl("public, max-age=31536000, immutable")
+                        .build();
+                s3Client.putObject(request, RequestBody.fromBytes(jpeg));
+            }
+
+            productRepository.markThumbnailsReady(urlPrefix() + originalKey);
+            log.info("썸네일 생성 완료 - key: {}, took={}ms", originalKey, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("썸네일 생성 실패 - key: {}", originalKey, e);
+        }
+    }
+
+    private BufferedImage resize(BufferedImage source, int targetWidth) {
+        int width = Math.min(targetWidth, source.getWidth());
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private byte[] toJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
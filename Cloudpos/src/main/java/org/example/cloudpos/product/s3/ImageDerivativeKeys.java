@@ -0,0 +1,67 @@
+package org.example.cloudpos.product.s3;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 상품 이미지 파생본(썸네일)의 고정 크기와 S3 키 규칙을 정의하는 유틸리티입니다.
+ *
+ * <p>파생본은 원본과 같은 디렉터리에 다음 규칙으로 저장됩니다.</p>
+ * <pre>
+ * 원본   : products/{uuid}_{name}.png
+ * 파생본 : products/{uuid}_{name}_w160.jpg, _w320.jpg, _w640.jpg
+ * </pre>
+ *
+ * <p>키가 원본 URL만으로 결정되므로 DB에 별도 컬럼 없이
+ * 응답 DTO에서 파생본 URL을 바로 계산할 수 있습니다.
+ * {@link S3Uploader}가 업로드한 이미지가 아닌 외부 URL에는 파생본이 없으므로 빈 맵을 반환합니다.</p>
+ */
+public final class ImageDerivativeKeys {
+
+    /** 생성되는 썸네일의 가로 폭(px) */
+    public static final List<Integer> WIDTHS = List.of(160, 320, 640);
+
+    static final String S3_HOST_SUFFIX = ".s3.ap-northeast-2.amazonaws.com/";
+
+    private ImageDerivativeKeys() {
+    }
+
+    /**
+     * 원본 오브젝트 키로부터 지정 폭의 파생본 키를 만든다.
+     */
+    public static String derivativeKey(String originalKey, int width) {
+        int slash = originalKey.lastIndexOf('/');
+        int dot = originalKey.lastIndexOf('.');
+        String base = (dot > slash) ? originalKey.substring(0, dot) : originalKey;
+        return base + "_w" + width + ".jpg";
+    }
+
+    /**
+     * 업로드 이미지 URL 에서 오브젝트 키를 꺼낸다. 업로드 이미지가 아니면 {@code null}.
+     */
+    public static String keyOf(String imageUrl) {
+        if (imageUrl == null) {
+            return null;
+        }
+        int at = imageUrl.indexOf(S3_HOST_SUFFIX);
+        return (at < 0) ? null : imageUrl.substring(at + S3_HOST_SUFFIX.length());
+    }
+
+    /**
+     * 원본 이미지 URL로부터 폭별 파생본 URL 맵을 만든다.
+     * 키는 {@code w160}, {@code w320} 형식이며 작은 크기부터 정렬된다.
+     */
+    public static Map<String, String> urlsOf(String imageUrl) {
+        if (imageUrl == null || !imageUrl.contains(S3_HOST_SUFFIX)) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (int width : WIDTHS) {
+            urls.put("w" + width, derivativeKey(imageUrl, width));
+        }
+        return Collections.unmodifiableMap(urls);
+    }
+}
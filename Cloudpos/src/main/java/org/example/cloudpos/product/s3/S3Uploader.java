@@ -17,6 +17,7 @@ import java.util.UUID;
 public class S3Uploader {
 
     private final S3Client s3Client;
+    private final ImageDerivativeGenerator derivativeGenerator;
 
     @Value("${cloud.aws.s3.bucket}")
     private String bucket;
@@ -26,16 +27,20 @@ public class S3Uploader {
         String fileName = dirName + "/" + UUID.randomUUID() + "_" + file.getOriginalFilename();
 
         try {
+            // 요청이 끝나면 임시 파일이 정리되므로 파생본 생성용으로 바이트를 미리 읽어 둔다.
+            byte[] bytes = file.getBytes();
+
             PutObjectRequest request = PutObjectRequest.builder()
                     .bucket(bucket)
                     .key(fileName)
                     .contentType(file.getContentType())
                     .build();
 
-            s3Client.putObject(
-                    request,
-                    RequestBody.fromInputStream(file.getInputStream(), file.getSize())
-            );
+            s3Client.putObject(request, RequestBody.fromBytes(bytes));
+
+            if (file.getContentType() != null && file.getContentType().startsWith("image/")) {
+                derivativeGenerator.submit(fileName, bytes);
+            }
 
         } catch (IOException e) {
             throw new RuntimeException("S3 업로드 실패", e);
@@ -76,6 +81,7 @@ public class S3Uploader {
     /**
      * S3 객체 삭제
      * - imageUrl 이 full URL이든 key든 모두 처리
+     * - 원본과 함께 썸네일 파생본도 삭제
      * - null/빈 값이면 아무것도 안 함
      */
     public void delete(String imageUrl) {
@@ -92,6 +98,7 @@ public class S3Uploader {
                 .bucket(bucket)
                 .key(key)
         );
+        derivativeGenerator.deleteAll(key);
     }
 }
 
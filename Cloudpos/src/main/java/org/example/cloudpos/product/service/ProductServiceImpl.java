@@ -80,7 +80,7 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public ProductResponse get(String productId) {
         Product p = repo.findByProductId(productId).orElseThrow(() -> new ProductNotFoundException(productId));
-        return new ProductResponse(p.getProductId(), p.getName(), p.getPrice(), p.getImageUrl());
+        return ProductResponse.from(p);
     }
 
     /**
@@ -114,7 +114,7 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public Page<ProductResponse> list(Pageable pageable) {
         return repo.findByStatusNot(ProductStatus.ARCHIVED, pageable)
-                .map(p -> new ProductResponse(p.getProductId(), p.getName(), p.getPrice(), p.getImageUrl()));
+                .map(ProductResponse::from);
     }
 
     /**
@@ -186,14 +186,7 @@ public class ProductServiceImpl implements ProductService {
 
         return repo.findByNameContainingIgnoreCaseAndStatusNot(
                         keyword, ProductStatus.ARCHIVED, pageable)
-                .map(p ->
-                        new ProductResponse(
-                                p.getProductId(),
-                                p.getName(),
-                                p.getPrice(),
-                                p.getImageUrl()
-                        )
-                );
+                .map(ProductResponse::from);
 
     }
 
@@ -217,7 +210,8 @@ public class ProductServiceImpl implements ProductService {
         return new ProductSummaryResponse(
                 p.getProductId(),
                 p.getName(),
-                p.getPrice()
+                p.getPrice(),
+                p.getVersion()
         );
     }
 
@@ -0,0 +1,64 @@
+package org.example.cloudpos.sales.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.cloudpos.sales.dto.DailySalesResponse;
+import org.example.cloudpos.sales.dto.HourlySalesResponse;
+import org.example.cloudpos.sales.dto.TopProductResponse;
+import org.example.cloudpos.sales.service.SalesDashboardService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 매장 매출 대시보드 API.
+ *
+ * <p>모든 조회는 사전 집계된 롤업 테이블만 사용합니다.</p>
+ */
+@RestController
+@RequestMapping("/api/sales")
+@RequiredArgsConstructor
+public class SalesDashboardController {
+
+    private final SalesDashboardService salesDashboardService;
+
+    @Operation(summary = "시간대별 매출", description = "지정한 날짜의 시간대별 주문 수, 판매 수량, 매출을 조회합니다.")
+    @ApiResponse(responseCode = "200", description = "조회 성공")
+    @GetMapping("/{inventoryId}/hourly")
+    public List<HourlySalesResponse> hourly(
+            @PathVariable String inventoryId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return salesDashboardService.hourly(inventoryId, date);
+    }
+
+    @Operation(summary = "일자별 매출", description = "기간 [from, to] 의 일자별 주문 수, 판매 수량, 매출을 조회합니다. (최대 93일)")
+    @ApiResponse(responseCode = "200", description = "조회 성공")
+    @GetMapping("/{inventoryId}/daily")
+    public List<DailySalesResponse> daily(
+            @PathVariable String inventoryId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return salesDashboardService.daily(inventoryId, from, to);
+    }
+
+    @Operation(summary = "인기 상품", description = "기간 [from, to] 의 판매 수량 상위 상품을 조회합니다.")
+    @ApiResponse(responseCode = "200", description = "조회 성공")
+    @GetMapping("/{inventoryId}/top-products")
+    public List<TopProductResponse> topProducts(
+            @PathVariable String inventoryId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return salesDashboardService.topProducts(inventoryId, from, to, limit);
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.cloudpos.sales.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.cloudpos.sales.dto.SalesExportFormat;
+import org.example.cloudpos.sales.service.SalesExportService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+/**
+ * 매출 데이터 내보내기 API.
+ */
+@RestController
+@RequestMapping("/api/sales")
+@RequiredArgsConstructor
+public class SalesExportController {
+
+    private final SalesExportService salesExportService;
+
+    @Operation(
+            summary = "매장 매출 내보내기",
+            description = """
+                    매장(inventoryId)과 기간 [from, to) 에 해당하는 주문/주문상품/결제 데이터를
+                    주문상품 1건당 1행으로 CSV 또는 NDJSON 으로 스트리밍합니다.
+                    기간은 최대 93일까지 지정할 수 있습니다.
+                    """
+    )
+    @ApiResponse(responseCode = "200", description = "내보내기 성공")
+    @GetMapping("/{inventoryId}/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String inventoryId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "CSV") SalesExportFormat format
+    ) {
+
+        StreamingResponseBody body = salesExportService.export(inventoryId, from, to, format);
+        String fileName = "sales_" + inventoryId + "_" + from.toLocalDate() + "_" + to.toLocalDate() + "." + format.extension();
+
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.cloudpos.sales.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 매장·시간(hour) 단위로 미리 집계한 매출 롤업.
+ *
+ * <p>결제 성공/취소 이벤트마다 upsert 로 증분 갱신되며,
+ * 대시보드 조회는 {@code orders} 대신 이 테이블만 읽습니다.</p>
+ *
+ * <ul>
+ *   <li>{@code orderCount}: 결제 완료 주문 수</li>
+ *   <li>{@code itemCount}: 판매 수량 합계</li>
+ *   <li>{@code revenue}: 할인 반영 후 주문 금액 합계</li>
+ * </ul>
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(
+        name = "sales_hourly_rollup",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"inventory_id", "bucket_hour"})
+        }
+)
+public class SalesHourlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "inventory_id", nullable = false, length = 26)
+    private String inventoryId;
+
+    @Column(name = "bucket_hour", nullable = false)
+    private LocalDateTime bucketHour;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+
+    @Column(name = "revenue", nullable = false)
+    private long revenue;
+}
@@ -0,0 +1,47 @@
+package org.example.cloudpos.sales.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 매장·일자·상품 단위로 미리 집계한 판매 롤업.
+ *
+ * <p>인기 상품(top products) 조회에 사용됩니다.
+ * {@code revenue}는 할인 전 금액(단가 × 수량) 기준입니다.</p>
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(
+        name = "sales_product_rollup",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"inventory_id", "bucket_date", "product_id"})
+        }
+)
+public class SalesProductRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "inventory_id", nullable = false, length = 26)
+    private String inventoryId;
+
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(name = "product_id", nullable = false, length = 26)
+    private String productId;
+
+    @Column(name = "product_name", nullable = false)
+    private String productName;
+
+    @Column(name = "quantity", nullable = false)
+    private long quantity;
+
+    @Column(name = "revenue", nullable = false)
+    private long revenue;
+}
@@ -0,0 +1,41 @@
+package org.example.cloudpos.sales.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 롤업에 반영된 결제 이벤트 기록.
+ *
+ * <p>(주문 ID, 이벤트 종류) 조합이 유일하므로 같은 이벤트가 여러 번 전달되어도
+ * 롤업에는 한 번만 반영됩니다.</p>
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(
+        name = "sales_rollup_ledger",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"order_id", "event_type"})
+        }
+)
+public class SalesRollupLedger {
+
+    public static final String SUCCESS = "SUCCESS";
+    public static final String CANCELED = "CANCELED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false, length = 26)
+    private String orderId;
+
+    @Column(name = "event_type", nullable = false, length = 16)
+    private String eventType;
+
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+}
@@ -0,0 +1,18 @@
+package org.example.cloudpos.sales.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 일자별 매출 응답 DTO.
+ *
+ * @param date       집계 일자
+ * @param orderCount 결제 완료 주문 수
+ * @param itemCount  판매 수량
+ * @param revenue    매출 금액(할인 반영)
+ */
+public record DailySalesResponse(
+        LocalDate date,
+        long orderCount,
+        long itemCount,
+        long revenue
+) {}
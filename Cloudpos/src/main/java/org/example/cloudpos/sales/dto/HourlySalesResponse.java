@@ -0,0 +1,18 @@
+package org.example.cloudpos.sales.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시간대별 매출 응답 DTO.
+ *
+ * @param hour       집계 시간대 시작 시각 (정시)
+ * @param orderCount 결제 완료 주문 수
+ * @param itemCount  판매 수량
+ * @param revenue    매출 금액(할인 반영)
+ */
+public record HourlySalesResponse(
+        LocalDateTime hour,
+        long orderCount,
+        long itemCount,
+        long revenue
+) {}
@@ -0,0 +1,26 @@
+package org.example.cloudpos.sales.dto;
+
+import org.springframework.http.MediaType;
+
+/**
+ * 매출 내보내기 출력 형식.
+ */
+public enum SalesExportFormat {
+
+    CSV(new MediaType("text", "csv")),
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    private final MediaType mediaType;
+
+    SalesExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.cloudpos.sales.dto;
+
+/**
+ * 인기 상품 응답 DTO.
+ *
+ * @param productId   상품 ID
+ * @param productName 상품명 (마지막 판매 시점 기준)
+ * @param quantity    판매 수량
+ * @param revenue     판매 금액(단가 × 수량, 할인 전)
+ */
+public record TopProductResponse(
+        String productId,
+        String productName,
+        long quantity,
+        long revenue
+) {}
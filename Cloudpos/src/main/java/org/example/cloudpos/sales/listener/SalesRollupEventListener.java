@@ -0,0 +1,46 @@
+package org.example.cloudpos.sales.listener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cloudpos.order.task.PaymentCanceledEvent;
+import org.example.cloudpos.order.task.PaymentSuccessEvent;
+import org.example.cloudpos.sales.service.SalesRollupBatcher;
+import org.example.cloudpos.sales.service.SalesRollupEvent;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 주문 모듈의 결제 이벤트를 받아 매출 롤업을 갱신하는 리스너.
+ *
+ * <p>결제 트랜잭션이 커밋된 이후 {@code salesRollupExecutor}에서 {@link SalesRollupBatcher}에 모으고,
+ * 배치 단위로 반영합니다. 롤업 갱신 실패가 결제 흐름에 영향을 주지 않도록 예외는 로그로만 남깁니다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SalesRollupEventListener {
+
+    private final SalesRollupBatcher salesRollupBatcher;
+
+    @Async("salesRollupExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPaymentSuccess(PaymentSuccessEvent event) {
+        try {
+            salesRollupBatcher.add(SalesRollupEvent.success(event.orderId()));
+        } catch (Exception e) {
+            log.error("매출 롤업 반영 실패(결제 성공) - orderId: {}", event.orderId(), e);
+        }
+    }
+
+    @Async("salesRollupExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPaymentCanceled(PaymentCanceledEvent event) {
+        try {
+            salesRollupBatcher.add(SalesRollupEvent.canceled(event.orderId()));
+        } catch (Exception e) {
+            log.error("매출 롤업 반영 실패(결제 취소) - orderId: {}", event.orderId(), e);
+        }
+    }
+}
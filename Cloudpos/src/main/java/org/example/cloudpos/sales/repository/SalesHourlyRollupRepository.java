@@ -0,0 +1,13 @@
+package org.example.cloudpos.sales.repository;
+
+import org.example.cloudpos.sales.domain.SalesHourlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SalesHourlyRollupRepository extends JpaRepository<SalesHourlyRollup, Long> {
+
+    List<SalesHourlyRollup> findByInventoryIdAndBucketHourGreaterThanEqualAndBucketHourLessThanOrderByBucketHour(
+            String inventoryId, LocalDateTime from, LocalDateTime to);
+}
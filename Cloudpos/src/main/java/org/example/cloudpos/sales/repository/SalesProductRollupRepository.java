@@ -0,0 +1,28 @@
+package org.example.cloudpos.sales.repository;
+
+import org.example.cloudpos.sales.domain.SalesProductRollup;
+import org.example.cloudpos.sales.dto.TopProductResponse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SalesProductRollupRepository extends JpaRepository<SalesProductRollup, Long> {
+
+    @Query("""
+            select new org.example.cloudpos.sales.dto.TopProductResponse(
+                       r.productId, max(r.productName), sum(r.quantity), sum(r.revenue))
+              from SalesProductRollup r
+             where r.inventoryId = :inventoryId
+               and r.bucketDate between :from and :to
+             group by r.productId
+             order by sum(r.quantity) desc
+            """)
+    List<TopProductResponse> findTopProducts(@Param("inventoryId") String inventoryId,
+                                             @Param("from") LocalDate from,
+                                             @Param("to") LocalDate to,
+                                             Pageable pageable);
+}
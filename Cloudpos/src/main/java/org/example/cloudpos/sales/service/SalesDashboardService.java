@@ -0,0 +1,17 @@
+package org.example.cloudpos.sales.service;
+
+import org.example.cloudpos.sales.dto.DailySalesResponse;
+import org.example.cloudpos.sales.dto.HourlySalesResponse;
+import org.example.cloudpos.sales.dto.TopProductResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SalesDashboardService {
+
+    List<HourlySalesResponse> hourly(String inventoryId, LocalDate date);
+
+    List<DailySalesResponse> daily(String inventoryId, LocalDate from, LocalDate to);
+
+    List<TopProductResponse> topProducts(String inventoryId, LocalDate from, LocalDate to, int limit);
+}
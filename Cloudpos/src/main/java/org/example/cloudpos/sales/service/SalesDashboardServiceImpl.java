@@ -0,0 +1,96 @@
+package org.example.cloudpos.sales.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.cloudpos.sales.domain.SalesHourlyRollup;
+import org.example.cloudpos.sales.dto.DailySalesResponse;
+import org.example.cloudpos.sales.dto.HourlySalesResponse;
+import org.example.cloudpos.sales.dto.TopProductResponse;
+import org.example.cloudpos.sales.repository.SalesHourlyRollupRepository;
+import org.example.cloudpos.sales.repository.SalesProductRollupRepository;
+import org.example.cloudpos.shard.ShardKey;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 매장 대시보드 조회 서비스.
+ *
+ * <p>주문 테이블을 읽지 않고 롤업 테이블만 조회하므로,
+ * 조회 비용은 주문 이력 크기와 무관하게 조회 기간(시간대/일자 수)에만 비례합니다.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SalesDashboardServiceImpl implements SalesDashboardService {
+
+    /** 일자 범위 조회 시 허용하는 최대 일수 */
+    static final int MAX_DAYS = 93;
+
+    private final SalesHourlyRollupRepository hourlyRepo;
+    private final SalesProductRollupRepository productRepo;
+
+    /**
+     * 하루의 시간대별 매출을 조회합니다. 매출이 없는 시간대는 응답에 포함되지 않습니다.
+     */
+    @Override
+    public List<HourlySalesResponse> hourly(@ShardKey(ShardKey.Type.STORE) String inventoryId, LocalDate date) {
+        return hourlyRepo.findByInventoryIdAndBucketHourGreaterThanEqualAndBucketHourLessThanOrderByBucketHour(
+                        inventoryId, date.atStartOfDay(), date.plusDays(1).atStartOfDay())
+                .stream()
+                .map(r -> new HourlySalesResponse(r.getBucketHour(), r.getOrderCount(), r.getItemCount(), r.getRevenue()))
+                .toList();
+    }
+
+    /**
+     * 기간 [from, to] 의 일자별 매출을 조회합니다.
+     *
+     * @throws IllegalArgumentException 기간이 잘못되었거나 {@link #MAX_DAYS}일을 초과한 경우
+     */
+    @Override
+    public List<DailySalesResponse> daily(@ShardKey(ShardKey.Type.STORE) String inventoryId, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+
+        Map<LocalDate, long[]> byDate = new TreeMap<>();
+        for (SalesHourlyRollup r : hourlyRepo.findByInventoryIdAndBucketHourGreaterThanEqualAndBucketHourLessThanOrderByBucketHour(
+                inventoryId, from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            long[] acc = byDate.computeIfAbsent(r.getBucketHour().toLocalDate(), d -> new long[3]);
+            acc[0] += r.getOrderCount();
+            acc[1] += r.getItemCount();
+            acc[2] += r.getRevenue();
+        }
+
+        List<DailySalesResponse> result = new ArrayList<>(byDate.size());
+        byDate.forEach((date, acc) -> result.add(new DailySalesResponse(date, acc[0], acc[1], acc[2])));
+        return result;
+    }
+
+    /**
+     * 기간 [from, to] 의 판매 수량 상위 상품을 조회합니다.
+     *
+     * @throws IllegalArgumentException 기간이 잘못되었거나 limit 이 1~100 범위를 벗어난 경우
+     */
+    @Override
+    public List<TopProductResponse> topProducts(@ShardKey(ShardKey.Type.STORE) String inventoryId, LocalDate from, LocalDate to, int limit) {
+        validateRange(from, to);
+        if (limit < 1 || limit > 100) {
+            throw new IllegalArgumentException("limit 은 1 이상 100 이하여야 합니다.");
+        }
+        return productRepo.findTopProducts(inventoryId, from, to, PageRequest.of(0, limit));
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("조회 시작일은 종료일보다 이후일 수 없습니다.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw new IllegalArgumentException("조회 기간은 최대 " + MAX_DAYS + "일입니다.");
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.cloudpos.sales.service;
+
+import org.example.cloudpos.sales.dto.SalesExportFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+public interface SalesExportService {
+
+    StreamingResponseBody export(String inventoryId, LocalDateTime from, LocalDateTime to, SalesExportFormat format);
+}
@@ -0,0 +1,246 @@
+package org.example.cloudpos.sales.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cloudpos.sales.dto.SalesExportFormat;
+import org.example.cloudpos.shard.ShardKey;
+import org.example.cloudpos.shard.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 매장·기간 단위로 주문/주문상품/결제 데이터를 스트리밍으로 내보내는 서비스.
+ *
+ * <p>한 행은 주문상품(order_item) 1건이며 주문·결제 정보가 함께 펼쳐져 있습니다.
+ * 매장은 주문의 {@code inventory_id}로 필터링하며 {@code (inventory_id, paid_at)} 인덱스를 사용합니다.
+ * 상품명은 상품 테이블에서 가져오되, 없으면(삭제된 상품 등) 상품 ID 를 그대로 씁니다.</p>
+ *
+ * <h2>메모리 사용</h2>
+ * <ul>
+ *   <li>forward-only, read-only 문장에 {@code fetchSize}를 지정해 드라이버가 결과를 스트리밍하도록 합니다.
+ *       (MySQL Connector/J 는 {@link Integer#MIN_VALUE} 일 때 행 단위 스트리밍)</li>
+ *   <li>각 행은 읽는 즉시 응답 스트림에 기록되므로 조회 건수와 관계없이 힙 사용량이 일정합니다.</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesExportServiceImpl implements SalesExportService {
+
+    /** 한 번에 내보낼 수 있는 최대 기간 */
+    static final Duration MAX_RANGE = Duration.ofDays(93);
+
+    private static final String SQL = """
+            SELECT o.order_id, o.cart_id, o.paid_at, o.total_amount,
+                   oi.product_id, COALESCE(p.name, oi.product_id) AS product_name, oi.quantity, oi.price,
+                   pay.payment_id, pay.payment_status, pm.code AS payment_method, pay.amount_final
+              FROM orders o
+              JOIN order_item oi ON oi.order_fk = o.id
+              LEFT JOIN products p ON p.product_id = oi.product_id
+              LEFT JOIN payment pay ON pay.order_id = o.order_id
+              LEFT JOIN payment_method pm ON pm.id = pay.payment_method_id
+             WHERE o.inventory_id = ?
+               AND o.paid_at >= ? AND o.paid_at < ?
+             ORDER BY o.paid_at, o.id, oi.id
+            """;
+
+    private static final String[] COLUMNS = {
+            "orderId", "cartId", "paidAt", "totalAmount",
+            "productId", "productName", "quantity", "price",
+            "paymentId", "paymentStatus", "paymentMethod", "amountFinal"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+
+    @Value("${sales.export.fetch-size:" + Integer.MIN_VALUE + "}")
+    private int fetchSize;
+
+    /**
+     * 조회 결과를 지정한 형식으로 기록하는 응답 본문을 만듭니다.
+     *
+     * <p>기간 검증은 응답 헤더가 전송되기 전에 즉시 수행되며,
+     * 실제 조회는 반환된 본문이 응답 스트림에 기록될 때 실행됩니다.</p>
+     *
+     * @throws IllegalArgumentException 기간이 잘못되었거나 {@link #MAX_RANGE}를 초과한 경우
+     */
+    @Override
+    public StreamingResponseBody export(String inventoryId, LocalDateTime from, LocalDateTime to,
+                                        SalesExportFormat format) {
+        validateRange(from, to);
+        // 본문은 별도 스레드에서 기록되므로 그 스레드에서 매장 샤드를 지정한다.
+        return out -> {
+            try {
+                shardRouter.callIn(ShardKey.Type.STORE, inventoryId, () -> {
+                    try {
+                        write(inventoryId, from, to, format, out);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return null;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    private void write(String inventoryId, LocalDateTime from, LocalDateTime to,
+                       SalesExportFormat format, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        RowWriter rowWriter = (format == SalesExportFormat.CSV) ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+
+        rowWriter.begin();
+        long[] count = {0};
+        try {
+            jdbcTemplate.query(con -> {
+                // 조회 전용 대용량 스캔이므로 replica 가 설정되어 있으면 replica 에서 읽는다.
+                con.setReadOnly(true);
+                PreparedStatement ps = con.prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                ps.setString(1, inventoryId);
+                ps.setTimestamp(2, Timestamp.valueOf(from));
+                ps.setTimestamp(3, Timestamp.valueOf(to));
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    rowWriter.write(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            // 클라이언트 연결 종료 등
+            throw e.getCause();
+        }
+        rowWriter.end();
+        writer.flush();
+
+        log.info("매출 내보내기 완료 - inventoryId: {}, rows: {}, took={}ms",
+                inventoryId, count[0], System.currentTimeMillis() - start);
+    }
+
+    private void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("조회 시작 시각은 종료 시각보다 이전이어야 합니다.");
+        }
+        if (Duration.between(from, to).compareTo(MAX_RANGE) > 0) {
+            throw new IllegalArgumentException("한 번에 내보낼 수 있는 기간은 최대 " + MAX_RANGE.toDays() + "일입니다.");
+        }
+    }
+
+    private interface RowWriter {
+        void begin() throws IOException;
+
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void end() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            for (int i = 1; i <= COLUMNS.length; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                Object value = (i == 3) ? rs.getTimestamp(i).toLocalDateTime() : rs.getObject(i);
+                if (value != null) {
+                    writer.write(escape(value.toString()));
+                }
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        public void end() {
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void begin() {
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeStringField(COLUMNS[0], rs.getString(1));
+            generator.writeStringField(COLUMNS[1], rs.getString(2));
+            generator.writeStringField(COLUMNS[2], rs.getTimestamp(3).toLocalDateTime().toString());
+            generator.writeNumberField(COLUMNS[3], rs.getInt(4));
+            generator.writeStringField(COLUMNS[4], rs.getString(5));
+            generator.writeStringField(COLUMNS[5], rs.getString(6));
+            generator.writeNumberField(COLUMNS[6], rs.getInt(7));
+            generator.writeNumberField(COLUMNS[7], rs.getInt(8));
+            generator.writeStringField(COLUMNS[8], rs.getString(9));
+            generator.writeStringField(COLUMNS[9], rs.getString(10));
+            generator.writeStringField(COLUMNS[10], rs.getString(11));
+            int amountFinal = rs.getInt(12);
+            if (rs.wasNull()) {
+                generator.writeNullField(COLUMNS[11]);
+            } else {
+                generator.writeNumberField(COLUMNS[11], amountFinal);
+            }
+            generator.writeEndObject();
+        }
+
+        @Override
+        public void end() throws IOException {
+            generator.writeRaw('\n');
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.cloudpos.sales.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 결제 이벤트를 모았다가 매출 롤업에 한 번에 반영하는 버퍼.
+ *
+ * <p>이벤트마다 트랜잭션을 열어 upsert 하면 결제가 몰릴 때 같은 롤업 행(매장·시간대)을 두고
+ * 이벤트 수만큼 트랜잭션이 경쟁합니다. 이벤트를 모아 두었다가
+ * {@code cloudpos.events.sales-rollup.batch-size}(기본 200)건이 쌓이거나
+ * {@code cloudpos.events.sales-rollup.flush-ms}(기본 1초)가 지나면 {@link SalesRollupService#apply}로 한 번에 반영합니다.</p>
+ *
+ * <ul>
+ *   <li>한 번에 한 스레드만 반영하므로 같은 주문의 성공/취소는 도착 순서대로 반영됩니다.</li>
+ *   <li>대기 중인 이벤트가 {@code cloudpos.events.sales-rollup.max-pending}(기본 10000)건이면
+ *       새 이벤트는 버리고 {@code cloudpos.sales.rollup.dropped} 카운터를 올립니다.
+ *       버려진 이벤트는 {@link SalesRollupReplayService}가 나중에 다시 반영합니다.</li>
+ *   <li>종료 시 남은 이벤트를 반영합니다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class SalesRollupBatcher {
+
+    private final SalesRollupService salesRollupService;
+    private final Counter dropped;
+
+    private final Queue<SalesRollupEvent> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Value("${cloudpos.events.sales-rollup.batch-size:200}")
+    private int batchSize;
+
+    @Value("${cloudpos.events.sales-rollup.max-pending:10000}")
+    private int maxPending;
+
+    public SalesRollupBatcher(SalesRollupService salesRollupService, MeterRegistry meterRegistry) {
+        this.salesRollupService = salesRollupService;
+        this.dropped = Counter.builder("cloudpos.sales.rollup.dropped")
+                .description("대기 이벤트가 가득 차 매출 롤업에 반영하지 못한 이벤트 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 이벤트를 추가하고, 배치 크기만큼 쌓였으면 호출 스레드에서 반영한다.
+     */
+    public void add(SalesRollupEvent event) {
+        if (pendingCount.get() >= maxPending) {
+            dropped.increment();
+            log.warn("매출 롤업 대기 이벤트가 가득 차 버립니다 - orderId: {}, event: {}", event.orderId(), event.eventType());
+            return;
+        }
+        pending.add(event);
+        if (pendingCount.incrementAndGet() >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * 모인 이벤트를 배치 크기씩 반영한다. 다른 스레드가 반영 중이면 그 스레드가 이어서 비우도록 건너뛴다.
+     */
+    @Scheduled(fixedDelayString = "${cloudpos.events.sales-rollup.flush-ms:1000}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            drain();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flushLock.lock();
+        try {
+            drain();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void drain() {
+        List<SalesRollupEvent> batch;
+        while (!(batch = poll()).isEmpty()) {
+            salesRollupService.apply(batch);
+        }
+    }
+
+    private List<SalesRollupEvent> poll() {
+        List<SalesRollupEvent> batch = new ArrayList<>();
+        SalesRollupEvent event;
+        while (batch.size() < batchSize && (event = pending.poll()) != null) {
+            batch.add(event);
+        }
+        pendingCount.addAndGet(-batch.size());
+        return batch;
+    }
+}
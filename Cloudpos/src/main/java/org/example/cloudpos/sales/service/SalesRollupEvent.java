@@ -0,0 +1,24 @@
+package org.example.cloudpos.sales.service;
+
+import org.example.cloudpos.sales.domain.SalesRollupLedger;
+
+/**
+ * 매출 롤업에 반영할 결제 이벤트 1건.
+ *
+ * @param orderId   주문 ID
+ * @param eventType {@link SalesRollupLedger#SUCCESS} 또는 {@link SalesRollupLedger#CANCELED}
+ */
+public record SalesRollupEvent(String orderId, String eventType) {
+
+    public static SalesRollupEvent success(String orderId) {
+        return new SalesRollupEvent(orderId, SalesRollupLedger.SUCCESS);
+    }
+
+    public static SalesRollupEvent canceled(String orderId) {
+        return new SalesRollupEvent(orderId, SalesRollupLedger.CANCELED);
+    }
+
+    boolean isCanceled() {
+        return SalesRollupLedger.CANCELED.equals(eventType);
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.cloudpos.sales.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cloudpos.shard.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 매출 롤업에 반영되지 않은 결제 이벤트를 결제 상태와 원장을 대조해 다시 반영하는 서비스.
+ *
+ * <p>결제 이벤트는 실행기 큐나 {@link SalesRollupBatcher}가 가득 차면 버려지고, 노드가 비정상 종료되면 유실됩니다.
+ * {@code cloudpos.events.sales-rollup.replay-ms}(기본 5분)마다 샤드별로 아래 결제를 찾아 {@link SalesRollupService#apply}로 반영합니다.</p>
+ * <ul>
+ *   <li>승인({@code COMPLETED})되었지만 원장에 성공이 없는 결제</li>
+ *   <li>취소({@code CANCELED})되었고 원장에 성공은 있지만 취소가 없는 결제</li>
+ * </ul>
+ *
+ * <p>{@code idx_payment_status_created} 인덱스를 따라 최근 {@code replay-lookback-hours}(기본 48시간) 안에 생성된 결제만 보고,
+ * 실시간 반영이 곧 처리할 결제와 겹치지 않도록 {@code replay-grace-seconds}(기본 120초) 이내에 바뀐 결제는 건너뜁니다.
+ * 한 번에 상태별 {@code replay-limit}(기본 1000)건까지 반영하고 나머지는 다음 실행에서 이어서 반영합니다.
+ * 여러 노드에서 동시에 실행되어도 원장이 중복 반영을 막습니다.</p>
+ *
+ * <p>메트릭: {@code cloudpos.sales.rollup.replayed{event}}</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesRollupReplayService {
+
+    private static final String SELECT_MISSED_SUCCESS = """
+            SELECT p.order_id
+              FROM payment p
+              LEFT JOIN sales_rollup_ledger s ON s.order_id = p.order_id AND s.event_type = 'SUCCESS'
+             WHERE p.payment_status = 'COMPLETED' AND p.created_at >= ? AND p.updated_at < ? AND s.id IS NULL
+             ORDER BY p.created_at, p.id
+             LIMIT ?
+            """;
+
+    private static final String SELECT_MISSED_CANCEL = """
+            SELECT p.order_id
+              FROM payment p
+              JOIN sales_rollup_ledger s ON s.order_id = p.order_id AND s.event_type = 'SUCCESS'
+              LEFT JOIN sales_rollup_ledger c ON c.order_id = p.order_id AND c.event_type = 'CANCELED'
+             WHERE p.payment_status = 'CANCELED' AND p.created_at >= ? AND p.updated_at < ? AND c.id IS NULL
+             ORDER BY p.created_at, p.id
+             LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final SalesRollupService salesRollupService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${cloudpos.events.sales-rollup.replay-lookback-hours:48}")
+    private long lookbackHours;
+
+    @Value("${cloudpos.events.sales-rollup.replay-grace-seconds:120}")
+    private long graceSeconds;
+
+    @Value("${cloudpos.events.sales-rollup.replay-limit:1000}")
+    private int limit;
+
+    /**
+     * 누락된 이벤트를 찾아 반영한다.
+     *
+     * @return 다시 반영을 시도한 이벤트 수 (원장에 이미 있어 무시된 이벤트 포함)
+     */
+    @Scheduled(fixedDelayString = "${cloudpos.events.sales-rollup.replay-ms:300000}",
+            initialDelayString = "${cloudpos.events.sales-rollup.replay-ms:300000}")
+    public int replay() {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp since = Timestamp.valueOf(now.minusHours(lookbackHours));
+        Timestamp settledBefore = Timestamp.valueOf(now.minusSeconds(graceSeconds));
+
+        // 반영은 주문의 샤드별 트랜잭션에서 하므로 조회를 마친 뒤 샤드 밖에서 한다.
+        List<SalesRollupEvent> events = new ArrayList<>();
+        try {
+            shardRouter.eachShard(shard -> {
+                for (String orderId : jdbcTemplate.queryForList(SELECT_MISSED_SUCCESS, String.class, since, settledBefore, limit)) {
+                    events.add(SalesRollupEvent.success(orderId));
+                }
+                for (String orderId : jdbcTemplate.queryForList(SELECT_MISSED_CANCEL, String.class, since, settledBefore, limit)) {
+                    events.add(SalesRollupEvent.canceled(orderId));
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("누락된 매출 롤업 이벤트 조회 실패", e);
+            return 0;
+        }
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        log.warn("매출 롤업에 누락된 결제 이벤트를 다시 반영합니다 - {}건", events.size());
+        salesRollupService.apply(events);
+        for (SalesRollupEvent event : events) {
+            meterRegistry.counter("cloudpos.sales.rollup.replayed", "event", event.eventType()).increment();
+        }
+        return events.size();
+    }
+}
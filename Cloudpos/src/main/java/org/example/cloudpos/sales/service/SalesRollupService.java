@@ -0,0 +1,8 @@
+package org.example.cloudpos.sales.service;
+
+import java.util.List;
+
+public interface SalesRollupService {
+
+    void apply(List<SalesRollupEvent> events);
+}
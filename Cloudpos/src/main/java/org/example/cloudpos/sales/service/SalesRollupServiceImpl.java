@@ -0,0 +1,219 @@
+package org.example.cloudpos.sales.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.cloudpos.sales.domain.SalesRollupLedger;
+import org.example.cloudpos.shard.ShardRouter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 결제 이벤트를 매출 롤업 테이블에 증분 반영하는 서비스.
+ *
+ * <h2>반영 방식</h2>
+ * <ul>
+ *   <li>{@link SalesRollupBatcher}가 모은 이벤트를 주문의 샤드별로 한 트랜잭션에서 반영합니다.</li>
+ *   <li>{@link SalesRollupLedger}에 (주문, 이벤트) 를 먼저 기록하여 중복 전달된 이벤트는 무시합니다.</li>
+ *   <li>반영할 주문의 상품 목록을 한 번에 조회한 뒤 주문의 매장({@code orders.inventory_id})과 시간대/상품별로 합산하여
+ *       시간대 롤업과 상품 롤업에 {@code INSERT ... ON DUPLICATE KEY UPDATE} 배치 upsert 를 한 번씩 수행합니다.</li>
+ *   <li>취소는 같은 값을 음수로 반영합니다. (성공이 반영된 주문만 대상)</li>
+ *   <li>배치 반영이 실패하면 이벤트마다 다시 반영하여, 문제가 된 이벤트만 로그로 남기고 나머지는 반영합니다.
+ *       (원장 덕분에 이미 반영된 이벤트는 다시 반영되지 않음)</li>
+ * </ul>
+ *
+ * <p>시간대 매출은 할인이 반영된 주문 총액을, 상품 매출은 할인 전 상품 금액을 반영합니다.
+ * 상품명은 상품 테이블에서 가져오되, 없으면 상품 ID 를 씁니다.</p>
+ */
+@Slf4j
+@Service
+public class SalesRollupServiceImpl implements SalesRollupService {
+
+    private static final String SELECT_ORDER_LINES = """
+            SELECT o.order_id, o.inventory_id, o.paid_at, o.total_amount,
+                   oi.product_id, COALESCE(p.name, oi.product_id), oi.quantity, oi.price
+              FROM orders o
+              JOIN order_item oi ON oi.order_fk = o.id
+              LEFT JOIN products p ON p.product_id = oi.product_id
+             WHERE o.order_id IN (:orderIds)
+            """;
+
+    private static final String INSERT_LEDGER =
+            "INSERT IGNORE INTO sales_rollup_ledger (order_id, event_type, applied_at) VALUES (?, ?, ?)";
+
+    private static final String EXISTS_LEDGER =
+            "SELECT COUNT(*) FROM sales_rollup_ledger WHERE order_id = ? AND event_type = ?";
+
+    private static final String UPSERT_HOURLY = """
+            INSERT INTO sales_hourly_rollup (inventory_id, bucket_hour, order_count, item_count, revenue)
+            VALUES (?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                order_count = order_count + VALUES(order_count),
+                item_count = item_count + VALUES(item_count),
+                revenue = revenue + VALUES(revenue)
+            """;
+
+    private static final String UPSERT_PRODUCT = """
+            INSERT INTO sales_product_rollup (inventory_id, bucket_date, product_id, product_name, quantity, revenue)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                product_name = VALUES(product_name),
+                quantity = quantity + VALUES(quantity),
+                revenue = revenue + VALUES(revenue)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final ShardRouter shardRouter;
+
+    public SalesRollupServiceImpl(JdbcTemplate jdbcTemplate, ShardRouter shardRouter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public void apply(List<SalesRollupEvent> events) {
+        try {
+            shardRouter.inOrderShards(events, SalesRollupEvent::orderId, this::applyInShard);
+        } catch (RuntimeException e) {
+            log.warn("매출 롤업 일괄 반영 실패, 이벤트별로 다시 반영합니다 - {}건", events.size(), e);
+            for (SalesRollupEvent event : events) {
+                try {
+                    shardRouter.inOrderShards(List.of(event), SalesRollupEvent::orderId, this::applyInShard);
+                } catch (RuntimeException ex) {
+                    log.error("매출 롤업 반영 실패 - orderId: {}, event: {}", event.orderId(), event.eventType(), ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * 같은 샤드의 이벤트를 현재 트랜잭션에서 반영한다. 이벤트 순서대로 원장을 기록하므로
+     * 같은 배치에 있는 성공 → 취소도 올바르게 상쇄된다.
+     */
+    private void applyInShard(List<SalesRollupEvent> events) {
+        Map<String, Integer> signs = new LinkedHashMap<>();
+        for (SalesRollupEvent event : events) {
+            if (accept(event)) {
+                signs.merge(event.orderId(), event.isCanceled() ? -1 : 1, Integer::sum);
+            }
+        }
+        signs.values().removeIf(sign -> sign == 0);
+        if (signs.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<OrderLine>> linesByOrder = new LinkedHashMap<>();
+        namedJdbcTemplate.query(SELECT_ORDER_LINES, Map.of("orderIds", signs.keySet()), (RowCallbackHandler) rs ->
+                linesByOrder.computeIfAbsent(rs.getString(1), k -> new ArrayList<>()).add(new OrderLine(
+                        rs.getString(2),
+                        rs.getTimestamp(3).toLocalDateTime(),
+                        rs.getLong(4),
+                        rs.getString(5),
+                        rs.getString(6),
+                        rs.getLong(7),
+                        rs.getLong(8)
+                )));
+
+        Map<HourKey, HourlyTotal> hourly = new LinkedHashMap<>();
+        Map<ProductKey, ProductTotal> products = new LinkedHashMap<>();
+        signs.forEach((orderId, sign) -> {
+            List<OrderLine> lines = linesByOrder.get(orderId);
+            if (lines == null) {
+                log.warn("롤업 대상 주문 상품이 없습니다 - orderId: {}", orderId);
+                return;
+            }
+
+            OrderLine first = lines.get(0);
+            LocalDateTime hour = first.paidAt().truncatedTo(ChronoUnit.HOURS);
+            long itemCount = 0;
+            for (OrderLine l : lines) {
+                itemCount += l.quantity();
+                products.computeIfAbsent(new ProductKey(l.inventoryId(), hour.toLocalDate(), l.productId()),
+                                k -> new ProductTotal(l.productName()))
+                        .add(sign * l.quantity(), sign * l.price() * l.quantity());
+            }
+            hourly.computeIfAbsent(new HourKey(first.inventoryId(), hour), k -> new HourlyTotal())
+                    .add(sign, sign * itemCount, sign * first.totalAmount());
+        });
+
+        List<Object[]> hourlyArgs = new ArrayList<>(hourly.size());
+        hourly.forEach((key, total) -> hourlyArgs.add(new Object[]{
+                key.inventoryId(), Timestamp.valueOf(key.hour()), total.orderCount, total.itemCount, total.revenue
+        }));
+        List<Object[]> productArgs = new ArrayList<>(products.size());
+        products.forEach((key, total) -> productArgs.add(new Object[]{
+                key.inventoryId(), key.date(), key.productId(), total.name, total.quantity, total.revenue
+        }));
+
+        jdbcTemplate.batchUpdate(UPSERT_HOURLY, hourlyArgs);
+        jdbcTemplate.batchUpdate(UPSERT_PRODUCT, productArgs);
+    }
+
+    /**
+     * 원장에 이벤트를 기록한다.
+     *
+     * @return 새로 기록되어 반영해야 하면 {@code true} (중복 이벤트이거나 성공이 반영되지 않은 주문의 취소이면 {@code false})
+     */
+    private boolean accept(SalesRollupEvent event) {
+        if (event.isCanceled()) {
+            Integer applied = jdbcTemplate.queryForObject(EXISTS_LEDGER, Integer.class,
+                    event.orderId(), SalesRollupLedger.SUCCESS);
+            if (applied == null || applied == 0) {
+                // 성공이 반영되지 않은 주문(결제 전 취소 등)은 되돌릴 매출이 없다.
+                return false;
+            }
+        }
+        if (jdbcTemplate.update(INSERT_LEDGER, event.orderId(), event.eventType(), Timestamp.valueOf(LocalDateTime.now())) == 0) {
+            log.debug("이미 롤업에 반영된 이벤트 - orderId: {}, event: {}", event.orderId(), event.eventType());
+            return false;
+        }
+        return true;
+    }
+
+    private record OrderLine(String inventoryId, LocalDateTime paidAt, long totalAmount,
+                             String productId, String productName, long quantity, long price) {}
+
+    private record HourKey(String inventoryId, LocalDateTime hour) {}
+
+    private record ProductKey(String inventoryId, LocalDate date, String productId) {}
+
+    private static final class HourlyTotal {
+
+        private long orderCount;
+        private long itemCount;
+        private long revenue;
+
+        void add(long orderCount, long itemCount, long revenue) {
+            this.orderCount += orderCount;
+            this.itemCount += itemCount;
+            this.revenue += revenue;
+        }
+    }
+
+    private static final class ProductTotal {
+
+        private final String name;
+        private long quantity;
+        private long revenue;
+
+        ProductTotal(String name) {
+            this.name = name;
+        }
+
+        void add(long quantity, long revenue) {
+            this.quantity += quantity;
+            this.revenue += revenue;
+        }
+    }
+}
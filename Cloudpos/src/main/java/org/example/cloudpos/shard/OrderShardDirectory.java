@@ -0,0 +1,79 @@
+package org.example.cloudpos.shard;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 주문 ID → 샤드 매핑 디렉터리.
+ *
+ * <p>결제 API 는 주문 ID 만 받으므로 주문이 어느 샤드에 있는지 알기 위해 사용합니다.
+ * 디렉터리는 기본 샤드의 {@code order_shard_directory} 테이블에 있으며(생성: {@link ShardSchemaInitializer}),
+ * 샤드 트랜잭션과 분리된 커넥션(자동 커밋)으로 기록합니다.
+ * 주문 트랜잭션과 원자적으로 묶이지 않으므로 {@link ShardRouter#inNewOrder}가 주문보다 먼저 기록하고
+ * 주문 저장이 실패하면 지웁니다.</p>
+ *
+ * <p>한 번 기록된 매핑은 바뀌지 않으므로 조회 결과를 노드별 LRU 캐시에 보관해
+ * 같은 주문의 반복 조회(결제 승인, 상태 조회 등)가 기본 샤드를 다시 거치지 않게 합니다.
+ * 디렉터리에 없는 주문은 캐시하지 않습니다.</p>
+ */
+public class OrderShardDirectory {
+
+    static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS order_shard_directory (
+                order_id     VARCHAR(26) NOT NULL PRIMARY KEY,
+                inventory_id VARCHAR(26),
+                shard        VARCHAR(32) NOT NULL
+            )
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, String> cache;
+
+    public OrderShardDirectory(DataSource defaultShard, int cacheSize) {
+        this.jdbcTemplate = new JdbcTemplate(defaultShard);
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    void createTable() {
+        jdbcTemplate.execute(CREATE_TABLE);
+    }
+
+    public void register(String orderId, String inventoryId, String shard) {
+        jdbcTemplate.update(
+                "INSERT INTO order_shard_directory (order_id, inventory_id, shard) VALUES (?, ?, ?)",
+                orderId, inventoryId, shard);
+        cache.put(orderId, shard);
+    }
+
+    public void unregister(String orderId) {
+        cache.remove(orderId);
+        jdbcTemplate.update("DELETE FROM order_shard_directory WHERE order_id = ?", orderId);
+    }
+
+    /**
+     * @return 샤드 이름, 디렉터리에 없는 주문(샤딩 이전 주문)이면 null
+     */
+    public String find(String orderId) {
+        String cached = cache.get(orderId);
+        if (cached != null) {
+            return cached;
+        }
+        List<String> found = jdbcTemplate.queryForList(
+                "SELECT shard FROM order_shard_directory WHERE order_id = ?", String.class, orderId);
+        if (found.isEmpty()) {
+            return null;
+        }
+        cache.put(orderId, found.get(0));
+        return found.get(0);
+    }
+}
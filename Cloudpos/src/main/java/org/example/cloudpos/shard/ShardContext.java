@@ -0,0 +1,27 @@
+package org.example.cloudpos.shard;
+
+/**
+ * 현재 스레드가 사용할 샤드 이름을 보관합니다.
+ *
+ * <p>{@link ShardRoutingDataSource}가 커넥션을 획득할 때 이 값을 조회하며,
+ * 값이 없으면 기본 샤드를 사용합니다. 직접 다루지 말고 {@link ShardRouter}를 통해 설정합니다.</p>
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    static void set(String shard) {
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+    }
+
+    public static String get() {
+        return CURRENT.get();
+    }
+}
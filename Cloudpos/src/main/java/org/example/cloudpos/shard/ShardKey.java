@@ -0,0 +1,36 @@
+package org.example.cloudpos.shard;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 메서드 파라미터가 어느 샤드로 라우팅할지 결정하는 키임을 표시합니다.
+ *
+ * <p>샤딩이 활성화되어 있으면 {@link ShardRoutingAspect}가 트랜잭션 시작 전에
+ * 이 값으로 샤드를 찾아 {@link ShardContext}를 설정합니다.</p>
+ *
+ * <pre>{@code
+ * public Order getOrderById(@ShardKey(ShardKey.Type.ORDER) String orderId)
+ * public PaymentResponse createPayment(@ShardKey(value = ShardKey.Type.STORE, property = "inventoryId") Order order, ...)
+ * }</pre>
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardKey {
+
+    Type value();
+
+    /**
+     * 파라미터가 문자열이 아닌 객체일 때 키를 꺼낼 프로퍼티 이름.
+     */
+    String property() default "";
+
+    enum Type {
+        /** 매장 ID(inventoryId) */
+        STORE,
+        /** 주문 ID(orderId) - 주문 샤드 디렉터리에서 샤드를 조회 */
+        ORDER
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.cloudpos.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 참조 테이블을 기본 샤드에서 나머지 샤드로 복제합니다.
+ *
+ * <p>참조 데이터(결제수단, 상품, 매장, 할인)는 기본 샤드에서만 변경되지만,
+ * 샤드 트랜잭션 안에서 함께 조회하거나 외래 키로 참조하므로(예: {@code payment.payment_method_id}) 모든 샤드에 있어야 합니다.
+ * 주기마다 각 테이블을 PK({@code id}) 기준으로 비교해 바뀐 행만 반영합니다.</p>
+ *
+ * <ul>
+ *   <li>테이블은 설정 순서(참조되는 테이블이 먼저)대로 추가/수정하고, 역순으로 원본에 없는 행을 삭제합니다.</li>
+ *   <li>샤드에서 참조 중이라 삭제할 수 없는 행(지난 결제가 쓰던 결제수단 등)은 남겨 둡니다.</li>
+ *   <li>다른 샤드에는 다음 주기({@code cloudpos.sharding.reference-sync-ms})까지 변경이 반영되지 않습니다.
+ *       여러 노드가 같은 작업을 실행해도 결과는 같습니다.</li>
+ * </ul>
+ */
+@Slf4j
+public class ShardReferenceDataSync {
+
+    private static final String ID = "id";
+
+    private final ShardRouter router;
+    private final ShardResolver resolver;
+    private final JdbcTemplate jdbcTemplate;
+    private final List<String> tables;
+
+    public ShardReferenceDataSync(ShardRouter router, ShardResolver resolver, JdbcTemplate jdbcTemplate,
+                                  List<String> tables) {
+        this.router = router;
+        this.resolver = resolver;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tables = List.copyOf(tables);
+    }
+
+    @Scheduled(fixedDelayString = "${cloudpos.sharding.reference-sync-ms:60000}")
+    public void sync() {
+        Map<String, Map<Object, Map<String, Object>>> source = new LinkedHashMap<>();
+        router.inShard(resolver.defaultShard(), () -> {
+            tables.forEach(table -> source.put(table, rowsById(table)));
+            return null;
+        });
+
+        for (String shard : resolver.shards()) {
+            if (shard.equals(resolver.defaultShard())) {
+                continue;
+            }
+            try {
+                router.inShard(shard, () -> {
+                    apply(shard, source);
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                log.error("참조 테이블 복제 실패 - {}", shard, e);
+            }
+        }
+    }
+
+    private void apply(String shard, Map<String, Map<Object, Map<String, Object>>> source) {
+        Map<String, Map<Object, Map<String, Object>>> targets = new LinkedHashMap<>();
+        for (String table : tables) {
+            Map<Object, Map<String, Object>> target = rowsById(table);
+            targets.put(table, target);
+            int changed = 0;
+            for (Map<String, Object> row : source.get(table).values()) {
+                Map<String, Object> existing = target.get(row.get(ID));
+                if (existing == null) {
+                    insert(table, row);
+                    changed++;
+                } else if (!sameValues(row, existing)) {
+                    update(table, row);
+                    changed++;
+                }
+            }
+            if (changed > 0) {
+                log.info("참조 테이블 복제 - {}.{}: {}건", shard, table, changed);
+            }
+        }
+
+        for (String table : tables.reversed()) {
+            for (Object id : targets.get(table).keySet()) {
+                if (source.get(table).containsKey(id)) {
+                    continue;
+                }
+                try {
+                    jdbcTemplate.update("DELETE FROM " + table + " WHERE " + ID + " = ?", id);
+                } catch (DataIntegrityViolationException e) {
+                    log.debug("샤드에서 참조 중인 행은 남겨 둡니다 - {}.{} id={}", shard, table, id);
+                }
+            }
+        }
+    }
+
+    private Map<Object, Map<String, Object>> rowsById(String table) {
+        Map<Object, Map<String, Object>> rows = new LinkedHashMap<>();
+        for (Map<String, Object> row : jdbcTemplate.queryForList("SELECT * FROM " + table)) {
+            rows.put(row.get(ID), row);
+        }
+        return rows;
+    }
+
+    private void insert(String table, Map<String, Object> row) {
+        List<String> columns = new ArrayList<>(row.keySet());
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", columns.stream().map(c -> "?").toList()) + ")";
+        jdbcTemplate.update(sql, columns.stream().map(row::get).toArray());
+    }
+
+    private void update(String table, Map<String, Object> row) {
+        List<String> columns = row.keySet().stream().filter(c -> !c.equalsIgnoreCase(ID)).toList();
+        String sql = "UPDATE " + table + " SET " + String.join(", ", columns.stream().map(c -> c + " = ?").toList())
+                + " WHERE " + ID + " = ?";
+        List<Object> args = new ArrayList<>(columns.stream().map(row::get).toList());
+        args.add(row.get(ID));
+        jdbcTemplate.update(sql, args.toArray());
+    }
+
+    private static boolean sameValues(Map<String, Object> a, Map<String, Object> b) {
+        for (Map.Entry<String, Object> e : a.entrySet()) {
+            if (!Objects.deepEquals(e.getValue(), b.get(e.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.cloudpos.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * 매장 ID 로 샤드를 결정합니다.
+ *
+ * <p>{@code CRC32(inventoryId) mod 샤드 수} 로 계산하므로 노드와 재시작에 관계없이 항상 같은 결과를 냅니다.
+ * 샤드 수를 바꾸면 대부분의 매장이 다른 샤드로 이동하므로, 데이터가 쌓인 뒤에는 이관 없이 샤드를 추가하면 안 됩니다.</p>
+ */
+public class ShardResolver {
+
+    private final List<String> shards;
+
+    public ShardResolver(List<String> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("샤드가 최소 1개 이상 필요합니다.");
+        }
+        this.shards = List.copyOf(shards);
+    }
+
+    public String shardOf(String inventoryId) {
+        if (inventoryId == null) {
+            return defaultShard();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(inventoryId.getBytes(StandardCharsets.UTF_8));
+        return shards.get((int) (crc.getValue() % shards.size()));
+    }
+
+    /**
+     * 매장과 무관한 데이터(참조 테이블 원본, 주문 샤드 디렉터리)와 샤딩 이전 주문이 있는 샤드.
+     */
+    public String defaultShard() {
+        return shards.get(0);
+    }
+
+    public List<String> shards() {
+        return shards;
+    }
+}
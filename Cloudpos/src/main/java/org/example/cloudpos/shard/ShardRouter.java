@@ -0,0 +1,177 @@
+package org.example.cloudpos.shard;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 매장 기준 샤드 라우팅 진입점.
+ *
+ * <p>샤딩이 비활성화되어 있으면({@code cloudpos.sharding.enabled=false}, 기본값) 샤드 지정 없이 그대로 실행합니다.
+ * 활성화되어 있으면 {@link ShardContext}를 설정한 상태로 실행해
+ * {@link ShardRoutingDataSource}가 해당 샤드의 커넥션을 사용하게 합니다.</p>
+ *
+ * <p>이미 다른 샤드의 트랜잭션이 진행 중인 스레드에서 다른 샤드로 전환하려 하면
+ * 같은 커넥션이 계속 사용되어 잘못된 샤드에 기록되므로 {@link IllegalStateException}을 던집니다.
+ * 여러 샤드를 조회해야 하는 관리 기능은 {@link #acrossShards(Supplier)}를 명시적으로 사용해야 합니다.</p>
+ */
+@Component
+public class ShardRouter {
+
+    private final ShardResolver resolver;
+    private final OrderShardDirectory directory;
+    private final TransactionTemplate transactionTemplate;
+
+    public ShardRouter(ObjectProvider<ShardResolver> resolver,
+                       ObjectProvider<OrderShardDirectory> directory,
+                       PlatformTransactionManager transactionManager) {
+        this.resolver = resolver.getIfAvailable();
+        this.directory = directory.getIfAvailable();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isEnabled() {
+        return resolver != null;
+    }
+
+    /**
+     * 매장의 샤드에서 하나의 트랜잭션으로 실행합니다.
+     */
+    public <T> T inStore(String inventoryId, Supplier<T> work) {
+        return callIn(isEnabled() ? resolver.shardOf(inventoryId) : null,
+                () -> transactionTemplate.execute(status -> work.get()));
+    }
+
+    /**
+     * 새 주문을 매장의 샤드에 하나의 트랜잭션으로 저장합니다.
+     *
+     * <p>디렉터리는 기본 샤드에 있어 주문 트랜잭션과 묶을 수 없으므로, 주문 트랜잭션보다 먼저 기록해
+     * 저장 직후의 주문 ID 조회가 항상 올바른 샤드로 가게 하고, 주문 저장이 실패하면 지웁니다.
+     * 지우기 전에 노드가 종료되면 가리키는 주문이 없는 항목이 남지만, 그 주문 ID 로 조회하면 주문이 없을 뿐입니다.</p>
+     */
+    public <T> T inNewOrder(String orderId, String inventoryId, Supplier<T> work) {
+        if (!isEnabled()) {
+            return inStore(inventoryId, work);
+        }
+        directory.register(orderId, inventoryId, resolver.shardOf(inventoryId));
+        try {
+            return inStore(inventoryId, work);
+        } catch (RuntimeException e) {
+            try {
+                directory.unregister(orderId);
+            } catch (RuntimeException cleanup) {
+                e.addSuppressed(cleanup);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 여러 주문에 대한 항목을 주문의 샤드별로 나눠 샤드마다 하나의 트랜잭션으로 실행합니다.
+     * (여러 주문을 모아 한 번에 반영하는 배치 작업용)
+     *
+     * @param items   처리할 항목
+     * @param orderId 항목의 주문 ID
+     * @param work    같은 샤드의 항목 목록을 받아 그 샤드의 트랜잭션 안에서 실행할 작업
+     */
+    public <T> void inOrderShards(Collection<T> items, Function<T, String> orderId, Consumer<List<T>> work) {
+        if (!isEnabled()) {
+            transactionTemplate.executeWithoutResult(status -> work.accept(new ArrayList<>(items)));
+            return;
+        }
+        Map<String, List<T>> byShard = new LinkedHashMap<>();
+        for (T item : items) {
+            byShard.computeIfAbsent(shardOfOrder(orderId.apply(item)), k -> new ArrayList<>()).add(item);
+        }
+        byShard.forEach((shard, shardItems) -> inShard(shard, () -> {
+            work.accept(shardItems);
+            return null;
+        }));
+    }
+
+    /**
+     * 샤드 키로 샤드를 찾아 그 샤드를 사용하는 상태로 실행합니다. (트랜잭션은 호출 대상이 관리)
+     */
+    public <T> T callIn(ShardKey.Type type, String key, Supplier<T> work) {
+        if (!isEnabled()) {
+            return work.get();
+        }
+        String shard = switch (type) {
+            case STORE -> resolver.shardOf(key);
+            case ORDER -> shardOfOrder(key);
+        };
+        return callIn(shard, work);
+    }
+
+    /**
+     * 모든 샤드에서 차례로 실행한 결과를 샤드 이름별로 반환합니다. 관리용 조회에만 사용합니다.
+     */
+    public <T> Map<String, T> acrossShards(Supplier<T> work) {
+        if (!isEnabled()) {
+            return Map.of("default", work.get());
+        }
+        Map<String, T> results = new LinkedHashMap<>();
+        for (String shard : resolver.shards()) {
+            results.put(shard, callIn(shard, () -> transactionTemplate.execute(status -> work.get())));
+        }
+        return results;
+    }
+
+    /**
+     * 모든 샤드에서 차례로 실행합니다. {@link #acrossShards}와 달리 트랜잭션을 열지 않으므로
+     * 트랜잭션을 짧게 나눠 쓰는 장시간 배치 작업에 사용합니다.
+     *
+     * @param work 샤드 이름을 받아 그 샤드를 사용하는 상태로 실행할 작업
+     */
+    public void eachShard(Consumer<String> work) {
+        if (!isEnabled()) {
+            work.accept("default");
+            return;
+        }
+        for (String shard : resolver.shards()) {
+            callIn(shard, () -> {
+                work.accept(shard);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * 지정한 샤드에서 하나의 트랜잭션으로 실행합니다. (샤드 관리 작업용)
+     */
+    <T> T inShard(String shard, Supplier<T> work) {
+        return callIn(shard, () -> transactionTemplate.execute(status -> work.get()));
+    }
+
+    private String shardOfOrder(String orderId) {
+        String shard = orderId != null ? directory.find(orderId) : null;
+        return shard != null ? shard : resolver.defaultShard();
+    }
+
+    <T> T callIn(String shard, Supplier<T> work) {
+        String previous = ShardContext.get();
+        String current = previous != null ? previous : (isEnabled() ? resolver.defaultShard() : null);
+        if (shard != null && !shard.equals(current) && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException(
+                    "샤드 " + current + " 트랜잭션 안에서 샤드 " + shard + " 로 전환할 수 없습니다.");
+        }
+
+        ShardContext.set(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+}
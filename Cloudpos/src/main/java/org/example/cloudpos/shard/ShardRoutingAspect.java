@@ -0,0 +1,65 @@
+package org.example.cloudpos.shard;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.core.Ordered;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * {@link ShardKey}가 붙은 파라미터를 가진 메서드를 해당 샤드에서 실행합니다.
+ *
+ * <p>{@code @Transactional}보다 먼저 실행되어야 트랜잭션 커넥션이 올바른 샤드에서 획득되므로
+ * 가장 높은 우선순위를 가집니다. ({@link ShardingConfig}에서 등록)</p>
+ */
+@Aspect
+@RequiredArgsConstructor
+public class ShardRoutingAspect implements Ordered {
+
+    private final ShardRouter shardRouter;
+
+    @Around("execution(* org.example.cloudpos..*(.., @org.example.cloudpos.shard.ShardKey (*), ..))")
+    public Object route(ProceedingJoinPoint pjp) throws Throwable {
+        Annotation[][] parameterAnnotations = ((MethodSignature) pjp.getSignature()).getMethod().getParameterAnnotations();
+        Object[] args = pjp.getArgs();
+
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            for (Annotation annotation : parameterAnnotations[i]) {
+                if (annotation instanceof ShardKey shardKey) {
+                    String key = keyOf(args[i], shardKey);
+                    return shardRouter.callIn(shardKey.value(), key, () -> proceed(pjp));
+                }
+            }
+        }
+        return pjp.proceed();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private static String keyOf(Object arg, ShardKey shardKey) {
+        if (arg == null) {
+            return null;
+        }
+        Object value = shardKey.property().isEmpty()
+                ? arg
+                : new BeanWrapperImpl(arg).getPropertyValue(shardKey.property());
+        return value != null ? value.toString() : null;
+    }
+
+    private static Object proceed(ProceedingJoinPoint pjp) {
+        try {
+            return pjp.proceed();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.cloudpos.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * {@link ShardContext}의 샤드 이름으로 실제 DataSource 를 선택합니다.
+ * 샤드가 지정되지 않은 커넥션은 기본 샤드로 갑니다.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.get();
+    }
+}
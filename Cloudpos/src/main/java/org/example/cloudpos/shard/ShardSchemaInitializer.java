@@ -0,0 +1,92 @@
+package org.example.cloudpos.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.SchemaToolingSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.Action;
+import org.hibernate.tool.schema.spi.DelayedDropRegistryNotAvailableImpl;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 기본 샤드 외의 샤드에 엔티티 스키마를, 기본 샤드에 주문 샤드 디렉터리 테이블을 만듭니다.
+ *
+ * <p>Hibernate 는 기동 시 {@code ddl-auto} 를 현재 커넥션(기본 샤드)에만 적용하므로,
+ * 매핑 정보({@link Metadata})를 {@link Integrator}로 받아 두었다가 컨텍스트 초기화가 끝난 뒤
+ * 샤드마다 같은 작업을 실행합니다. 커넥션은 {@link ShardContext}로 지정한 샤드에서 가져옵니다.</p>
+ *
+ * <ul>
+ *   <li>{@code none}: 실행하지 않습니다. (샤드 스키마를 별도로 관리)</li>
+ *   <li>{@code validate}: 검증만 합니다.</li>
+ *   <li>그 외: 샤드의 데이터를 지우지 않도록 {@code update} 로 실행합니다.</li>
+ * </ul>
+ */
+@Slf4j
+public class ShardSchemaInitializer implements Integrator, SmartInitializingSingleton {
+
+    private final ShardResolver resolver;
+    private final OrderShardDirectory directory;
+
+    private volatile Metadata metadata;
+    private volatile SessionFactoryImplementor sessionFactory;
+
+    public ShardSchemaInitializer(ShardResolver resolver, OrderShardDirectory directory) {
+        this.resolver = resolver;
+        this.directory = directory;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        this.metadata = metadata;
+        this.sessionFactory = sessionFactory;
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        this.metadata = null;
+        this.sessionFactory = null;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        directory.createTable();
+
+        if (metadata == null) {
+            log.warn("Hibernate 매핑 정보를 받지 못해 샤드 스키마를 만들지 않습니다.");
+            return;
+        }
+        Action action = Action.interpretHbm2ddlSetting(
+                sessionFactory.getProperties().get(SchemaToolingSettings.HBM2DDL_AUTO));
+        if (action == null || action == Action.NONE) {
+            return;
+        }
+        Action shardAction = (action == Action.VALIDATE) ? Action.VALIDATE : Action.UPDATE;
+
+        Map<String, Object> settings = new HashMap<>(sessionFactory.getProperties());
+        settings.keySet().removeIf(key -> key.startsWith("jakarta.persistence.schema-generation")
+                || key.startsWith("javax.persistence.schema-generation"));
+        settings.put(SchemaToolingSettings.HBM2DDL_AUTO, shardAction.getExternalHbm2ddlName());
+
+        for (String shard : resolver.shards()) {
+            if (shard.equals(resolver.defaultShard())) {
+                continue;
+            }
+            String previous = ShardContext.get();
+            ShardContext.set(shard);
+            try {
+                SchemaManagementToolCoordinator.process(metadata, sessionFactory.getServiceRegistry(), settings,
+                        DelayedDropRegistryNotAvailableImpl.INSTANCE);
+                log.info("샤드 스키마 적용 - {} ({})", shard, shardAction.getExternalHbm2ddlName());
+            } finally {
+                ShardContext.set(previous);
+            }
+        }
+    }
+}
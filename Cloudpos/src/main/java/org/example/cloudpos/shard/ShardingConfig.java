@@ -0,0 +1,150 @@
+package org.example.cloudpos.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cloudpos.datasource.HikariPools;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 매장 기준 샤딩 설정. {@code cloudpos.sharding.enabled=true} 일 때만 등록됩니다.
+ *
+ * <h2>샤드 구성</h2>
+ * <ul>
+ *   <li>{@code shard-0}: {@code spring.datasource.url} (기본 샤드). 매장과 무관한 데이터, 주문 샤드 디렉터리,
+ *       샤딩 이전에 생성된 주문이 있습니다.</li>
+ *   <li>{@code shard-1..n}: {@code cloudpos.sharding.urls} 에 쉼표로 지정한 순서대로.</li>
+ * </ul>
+ *
+ * <h2>샤드에 두는 데이터</h2>
+ * <p>매장별 거래 데이터(orders, order_item, payment, toss_payment, 매출 롤업)는 매장의 샤드에만 기록됩니다.</p>
+ * <ul>
+ *   <li>스키마: {@link ShardSchemaInitializer}가 기동 시 {@code ddl-auto} 설정을 모든 샤드에 적용하고
+ *       기본 샤드에 주문 샤드 디렉터리 테이블을 만듭니다.</li>
+ *   <li>참조 테이블: {@code cloudpos.sharding.reference-tables}(기본 payment_method, products, inventories, discounts)를
+ *       {@link ShardReferenceDataSync}가 기본 샤드에서 나머지 샤드로 주기적으로 복제합니다.
+ *       참조 데이터는 기본 샤드(샤드 지정 없는 요청)에서만 변경해야 합니다.</li>
+ * </ul>
+ *
+ * <h2>로컬 테스트</h2>
+ * <pre>
+ * cloudpos.sharding.enabled=true
+ * cloudpos.sharding.urls=jdbc:mysql://localhost:3307/cloudpos,jdbc:mysql://localhost:3308/cloudpos
+ * </pre>
+ *
+ * <p>replica 라우팅({@code cloudpos.datasource.replica-urls})과는 함께 사용할 수 없습니다.</p>
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "cloudpos.sharding.enabled", havingValue = "true")
+public class ShardingConfig implements DisposableBean {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private HikariDataSource defaultShard;
+
+    @Bean
+    public ShardResolver shardResolver(@Value("${cloudpos.sharding.urls:}") List<String> urls) {
+        List<String> names = new ArrayList<>();
+        names.add("shard-0");
+        for (int i = 1; i <= urls.size(); i++) {
+            names.add("shard-" + i);
+        }
+        return new ShardResolver(names);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties,
+                                 Environment environment,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${cloudpos.sharding.urls:}") List<String> urls) {
+        if (environment.containsProperty("cloudpos.datasource.replica-urls")) {
+            throw new IllegalStateException("샤딩과 replica 라우팅은 함께 설정할 수 없습니다.");
+        }
+
+        defaultShard = createPool(properties, environment, meterRegistry, properties.determineUrl(), "shard-0");
+
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        targets.put("shard-0", defaultShard);
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "shard-" + (i + 1);
+            targets.put(name, createPool(properties, environment, meterRegistry, urls.get(i).trim(), name));
+        }
+        log.info("매장 기준 샤딩 활성화 - 샤드 {}개", targets.size());
+
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(defaultShard);
+        routing.setLenientFallback(false);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    @Bean
+    public OrderShardDirectory orderShardDirectory(
+            DataSource dataSource,
+            @Value("${cloudpos.sharding.directory-cache-size:100000}") int cacheSize) {
+        // 라우팅 DataSource 를 먼저 만들어 기본 샤드 풀이 준비된 뒤 생성한다.
+        return new OrderShardDirectory(defaultShard, cacheSize);
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(ShardResolver shardResolver,
+                                                         OrderShardDirectory orderShardDirectory) {
+        return new ShardSchemaInitializer(shardResolver, orderShardDirectory);
+    }
+
+    /**
+     * Hibernate 매핑 정보를 {@link ShardSchemaInitializer}에 전달합니다.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer shardSchemaIntegrator(ShardSchemaInitializer shardSchemaInitializer) {
+        return properties -> properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(shardSchemaInitializer));
+    }
+
+    @Bean
+    public ShardReferenceDataSync shardReferenceDataSync(
+            ShardRouter shardRouter,
+            ShardResolver shardResolver,
+            JdbcTemplate jdbcTemplate,
+            @Value("${cloudpos.sharding.reference-tables:payment_method,products,inventories,discounts}") List<String> tables) {
+        return new ShardReferenceDataSync(shardRouter, shardResolver, jdbcTemplate, tables);
+    }
+
+    @Bean
+    public ShardRoutingAspect shardRoutingAspect(ShardRouter shardRouter) {
+        return new ShardRoutingAspect(shardRouter);
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private HikariDataSource createPool(DataSourceProperties properties, Environment environment,
+                                        MeterRegistry meterRegistry, String url, String poolName) {
+        HikariDataSource pool = HikariPools.create(properties, environment, url, poolName);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        pools.add(pool);
+        return pool;
+    }
+}
@@ -0,0 +1,262 @@
+package org.example.cloudpos;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fppt.jedismock.RedisServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterRegistration;
+import jakarta.servlet.ServletRegistration;
+import org.example.cloudpos.display.controller.DisplayController;
+import org.example.cloudpos.display.dto.DisplayOrderEvent;
+import org.example.cloudpos.display.service.DisplayStreamServiceImpl;
+import org.example.cloudpos.payment.api.OrderApi;
+import org.example.cloudpos.payment.controller.PaymentController;
+import org.example.cloudpos.payment.domain.PaymentStatus;
+import org.example.cloudpos.payment.service.PaymentService;
+import org.example.cloudpos.payment.service.PaymentStatusWatchService;
+import org.example.cloudpos.sales.controller.SalesExportController;
+import org.example.cloudpos.sales.service.SalesExportServiceImpl;
+import org.example.cloudpos.shard.OrderShardDirectory;
+import org.example.cloudpos.shard.ShardResolver;
+import org.example.cloudpos.shard.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.boot.web.servlet.context.AnnotationConfigServletWebApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 실제 포트의 내장 Tomcat 에서 HTTP 로깅 필터를 거친 비동기 응답(스트리밍 내보내기, SSE, 결제 상태 롱 폴링)이
+ * 클라이언트까지 전달되는지 확인한다.
+ * (DB 는 인메모리 H2, Redis 는 인메모리 Redis 서버)
+ */
+class HttpLoggingFilterTest {
+
+    private static final String STORE = "01JBSTORE00000000000000001";
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 10, 1, 0, 0);
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PaymentService paymentService = mock(PaymentService.class);
+
+    private JdbcTemplate jdbcTemplate;
+    private RedisServer redisServer;
+    private LettuceConnectionFactory connectionFactory;
+    private RedisMessageListenerContainer listenerContainer;
+    private DisplayStreamServiceImpl displayStreamService;
+    private PaymentStatusWatchService paymentStatusWatchService;
+    private AnnotationConfigServletWebApplicationContext context;
+    private WebServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:http-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE orders (id BIGINT AUTO_INCREMENT PRIMARY KEY, order_id VARCHAR(26), cart_id VARCHAR(64),
+                                     inventory_id VARCHAR(26), paid_at TIMESTAMP, total_amount INT);
+                CREATE TABLE order_item (id BIGINT AUTO_INCREMENT PRIMARY KEY, order_fk BIGINT, product_id VARCHAR(26),
+                                         quantity INT, price INT);
+                CREATE TABLE products (product_id VARCHAR(26), name VARCHAR(255));
+                CREATE TABLE payment (payment_id VARCHAR(64), order_id VARCHAR(26), payment_status VARCHAR(32),
+                                      payment_method_id BIGINT, amount_final INT);
+                CREATE TABLE payment_method (id BIGINT PRIMARY KEY, code VARCHAR(32));
+                """);
+
+        // 샤딩 비활성화(단일 DB)
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        ShardRouter shardRouter = new ShardRouter(beans.getBeanProvider(ShardResolver.class),
+                beans.getBeanProvider(OrderShardDirectory.class), new DataSourceTransactionManager(dataSource));
+        SalesExportServiceImpl salesExportService = new SalesExportServiceImpl(jdbcTemplate, shardRouter, new ObjectMapper());
+        ReflectionTestUtils.setField(salesExportService, "fetchSize", 100);
+
+        redisServer = RedisServer.newRedisServer().start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redisServer.getHost(), redisServer.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        StringRedisTemplate redis = new StringRedisTemplate(connectionFactory);
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        listenerContainer.afterPropertiesSet();
+        listenerContainer.start();
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+        displayStreamService = new DisplayStreamServiceImpl(redis, listenerContainer, objectMapper);
+        ReflectionTestUtils.setField(displayStreamService, "replaySize", 50);
+        ReflectionTestUtils.setField(displayStreamService, "emitterTimeoutMinutes", 1L);
+        ReflectionTestUtils.invokeMethod(displayStreamService, "subscribeChannel");
+
+        paymentStatusWatchService = new PaymentStatusWatchService(
+                paymentService, redis, listenerContainer, objectMapper, meterRegistry);
+        ReflectionTestUtils.setField(paymentStatusWatchService, "timeoutSeconds", 10L);
+        ReflectionTestUtils.setField(paymentStatusWatchService, "statusTtlMinutes", 1L);
+        ReflectionTestUtils.invokeMethod(paymentStatusWatchService, "subscribeChannel");
+
+        context = new AnnotationConfigServletWebApplicationContext();
+        context.register(WebConfig.class);
+        context.registerBean(SalesExportController.class, () -> new SalesExportController(salesExportService));
+        context.registerBean(DisplayController.class, () -> new DisplayController(displayStreamService));
+        context.registerBean(PaymentController.class,
+                () -> new PaymentController(paymentService, mock(OrderApi.class), paymentStatusWatchService));
+
+        server = new TomcatServletWebServerFactory(0).getWebServer(servletContext -> {
+            // 스프링 부트의 필터 등록과 같은 디스패처 타입
+            FilterRegistration.Dynamic filter = servletContext.addFilter("httpLoggingFilter", new HttpLoggingFilter());
+            filter.setAsyncSupported(true);
+            filter.addMappingForUrlPatterns(
+                    EnumSet.of(DispatcherType.REQUEST, DispatcherType.ASYNC, DispatcherType.ERROR), false, "/*");
+            ServletRegistration.Dynamic dispatcher = servletContext.addServlet("dispatcher", new DispatcherServlet(context));
+            dispatcher.setAsyncSupported(true);
+            dispatcher.setLoadOnStartup(1);
+            dispatcher.addMapping("/");
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.stop();
+        context.close();
+        listenerContainer.destroy();
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @Test
+    void exportedRowsAreStreamedToTheClient() throws Exception {
+        // 응답 버퍼보다 훨씬 큰 내보내기
+        int orders = 2000;
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < orders; i++) {
+            rows.add(new Object[]{String.format("order-%05d", i), STORE, Timestamp.valueOf(DAY.plusSeconds(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (order_id, cart_id, inventory_id, paid_at, total_amount)"
+                + " VALUES (?, 'cart', ?, ?, 4000)", rows);
+        jdbcTemplate.update("INSERT INTO order_item (order_fk, product_id, quantity, price)"
+                + " SELECT id, 'p1', 1, 4000 FROM orders");
+
+        HttpResponse<Stream<String>> response = get("/api/sales/" + STORE + "/export?from="
+                + DAY + "&to=" + DAY.plusDays(1));
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        List<String> lines = response.body().toList();
+        assertThat(lines).hasSize(1 + orders);
+        assertThat(lines.get(0)).startsWith("orderId,cartId,paidAt");
+        assertThat(lines.get(1)).startsWith("order-00000,cart,2026-10-01T00:00,4000,p1,p1,1,4000,");
+        assertThat(lines.get(orders)).startsWith("order-01999,");
+    }
+
+    @Test
+    void displayEventsReachTheClientWhileTheStreamIsOpen() throws Exception {
+        HttpResponse<Stream<String>> response = get("/api/display/" + STORE + "/stream");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(
+                type -> assertThat(type).startsWith("text/event-stream"));
+        try (Stream<String> body = response.body()) {
+            Iterator<String> lines = body.iterator();
+            // 연결 직후 주석 이벤트가 도착해야 구독이 끝난 것
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> readUntil(lines, ":connected"));
+
+            displayStreamService.publish(new DisplayOrderEvent(null, STORE, "order-00001", 4000, DAY,
+                    List.of(new DisplayOrderEvent.Item("p1", "아메리카노", 1))));
+
+            List<String> event = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> readUntil(lines, "data:"));
+            assertThat(event).contains("event:order-paid");
+            assertThat(event.get(event.size() - 1)).contains("\"orderId\":\"order-00001\"");
+        }
+    }
+
+    @Test
+    void heldPaymentStatusRequestIsAnsweredWithTheNewStatus() throws Exception {
+        when(paymentService.getPaymentStatus("order-00001")).thenReturn(PaymentStatus.BEFORE_PAYMENT);
+        HttpRequest request = HttpRequest.newBuilder(uri("/payments/order-00001/status?after=BEFORE_PAYMENT"))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+
+        CompletableFuture<HttpResponse<String>> pending = client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        // 요청이 보류된 뒤 상태가 바뀐다.
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            while (meterRegistry.get("cloudpos.payment.watchers").gauge().value() < 1) {
+                Thread.sleep(20);
+            }
+        });
+        paymentStatusWatchService.publish("order-00001", PaymentStatus.COMPLETED);
+
+        HttpResponse<String> response = pending.get(10, TimeUnit.SECONDS);
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(
+                type -> assertThat(type).startsWith("application/json"));
+        assertThat(response.body()).isEqualTo("{\"orderId\":\"order-00001\",\"status\":\"COMPLETED\"}");
+    }
+
+    /**
+     * 지정한 접두어로 시작하는 줄까지 읽는다. (연결이 열려 있는 동안 도착한 줄만 읽힌다)
+     */
+    private static List<String> readUntil(Iterator<String> lines, String prefix) {
+        List<String> read = new ArrayList<>();
+        while (lines.hasNext()) {
+            String line = lines.next();
+            read.add(line);
+            if (line.startsWith(prefix)) {
+                return read;
+            }
+        }
+        throw new AssertionError("연결이 끊겼습니다. 받은 줄: " + read);
+    }
+
+    private HttpResponse<Stream<String>> get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri(path))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofLines());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+
+    @Configuration
+    @EnableWebMvc
+    static class WebConfig {
+    }
+}
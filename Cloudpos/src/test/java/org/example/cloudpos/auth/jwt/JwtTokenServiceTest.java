@@ -0,0 +1,51 @@
+package org.example.cloudpos.auth.jwt;
+
+import org.example.cloudpos.auth.service.UsersPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtTokenServiceTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final JwtTokenService service =
+            new JwtTokenService(SECRET, Duration.ofMinutes(60), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    private final UsersPrincipal principal = new UsersPrincipal(
+            "01HUSER000000000000000000A",
+            "홍길동",
+            List.of(new SimpleGrantedAuthority("ROLE_USER")),
+            Map.of());
+
+    @Test
+    void verifyRestoresPrincipal() {
+        UsersPrincipal restored = service.verify(service.issue(principal));
+
+        assertThat(restored.getUserId()).isEqualTo(principal.getUserId());
+        assertThat(restored.getName()).isEqualTo("홍길동");
+        assertThat(restored.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void tamperedOrExpiredTokenIsRejected() {
+        String token = service.issue(principal);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        assertThatThrownBy(() -> service.verify(tampered)).isInstanceOf(IllegalArgumentException.class);
+
+        JwtTokenService later = new JwtTokenService(SECRET, Duration.ofMinutes(60),
+                Clock.fixed(NOW.plus(Duration.ofMinutes(61)), ZoneOffset.UTC));
+        assertThatThrownBy(() -> later.verify(token)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
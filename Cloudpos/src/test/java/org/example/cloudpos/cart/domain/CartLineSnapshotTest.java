@@ -0,0 +1,33 @@
+package org.example.cloudpos.cart.domain;
+
+import org.example.cloudpos.cart.dto.ProductSummary;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 장바구니 상품 스냅샷의 Redis 저장 형식({@code "버전|가격|이름"})을 확인한다.
+ */
+class CartLineSnapshotTest {
+
+    @Test
+    void encodedSnapshotIsDecodedBack() {
+        CartLineSnapshot snapshot = CartLineSnapshot.of(new ProductSummary("p1", "아메리카노 | ICE", 4000, 3L));
+
+        assertThat(snapshot.encode()).isEqualTo("3|4000|아메리카노 | ICE");
+        assertThat(CartLineSnapshot.decode(snapshot.encode())).isEqualTo(snapshot);
+
+        ProductSummary summary = snapshot.toSummary("p1");
+        assertThat(summary.getProductId()).isEqualTo("p1");
+        assertThat(summary.getName()).isEqualTo("아메리카노 | ICE");
+        assertThat(summary.getPrice()).isEqualTo(4000);
+        assertThat(summary.getVersion()).isEqualTo(3L);
+    }
+
+    @Test
+    void malformedValueIsTreatedAsMissing() {
+        assertThat(CartLineSnapshot.decode(null)).isNull();
+        assertThat(CartLineSnapshot.decode("4000|아메리카노")).isNull();
+        assertThat(CartLineSnapshot.decode("v1|4000|아메리카노")).isNull();
+    }
+}
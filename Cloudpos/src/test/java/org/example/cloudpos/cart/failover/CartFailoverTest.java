@@ -0,0 +1,191 @@
+package org.example.cloudpos.cart.failover;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.cloudpos.cart.api.ProductSummaryHandlerApi;
+import org.example.cloudpos.cart.domain.CartState;
+import org.example.cloudpos.cart.dto.CartItemResponse;
+import org.example.cloudpos.cart.dto.CreateCartResponse;
+import org.example.cloudpos.cart.dto.ProductSummary;
+import org.example.cloudpos.cart.exception.CartUnavailableException;
+import org.example.cloudpos.cart.service.CartCheckoutServiceImpl;
+import org.example.cloudpos.cart.service.CartServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Redis 를 끄고 켜는 대역으로 장바구니 장애 모드 진입, 로컬 처리, 복구 시 Redis 이관을 확인한다.
+ */
+class CartFailoverTest {
+
+    private final AtomicBoolean redisUp = new AtomicBoolean(true);
+    private final Map<String, Map<String, Integer>> restored = new ConcurrentHashMap<>();
+    private final Map<String, CartState> restoredStates = new ConcurrentHashMap<>();
+
+    private SimpleMeterRegistry meterRegistry;
+    private CartServiceImpl redisCartService;
+    private LocalCartStore localCartStore;
+    private CartFailoverManager manager;
+    private FailoverCartService cartService;
+    private FailoverCartCheckoutService cartCheckoutService;
+    private CartFailoverHealthIndicator health;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+        when(connectionFactory.getConnection()).thenAnswer(inv -> {
+            requireRedis();
+            return mock(RedisConnection.class);
+        });
+
+        redisCartService = mock(CartServiceImpl.class);
+        when(redisCartService.createCart()).thenAnswer(inv -> {
+            requireRedis();
+            return new CreateCartResponse("redis-cart");
+        });
+        when(redisCartService.getAll(anyString())).thenAnswer(inv -> {
+            requireRedis();
+            return List.of();
+        });
+        doAnswer(inv -> {
+            requireRedis();
+            restored.put(inv.getArgument(0), inv.getArgument(2));
+            restoredStates.put(inv.getArgument(0), inv.getArgument(1));
+            return null;
+        }).when(redisCartService).restore(anyString(), any(), any());
+
+        ProductSummaryHandlerApi products = mock(ProductSummaryHandlerApi.class);
+        when(products.getProductSummary(anyString()))
+                .thenAnswer(inv -> new ProductSummary(inv.getArgument(0), "상품", 1000, 1L));
+
+        localCartStore = new LocalCartStore(products);
+        ReflectionTestUtils.setField(localCartStore, "maxCarts", 1000);
+        ReflectionTestUtils.setField(localCartStore, "idleMinutes", 60L);
+
+        manager = new CartFailoverManager(connectionFactory, localCartStore, redisCartService, meterRegistry);
+        ReflectionTestUtils.setField(manager, "failureThreshold", 2);
+        ReflectionTestUtils.setField(manager, "recoveryThreshold", 3);
+        manager.registerMetrics();
+
+        cartService = new FailoverCartService(redisCartService, localCartStore, manager);
+        cartCheckoutService = new FailoverCartCheckoutService(mock(CartCheckoutServiceImpl.class), localCartStore, manager);
+        health = new CartFailoverHealthIndicator(manager, localCartStore);
+    }
+
+    @Test
+    void redisOutageMovesNewCartsLocalAndRecoveryMovesThemBack() {
+        assertThat(cartService.createCart().cartId()).isEqualTo("redis-cart");
+
+        redisUp.set(false);
+        manager.check();
+        manager.check();
+        assertThat(manager.isDegraded()).isTrue();
+        assertThat(health.health().getStatus()).isEqualTo(CartFailoverHealthIndicator.DEGRADED);
+
+        // 장애 이전 장바구니는 처리할 수 없다.
+        assertThatThrownBy(() -> cartService.getAll("redis-cart")).isInstanceOf(CartUnavailableException.class);
+
+        String cartId = cartService.createCart().cartId();
+        cartService.addFirstTime(cartId, "p1");
+        cartService.addFirstTime(cartId, "p2");
+        assertThat(cartService.changeQuantity(cartId, "p1", 2)).isEqualTo(3);
+        List<CartItemResponse> items = cartService.getAll(cartId);
+        assertThat(items).extracting(i -> i.getProduct().getProductId()).containsExactly("p1", "p2");
+        assertThat(cartService.getState(cartId)).isEqualTo(CartState.IN_PROGRESS);
+
+        cartCheckoutService.beginCheckout(cartId);
+        assertThat(cartCheckoutService.getState(cartId)).isEqualTo(CartState.CHECKOUT_PENDING);
+        assertThatThrownBy(() -> cartService.addFirstTime(cartId, "p3")).isInstanceOf(IllegalStateException.class);
+
+        redisUp.set(true);
+        manager.check();
+        manager.check();
+        assertThat(manager.isDegraded()).isTrue();
+        manager.check();
+
+        assertThat(manager.isDegraded()).isFalse();
+        assertThat(health.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(localCartStore.contains(cartId)).isFalse();
+        assertThat(restored.get(cartId)).containsExactly(Map.entry("p1", 3), Map.entry("p2", 1));
+        assertThat(restoredStates.get(cartId)).isEqualTo(CartState.CHECKOUT_PENDING);
+
+        // 옮긴 뒤에는 Redis 로 처리한다.
+        cartService.getAll(cartId);
+        verify(redisCartService).getAll(cartId);
+
+        assertThat(meterRegistry.counter("cloudpos.cart.failover.transitions", "direction", "enter").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("cloudpos.cart.failover.transitions", "direction", "exit").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cloudpos.cart.failover.local.carts").gauge().value()).isZero();
+    }
+
+    @Test
+    void cartsCreatedUnderLoadDuringOutageAreAllReconciled() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<String>> carts = new ArrayList<>();
+        try {
+            for (int i = 0; i < 200; i++) {
+                if (i == 50) {
+                    // 부하 중 Redis 를 끈다.
+                    redisUp.set(false);
+                }
+                carts.add(pool.submit(() -> {
+                    String cartId = cartService.createCart().cartId();
+                    if (!cartId.equals("redis-cart")) {
+                        cartService.addFirstTime(cartId, "p1");
+                    }
+                    return cartId;
+                }));
+            }
+            List<String> localCarts = new ArrayList<>();
+            for (Future<String> cart : carts) {
+                String cartId = cart.get();
+                if (!cartId.equals("redis-cart")) {
+                    localCarts.add(cartId);
+                }
+            }
+            assertThat(localCarts).hasSizeGreaterThanOrEqualTo(150);
+            assertThat(manager.isDegraded()).isTrue();
+
+            redisUp.set(true);
+            for (int i = 0; i < 3; i++) {
+                manager.check();
+            }
+
+            assertThat(localCartStore.size()).isZero();
+            assertThat(restored.keySet()).containsExactlyInAnyOrderElementsOf(localCarts);
+            assertThat(restored.values()).allSatisfy(items -> assertThat(items).containsExactly(Map.entry("p1", 1)));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void requireRedis() {
+        if (!redisUp.get()) {
+            throw new RedisConnectionFailureException("Unable to connect to Redis");
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package org.example.cloudpos.cart.service;
+
+import com.github.fppt.jedismock.RedisServer;
+import org.example.cloudpos.cart.api.ProductSummaryHandlerApi;
+import org.example.cloudpos.cart.config.RedisClientSideCache;
+import org.example.cloudpos.cart.config.RedisReadReplica;
+import org.example.cloudpos.cart.dto.CartItemResponse;
+import org.example.cloudpos.cart.dto.ProductSummary;
+import org.example.cloudpos.cart.exception.CartProductNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 인메모리 Redis 서버를 상대로 장바구니 상품 스냅샷 조회, 결제 시작 시 바뀐 상품만 다시 가격을 매기는지, 변경 버전을 확인한다.
+ */
+class CartServiceImplTest {
+
+    private final ProductSummaryHandlerApi products = mock(ProductSummaryHandlerApi.class);
+
+    private RedisServer server;
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redis;
+    private CartServiceImpl cartService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = RedisServer.newRedisServer().start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(server.getHost(), server.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redis = new StringRedisTemplate(connectionFactory);
+
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        cartService = new CartServiceImpl(redis, products,
+                beans.getBeanProvider(RedisClientSideCache.class), beans.getBeanProvider(RedisReadReplica.class));
+
+        when(products.getProductSummary("p1")).thenReturn(new ProductSummary("p1", "아메리카노", 4000, 0L));
+        when(products.getProductSummary("p2")).thenReturn(new ProductSummary("p2", "라떼", 4500, 0L));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connectionFactory.destroy();
+        server.stop();
+    }
+
+    @Test
+    void cartIsReadFromSnapshotsWithoutProductLookups() {
+        String cartId = cartWith("p1", "p2");
+        cartService.addFirstTime(cartId, "p1");
+
+        List<CartItemResponse> items = cartService.getAll(cartId);
+
+        assertThat(items).extracting(i -> i.getProduct().getProductId(), CartItemResponse::getQuantity)
+                .containsExactly(tuple("p1", 2), tuple("p2", 1));
+        assertThat(items).extracting(i -> i.getProduct().getPrice()).containsExactly(4000, 4500);
+        // 처음 담을 때 한 번씩만 조회한다.
+        verify(products, times(1)).getProductSummary("p1");
+        verify(products, times(1)).getProductSummary("p2");
+        assertThat(redis.opsForHash().get("cart:" + cartId + ":lines", "p1")).isEqualTo("0|4000|아메리카노");
+    }
+
+    @Test
+    void checkoutRepricesOnlyProductsChangedSinceTheyWereAdded() {
+        String cartId = cartWith("p1", "p2");
+        when(products.getProductSummary("p1")).thenReturn(new ProductSummary("p1", "아메리카노", 4200, 1L));
+        when(products.getProductVersions(anyCollection())).thenReturn(Map.of("p1", 1L, "p2", 0L));
+        long version = cartService.getVersion(cartId);
+
+        List<CartItemResponse> items = cartService.getAllForCheckout(cartId);
+
+        assertThat(items).extracting(i -> i.getProduct().getPrice()).containsExactly(4200, 4500);
+        verify(products, times(2)).getProductSummary("p1");
+        verify(products, times(1)).getProductSummary("p2");
+        // 새 가격을 스냅샷에 기록하고 변경 버전을 올려 이전 가격으로 계산한 견적을 쓰지 않게 한다.
+        assertThat(redis.opsForHash().get("cart:" + cartId + ":lines", "p1")).isEqualTo("1|4200|아메리카노");
+        assertThat(cartService.getVersion(cartId)).isEqualTo(version + 1);
+
+        // 이미 반영된 상품은 다시 조회하지 않는다.
+        cartService.getAllForCheckout(cartId);
+        verify(products, times(2)).getProductSummary("p1");
+        assertThat(cartService.getVersion(cartId)).isEqualTo(version + 1);
+    }
+
+    @Test
+    void linesWithoutSnapshotAreLookedUpOnceAndBackfilled() {
+        String cartId = cartWith("p1");
+        redis.delete("cart:" + cartId + ":lines");
+
+        cartService.getAll(cartId);
+        cartService.getAll(cartId);
+
+        verify(products, times(2)).getProductSummary("p1");
+        assertThat(redis.opsForHash().get("cart:" + cartId + ":lines", "p1")).isEqualTo("0|4000|아메리카노");
+    }
+
+    @Test
+    void cartVersionChangesOnEveryEdit() {
+        String cartId = cartService.createCart().cartId();
+        assertThat(cartService.getVersion(cartId)).isZero();
+
+        cartService.addFirstTime(cartId, "p1");
+        cartService.addFirstTime(cartId, "p2");
+        assertThat(cartService.getVersion(cartId)).isEqualTo(2);
+        cartService.changeQuantity(cartId, "p1", 1);
+        assertThat(cartService.getVersion(cartId)).isEqualTo(3);
+        cartService.removeItem(cartId, "p2");
+        assertThat(cartService.getVersion(cartId)).isEqualTo(4);
+
+        // 조회만으로는 바뀌지 않는다.
+        cartService.getAll(cartId);
+        assertThat(cartService.getVersion(cartId)).isEqualTo(4);
+
+        cartService.clear(cartId);
+        assertThat(cartService.getVersion(cartId)).isZero();
+    }
+
+    @Test
+    void laggingReplicaDoesNotRewriteSnapshotsOrBumpTheVersion() throws IOException {
+        String cartId = cartWith("p1", "p2");
+        long version = cartService.getVersion(cartId);
+        when(products.getProductSummary("p2")).thenReturn(new ProductSummary("p2", "라떼", 9900, 1L));
+
+        // 상품 목록은 복제되었지만 p2 스냅샷은 아직 복제되지 않은 복제본
+        RedisServer replicaServer = RedisServer.newRedisServer().start();
+        RedisReadReplica replica = new RedisReadReplica(new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(replicaServer.getHost(), replicaServer.getBindPort())));
+        try {
+            StringRedisTemplate replicaRedis = new StringRedisTemplate(replica.template().getRequiredConnectionFactory());
+            replicaRedis.opsForList().rightPushAll("cart:" + cartId + ":itemset", "p1", "p2");
+            replicaRedis.opsForHash().putAll("cart:" + cartId + ":items", Map.of("p1", "1", "p2", "1"));
+            replicaRedis.opsForHash().put("cart:" + cartId + ":lines", "p1", "0|4000|아메리카노");
+
+            StaticListableBeanFactory beans = new StaticListableBeanFactory();
+            beans.addBean("redisReadReplica", replica);
+            CartServiceImpl replicaReads = new CartServiceImpl(redis, products,
+                    beans.getBeanProvider(RedisClientSideCache.class), beans.getBeanProvider(RedisReadReplica.class));
+
+            List<CartItemResponse> items = replicaReads.getAll(cartId);
+
+            // 마스터의 스냅샷으로 응답한다.
+            assertThat(items).extracting(i -> i.getProduct().getPrice()).containsExactly(4000, 4500);
+            verify(products, times(1)).getProductSummary("p2");
+            assertThat(redis.opsForHash().get("cart:" + cartId + ":lines", "p2")).isEqualTo("0|4500|라떼");
+            assertThat(cartService.getVersion(cartId)).isEqualTo(version);
+        } finally {
+            replica.destroy();
+            replicaServer.stop();
+        }
+    }
+
+    @Test
+    void productDeletedAfterBeingAddedFailsCheckout() {
+        String cartId = cartWith("p1", "p2");
+        when(products.getProductVersions(anyCollection())).thenReturn(Map.of("p1", 0L));
+
+        assertThatThrownBy(() -> cartService.getAllForCheckout(cartId)).isInstanceOf(CartProductNotFoundException.class);
+    }
+
+    private String cartWith(String... productIds) {
+        String cartId = cartService.createCart().cartId();
+        for (String productId : productIds) {
+            cartService.addFirstTime(cartId, productId);
+        }
+        return cartId;
+    }
+}
@@ -0,0 +1,235 @@
+package org.example.cloudpos.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.example.cloudpos.inventory.domain.Inventory;
+import org.example.cloudpos.inventory.dto.ProductImportResult;
+import org.example.cloudpos.inventory.repository.InventoryRepository;
+import org.example.cloudpos.product.domain.Product;
+import org.example.cloudpos.product.dto.ProductVersionResponse;
+import org.example.cloudpos.product.repository.ProductRepository;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+/**
+ * 인메모리 DB(H2, MySQL 모드)에서 상품 일괄 등록의 CSV·NDJSON 파싱, 청크 실패 후 재개, 오류 목록 상한, 카탈로그 버전을 확인한다.
+ */
+class ProductImportServiceImplTest {
+
+    private static final String STORE = "01JBSTORE00000000000000001";
+
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+    private ValidatorFactory validatorFactory;
+    private ProductRepository productRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private ProductImportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:import-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "sa", "");
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(dataSource);
+        entityManagerFactory.setPackagesToScan("org.example.cloudpos.product.domain", "org.example.cloudpos.inventory.domain");
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create",
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName()));
+        entityManagerFactory.afterPropertiesSet();
+
+        EntityManagerFactory emf = entityManagerFactory.getObject();
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(emf);
+        productRepository = new JpaRepositoryFactory(entityManager).getRepository(ProductRepository.class);
+        JpaTransactionManager transactionManager = new JpaTransactionManager(emf);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        InventoryRepository inventoryRepository = mock(InventoryRepository.class);
+        when(inventoryRepository.findFirstByInventoryId(STORE))
+                .thenReturn(Optional.of(new Inventory(STORE, "강남점", null)));
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        jdbcTemplate = spy(new JdbcTemplate(dataSource));
+        service = new ProductImportServiceImpl(inventoryRepository, jdbcTemplate, transactionManager,
+                validatorFactory.getValidator(), new ObjectMapper());
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+        entityManagerFactory.destroy();
+    }
+
+    @Test
+    void importedProductsStartAtVersionZeroAndCanBeUpdated() {
+        ProductImportResult result = importCsv("""
+                name,price,imageUrl
+                아메리카노,4000,
+                라떼,4500,https://cdn.example.com/latte.jpg
+                ,1000,
+                """);
+
+        assertThat(result.completed()).isTrue();
+        assertThat(result.importedRows()).isEqualTo(2);
+        assertThat(result.failedRows()).isEqualTo(1);
+
+        List<Product> products = productRepository.findAll();
+        assertThat(products).extracting(Product::getName).containsExactlyInAnyOrder("아메리카노", "라떼");
+        assertThat(products).extracting(Product::getVersion).containsOnly(0L);
+
+        // 일괄 등록한 상품도 JPA 수정 시 버전이 올라 장바구니 재가격 대상이 된다.
+        String productId = products.get(0).getProductId();
+        transactionTemplate.executeWithoutResult(tx ->
+                productRepository.findByProductId(productId).orElseThrow().setPrice(5000));
+        assertThat(productRepository.findVersionsByProductIdIn(List.of(productId)))
+                .containsExactly(new ProductVersionResponse(productId, 1L));
+    }
+
+    @Test
+    void csvAndNdjsonRowsAreParsedTheSameWay() {
+        ProductImportResult csv = importCsv("""
+                \uFEFFprice,name
+                4000,아메리카노
+                4500,"라떼, ""바닐라\"""
+                abc,모카
+                """);
+        ProductImportResult ndjson = importNdjson("""
+                {"name":"아메리카노","price":4000}
+                {"name":"라떼, \\"바닐라\\"","price":"4500","imageUrl":""}
+
+                {"name":"모카","price":"abc"}
+                [1, 2]
+                """);
+
+        assertThat(csv.importedRows()).isEqualTo(2);
+        assertThat(csv.errors()).extracting(ProductImportResult.RowError::row).containsExactly(3L);
+        assertThat(ndjson.importedRows()).isEqualTo(2);
+        // 빈 줄은 행 번호에 포함하지 않는다.
+        assertThat(ndjson.errors()).extracting(ProductImportResult.RowError::row).containsExactly(3L, 4L);
+        assertThat(ndjson.errors().get(0).message()).isEqualTo(csv.errors().get(0).message());
+
+        assertThat(productRepository.findAll()).extracting(Product::getName, Product::getPrice, Product::getImageUrl)
+                .containsOnly(tuple("아메리카노", 4000, null), tuple("라떼, \"바닐라\"", 4500, null));
+    }
+
+    @Test
+    void failedChunkIsReportedAndResumedFromLastCommittedRow() {
+        String csv = """
+                name,price
+                상품1,1000
+                상품2,1000
+                상품3,1000
+                상품4,1000
+                상품5,1000
+                """;
+        // 두 번째 청크(3~4행)에서 DB 오류
+        doCallRealMethod()
+                .doThrow(new DataAccessResourceFailureException("connection lost"))
+                .doCallRealMethod()
+                .when(jdbcTemplate).batchUpdate(anyString(), ArgumentMatchers.<List<Object[]>>any());
+
+        ProductImportResult failed = importCsv(csv);
+
+        assertThat(failed.completed()).isFalse();
+        assertThat(failed.importedRows()).isEqualTo(2);
+        assertThat(failed.lastCommittedRow()).isEqualTo(2);
+        assertThat(productRepository.count()).isEqualTo(2);
+
+        ProductImportResult resumed = service.importProducts(STORE, stream(csv), "text/csv", failed.lastCommittedRow());
+
+        assertThat(resumed.completed()).isTrue();
+        assertThat(resumed.processedRows()).isEqualTo(3);
+        assertThat(resumed.lastCommittedRow()).isEqualTo(5);
+        assertThat(productRepository.findAll()).extracting(Product::getName)
+                .containsExactlyInAnyOrder("상품1", "상품2", "상품3", "상품4", "상품5");
+    }
+
+    @Test
+    void uploadCutOffMidStreamReturnsCommittedProgress() {
+        InputStream cutOff = new SequenceInputStream(stream("""
+                name,price
+                상품1,1000
+                상품2,1000
+                상품3,1000
+                """), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection reset");
+            }
+        });
+
+        ProductImportResult result = service.importProducts(STORE, cutOff, "text/csv", 0);
+
+        // 청크에 모이던 3행은 커밋되지 않았다.
+        assertThat(result.completed()).isFalse();
+        assertThat(result.processedRows()).isEqualTo(3);
+        assertThat(result.importedRows()).isEqualTo(2);
+        assertThat(result.lastCommittedRow()).isEqualTo(2);
+        assertThat(productRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void errorListIsCappedButEveryFailedRowIsCounted() {
+        StringBuilder csv = new StringBuilder("name,price\n");
+        for (int i = 0; i < ProductImportResult.MAX_ERRORS + 50; i++) {
+            csv.append("상품").append(i).append(",-1\n");
+        }
+        csv.append("아메리카노,4000\n");
+
+        ProductImportResult result = importCsv(csv.toString());
+
+        assertThat(result.completed()).isTrue();
+        assertThat(result.importedRows()).isEqualTo(1);
+        assertThat(result.failedRows()).isEqualTo(ProductImportResult.MAX_ERRORS + 50);
+        assertThat(result.errors()).hasSize(ProductImportResult.MAX_ERRORS);
+        assertThat(result.errors().get(0).row()).isEqualTo(1);
+    }
+
+    private ProductImportResult importCsv(String csv) {
+        return service.importProducts(STORE, stream(csv), "text/csv", 0);
+    }
+
+    private ProductImportResult importNdjson(String ndjson) {
+        return service.importProducts(STORE, stream(ndjson), "application/x-ndjson", 0);
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.cloudpos.order.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 이벤트 처리 큐가 가득 차면 작업을 호출 스레드에서 실행하지 않고 버리는지 확인한다.
+ */
+class OrderEventExecutorsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void overflowingTaskIsDroppedInsteadOfRunningOnTheCaller() throws InterruptedException {
+        ThreadPoolTaskExecutor executor = new OrderEventExecutors(meterRegistry).create("test", 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> threads = new CopyOnWriteArrayList<>();
+        try {
+            // 작업 스레드 1개와 큐 1칸을 채운다.
+            executor.execute(() -> {
+                threads.add(Thread.currentThread().getName());
+                await(release);
+            });
+            executor.execute(() -> threads.add(Thread.currentThread().getName()));
+
+            executor.execute(() -> threads.add(Thread.currentThread().getName()));
+
+            assertThat(meterRegistry.counter("cloudpos.events.rejected", "name", "test").count()).isEqualTo(1);
+            release.countDown();
+            executor.getThreadPoolExecutor().shutdown();
+            assertThat(executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(threads).hasSize(2).allMatch(name -> name.startsWith("test-"));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
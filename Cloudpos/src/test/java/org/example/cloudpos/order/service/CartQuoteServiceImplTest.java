@@ -0,0 +1,146 @@
+package org.example.cloudpos.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fppt.jedismock.RedisServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.cloudpos.discount.event.DiscountChangedEvent;
+import org.example.cloudpos.order.api.CartStateHandlerApi;
+import org.example.cloudpos.order.api.DiscountApi;
+import org.example.cloudpos.order.dto.CartDto;
+import org.example.cloudpos.order.dto.CartQuoteResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 인메모리 Redis 서버를 상대로 장바구니 견적을 장바구니 변경 버전과 할인 버전 기준으로 재사용하는지 확인한다.
+ */
+class CartQuoteServiceImplTest {
+
+    private static final List<CartDto> ITEMS = List.of(
+            CartDto.builder().productId("p1").price(4000).quantity(2).build(),
+            CartDto.builder().productId("p2").price(4500).quantity(1).build());
+
+    private final CartStateHandlerApi cartStateHandlerApi = mock(CartStateHandlerApi.class);
+    private final DiscountApi discountApi = mock(DiscountApi.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RedisServer server;
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redis;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = RedisServer.newRedisServer().start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(server.getHost(), server.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redis = new StringRedisTemplate(connectionFactory);
+
+        when(cartStateHandlerApi.cartVersion("cart-1")).thenReturn(3L);
+        when(cartStateHandlerApi.cartItems("cart-1")).thenReturn(ITEMS);
+        when(discountApi.getDiscountMap(anyList())).thenReturn(Map.of("p1", 500));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connectionFactory.destroy();
+        server.stop();
+    }
+
+    @Test
+    void quoteIsCalculatedOnceForTheSameCartVersion() {
+        CartQuoteServiceImpl service = service(redis);
+
+        CartQuoteResponse first = service.quote("cart-1");
+        CartQuoteResponse second = service.quote("cart-1");
+
+        assertThat(first.subtotal()).isEqualTo(12500);
+        assertThat(first.discount()).isEqualTo(500);
+        assertThat(first.total()).isEqualTo(12000);
+        assertThat(second).isEqualTo(first);
+        verify(discountApi, times(1)).getDiscountMap(anyList());
+        assertThat(meterRegistry.counter("cloudpos.order.quote.cache", "result", "hit").count()).isEqualTo(1);
+    }
+
+    @Test
+    void changedCartIsRecalculated() {
+        CartQuoteServiceImpl service = service(redis);
+        service.quote("cart-1");
+
+        when(cartStateHandlerApi.cartVersion("cart-1")).thenReturn(4L);
+        when(cartStateHandlerApi.cartItems("cart-1")).thenReturn(ITEMS.subList(0, 1));
+
+        CartQuoteResponse quote = service.quote("cart-1");
+        assertThat(quote.version()).isEqualTo(4L);
+        assertThat(quote.total()).isEqualTo(7500);
+        verify(discountApi, times(2)).getDiscountMap(anyList());
+    }
+
+    @Test
+    void discountChangeInvalidatesCachedQuotes() {
+        CartQuoteServiceImpl service = service(redis);
+        service.quote("cart-1");
+
+        when(discountApi.getDiscountMap(anyList())).thenReturn(Map.of("p1", 1000));
+        service.onDiscountChanged(new DiscountChangedEvent("store-1", "p1"));
+
+        assertThat(service.quote("cart-1").total()).isEqualTo(11500);
+        // 결제 시작도 바뀐 할인으로 계산한 견적을 쓴다.
+        assertThat(service.quoteForPayment("cart-1", 3L, ITEMS).total()).isEqualTo(11500);
+        verify(discountApi, times(2)).getDiscountMap(anyList());
+    }
+
+    @Test
+    void paymentReusesTheQuoteOnlyForTheCheckoutVersion() {
+        CartQuoteServiceImpl service = service(redis);
+        service.quote("cart-1");
+
+        assertThat(service.quoteForPayment("cart-1", 3L, ITEMS).total()).isEqualTo(12000);
+        verify(discountApi, times(1)).getDiscountMap(anyList());
+
+        // 재가격 등으로 버전이 바뀌었으면 결제할 상품 목록으로 다시 계산한다.
+        List<CartDto> repriced = List.of(CartDto.builder().productId("p1").price(4200).quantity(2).build());
+        assertThat(service.quoteForPayment("cart-1", 4L, repriced).total()).isEqualTo(7900);
+        verify(discountApi, times(2)).getDiscountMap(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void quoteIsCalculatedWithoutTheCacheWhileRedisIsDown() {
+        RedisTemplate<String, String> failing = mock(RedisTemplate.class);
+        when(failing.opsForValue()).thenThrow(new RedisConnectionFailureException("redis down"));
+        CartQuoteServiceImpl service = service(failing);
+
+        assertThat(service.quote("cart-1").total()).isEqualTo(12000);
+        assertThat(service.quoteForPayment("cart-1", 3L, ITEMS).total()).isEqualTo(12000);
+        service.onDiscountChanged(new DiscountChangedEvent("store-1", "p1"));
+
+        verify(discountApi, times(2)).getDiscountMap(anyList());
+    }
+
+    private CartQuoteServiceImpl service(RedisTemplate<String, String> template) {
+        CartQuoteServiceImpl service = new CartQuoteServiceImpl(
+                cartStateHandlerApi, discountApi, template, new ObjectMapper(), meterRegistry);
+        ReflectionTestUtils.setField(service, "ttlSeconds", 60L);
+        return service;
+    }
+}
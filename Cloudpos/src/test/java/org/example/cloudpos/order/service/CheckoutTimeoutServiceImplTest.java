@@ -0,0 +1,138 @@
+package org.example.cloudpos.order.service;
+
+import com.github.fppt.jedismock.RedisServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.cloudpos.order.api.CartStateHandlerApi;
+import org.example.cloudpos.order.api.PaymentStateApi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 인메모리 Redis 서버를 상대로 체크아웃 제한 시간 정리(포기 처리, 장바구니 복구, 임대, 기록 실패 재시도)를 확인한다.
+ */
+class CheckoutTimeoutServiceImplTest {
+
+    private static final String DEADLINES = "checkout:deadlines";
+
+    private final PaymentStateApi paymentStateApi = mock(PaymentStateApi.class);
+    private final CartStateHandlerApi cartStateHandlerApi = mock(CartStateHandlerApi.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RedisServer server;
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redis;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = RedisServer.newRedisServer().start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(server.getHost(), server.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redis = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connectionFactory.destroy();
+        server.stop();
+    }
+
+    @Test
+    void expiredCheckoutIsAbandonedAndCartReopened() {
+        CheckoutTimeoutServiceImpl service = service(redis, 0);
+        when(paymentStateApi.abandon("order-1")).thenReturn(true);
+
+        service.track("order-1");
+        assertThat(service.sweep()).isEqualTo(1);
+
+        verify(cartStateHandlerApi).stateOpen("order-1");
+        assertThat(redis.opsForZSet().size(DEADLINES)).isZero();
+        assertThat(meterRegistry.counter("cloudpos.checkout.timeouts", "result", "abandoned").count()).isEqualTo(1);
+    }
+
+    @Test
+    void paymentInProgressKeepsTheCartClosed() {
+        CheckoutTimeoutServiceImpl service = service(redis, 0);
+        when(paymentStateApi.abandon("order-2")).thenReturn(false);
+
+        service.track("order-2");
+        service.sweep();
+
+        verify(cartStateHandlerApi, never()).stateOpen(anyString());
+        assertThat(redis.opsForZSet().size(DEADLINES)).isZero();
+    }
+
+    @Test
+    void checkoutWithinTheDeadlineIsNotSwept() {
+        CheckoutTimeoutServiceImpl service = service(redis, 15);
+
+        service.track("order-3");
+
+        assertThat(service.sweep()).isZero();
+        verify(paymentStateApi, never()).abandon(anyString());
+    }
+
+    @Test
+    void failedExpiryIsLeasedAndRetriedLater() {
+        CheckoutTimeoutServiceImpl service = service(redis, 0);
+        when(paymentStateApi.abandon("order-4")).thenThrow(new IllegalStateException("db down"));
+
+        service.track("order-4");
+        assertThat(service.sweep()).isEqualTo(1);
+
+        // 임대 시간 동안은 다른 정리 주기가 다시 가져가지 않는다.
+        assertThat(service.sweep()).isZero();
+        assertThat(redis.opsForZSet().score(DEADLINES, "order-4")).isGreaterThan(System.currentTimeMillis());
+        verify(cartStateHandlerApi, never()).stateOpen(anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void trackFailureIsNotThrownAndIsRecordedOnTheNextSweep() {
+        RedisTemplate<String, String> failing = mock(RedisTemplate.class);
+        ZSetOperations<String, String> zSet = mock(ZSetOperations.class);
+        when(failing.opsForZSet()).thenReturn(zSet);
+        when(zSet.add(eq(DEADLINES), eq("order-5"), anyDouble()))
+                .thenThrow(new RedisConnectionFailureException("redis down"))
+                .thenReturn(true);
+        CheckoutTimeoutServiceImpl service = service(failing, 15);
+
+        assertThatCode(() -> service.track("order-5")).doesNotThrowAnyException();
+        service.sweepExpired();
+        service.sweepExpired();
+
+        verify(zSet, times(2)).add(eq(DEADLINES), eq("order-5"), anyDouble());
+        assertThat(meterRegistry.counter("cloudpos.checkout.timeouts", "result", "track_failed").count()).isEqualTo(1);
+    }
+
+    private CheckoutTimeoutServiceImpl service(RedisTemplate<String, String> template, long timeoutMinutes) {
+        CheckoutTimeoutServiceImpl service = new CheckoutTimeoutServiceImpl(
+                template, paymentStateApi, cartStateHandlerApi, meterRegistry);
+        ReflectionTestUtils.setField(service, "timeoutMinutes", timeoutMinutes);
+        ReflectionTestUtils.setField(service, "batchSize", 100);
+        ReflectionTestUtils.setField(service, "leaseSeconds", 60L);
+        return service;
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.cloudpos.order.service;
+
+import com.github.fppt.jedismock.RedisServer;
+import org.example.cloudpos.order.repository.OrderRepository;
+import org.example.cloudpos.shard.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 인메모리 Redis 서버를 상대로 주문 ↔ 장바구니 연결의 기록(REGISTER)과 해제(RELEASE)가 동시 요청에서도
+ * 장바구니당 하나의 진행 중 주문만 남기는지 확인한다.
+ */
+class OrderCartMappingServiceImplTest {
+
+    private static final int THREADS = 8;
+
+    private RedisServer server;
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redis;
+    private OrderCartMappingServiceImpl service;
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = RedisServer.newRedisServer().start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(server.getHost(), server.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redis = new StringRedisTemplate(connectionFactory);
+
+        service = new OrderCartMappingServiceImpl(redis, mock(OrderRepository.class), mock(ShardRouter.class));
+        ReflectionTestUtils.setField(service, "ttlMinutes", 60L);
+        pool = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        pool.shutdownNow();
+        connectionFactory.destroy();
+        server.stop();
+    }
+
+    @Test
+    void onlyOneOfConcurrentOrdersIsRegistered() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            String orderId = "order-" + i;
+            results.add(pool.submit(() -> {
+                start.await();
+                return service.register(orderId, "cart-1");
+            }));
+        }
+        start.countDown();
+
+        List<String> winners = new ArrayList<>();
+        List<String> reported = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            String concurrent = results.get(i).get();
+            if (concurrent == null) {
+                winners.add("order-" + i);
+            } else {
+                reported.add(concurrent);
+            }
+        }
+
+        assertThat(winners).hasSize(1);
+        String winner = winners.get(0);
+        // 진 요청은 모두 이긴 주문을 돌려받는다.
+        assertThat(reported).hasSize(THREADS - 1).containsOnly(winner);
+        assertThat(service.findOrderId("cart-1")).isEqualTo(winner);
+        assertThat(redis.opsForValue().get("order:" + winner + ":cart")).isEqualTo("cart-1");
+        assertThat(redis.getExpire("cart:cart-1:order")).isPositive();
+        // 진 주문의 주문 → 장바구니 연결은 기록하지 않는다.
+        assertThat(redis.keys("order:*:cart")).containsExactly("order:" + winner + ":cart");
+    }
+
+    @Test
+    void releaseOnlyRemovesItsOwnOrder() {
+        service.register("order-1", "cart-1");
+
+        service.release("order-0", "cart-1");
+        assertThat(service.findOrderId("cart-1")).isEqualTo("order-1");
+
+        service.release("order-1", "cart-1");
+        assertThat(service.findOrderId("cart-1")).isNull();
+    }
+
+    @Test
+    void staleReleasesDoNotLetASecondOrderIn() throws Exception {
+        AtomicInteger holders = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        AtomicInteger held = new AtomicInteger();
+
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            workers.add(() -> {
+                for (int i = 0; i < 100; i++) {
+                    String orderId = "order-" + thread + "-" + i;
+                    if (service.register(orderId, "cart-1") == null) {
+                        if (holders.incrementAndGet() > 1) {
+                            overlaps.incrementAndGet();
+                        }
+                        held.incrementAndGet();
+                        // 결제 진행 중인 동안 다른 요청의 해제가 끼어들 틈을 준다.
+                        Thread.sleep(1);
+                        holders.decrementAndGet();
+                    }
+                    // 이긴 주문은 결제를 끝내고, 진 주문은 저장 실패 경로처럼 자기 주문의 연결 해제를 시도한다.
+                    service.release(orderId, "cart-1");
+                }
+                return null;
+            });
+        }
+        for (Future<Void> done : pool.invokeAll(workers)) {
+            done.get();
+        }
+
+        assertThat(overlaps).hasValue(0);
+        assertThat(held.get()).isPositive();
+        assertThat(service.findOrderId("cart-1")).isNull();
+    }
+}
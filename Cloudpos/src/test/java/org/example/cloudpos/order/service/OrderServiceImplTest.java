@@ -0,0 +1,232 @@
+package org.example.cloudpos.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.cloudpos.cart.api.ProductSummaryHandlerApi;
+import org.example.cloudpos.cart.application.CartCheckoutAppService;
+import org.example.cloudpos.cart.domain.CartState;
+import org.example.cloudpos.cart.dto.ProductSummary;
+import org.example.cloudpos.cart.failover.CartFailoverManager;
+import org.example.cloudpos.cart.failover.FailoverCartCheckoutService;
+import org.example.cloudpos.cart.failover.FailoverCartService;
+import org.example.cloudpos.cart.failover.LocalCartStore;
+import org.example.cloudpos.cart.service.CartCheckoutServiceImpl;
+import org.example.cloudpos.cart.service.CartServiceImpl;
+import org.example.cloudpos.order.api.CartStateHandlerApiImpl;
+import org.example.cloudpos.order.api.DiscountApi;
+import org.example.cloudpos.order.api.InventoryApi;
+import org.example.cloudpos.order.api.PaymentStateApi;
+import org.example.cloudpos.order.domain.Order;
+import org.example.cloudpos.order.repository.OrderItemRepository;
+import org.example.cloudpos.order.repository.OrderRepository;
+import org.example.cloudpos.shard.OrderShardDirectory;
+import org.example.cloudpos.shard.ShardResolver;
+import org.example.cloudpos.shard.ShardRouter;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Redis 가 꺼진 상태에서 노드 로컬 장바구니로 결제 시작부터 결제 결과 반영까지를 확인한다.
+ * (장바구니·주문 모듈은 실제 구현, 주문 저장은 인메모리 DB(H2, MySQL 모드), Redis 는 연결되지 않는 포트)
+ */
+class OrderServiceImplTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+    private LettuceConnectionFactory connectionFactory;
+    private OrderRepository orderRepository;
+    private TransactionTemplate transactionTemplate;
+    private LocalCartStore localCartStore;
+    private CartFailoverManager cartFailoverManager;
+    private FailoverCartService cartService;
+    private FailoverCartCheckoutService cartCheckoutService;
+    private CartStateHandlerApiImpl cartStateHandlerApi;
+    private OrderCartMappingServiceImpl orderCartMappingService;
+    private final PaymentStateApi paymentStateApi = mock(PaymentStateApi.class);
+    private OrderServiceImpl orderService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(new DriverManagerDataSource(
+                "jdbc:h2:mem:order-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "sa", ""));
+        entityManagerFactory.setPackagesToScan("org.example.cloudpos.order.domain");
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create",
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName()));
+        entityManagerFactory.afterPropertiesSet();
+
+        EntityManagerFactory emf = entityManagerFactory.getObject();
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(emf);
+        JpaRepositoryFactory repositories = new JpaRepositoryFactory(entityManager);
+        orderRepository = repositories.getRepository(OrderRepository.class);
+        JpaTransactionManager transactionManager = new JpaTransactionManager(emf);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // 샤딩 비활성화(단일 DB)
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        ShardRouter shardRouter = new ShardRouter(beans.getBeanProvider(ShardResolver.class),
+                beans.getBeanProvider(OrderShardDirectory.class), transactionManager);
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", unusedPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        StringRedisTemplate redis = new StringRedisTemplate(connectionFactory);
+
+        ProductSummaryHandlerApi products = mock(ProductSummaryHandlerApi.class);
+        when(products.getProductSummary(anyString()))
+                .thenAnswer(inv -> new ProductSummary(inv.getArgument(0), "상품", 1000, 1L));
+        localCartStore = new LocalCartStore(products);
+        ReflectionTestUtils.setField(localCartStore, "maxCarts", 1000);
+        ReflectionTestUtils.setField(localCartStore, "idleMinutes", 60L);
+
+        CartServiceImpl redisCartService = mock(CartServiceImpl.class);
+        cartFailoverManager = new CartFailoverManager(connectionFactory, localCartStore, redisCartService, meterRegistry);
+        ReflectionTestUtils.setField(cartFailoverManager, "failureThreshold", 2);
+        ReflectionTestUtils.setField(cartFailoverManager, "recoveryThreshold", 3);
+        cartService = new FailoverCartService(redisCartService, localCartStore, cartFailoverManager);
+        cartCheckoutService = new FailoverCartCheckoutService(
+                mock(CartCheckoutServiceImpl.class), localCartStore, cartFailoverManager);
+
+        orderCartMappingService = new OrderCartMappingServiceImpl(redis, orderRepository, shardRouter);
+        ReflectionTestUtils.setField(orderCartMappingService, "ttlMinutes", 60L);
+        cartStateHandlerApi = new CartStateHandlerApiImpl(orderCartMappingService,
+                new CartCheckoutAppService(cartCheckoutService, cartService), cartService);
+
+        DiscountApi discountApi = mock(DiscountApi.class);
+        when(discountApi.getDiscountMap(anyList())).thenReturn(Map.of("p1", 500));
+        InventoryApi inventoryApi = mock(InventoryApi.class);
+        when(inventoryApi.getInventoryId(anyString())).thenReturn("store-1");
+        CartQuoteServiceImpl cartQuoteService = new CartQuoteServiceImpl(
+                cartStateHandlerApi, discountApi, redis, new ObjectMapper(), meterRegistry);
+        ReflectionTestUtils.setField(cartQuoteService, "ttlSeconds", 60L);
+        CheckoutTimeoutServiceImpl checkoutTimeoutService = new CheckoutTimeoutServiceImpl(
+                redis, paymentStateApi, cartStateHandlerApi, meterRegistry);
+        ReflectionTestUtils.setField(checkoutTimeoutService, "timeoutMinutes", 15L);
+
+        orderService = new OrderServiceImpl(cartStateHandlerApi, cartQuoteService, inventoryApi,
+                repositories.getRepository(OrderItemRepository.class), orderRepository, shardRouter,
+                checkoutTimeoutService, orderCartMappingService, paymentStateApi);
+        when(paymentStateApi.isInProgress(anyString())).thenReturn(true);
+
+        // Redis 연결 실패로 장애 모드에 들어간다.
+        cartFailoverManager.check();
+        cartFailoverManager.check();
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+        entityManagerFactory.destroy();
+    }
+
+    @Test
+    void localCartIsCheckedOutAndClosedWhileRedisIsDown() {
+        assertThat(cartFailoverManager.isDegraded()).isTrue();
+        String cartId = localCart();
+
+        String orderId = orderService.startPayment(cartId).orderId();
+
+        Order order = order(orderId);
+        assertThat(order.getCartId()).isEqualTo(cartId);
+        assertThat(order.getInventoryId()).isEqualTo("store-1");
+        assertThat(order.getTotalAmount()).isEqualTo(1000 * 2 + 1000 - 500);
+        assertThat(cartService.getState(cartId)).isEqualTo(CartState.CHECKOUT_PENDING);
+        assertThat(meterRegistry.counter("cloudpos.checkout.timeouts", "result", "track_failed").count()).isEqualTo(1);
+
+        // 다시 눌러도 같은 주문으로 결제한다.
+        assertThat(orderService.startPayment(cartId).orderId()).isEqualTo(orderId);
+        assertThat(orderRepository.count()).isEqualTo(1);
+
+        // 결제 성공: 주문의 장바구니는 DB 에서 찾아 닫는다.
+        cartStateHandlerApi.stateClose(orderId);
+        assertThat(localCartStore.contains(cartId)).isFalse();
+    }
+
+    @Test
+    void reopenedLocalCartStartsANewOrder() {
+        String cartId = localCart();
+        String first = orderService.startPayment(cartId).orderId();
+
+        cartStateHandlerApi.stateOpen(first);
+        assertThat(cartService.getState(cartId)).isEqualTo(CartState.IN_PROGRESS);
+
+        String second = orderService.startPayment(cartId).orderId();
+        assertThat(second).isNotEqualTo(first);
+        assertThat(orderRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void pendingOrderWhosePaymentEndedIsNotReused() {
+        String cartId = localCart();
+        String first = orderService.startPayment(cartId).orderId();
+
+        // 결제 실패로 장바구니는 다시 열렸지만 연결 해제가 빠진 경우
+        when(paymentStateApi.isInProgress(first)).thenReturn(false);
+        cartCheckoutService.cancelCheckout(cartId);
+
+        String second = orderService.startPayment(cartId).orderId();
+        assertThat(second).isNotEqualTo(first);
+        assertThat(orderService.startPayment(cartId).orderId()).isEqualTo(second);
+    }
+
+    @Test
+    void pendingOrderThatWasNeverSavedIsNotReused() {
+        String cartId = localCart();
+        assertThat(orderCartMappingService.register("order-not-saved", cartId)).isNull();
+
+        String orderId = orderService.startPayment(cartId).orderId();
+
+        assertThat(orderId).isNotEqualTo("order-not-saved");
+        assertThat(order(orderId).getCartId()).isEqualTo(cartId);
+    }
+
+    private String localCart() {
+        String cartId = cartService.createCart().cartId();
+        assertThat(localCartStore.contains(cartId)).isTrue();
+        cartService.addFirstTime(cartId, "p1");
+        cartService.changeQuantity(cartId, "p1", 1);
+        cartService.addFirstTime(cartId, "p2");
+        return cartId;
+    }
+
+    private Order order(String orderId) {
+        return transactionTemplate.execute(status -> orderRepository.findOrderByOrderId(orderId).orElseThrow());
+    }
+
+    private static int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package org.example.cloudpos.payment.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.cloudpos.payment.config.TossClientConfig;
+import org.example.cloudpos.payment.dto.TossPaymentRequest;
+import org.example.cloudpos.payment.exception.TossPaymentException;
+import org.example.cloudpos.payment.exception.TossPaymentException.Outcome;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 지연/오류를 주입할 수 있는 로컬 Toss 스텁 서버로 장애 분류와 서킷/벌크헤드 동작을 확인한다.
+ */
+class TossPaymentClientTest {
+
+    private static final String DONE = """
+            {"paymentKey":"pk_1","orderId":"order-1","status":"DONE","method":"카드",
+             "totalAmount":1000,"approvedAt":"2025-01-01T12:00:00+09:00"}
+            """;
+
+    private HttpServer stub;
+    private final AtomicInteger hits = new AtomicInteger();
+    private volatile long delayMillis;
+    private volatile int status = 200;
+    private volatile String body = DONE;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TossPaymentRequest request;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.setExecutor(Executors.newCachedThreadPool());
+        stub.createContext("/v1/payments", exchange -> {
+            hits.incrementAndGet();
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            } catch (IOException ignored) {
+                // 클라이언트가 타임아웃으로 먼저 끊은 경우
+            }
+        });
+        stub.start();
+
+        request = new ObjectMapper().readValue(
+                "{\"paymentKey\":\"pk_1\",\"orderId\":\"order-1\",\"amount\":1000}", TossPaymentRequest.class);
+    }
+
+    @AfterEach
+    void stopStub() {
+        stub.stop(0);
+    }
+
+    @Test
+    void successReturnsBody() {
+        assertThat(client(20).confirm(request).getStatus()).isEqualTo("DONE");
+    }
+
+    @Test
+    void clientErrorIsDeclinedAndDoesNotTripBreaker() {
+        status = 400;
+        body = "{\"code\":\"REJECT_CARD_COMPANY\"}";
+        TossPaymentClient client = client(20);
+
+        for (int i = 0; i < 15; i++) {
+            assertOutcome(() -> client.confirm(request), Outcome.DECLINED);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void readTimeoutIsUnknownAndRepeatedTimeoutsOpenTheBreaker() {
+        delayMillis = 500;
+        TossPaymentClient client = client(20);
+
+        for (int i = 0; i < 10; i++) {
+            assertOutcome(() -> client.confirm(request), Outcome.UNKNOWN);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        int before = hits.get();
+        assertOutcome(() -> client.confirm(request), Outcome.UNAVAILABLE);
+        assertThat(hits.get()).isEqualTo(before);
+        assertThat(meterRegistry.get("cloudpos.toss.calls").tag("outcome", "circuit_open").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void connectionRefusedIsUnavailable() {
+        TossPaymentClient client = client(20, "http://127.0.0.1:1/v1/payments", Duration.ofMillis(200));
+        assertOutcome(() -> client.confirm(request), Outcome.UNAVAILABLE);
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondTheLimitWithoutWaiting() throws Exception {
+        delayMillis = 300;
+        TossPaymentClient client = client(1, baseUrl(), Duration.ofSeconds(2));
+
+        CompletableFuture<Object> inFlight = CompletableFuture.supplyAsync(() -> client.confirm(request));
+        // 첫 호출이 스텁에 도달해 벌크헤드 슬롯을 점유할 때까지 대기
+        while (hits.get() == 0) {
+            Thread.sleep(5);
+        }
+
+        // 슬롯을 기다렸다면 첫 호출이 끝난 뒤에야 거절되므로, 거절 시점에 첫 호출은 아직 진행 중이어야 한다.
+        assertOutcome(() -> client.confirm(request), Outcome.UNAVAILABLE);
+        assertThat(inFlight).isNotDone();
+
+        assertThat(inFlight.get(3, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    private CircuitBreaker breaker;
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + stub.getAddress().getPort() + "/v1/payments";
+    }
+
+    private TossPaymentClient client(int maxConcurrent) {
+        return client(maxConcurrent, baseUrl(), Duration.ofMillis(200));
+    }
+
+    private TossPaymentClient client(int maxConcurrent, String baseUrl, Duration readTimeout) {
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(
+                HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build());
+        factory.setReadTimeout(readTimeout);
+
+        TossClientConfig config = new TossClientConfig();
+        breaker = config.tossCircuitBreaker(meterRegistry, 50, 30, 5000);
+        Bulkhead bulkhead = Bulkhead.of("toss-test", BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrent)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        return new TossPaymentClient(new RestTemplate(factory), baseUrl, "test_sk", breaker, bulkhead, meterRegistry);
+    }
+
+    private static void assertOutcome(Runnable call, Outcome expected) {
+        assertThatThrownBy(call::run)
+                .isInstanceOf(TossPaymentException.class)
+                .extracting(e -> ((TossPaymentException) e).getOutcome())
+                .isEqualTo(expected);
+    }
+}
@@ -0,0 +1,228 @@
+package org.example.cloudpos.payment.service;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.cloudpos.payment.client.TossPaymentClient;
+import org.example.cloudpos.payment.domain.PaymentStatus;
+import org.example.cloudpos.payment.dto.ReconcileTarget;
+import org.example.cloudpos.payment.dto.ReconciliationResult;
+import org.example.cloudpos.payment.repository.PaymentRepository;
+import org.example.cloudpos.shard.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 로컬 Toss 스텁을 상대로 대사 작업의 상태 판정, 키셋 페이징, 병렬 조회 한도를 확인한다.
+ */
+class PaymentReconciliationServiceTest {
+
+    private static final int RATE_PER_SECOND = 40;
+    private static final int CONCURRENCY = 4;
+
+    private HttpServer stub;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final TossPaymentService tossPaymentService = mock(TossPaymentService.class);
+    private final ShardRouter shardRouter = mock(ShardRouter.class);
+    private final List<ReconcileTarget> payments = new ArrayList<>();
+    private ThreadPoolTaskExecutor executor;
+    private PaymentReconciliationService service;
+
+    private final LocalDate day = LocalDate.now().minusDays(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.setExecutor(Executors.newCachedThreadPool());
+        stub.createContext("/v1/payments/orders/", exchange -> {
+            hits.incrementAndGet();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+                String orderId = exchange.getRequestURI().getPath().substring("/v1/payments/orders/".length());
+                int status = 200;
+                String body;
+                if (orderId.startsWith("gone-")) {
+                    status = 404;
+                    body = "{\"code\":\"NOT_FOUND_PAYMENT\"}";
+                } else if (orderId.startsWith("cancel-")) {
+                    body = payment(orderId, "CANCELED", 1000);
+                } else if (orderId.startsWith("amount-")) {
+                    body = payment(orderId, "DONE", 999);
+                } else {
+                    body = payment(orderId, "DONE", 1000);
+                }
+                byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(status, bytes.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        stub.start();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TossPaymentClient client = new TossPaymentClient(new RestTemplate(),
+                "http://127.0.0.1:" + stub.getAddress().getPort() + "/v1/payments", "test_sk",
+                CircuitBreaker.ofDefaults("toss-test"), Bulkhead.ofDefaults("toss-test"), meterRegistry);
+        RateLimiter rateLimiter = RateLimiter.of("toss-reconcile-test", RateLimiterConfig.custom()
+                .limitForPeriod(RATE_PER_SECOND)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ofSeconds(10))
+                .build());
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(CONCURRENCY);
+        executor.setMaxPoolSize(CONCURRENCY);
+        executor.initialize();
+
+        service = new PaymentReconciliationService(paymentRepository, client, tossPaymentService,
+                mock(PaymentSettlementService.class), shardRouter, rateLimiter, executor, null, meterRegistry);
+        ReflectionTestUtils.setField(service, "pageSize", 25);
+        ReflectionTestUtils.setField(service, "staleMinutes", 30L);
+
+        doAnswer(invocation -> {
+            invocation.<Consumer<String>>getArgument(0).accept("default");
+            return null;
+        }).when(shardRouter).eachShard(any());
+        when(paymentRepository.findReconcileTargets(any(), any(), anyLong(), any(), any()))
+                .thenAnswer(invocation -> page(invocation.getArgument(0), invocation.getArgument(1),
+                        invocation.getArgument(2), invocation.getArgument(3), invocation.getArgument(4)));
+        when(tossPaymentService.syncStatus(anyString(), any())).thenReturn(true);
+        when(tossPaymentService.expireUnpaid(anyString())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.stop(0);
+        executor.shutdown();
+    }
+
+    @Test
+    void fixesMismatchesAndReportsUnresolvedWithinRateLimit() {
+        LocalDateTime at = day.atTime(10, 0);
+        add(40, "done-", PaymentStatus.COMPLETED, at);
+        add(10, "unknown-", PaymentStatus.UNKNOWN, at);
+        add(5, "gone-", PaymentStatus.BEFORE_PAYMENT, at);
+        add(3, "amount-", PaymentStatus.COMPLETED, at.plusHours(1));
+        add(2, "cancel-", PaymentStatus.COMPLETED, at.plusHours(2));
+
+        long start = System.nanoTime();
+        ReconciliationResult result = service.reconcile(day.atStartOfDay(), day.plusDays(1).atStartOfDay(),
+                PaymentReconciliationService.ALL_STATUSES);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(result.scanned()).isEqualTo(60);
+        assertThat(result.matched()).isEqualTo(40);
+        assertThat(result.fixed()).isEqualTo(10 + 5 + 2);
+        assertThat(result.unresolved()).isEqualTo(3);
+        assertThat(result.failed()).isZero();
+
+        verify(tossPaymentService, times(10)).syncStatus(startsWith("unknown-"), any());
+        verify(tossPaymentService, times(2)).syncStatus(startsWith("cancel-"), any());
+        verify(tossPaymentService, times(5)).expireUnpaid(startsWith("gone-"));
+        verify(tossPaymentService, never()).syncStatus(startsWith("done-"), any());
+
+        // 모든 결제를 한 번씩 조회하되, 동시 조회 수와 초당 조회 수 한도를 넘지 않는다.
+        assertThat(hits.get()).isEqualTo(60);
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(CONCURRENCY);
+        assertThat(elapsed).isGreaterThanOrEqualTo(Duration.ofMillis(900));
+    }
+
+    @Test
+    void leavesRecentUnpaidPaymentsAlone() {
+        add(3, "gone-", PaymentStatus.BEFORE_PAYMENT, LocalDateTime.now().minusMinutes(1));
+
+        ReconciliationResult result = service.reconcile(LocalDateTime.now().minusHours(1), LocalDateTime.now(),
+                List.of(PaymentStatus.BEFORE_PAYMENT));
+
+        assertThat(result.scanned()).isZero();
+        verify(tossPaymentService, never()).expireUnpaid(anyString());
+    }
+
+    @Test
+    void rechecksUnresolvedPaymentsFromEarlierDays() {
+        add(2, "unknown-", PaymentStatus.UNKNOWN, day.minusDays(3).atTime(9, 0));
+        add(1, "gone-", PaymentStatus.BEFORE_PAYMENT, day.minusDays(10).atTime(9, 0));
+        add(4, "done-", PaymentStatus.COMPLETED, day.minusDays(3).atTime(9, 0));
+
+        ReconciliationResult result = service.reconcile(day.atStartOfDay(), day.plusDays(1).atStartOfDay(),
+                PaymentReconciliationService.ALL_STATUSES);
+
+        // 지난 일자의 확정된 결제는 다시 조회하지 않는다.
+        assertThat(result.scanned()).isEqualTo(3);
+        assertThat(result.fixed()).isEqualTo(3);
+        verify(tossPaymentService, times(2)).syncStatus(startsWith("unknown-"), any());
+        verify(tossPaymentService).expireUnpaid(startsWith("gone-"));
+    }
+
+    private void add(int count, String prefix, PaymentStatus status, LocalDateTime createdAt) {
+        for (int i = 0; i < count; i++) {
+            long id = payments.size() + 1;
+            payments.add(new ReconcileTarget(id, prefix + id, status, 1000, createdAt));
+        }
+    }
+
+    /** 리포지토리 키셋 쿼리와 같은 조건/순서로 잘라 반환한다. */
+    private List<ReconcileTarget> page(PaymentStatus status, LocalDateTime afterCreatedAt, long afterId,
+                                       LocalDateTime to, Limit limit) {
+        return payments.stream()
+                .filter(p -> p.paymentStatus() == status)
+                .filter(p -> p.createdAt().isBefore(to))
+                .filter(p -> p.createdAt().isAfter(afterCreatedAt)
+                        || (p.createdAt().isEqual(afterCreatedAt) && p.id() > afterId))
+                .sorted(Comparator.comparing(ReconcileTarget::createdAt).thenComparing(ReconcileTarget::id))
+                .limit(limit.max())
+                .toList();
+    }
+
+    private static String payment(String orderId, String status, long amount) {
+        return """
+                {"paymentKey":"pk_%s","orderId":"%s","status":"%s","method":"카드","totalAmount":%d,
+                 "approvedAt":"2025-01-01T12:00:00+09:00"}
+                """.formatted(orderId, orderId, status, amount);
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.cloudpos.payment.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.cloudpos.payment.domain.Payment;
+import org.example.cloudpos.payment.domain.PaymentStatus;
+import org.example.cloudpos.payment.event.PaymentStatusChangedEvent;
+import org.example.cloudpos.payment.repository.PaymentMethodRepository;
+import org.example.cloudpos.payment.repository.PaymentRepository;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 인메모리 DB(H2, MySQL 모드)에서 체크아웃 시간 초과 시의 결제 포기(ABANDONED) 전이와 결제 진행 여부 조회를 확인한다.
+ */
+class PaymentServiceTest {
+
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+    private PaymentRepository paymentRepository;
+    private PaymentService paymentService;
+    private TransactionTemplate transactionTemplate;
+    private final List<Object> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(new DriverManagerDataSource(
+                "jdbc:h2:mem:payment-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "sa", ""));
+        entityManagerFactory.setPackagesToScan("org.example.cloudpos.payment.domain", "org.example.cloudpos.order.domain");
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create",
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName()));
+        entityManagerFactory.afterPropertiesSet();
+
+        EntityManagerFactory emf = entityManagerFactory.getObject();
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(emf);
+        JpaRepositoryFactory repositories = new JpaRepositoryFactory(entityManager);
+        paymentRepository = repositories.getRepository(PaymentRepository.class);
+        paymentService = new PaymentService(paymentRepository, repositories.getRepository(PaymentMethodRepository.class),
+                events::add);
+        transactionTemplate = new TransactionTemplate(new JpaTransactionManager(emf));
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.destroy();
+    }
+
+    @Test
+    void unconfirmedPaymentIsAbandoned() {
+        save("order-1", PaymentStatus.BEFORE_PAYMENT);
+
+        assertThat(abandon("order-1")).isTrue();
+        assertThat(status("order-1")).isEqualTo(PaymentStatus.ABANDONED);
+        assertThat(events).containsExactly(new PaymentStatusChangedEvent("order-1", PaymentStatus.ABANDONED));
+        // 이미 포기된 결제를 다시 정리해도 장바구니를 또 열지 않는다.
+        assertThat(abandon("order-1")).isFalse();
+    }
+
+    @Test
+    void paymentAwaitingApprovalResultIsNotAbandoned() {
+        save("order-2", PaymentStatus.UNKNOWN);
+        save("order-3", PaymentStatus.COMPLETED);
+
+        assertThat(abandon("order-2")).isFalse();
+        assertThat(abandon("order-3")).isFalse();
+        assertThat(status("order-2")).isEqualTo(PaymentStatus.UNKNOWN);
+        assertThat(status("order-3")).isEqualTo(PaymentStatus.COMPLETED);
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void orderWithoutPaymentCanBeReopened() {
+        assertThat(abandon("order-4")).isTrue();
+    }
+
+    @Test
+    void onlyUnfinishedPaymentsAreInProgress() {
+        save("order-5", PaymentStatus.BEFORE_PAYMENT);
+        save("order-6", PaymentStatus.UNKNOWN);
+        save("order-7", PaymentStatus.FAILED);
+        save("order-8", PaymentStatus.ABANDONED);
+
+        assertThat(paymentService.isInProgress("order-5")).isTrue();
+        assertThat(paymentService.isInProgress("order-6")).isTrue();
+        assertThat(paymentService.isInProgress("order-7")).isFalse();
+        assertThat(paymentService.isInProgress("order-8")).isFalse();
+        // 결제가 아직 생성되지 않은 주문
+        assertThat(paymentService.isInProgress("order-9")).isTrue();
+    }
+
+    private boolean abandon(String orderId) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> paymentService.abandon(orderId)));
+    }
+
+    private void save(String orderId, PaymentStatus status) {
+        transactionTemplate.executeWithoutResult(tx -> paymentRepository.save(Payment.builder()
+                .paymentId("payment-" + orderId)
+                .orderId(orderId)
+                .paymentStatus(status)
+                .amountFinal(1000)
+                .build()));
+    }
+
+    private PaymentStatus status(String orderId) {
+        return transactionTemplate.execute(tx -> paymentRepository.findByOrderId(orderId).orElseThrow().getPaymentStatus());
+    }
+}
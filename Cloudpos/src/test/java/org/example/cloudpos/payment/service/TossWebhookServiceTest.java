@@ -0,0 +1,159 @@
+package org.example.cloudpos.payment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fppt.jedismock.RedisServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.cloudpos.payment.client.TossPaymentClient;
+import org.example.cloudpos.payment.dto.TossPaymentResponse;
+import org.example.cloudpos.payment.dto.TossWebhookRequest;
+import org.example.cloudpos.payment.exception.TossPaymentException;
+import org.example.cloudpos.payment.exception.TossPaymentException.Outcome;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 인메모리 Redis 서버를 상대로 웹훅 접수/반영의 중복 제거, 재시도, 폐기, 처리 중 이벤트 복구를 확인한다.
+ */
+class TossWebhookServiceTest {
+
+    private static final String QUEUE = "toss:webhook:queue";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TossPaymentClient tossPaymentClient = mock(TossPaymentClient.class);
+    private final TossPaymentService tossPaymentService = mock(TossPaymentService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RedisServer server;
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redis;
+    private TossWebhookService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = RedisServer.newRedisServer().start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(server.getHost(), server.getBindPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redis = new StringRedisTemplate(connectionFactory);
+
+        service = new TossWebhookService(redis, objectMapper, tossPaymentClient, tossPaymentService, meterRegistry);
+        ReflectionTestUtils.setField(service, "batchSize", 10);
+        ReflectionTestUtils.setField(service, "maxAttempts", 3);
+        ReflectionTestUtils.setField(service, "dedupeTtlHours", 96L);
+        ReflectionTestUtils.setField(service, "leaseSeconds", 60L);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connectionFactory.destroy();
+        server.stop();
+    }
+
+    @Test
+    void verifiedEventIsAppliedOnceAndLaterResendsAreIgnored() {
+        when(tossPaymentClient.find("pk-1")).thenReturn(payment("pk-1", "order-1", "DONE"));
+
+        assertThat(service.accept(webhook("pk-1", "DONE"))).isTrue();
+        assertThat(service.accept(webhook("pk-1", "DONE"))).isTrue();
+        service.drain();
+
+        verify(tossPaymentClient, times(1)).find("pk-1");
+        verify(tossPaymentService, times(1)).syncStatus(any(), any());
+        assertThat(redis.hasKey("toss:webhook:seen:pk-1:DONE")).isTrue();
+        assertThat(service.accept(webhook("pk-1", "DONE"))).isFalse();
+        assertThat(redis.opsForList().size(QUEUE)).isZero();
+        assertThat(processingLists()).isZero();
+    }
+
+    @Test
+    void forgedEventLeavesNoDedupeKey() {
+        when(tossPaymentClient.find("forged")).thenThrow(new TossPaymentException(Outcome.DECLINED, "not found", null));
+
+        service.accept(webhook("forged", "DONE"));
+        service.drain();
+
+        assertThat(redis.keys("toss:webhook:seen:*")).isEmpty();
+        assertThat(service.accept(webhook("forged", "DONE"))).isTrue();
+        verify(tossPaymentService, never()).syncStatus(anyString(), any());
+    }
+
+    @Test
+    void eventsAreKeptInTheQueueWhileTossIsUnavailable() {
+        when(tossPaymentClient.find("pk-2"))
+                .thenThrow(new TossPaymentException(Outcome.UNAVAILABLE, "circuit open", null))
+                .thenReturn(payment("pk-2", "order-2", "CANCELED"));
+
+        service.accept(webhook("pk-2", "CANCELED"));
+        service.drain();
+
+        assertThat(redis.opsForList().size(QUEUE)).isEqualTo(1);
+        assertThat(processingLists()).isZero();
+        verify(tossPaymentService, never()).syncStatus(anyString(), any());
+
+        service.drain();
+
+        verify(tossPaymentService).syncStatus(any(), any());
+        assertThat(redis.opsForList().size(QUEUE)).isZero();
+    }
+
+    @Test
+    void eventIsDroppedAfterMaxAttempts() {
+        when(tossPaymentClient.find("pk-3")).thenThrow(new TossPaymentException(Outcome.UNKNOWN, "timeout", null));
+
+        service.accept(webhook("pk-3", "DONE"));
+        // 실패한 이벤트는 대기열 뒤에 다시 들어가므로 주기마다 한 번씩 시도된다.
+        for (int i = 0; i < 5; i++) {
+            service.drain();
+        }
+
+        verify(tossPaymentClient, times(3)).find("pk-3");
+        assertThat(redis.opsForList().size(QUEUE)).isZero();
+        assertThat(processingLists()).isZero();
+        assertThat(meterRegistry.counter("cloudpos.toss.webhooks", "result", "dropped").count()).isEqualTo(1);
+    }
+
+    @Test
+    void eventsClaimedByADeadNodeAreReturnedToTheQueue() {
+        redis.opsForList().leftPush("toss:webhook:processing:dead-node", "{\"paymentKey\":\"pk-4\"}");
+        redis.opsForList().leftPush("toss:webhook:processing:live-node", "{\"paymentKey\":\"pk-5\"}");
+        redis.opsForValue().set("toss:webhook:lease:live-node", "1");
+
+        service.recover();
+
+        assertThat(redis.opsForList().range(QUEUE, 0, -1)).containsExactly("{\"paymentKey\":\"pk-4\"}");
+        assertThat(redis.hasKey("toss:webhook:processing:dead-node")).isFalse();
+        assertThat(redis.opsForList().size("toss:webhook:processing:live-node")).isEqualTo(1);
+    }
+
+    private long processingLists() {
+        return redis.keys("toss:webhook:processing:*").size();
+    }
+
+    private TossWebhookRequest webhook(String paymentKey, String status) {
+        return new TossWebhookRequest("PAYMENT_STATUS_CHANGED", "2025-11-03T12:00:00", payment(paymentKey, null, status));
+    }
+
+    private TossPaymentResponse payment(String paymentKey, String orderId, String status) {
+        return objectMapper.convertValue(
+                Map.of("paymentKey", paymentKey, "orderId", orderId == null ? "" : orderId, "status", status),
+                TossPaymentResponse.class);
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.cloudpos.product.s3;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.cloudpos.product.domain.Product;
+import org.example.cloudpos.product.repository.ProductRepository;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 디코딩할 수 없는 업로드 이미지가 상품에 기록되어 백필이 S3 원본을 반복해서 다시 읽지 않는지 확인한다.
+ */
+class ImageDerivativeGeneratorTest {
+
+    private static final String BUCKET = "cloudpos-test";
+    private static final String URL_PREFIX = "https://" + BUCKET + ImageDerivativeKeys.S3_HOST_SUFFIX;
+
+    private final S3Client s3Client = mock(S3Client.class);
+
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+    private ProductRepository productRepository;
+    private TransactionTemplate transactionTemplate;
+    private ImageDerivativeGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(new DriverManagerDataSource(
+                "jdbc:h2:mem:thumbnail-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "sa", ""));
+        entityManagerFactory.setPackagesToScan("org.example.cloudpos.product.domain");
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create",
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName()));
+        entityManagerFactory.afterPropertiesSet();
+
+        EntityManagerFactory emf = entityManagerFactory.getObject();
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(emf);
+        JpaTransactionManager transactionManager = new JpaTransactionManager(emf);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // 리포지토리의 @Transactional(수정 쿼리)을 적용한다.
+        JpaRepositoryFactory repositories = new JpaRepositoryFactory(entityManager);
+        repositories.addRepositoryProxyPostProcessor((proxy, info) -> proxy.addAdvice(
+                new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource())));
+        productRepository = repositories.getRepository(ProductRepository.class);
+
+        generator = new ImageDerivativeGenerator(s3Client, new SyncTaskExecutor(), productRepository);
+        ReflectionTestUtils.setField(generator, "bucket", BUCKET);
+        ReflectionTestUtils.setField(generator, "backfillBatchSize", 20);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.destroy();
+    }
+
+    @Test
+    void undecodableImageIsRecordedAndSkippedByBackfill() {
+        Product product = save("products/menu.pdf");
+
+        generator.submit("products/menu.pdf", "%PDF-1.7".getBytes(StandardCharsets.UTF_8));
+
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        Product stored = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(stored.hasThumbnails()).isFalse();
+        assertThat(stored.getThumbnailFailedSource()).isEqualTo(URL_PREFIX + "products/menu.pdf");
+
+        // 백필은 기록된 이미지를 다시 내려받지 않는다.
+        assertThat(pending()).isEmpty();
+        generator.backfill();
+        verify(s3Client, never()).getObjectAsBytes(ArgumentMatchers.<Consumer<GetObjectRequest.Builder>>any());
+
+        // 이미지를 바꾸면 다시 생성 대상이 된다.
+        transactionTemplate.executeWithoutResult(tx ->
+                productRepository.findById(product.getId()).orElseThrow().setImageUrl(URL_PREFIX + "products/menu.png"));
+        assertThat(pending()).extracting(Product::getId).containsExactly(product.getId());
+    }
+
+    private Product save(String key) {
+        Product product = new Product();
+        product.setProductId(UUID.randomUUID().toString().substring(0, 26));
+        product.setName("메뉴판");
+        product.setPrice(0);
+        product.setImageUrl(URL_PREFIX + key);
+        return productRepository.save(product);
+    }
+
+    private List<Product> pending() {
+        return productRepository.findThumbnailPending(0, URL_PREFIX + "%", PageRequest.of(0, 20));
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.cloudpos.sales.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.cloudpos.shard.OrderShardDirectory;
+import org.example.cloudpos.shard.ShardResolver;
+import org.example.cloudpos.shard.ShardRouter;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 실행기 큐가 가득 차 버려진 결제 이벤트가 결제 상태와 원장 대조로 매출 롤업에 다시 반영되는지 확인한다.
+ * (인메모리 DB(H2, MySQL 모드))
+ */
+class SalesRollupReplayServiceTest {
+
+    private static final String STORE = "01JBSTORE00000000000000001";
+    private static final LocalDateTime TEN = LocalDateTime.now().minusHours(3).withMinute(0).withSecond(0).withNano(0);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+    private JdbcTemplate jdbcTemplate;
+    private SalesRollupServiceImpl rollupService;
+    private SalesRollupReplayService replayService;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:replay-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "sa", "");
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(dataSource);
+        entityManagerFactory.setPackagesToScan("org.example.cloudpos.order.domain", "org.example.cloudpos.product.domain",
+                "org.example.cloudpos.payment.domain", "org.example.cloudpos.sales.domain");
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create",
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName()));
+        entityManagerFactory.afterPropertiesSet();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // 샤딩 비활성화(단일 DB)
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        ShardRouter shardRouter = new ShardRouter(beans.getBeanProvider(ShardResolver.class),
+                beans.getBeanProvider(OrderShardDirectory.class), new JpaTransactionManager(entityManagerFactory.getObject()));
+        rollupService = new SalesRollupServiceImpl(jdbcTemplate, shardRouter);
+        replayService = new SalesRollupReplayService(jdbcTemplate, shardRouter, rollupService, meterRegistry);
+        ReflectionTestUtils.setField(replayService, "lookbackHours", 48L);
+        ReflectionTestUtils.setField(replayService, "graceSeconds", 120L);
+        ReflectionTestUtils.setField(replayService, "limit", 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.destroy();
+    }
+
+    @Test
+    void droppedEventsAreReplayedFromPaymentStatus() {
+        paidOrder("o1", "COMPLETED", 1000);      // 성공 이벤트 유실
+        paidOrder("o2", "COMPLETED", 2000);      // 실시간 반영됨
+        paidOrder("o3", "CANCELED", 4000);       // 성공은 반영, 취소 이벤트 유실
+        paidOrder("o4", "CANCELED", 8000);       // 성공·취소 모두 유실 (반영할 매출 없음)
+        paidOrder("o5", "FAILED", 16000);
+        rollupService.apply(List.of(SalesRollupEvent.success("o2"), SalesRollupEvent.success("o3")));
+        assertThat(revenue()).isEqualTo(6000);
+
+        assertThat(replayService.replay()).isEqualTo(2);
+
+        assertThat(revenue()).isEqualTo(3000);
+        assertThat(meterRegistry.counter("cloudpos.sales.rollup.replayed", "event", "SUCCESS").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("cloudpos.sales.rollup.replayed", "event", "CANCELED").count()).isEqualTo(1);
+
+        // 반영된 이벤트는 다시 찾지 않는다.
+        assertThat(replayService.replay()).isZero();
+    }
+
+    @Test
+    void recentlyChangedPaymentsAreLeftToTheLivePath() {
+        paidOrder("o1", "COMPLETED", 1000);
+        jdbcTemplate.update("UPDATE payment SET updated_at = ? WHERE order_id = 'o1'",
+                Timestamp.valueOf(LocalDateTime.now().minusSeconds(10)));
+
+        assertThat(replayService.replay()).isZero();
+        assertThat(revenue()).isZero();
+    }
+
+    private void paidOrder(String orderId, String status, int amount) {
+        jdbcTemplate.update("INSERT INTO orders (order_id, cart_id, inventory_id, total_amount, paid_at) VALUES (?, ?, ?, ?, ?)",
+                orderId, "cart-" + orderId, STORE, amount, Timestamp.valueOf(TEN.plusMinutes(5)));
+        jdbcTemplate.update("INSERT INTO order_item (order_fk, product_id, quantity, price)"
+                + " SELECT id, 'p1', 1, ? FROM orders WHERE order_id = ?", amount, orderId);
+        jdbcTemplate.update("INSERT INTO payment (payment_id, order_id, payment_status, amount_final, created_at, updated_at)"
+                        + " VALUES (?, ?, ?, ?, ?, ?)",
+                "pay-" + orderId, orderId, status, amount, Timestamp.valueOf(TEN), Timestamp.valueOf(TEN.plusMinutes(5)));
+    }
+
+    private long revenue() {
+        Long revenue = jdbcTemplate.queryForObject("SELECT SUM(revenue) FROM sales_hourly_rollup", Long.class);
+        return revenue == null ? 0 : revenue;
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.cloudpos.sales.service;
+
+import org.example.cloudpos.shard.OrderShardDirectory;
+import org.example.cloudpos.shard.ShardResolver;
+import org.example.cloudpos.shard.ShardRouter;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 인메모리 DB(H2, MySQL 모드)에서 여러 결제 이벤트를 한 번에 반영한 매출 롤업이 이벤트별 반영 결과와 같은지 확인한다.
+ */
+class SalesRollupServiceImplTest {
+
+    private static final String STORE = "01JBSTORE00000000000000001";
+    private static final LocalDateTime TEN = LocalDateTime.of(2026, 10, 1, 10, 0);
+
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+    private JdbcTemplate jdbcTemplate;
+    private SalesRollupServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:rollup-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "sa", "");
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(dataSource);
+        entityManagerFactory.setPackagesToScan("org.example.cloudpos.order.domain", "org.example.cloudpos.product.domain",
+                "org.example.cloudpos.sales.domain");
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create",
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName()));
+        entityManagerFactory.afterPropertiesSet();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // 샤딩 비활성화(단일 DB)
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        ShardRouter shardRouter = new ShardRouter(beans.getBeanProvider(ShardResolver.class),
+                beans.getBeanProvider(OrderShardDirectory.class), new JpaTransactionManager(entityManagerFactory.getObject()));
+        service = new SalesRollupServiceImpl(jdbcTemplate, shardRouter);
+
+        order("o1", TEN.plusMinutes(5), 2300, new Object[]{"p1", 2, 1000}, new Object[]{"p2", 1, 500});
+        order("o2", TEN.plusMinutes(40), 1000, new Object[]{"p1", 1, 1000});
+        order("o3", TEN.plusMinutes(70), 1500, new Object[]{"p2", 3, 500});
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.destroy();
+    }
+
+    @Test
+    void batchedEventsAreAggregatedPerHourAndProduct() {
+        service.apply(List.of(
+                SalesRollupEvent.success("o1"),
+                SalesRollupEvent.success("o2"),
+                SalesRollupEvent.success("o3"),
+                SalesRollupEvent.success("o1"),     // 중복 전달
+                SalesRollupEvent.canceled("o3"),    // 같은 배치에서 상쇄
+                SalesRollupEvent.canceled("o9")));  // 성공이 반영되지 않은 주문
+
+        assertThat(hourly()).containsExactly(tuple(Timestamp.valueOf(TEN), 2L, 4L, 3300L));
+        assertThat(products()).containsExactly(tuple("p1", 3L, 3000L), tuple("p2", 1L, 500L));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sales_rollup_ledger", Long.class)).isEqualTo(4);
+
+        // 다음 배치의 취소는 이전 배치에 반영된 성공을 되돌린다.
+        service.apply(List.of(SalesRollupEvent.canceled("o1"), SalesRollupEvent.canceled("o1")));
+
+        assertThat(hourly()).containsExactly(tuple(Timestamp.valueOf(TEN), 1L, 1L, 1000L));
+        assertThat(products()).containsExactly(tuple("p1", 1L, 1000L), tuple("p2", 0L, 0L));
+    }
+
+    private void order(String orderId, LocalDateTime paidAt, int totalAmount, Object[]... items) {
+        jdbcTemplate.update("INSERT INTO orders (order_id, cart_id, inventory_id, total_amount, paid_at) VALUES (?, ?, ?, ?, ?)",
+                orderId, "cart-" + orderId, STORE, totalAmount, Timestamp.valueOf(paidAt));
+        for (Object[] item : items) {
+            jdbcTemplate.update("INSERT INTO order_item (order_fk, product_id, quantity, price)"
+                    + " SELECT id, ?, ?, ? FROM orders WHERE order_id = ?", item[0], item[1], item[2], orderId);
+        }
+    }
+
+    private List<Tuple> hourly() {
+        return jdbcTemplate.query("SELECT bucket_hour, order_count, item_count, revenue FROM sales_hourly_rollup"
+                        + " ORDER BY bucket_hour",
+                (rs, i) -> tuple(rs.getTimestamp(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)));
+    }
+
+    private List<Tuple> products() {
+        return jdbcTemplate.query("SELECT product_id, quantity, revenue FROM sales_product_rollup ORDER BY product_id",
+                (rs, i) -> tuple(rs.getString(1), rs.getLong(2), rs.getLong(3)));
+    }
+}
@@ -0,0 +1,178 @@
+package org.example.cloudpos.shard;
+
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 인메모리 DB 두 개(H2, MySQL 모드)를 샤드로 사용해 스키마 생성, 참조 테이블 복제, 주문 저장을 확인합니다.
+ */
+class ShardDatabaseTest {
+
+    private final ShardResolver resolver = new ShardResolver(List.of("shard-0", "shard-1"));
+    private final String run = UUID.randomUUID().toString();
+
+    private DataSource shard0;
+    private DataSource shard1;
+    private JdbcTemplate jdbcTemplate;
+    private OrderShardDirectory directory;
+    private ShardRouter router;
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        shard0 = h2("shard0");
+        shard1 = h2("shard1");
+
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        targets.put("shard-0", shard0);
+        targets.put("shard-1", shard1);
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(shard0);
+        routing.setLenientFallback(false);
+        routing.afterPropertiesSet();
+
+        jdbcTemplate = new JdbcTemplate(routing);
+        directory = new OrderShardDirectory(shard0, 100);
+
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("shardResolver", resolver);
+        beans.addBean("orderShardDirectory", directory);
+        router = new ShardRouter(beans.getBeanProvider(ShardResolver.class),
+                beans.getBeanProvider(OrderShardDirectory.class), new DataSourceTransactionManager(routing));
+
+        ShardSchemaInitializer initializer = new ShardSchemaInitializer(resolver, directory);
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(routing);
+        entityManagerFactory.setPackagesToScan("org.example.cloudpos.payment.domain", "org.example.cloudpos.order.domain");
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "update",
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(initializer)));
+        entityManagerFactory.afterPropertiesSet();
+        initializer.afterSingletonsInstantiated();
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.destroy();
+        new JdbcTemplate(shard0).execute("SHUTDOWN");
+        new JdbcTemplate(shard1).execute("SHUTDOWN");
+    }
+
+    @Test
+    void schemaIsAppliedToEveryShardAndDirectoryOnlyToDefault() {
+        assertThat(tableExists(shard0, "payment_method")).isTrue();
+        assertThat(tableExists(shard1, "payment_method")).isTrue();
+        assertThat(tableExists(shard1, "orders")).isTrue();
+
+        assertThat(tableExists(shard0, "order_shard_directory")).isTrue();
+        assertThat(tableExists(shard1, "order_shard_directory")).isFalse();
+    }
+
+    @Test
+    void referenceRowsAreCopiedUpdatedAndPruned() {
+        JdbcTemplate source = new JdbcTemplate(shard0);
+        insertPaymentMethod(source, 1, "CARD", true);
+        insertPaymentMethod(source, 2, "CASH", true);
+        ShardReferenceDataSync sync = new ShardReferenceDataSync(router, resolver, jdbcTemplate, List.of("payment_method"));
+
+        sync.sync();
+        assertThat(codes(shard1)).containsExactly("CARD", "CASH");
+
+        source.update("UPDATE payment_method SET is_active = FALSE WHERE id = 1");
+        source.update("DELETE FROM payment_method WHERE id = 2");
+        insertPaymentMethod(source, 3, "KAKAO_PAY", true);
+        sync.sync();
+
+        assertThat(codes(shard1)).containsExactly("CARD", "KAKAO_PAY");
+        assertThat(new JdbcTemplate(shard1).queryForObject(
+                "SELECT is_active FROM payment_method WHERE id = 1", Boolean.class)).isFalse();
+    }
+
+    @Test
+    void newOrderIsStoredOnTheStoreShardAndFoundByOrderId() {
+        String store = storeOn("shard-1");
+
+        router.inNewOrder("order-1", store, () -> insertOrder("order-1", store));
+
+        assertThat(orderCount(shard1, "order-1")).isEqualTo(1);
+        assertThat(orderCount(shard0, "order-1")).isZero();
+        assertThat(router.callIn(ShardKey.Type.ORDER, "order-1",
+                () -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE order_id = ?", Integer.class, "order-1")))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void failedOrderIsRolledBackAndRemovedFromDirectory() {
+        String store = storeOn("shard-1");
+
+        assertThatThrownBy(() -> router.inNewOrder("order-2", store, () -> {
+            insertOrder("order-2", store);
+            throw new IllegalStateException("order item insert failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(orderCount(shard1, "order-2")).isZero();
+        assertThat(directory.find("order-2")).isNull();
+    }
+
+    private DataSource h2(String name) {
+        return new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + run + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private String storeOn(String shard) {
+        return IntStream.range(0, 100)
+                .mapToObj(i -> "store-" + i)
+                .filter(s -> resolver.shardOf(s).equals(shard))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Void insertOrder(String orderId, String store) {
+        jdbcTemplate.update("INSERT INTO orders (order_id, cart_id, inventory_id, total_amount, paid_at) VALUES (?, ?, ?, ?, ?)",
+                orderId, "cart-" + orderId, store, 1000, Timestamp.valueOf(LocalDateTime.now()));
+        return null;
+    }
+
+    private static void insertPaymentMethod(JdbcTemplate jdbc, long id, String code, boolean active) {
+        jdbc.update("INSERT INTO payment_method (id, code, name, is_active) VALUES (?, ?, ?, ?)", id, code, code, active);
+    }
+
+    private static List<String> codes(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForList("SELECT code FROM payment_method ORDER BY id", String.class);
+    }
+
+    private static int orderCount(DataSource dataSource, String orderId) {
+        return new JdbcTemplate(dataSource).queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE order_id = ?", Integer.class, orderId);
+    }
+
+    private static boolean tableExists(DataSource dataSource, String table) {
+        return new JdbcTemplate(dataSource).queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE table_name = ?", Integer.class, table) > 0;
+    }
+}
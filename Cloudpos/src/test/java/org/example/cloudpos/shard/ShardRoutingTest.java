@@ -0,0 +1,124 @@
+package org.example.cloudpos.shard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ShardRoutingTest {
+
+    private final ShardResolver resolver = new ShardResolver(List.of("shard-0", "shard-1", "shard-2"));
+    private final OrderShardDirectory directory = mock(OrderShardDirectory.class);
+    private final Map<String, Connection> connections = Map.of(
+            "shard-0", mock(Connection.class),
+            "shard-1", mock(Connection.class),
+            "shard-2", mock(Connection.class));
+
+    private ShardRoutingDataSource routing;
+    private ShardRouter router;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        for (Map.Entry<String, Connection> e : connections.entrySet()) {
+            DataSource ds = mock(DataSource.class);
+            when(ds.getConnection()).thenReturn(e.getValue());
+            targets.put(e.getKey(), ds);
+        }
+        routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(targets.get("shard-0"));
+        routing.afterPropertiesSet();
+
+        PlatformTransactionManager tm = mock(PlatformTransactionManager.class);
+        when(tm.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("shardResolver", resolver);
+        beans.addBean("orderShardDirectory", directory);
+        router = new ShardRouter(beans.getBeanProvider(ShardResolver.class),
+                beans.getBeanProvider(OrderShardDirectory.class), tm);
+    }
+
+    @Test
+    void resolverIsStableAndSpreadsStores() {
+        assertThat(resolver.shardOf("01HSTORE0000000000000000A")).isEqualTo(resolver.shardOf("01HSTORE0000000000000000A"));
+        assertThat(resolver.shardOf(null)).isEqualTo("shard-0");
+
+        long used = IntStream.range(0, 300)
+                .mapToObj(i -> resolver.shardOf("store-" + i))
+                .distinct()
+                .count();
+        assertThat(used).isEqualTo(3);
+    }
+
+    @Test
+    void storeWorkUsesTheStoresShard() {
+        String store = "store-42";
+        Connection expected = connections.get(resolver.shardOf(store));
+
+        Connection actual = router.inStore(store, this::connection);
+
+        assertThat(actual).isSameAs(expected);
+        assertThat(ShardContext.get()).isNull();
+    }
+
+    @Test
+    void orderWorkUsesTheDirectoryShardAndLegacyOrdersUseDefault() {
+        when(directory.find("order-1")).thenReturn("shard-2");
+
+        assertThat(router.callIn(ShardKey.Type.ORDER, "order-1", this::connection)).isSameAs(connections.get("shard-2"));
+        assertThat(router.callIn(ShardKey.Type.ORDER, "legacy", this::connection)).isSameAs(connections.get("shard-0"));
+    }
+
+    @Test
+    void switchingShardInsideATransactionIsRejected() {
+        String other = IntStream.range(0, 100)
+                .mapToObj(i -> "store-" + i)
+                .filter(s -> !resolver.shardOf(s).equals("shard-0"))
+                .findFirst()
+                .orElseThrow();
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThatThrownBy(() -> router.callIn(ShardKey.Type.STORE, other, () -> null))
+                    .isInstanceOf(IllegalStateException.class);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    @Test
+    void acrossShardsVisitsEveryShard() {
+        Map<String, Connection> visited = router.acrossShards(this::connection);
+
+        assertThat(visited).containsOnlyKeys("shard-0", "shard-1", "shard-2").containsAllEntriesOf(Map.of(
+                "shard-0", connections.get("shard-0"),
+                "shard-1", connections.get("shard-1"),
+                "shard-2", connections.get("shard-2")));
+    }
+
+    private Connection connection() {
+        try {
+            return routing.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}